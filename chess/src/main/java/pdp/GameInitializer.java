@@ -18,6 +18,7 @@ import pdp.exceptions.MoveParsingException;
 import pdp.model.Game;
 import pdp.model.ai.AlgorithmType;
 import pdp.model.ai.HeuristicType;
+import pdp.model.ai.PlayoutPolicy;
 import pdp.model.ai.Solver;
 import pdp.model.ai.algorithms.MonteCarloTreeSearch;
 import pdp.model.board.Move;
@@ -252,6 +253,127 @@ public abstract class GameInitializer {
         }
       }
 
+      if (options.containsKey(OptionType.AI_MCTS_THREADS)) {
+        try {
+          final int threads = Integer.parseInt(options.get(OptionType.AI_MCTS_THREADS));
+          solverWhite.setMonteCarloThreads(threads);
+          solverBlack.setMonteCarloThreads(threads);
+        } catch (IllegalArgumentException e) {
+          error("Not a positive integer for the number of simulation threads of AI");
+          error("Defaulting to " + solverWhite.getMonteCarloThreads() + " thread");
+        }
+      }
+
+      if (options.containsKey(OptionType.AI_PLAYOUT_W)) {
+        try {
+          solverWhite.setPlayoutPolicy(PlayoutPolicy.valueOf(options.get(OptionType.AI_PLAYOUT_W)));
+        } catch (IllegalArgumentException e) {
+          error("Unknown playout policy: " + options.get(OptionType.AI_PLAYOUT_W));
+          error("Defaulting to playout policy " + solverWhite.getPlayoutPolicy());
+        }
+      }
+
+      if (options.containsKey(OptionType.AI_PLAYOUT_B)) {
+        try {
+          solverBlack.setPlayoutPolicy(PlayoutPolicy.valueOf(options.get(OptionType.AI_PLAYOUT_B)));
+        } catch (IllegalArgumentException e) {
+          error("Unknown playout policy: " + options.get(OptionType.AI_PLAYOUT_B));
+          error("Defaulting to playout policy " + solverBlack.getPlayoutPolicy());
+        }
+      }
+
+      if (options.containsKey(OptionType.AI_CUTOFF_W)) {
+        try {
+          solverWhite.setPlayoutCutoff(Integer.parseInt(options.get(OptionType.AI_CUTOFF_W)));
+        } catch (IllegalArgumentException e) {
+          error("Not a positive integer for the playout cutoff of AI");
+          error("Defaulting to " + solverWhite.getPlayoutCutoff() + " plies");
+        }
+      }
+
+      if (options.containsKey(OptionType.AI_CUTOFF_B)) {
+        try {
+          solverBlack.setPlayoutCutoff(Integer.parseInt(options.get(OptionType.AI_CUTOFF_B)));
+        } catch (IllegalArgumentException e) {
+          error("Not a positive integer for the playout cutoff of AI");
+          error("Defaulting to " + solverBlack.getPlayoutCutoff() + " plies");
+        }
+      }
+
+      if (options.containsKey(OptionType.AI_CACHE_SIZE)) {
+        try {
+          final int size = Integer.parseInt(options.get(OptionType.AI_CACHE_SIZE));
+          solverWhite.setCacheSize(size);
+          solverBlack.setCacheSize(size);
+        } catch (IllegalArgumentException e) {
+          error("Not a positive integer for the cache size of AI");
+          error("Defaulting to " + solverWhite.getCache().getCapacity() + " entries");
+        }
+      }
+
+      if (options.containsKey(OptionType.AI_TT_SIZE)) {
+        try {
+          final int size = Integer.parseInt(options.get(OptionType.AI_TT_SIZE));
+          solverWhite.setTranspositionTableSize(size);
+          solverBlack.setTranspositionTableSize(size);
+        } catch (IllegalArgumentException e) {
+          error("Not a positive integer for the transposition table size of AI (in MB)");
+          error("Defaulting to " + solverWhite.getTranspositionTableSize() + " MB");
+        }
+      }
+
+      if (options.containsKey(OptionType.AI_QUIESCENCE)) {
+        switch (options.get(OptionType.AI_QUIESCENCE)) {
+          case "W" -> solverWhite.setQuiescence(true);
+          case "B" -> solverBlack.setQuiescence(true);
+          case "A", "" -> {
+            solverWhite.setQuiescence(true);
+            solverBlack.setQuiescence(true);
+          }
+          default -> {
+            error("Unknown quiescence option: " + options.get(OptionType.AI_QUIESCENCE));
+            error("Defaulting to no quiescence search");
+          }
+        }
+      }
+
+      if (options.containsKey(OptionType.AI_NULL_MOVE)) {
+        solverWhite.setNullMovePruning(true);
+        solverBlack.setNullMovePruning(true);
+      }
+
+      if (options.containsKey(OptionType.AI_LMR)) {
+        solverWhite.setLateMoveReductions(true);
+        solverBlack.setLateMoveReductions(true);
+      }
+
+      if (options.containsKey(OptionType.AI_THREADS)
+          || options.containsKey(OptionType.AI_VIRTUAL_THREADS)) {
+        final boolean virtualThreads = options.containsKey(OptionType.AI_VIRTUAL_THREADS);
+        try {
+          final int threads =
+              options.containsKey(OptionType.AI_THREADS)
+                  ? Integer.parseInt(options.get(OptionType.AI_THREADS))
+                  : solverWhite.getSearchPool().getThreadCount();
+          solverWhite.setSearchPool(threads, virtualThreads);
+          solverBlack.setSearchPool(threads, virtualThreads);
+        } catch (IllegalArgumentException e) {
+          error("Not a positive integer for the number of search threads of AI");
+          error("Defaulting to " + solverWhite.getSearchPool().getThreadCount() + " threads");
+        }
+      }
+
+      if (options.containsKey(OptionType.AI_EVAL_CACHE_SIZE)) {
+        try {
+          final int size = Integer.parseInt(options.get(OptionType.AI_EVAL_CACHE_SIZE));
+          solverWhite.setEvaluationCacheSize(size);
+          solverBlack.setEvaluationCacheSize(size);
+        } catch (IllegalArgumentException e) {
+          error("Not a positive integer for the evaluation cache size of AI");
+          error("Defaulting to " + solverWhite.getEvaluationCache().getCapacity() + " entries");
+        }
+      }
+
       if (options.containsKey(OptionType.AI_TIME)) {
         try {
           int time = Integer.parseInt(options.get(OptionType.AI_TIME));
@@ -5,6 +5,9 @@ import static pdp.utils.Logging.print;
 import java.util.Map;
 import java.util.logging.Logger;
 import pdp.controller.GameController;
+import pdp.model.Game;
+import pdp.model.board.BitboardRepresentation;
+import pdp.model.board.Perft;
 import pdp.utils.CommandLineOptions;
 import pdp.utils.Logging;
 import pdp.utils.OptionType;
@@ -29,6 +32,10 @@ public final class Main {
     final Map<OptionType, String> options =
         CommandLineOptions.parseOptions(args, Runtime.getRuntime());
     Logging.configureLogging(LOGGER);
+    if (options.containsKey(OptionType.PERFT)) {
+      runPerft(options);
+      return;
+    }
     if (!options.containsKey(OptionType.UCI)) {
       print(TextGetter.getText("title"));
       print("options: " + options);
@@ -43,4 +50,20 @@ public final class Main {
       Thread.currentThread().interrupt();
     }
   }
+
+  /**
+   * Prints the perft divide of the start (or loaded) position at the depth given by the perft
+   * option.
+   *
+   * @param options Command line options.
+   */
+  private static void runPerft(final Map<OptionType, String> options) {
+    final Game model = GameInitializer.initialize(options);
+    final BitboardRepresentation board =
+        (BitboardRepresentation) model.getGameState().getBoard().getCopy();
+    final int depth = Integer.parseInt(options.get(OptionType.PERFT));
+    for (final String line : Perft.report(board, model.getGameState().isWhiteTurn(), depth)) {
+      print(line);
+    }
+  }
 }
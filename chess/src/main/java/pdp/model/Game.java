@@ -134,6 +134,7 @@ public final class Game extends GameAbstract {
       if (instance.getWhiteSolver() != null) {
         instance.getWhiteSolver().stopSearch(false);
       }
+      instance.shutdownSearchPools();
 
       for (final EventObserver observer : instance.getObservers()) {
         this.addObserver(observer);
@@ -580,6 +581,9 @@ public final class Game extends GameAbstract {
         saveGame(getContestFile());
       }
       this.notifyObservers(EventType.MOVE_PLAYED);
+      if (isOver()) {
+        shutdownSearchPools();
+      }
       if (this.isContestMode()) {
         return;
       }
@@ -664,6 +668,19 @@ public final class Game extends GameAbstract {
     return super.getHistory().toString();
   }
 
+  /**
+   * Stops the worker threads of the solvers once no search is needed, when the game ends or
+   * restarts. The solvers create them again for their next search.
+   */
+  private void shutdownSearchPools() {
+    if (this.solverWhite != null) {
+      this.solverWhite.getSearchPool().shutdown();
+    }
+    if (this.solverBlack != null) {
+      this.solverBlack.getSearchPool().shutdown();
+    }
+  }
+
   /** Restarts the game by resetting the game state and history. */
   public void restartGame() {
 
@@ -675,6 +692,7 @@ public final class Game extends GameAbstract {
     if (instance.getTimer(false) != null) {
       instance.getTimer(false).stop();
     }
+    shutdownSearchPools();
 
     super.getGameState().updateFrom(new GameState(super.getGameState().getMoveTimer()));
     super.getHistory().clear();
@@ -2,13 +2,18 @@ package pdp.model;
 
 import static pdp.utils.Logging.debug;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Logger;
 import pdp.exceptions.IllegalMoveException;
+import pdp.model.board.BitboardCache;
+import pdp.model.board.BitboardRepresentation;
 import pdp.model.board.Move;
+import pdp.model.board.MoveEncoding;
+import pdp.model.board.MoveList;
 import pdp.model.board.ZobristHashing;
 import pdp.model.history.History;
 import pdp.model.history.HistoryState;
@@ -24,6 +29,30 @@ public final class GameAi extends GameAbstract {
     Logging.configureLogging(LOGGER);
   }
 
+  /** Move buffers reused by the search, one per ply. */
+  private MoveList[] moveLists = new MoveList[0];
+
+  /** Number of moves played through {@link #playMove(int)} and not undone yet. */
+  private int searchPly;
+
+  /** Move played at each ply. */
+  private int[] plyMoves = new int[0];
+
+  /** Board undo information of each ply. */
+  private long[] plyUndoInfos = new long[0];
+
+  /** Simplified hash before the move of each ply. */
+  private long[] plyHashes = new long[0];
+
+  /** Full turn number before the move of each ply. */
+  private int[] plyFullTurns = new int[0];
+
+  /** Game over status before the move of each ply. */
+  private boolean[] plyGameOver = new boolean[0];
+
+  /** Threefold repetition status before the move of each ply. */
+  private boolean[] plyThreefold = new boolean[0];
+
   private GameAi(
       final GameState gameState,
       final History history,
@@ -64,6 +93,146 @@ public final class GameAi extends GameAbstract {
     this.updateGameStateAfterMove(moveToProcess);
   }
 
+  /**
+   * Plays a move produced by the legal move generation (see {@link
+   * pdp.model.board.BoardRepresentation#generateLegalMoves(boolean, MoveList)}) directly on the
+   * board. Nothing is pushed to the history: the move must be reverted with {@link #undoMove()},
+   * which restores the previous state in constant time.
+   *
+   * <p>The move is not validated and no exception is thrown: the searches only play the moves of
+   * the legal move generation, so that every move played is undone.
+   *
+   * @param move The encoded move to be executed.
+   */
+  public void playMove(final int move) {
+    final GameState gameState = super.getGameState();
+    ensurePlyCapacity();
+    plyMoves[searchPly] = move;
+    plyFullTurns[searchPly] = gameState.getFullTurn();
+    plyGameOver[searchPly] = gameState.isGameOver();
+    plyThreefold[searchPly] = gameState.isThreefoldRepetition();
+    plyHashes[searchPly] = gameState.getSimplifiedZobristHashing();
+    plyUndoInfos[searchPly] = gameState.getBoard().makeMove(move);
+    searchPly++;
+
+    if (gameState.isWhiteTurn()) {
+      gameState.incrementsFullTurn();
+    }
+    gameState.switchPlayerTurn();
+    gameState.setSimplifiedZobristHashing(getBoard().getSimpleHash());
+
+    if (this.addStateToCount(gameState.getSimplifiedZobristHashing())) {
+      gameState.activateThreefold();
+    }
+    gameState.checkGameStatus();
+  }
+
+  /** Undoes the last move played with {@link #playMove(int)}. */
+  public void undoMove() {
+    final GameState gameState = super.getGameState();
+    searchPly--;
+    final long currentHash = gameState.getSimplifiedZobristHashing();
+    final Integer count = super.getStateCount().get(currentHash);
+    if (count != null) {
+      super.getStateCount().put(currentHash, count - 1);
+    }
+
+    gameState.switchPlayerTurn();
+    gameState.restoreStatus(
+        plyFullTurns[searchPly],
+        plyGameOver[searchPly],
+        plyThreefold[searchPly],
+        plyHashes[searchPly]);
+    gameState.getBoard().unmakeMove(plyMoves[searchPly], plyUndoInfos[searchPly]);
+  }
+
+  /**
+   * Passes the turn of the current player without moving a piece, for the null-move pruning. The
+   * position is not counted for the threefold repetition. The null move must be reverted with
+   * {@link #undoNullMove()}.
+   */
+  public void playNullMove() {
+    final GameState gameState = super.getGameState();
+    ensurePlyCapacity();
+    plyMoves[searchPly] = MoveEncoding.NONE;
+    plyFullTurns[searchPly] = gameState.getFullTurn();
+    plyGameOver[searchPly] = gameState.isGameOver();
+    plyThreefold[searchPly] = gameState.isThreefoldRepetition();
+    plyHashes[searchPly] = gameState.getSimplifiedZobristHashing();
+    plyUndoInfos[searchPly] = gameState.getBoard().makeNullMove();
+    searchPly++;
+
+    if (gameState.isWhiteTurn()) {
+      gameState.incrementsFullTurn();
+    }
+    gameState.switchPlayerTurn();
+  }
+
+  /** Undoes the null move played with {@link #playNullMove()}. */
+  public void undoNullMove() {
+    final GameState gameState = super.getGameState();
+    searchPly--;
+    gameState.switchPlayerTurn();
+    gameState.restoreStatus(
+        plyFullTurns[searchPly],
+        plyGameOver[searchPly],
+        plyThreefold[searchPly],
+        plyHashes[searchPly]);
+    gameState.getBoard().unmakeNullMove(plyUndoInfos[searchPly]);
+  }
+
+  /**
+   * Checks whether the last move played in the search is a null move, so that two null moves are
+   * never played in a row.
+   *
+   * @return true if the last move is a null move
+   */
+  public boolean isLastMoveNull() {
+    return searchPly > 0 && plyMoves[searchPly - 1] == MoveEncoding.NONE;
+  }
+
+  /**
+   * Retrieves the number of moves played through {@link #playMove(int)} (or null moves) and not
+   * undone yet, i.e. the ply of the current node from the root of the search.
+   *
+   * @return The current ply of the search
+   */
+  public int getSearchPly() {
+    return searchPly;
+  }
+
+  /** Grows the per ply buffers so that the current ply can be stored. */
+  private void ensurePlyCapacity() {
+    if (searchPly < plyMoves.length) {
+      return;
+    }
+    final int capacity = Math.max(searchPly + 1, plyMoves.length * 2);
+    plyMoves = Arrays.copyOf(plyMoves, capacity);
+    plyUndoInfos = Arrays.copyOf(plyUndoInfos, capacity);
+    plyHashes = Arrays.copyOf(plyHashes, capacity);
+    plyFullTurns = Arrays.copyOf(plyFullTurns, capacity);
+    plyGameOver = Arrays.copyOf(plyGameOver, capacity);
+    plyThreefold = Arrays.copyOf(plyThreefold, capacity);
+  }
+
+  /**
+   * Retrieves the move buffer of the current search ply. The buffer is reused, so it must be
+   * consumed before the same ply is reached again.
+   *
+   * @return The move list of the current ply
+   */
+  public MoveList getMoveList() {
+    if (searchPly >= moveLists.length) {
+      final MoveList[] grown = new MoveList[Math.max(searchPly + 1, moveLists.length * 2)];
+      System.arraycopy(moveLists, 0, grown, 0, moveLists.length);
+      for (int i = moveLists.length; i < grown.length; i++) {
+        grown[i] = new MoveList();
+      }
+      moveLists = grown;
+    }
+    return moveLists[searchPly];
+  }
+
   @Override
   protected void updateGameStateAfterMove(final Move move) {
     super.updateGameStateAfterMove(move);
@@ -98,6 +267,18 @@ public final class GameAi extends GameAbstract {
     updateOtherGameStateAfterMove(gameState);
   }
 
+  /**
+   * Plays an encoded move produced by the legal move generation on the game state in parameter.
+   *
+   * @param gameState the game state for which we want the move to occur
+   * @param move The encoded move to be executed
+   * @throws IllegalMoveException If the move is not legal
+   */
+  public void playMoveOtherGameState(final GameState gameState, final int move) {
+    processMove(gameState, MoveEncoding.toMove(move));
+    updateOtherGameStateAfterMove(gameState);
+  }
+
   /**
    * Method used for MonteCarloTreeSearch simulation that processes gameState copies. Updates the
    * game state in parameter (supposed to be copy) after a move is played.
@@ -123,7 +304,9 @@ public final class GameAi extends GameAbstract {
   }
 
   /**
-   * Retrieves a copy of the current GameAI.
+   * Retrieves a copy of the current GameAI. The copy is at the same search ply, so that the tables
+   * indexed by ply (see {@link #getSearchPly()}) stay consistent in a subtree searched on the copy,
+   * but the moves played before the copy cannot be undone on it.
    *
    * @return Instance of game AI
    */
@@ -135,11 +318,14 @@ public final class GameAi extends GameAbstract {
 
     final ZobristHashing zobristHashing = new ZobristHashing(this.getZobristHasher());
 
-    return new GameAi(
-        super.getGameState().getCopy(),
-        history,
-        new HashMap<>(super.getStateCount()),
-        zobristHashing);
+    final GameAi copy =
+        new GameAi(
+            super.getGameState().getCopy(),
+            history,
+            new HashMap<>(super.getStateCount()),
+            zobristHashing);
+    copy.searchPly = searchPly;
+    return copy;
   }
 
   /**
@@ -162,4 +348,19 @@ public final class GameAi extends GameAbstract {
 
     return new GameAi(gameState, history, stateCount, zobristHashing);
   }
+
+  /**
+   * Creates a GameAI from a given Game, whose board (and its copies) uses the given cache.
+   *
+   * @param game game to transform into a GameAI
+   * @param cache cache of the AI player searching the game
+   * @return a gameAI from the given game
+   */
+  public static GameAi fromGame(final Game game, final BitboardCache cache) {
+    final GameAi gameAi = fromGame(game);
+    if (gameAi.getBoard() instanceof BitboardRepresentation bitboards) {
+      bitboards.setCache(cache);
+    }
+    return gameAi;
+  }
 }
@@ -300,6 +300,26 @@ public class GameState extends Subject {
     this.simplifiedZobristHashing = hash;
   }
 
+  /**
+   * Restores the fields changed after a move, used by the search to undo a move without going
+   * through the history.
+   *
+   * @param fullTurn full turn number before the move
+   * @param isOver game over status before the move
+   * @param threefold threefold repetition status before the move
+   * @param simplifiedHash simplified zobrist hashing before the move
+   */
+  public void restoreStatus(
+      final int fullTurn,
+      final boolean isOver,
+      final boolean threefold,
+      final long simplifiedHash) {
+    this.fullTurnNumber = fullTurn;
+    this.gameOver = isOver;
+    this.threefoldRepetition = threefold;
+    this.simplifiedZobristHashing = simplifiedHash;
+  }
+
   /** Changes threefoldstatus for the gamestate when it is observed. */
   public void activateThreefold() {
     this.threefoldRepetition = true;
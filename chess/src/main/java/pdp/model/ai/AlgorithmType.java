@@ -7,5 +7,7 @@ public enum AlgorithmType {
   ALPHA_BETA_PARALLEL,
   ALPHA_BETA_ID,
   ALPHA_BETA_ID_PARALLEL,
+  LAZY_SMP,
+  ALPHA_BETA_YBWC,
   MCTS
 }
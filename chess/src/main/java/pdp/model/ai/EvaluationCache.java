@@ -0,0 +1,165 @@
+package pdp.model.ai;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size, lossy cache of the heuristic scores of the boards evaluated by a solver.
+ *
+ * <p>Like the {@link TranspositionTable}, the cache is a power-of-two array of {@code long} words
+ * without any lock: each entry is a verification word (the key xored with the score bits) followed
+ * by the score bits. A new score always replaces the entry of its slot.
+ */
+public final class EvaluationCache {
+  /** Value returned by {@link #probe(long, boolean)} when the board is not in the cache. */
+  public static final float NO_SCORE = Float.NaN;
+
+  /** Salt of the keys of the boards evaluated for the black player. */
+  private static final long BLACK_KEY = 0xC2B2_AE3D_27D4_EB4FL;
+
+  /** Words of the cache, verification word then score bits for each entry. */
+  private final long[] entries;
+
+  /** Mask applied to the key to get the index of an entry. */
+  private final int mask;
+
+  /** Number of lookups that found a score. */
+  private final LongAdder hits = new LongAdder();
+
+  /** Number of lookups that did not find a score. */
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * Creates a cache able to hold at least the given number of scores (rounded up to a power of
+   * two).
+   *
+   * @param maxNb maximum number of scores in the cache
+   */
+  public EvaluationCache(final int maxNb) {
+    int capacity = 1;
+    while (capacity < maxNb) {
+      capacity <<= 1;
+    }
+    this.entries = new long[capacity * 2];
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Retrieves the number of entries of the cache.
+   *
+   * @return the capacity of the cache
+   */
+  public int getCapacity() {
+    return mask + 1;
+  }
+
+  /**
+   * Looks for the score of a board.
+   *
+   * @param hash full Zobrist hash of the board
+   * @param isWhite the player the board was evaluated for
+   * @return the score, or {@link #NO_SCORE} if it is not cached
+   */
+  public float probe(final long hash, final boolean isWhite) {
+    final long key = key(hash, isWhite);
+    final int index = index(key);
+    final long scoreBits = entries[index + 1];
+    if ((entries[index] ^ scoreBits) != key || scoreBits == 0L) {
+      misses.increment();
+      return NO_SCORE;
+    }
+    hits.increment();
+    return Float.intBitsToFloat((int) scoreBits);
+  }
+
+  /**
+   * Stores the score of a board, replacing the entry of its slot.
+   *
+   * @param hash full Zobrist hash of the board
+   * @param isWhite the player the board was evaluated for
+   * @param score the score of the board
+   */
+  public void store(final long hash, final boolean isWhite, final float score) {
+    final long key = key(hash, isWhite);
+    final int index = index(key);
+    // The upper bit marks the entry as used, so that an empty slot never holds a score of 0
+    final long scoreBits = Integer.toUnsignedLong(Float.floatToRawIntBits(score)) | 1L << 63;
+    entries[index + 1] = scoreBits;
+    entries[index] = key ^ scoreBits;
+  }
+
+  /** Removes every score of the cache and resets the counters. */
+  public void clear() {
+    Arrays.fill(entries, 0L);
+    hits.reset();
+    misses.reset();
+  }
+
+  /**
+   * Retrieves the number of lookups that found a score.
+   *
+   * @return the number of hits
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * Retrieves the number of lookups that did not find a score.
+   *
+   * @return the number of misses
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * Retrieves the proportion of lookups that found a score.
+   *
+   * @return the hit rate between 0 and 1, 0 if the cache was never probed
+   */
+  public double getHitRate() {
+    final long hitCount = getHits();
+    final long total = hitCount + getMisses();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  /**
+   * Describes the size and the counters of the cache.
+   *
+   * @return the statistics of the cache
+   */
+  @Override
+  public String toString() {
+    return "capacity="
+        + getCapacity()
+        + ", hits="
+        + getHits()
+        + ", misses="
+        + getMisses()
+        + ", hit rate="
+        + Math.round(getHitRate() * 100)
+        + "%";
+  }
+
+  /**
+   * Computes the key of a board, the score depending on the evaluated player.
+   *
+   * @param hash full Zobrist hash of the board
+   * @param isWhite the player the board was evaluated for
+   * @return the key of the board
+   */
+  private static long key(final long hash, final boolean isWhite) {
+    return isWhite ? hash : hash ^ BLACK_KEY;
+  }
+
+  /**
+   * Computes the index of the verification word of the entry of a key.
+   *
+   * @param key key of the board
+   * @return index in {@link #entries}
+   */
+  private int index(final long key) {
+    return ((int) key & mask) * 2;
+  }
+}
@@ -0,0 +1,11 @@
+package pdp.model.ai;
+
+/** Enum corresponding to the different ways of playing the playouts of the MCTS algorithm. */
+public enum PlayoutPolicy {
+  /** Uniformly random moves until the end of the game. */
+  RANDOM,
+  /** Moves weighted by their MVVLVA score, so that the good captures are played first. */
+  MVV_LVA,
+  /** Moves weighted by MVVLVA for a few plies, then the position scored by the heuristic. */
+  HEURISTIC
+}
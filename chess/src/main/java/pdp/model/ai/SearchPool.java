@@ -0,0 +1,177 @@
+package pdp.model.ai;
+
+import static pdp.utils.Logging.debug;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import pdp.utils.Logging;
+
+/**
+ * Worker threads of the searches of a solver, kept from one move to the next instead of being
+ * created by every search.
+ *
+ * <p>The pool holds an executor, used by the algorithms submitting tasks, and a fork-join pool,
+ * used by the algorithms splitting the tree recursively. Both are created on first use with the
+ * same number of threads. The idle threads of the executor end after {@link #KEEP_ALIVE_SECONDS},
+ * and the threads never keep the program running. After {@link #shutdown()}, the next search
+ * creates the threads again.
+ *
+ * <p>The executor runs on platform threads, or on virtual threads if asked and if the Java runtime
+ * supports them (Java 21 and later). Otherwise it falls back on platform threads.
+ */
+public final class SearchPool {
+  /** Seconds after which an idle thread of the executor ends. */
+  public static final long KEEP_ALIVE_SECONDS = 60;
+
+  /** Logger of the class. */
+  private static final Logger LOGGER = Logger.getLogger(SearchPool.class.getName());
+
+  /** Number of pools created, naming their threads. */
+  private static final AtomicInteger POOL_COUNT = new AtomicInteger(0);
+
+  /** Number of threads searching in parallel. */
+  private final int threadCount;
+
+  /** Boolean to indicate whether the executor uses virtual threads. */
+  private final boolean virtualThreads;
+
+  /** Executor of the submitted tasks, created on first use. */
+  private ExecutorService executor;
+
+  /** Pool of the recursive tasks, created on first use. */
+  private ForkJoinPool forkJoinPool;
+
+  static {
+    Logging.configureLogging(LOGGER);
+  }
+
+  /** Creates a pool of platform threads with one thread per available processor. */
+  public SearchPool() {
+    this(Runtime.getRuntime().availableProcessors(), false);
+  }
+
+  /**
+   * Creates a pool with the given number of threads.
+   *
+   * @param threadCount number of threads searching in parallel (at least 1)
+   * @param virtualThreads true to run the submitted tasks on virtual threads
+   */
+  public SearchPool(final int threadCount, final boolean virtualThreads) {
+    if (threadCount <= 0) {
+      throw new IllegalArgumentException("Number of search threads must be positive");
+    }
+    this.threadCount = threadCount;
+    this.virtualThreads = virtualThreads;
+  }
+
+  /**
+   * Retrieves the number of threads searching in parallel, which the algorithms use to split their
+   * work.
+   *
+   * @return field threadCount
+   */
+  public int getThreadCount() {
+    return threadCount;
+  }
+
+  /**
+   * Indicates whether the submitted tasks were asked to run on virtual threads.
+   *
+   * @return field virtualThreads
+   */
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  /**
+   * Retrieves the executor of the submitted tasks, creating it if needed.
+   *
+   * @return the executor of the pool
+   */
+  public synchronized ExecutorService getExecutor() {
+    if (executor == null || executor.isShutdown()) {
+      executor = virtualThreads ? newVirtualThreadExecutor() : null;
+      if (executor == null) {
+        final ThreadPoolExecutor platform =
+            new ThreadPoolExecutor(
+                threadCount,
+                threadCount,
+                KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                daemonThreads("search-" + POOL_COUNT.incrementAndGet() + "-worker-"));
+        platform.allowCoreThreadTimeOut(true);
+        executor = platform;
+      }
+      debug(LOGGER, "Search executor created with " + threadCount + " threads");
+    }
+    return executor;
+  }
+
+  /**
+   * Retrieves the pool of the recursive tasks, creating it if needed.
+   *
+   * @return the fork-join pool of the pool
+   */
+  public synchronized ForkJoinPool getForkJoinPool() {
+    if (forkJoinPool == null || forkJoinPool.isShutdown()) {
+      forkJoinPool = new ForkJoinPool(threadCount);
+      debug(LOGGER, "Fork-join pool created with " + threadCount + " threads");
+    }
+    return forkJoinPool;
+  }
+
+  /**
+   * Stops the threads of the pool. The running searches must have been stopped first, as their
+   * tasks are interrupted.
+   */
+  public synchronized void shutdown() {
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+    if (forkJoinPool != null) {
+      forkJoinPool.shutdownNow();
+      forkJoinPool = null;
+    }
+    debug(LOGGER, "Search pool shut down");
+  }
+
+  /**
+   * Creates a thread factory of daemon threads, so that the pool never keeps the program running.
+   *
+   * @param prefix prefix of the names of the threads
+   * @return the thread factory
+   */
+  private static ThreadFactory daemonThreads(final String prefix) {
+    final AtomicInteger count = new AtomicInteger(0);
+    return runnable -> {
+      final Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Creates an executor starting a virtual thread per task, looked up at runtime since the project
+   * is compiled for Java 17.
+   *
+   * @return the executor, or null if the runtime has no virtual threads
+   */
+  private static ExecutorService newVirtualThreadExecutor() {
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      debug(LOGGER, "Virtual threads not supported, using platform threads");
+      return null;
+    }
+  }
+}
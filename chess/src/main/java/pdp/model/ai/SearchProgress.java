@@ -0,0 +1,24 @@
+package pdp.model.ai;
+
+import pdp.model.board.Move;
+
+/**
+ * Progress of a running search, reported to the listener of the solver (see {@link
+ * Solver#setProgressListener(java.util.function.Consumer)}) so that the views may show it during
+ * long searches.
+ *
+ * @param bestMove the best move found so far, null if none yet
+ * @param winRate the win rate of the best move for the player to move, between -1 and 1
+ * @param nodes the number of nodes (or simulations) searched so far
+ * @param elapsed the time spent in the search, in milliseconds
+ */
+public record SearchProgress(Move bestMove, double winRate, long nodes, long elapsed) {
+  /**
+   * Computes the number of nodes searched per second.
+   *
+   * @return the search speed, 0 if no time elapsed yet
+   */
+  public long getNodesPerSecond() {
+    return elapsed == 0 ? 0 : nodes * 1000 / elapsed;
+  }
+}
@@ -4,20 +4,22 @@ import static pdp.utils.Logging.debug;
 import static pdp.utils.Logging.error;
 
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import pdp.events.EventType;
 import pdp.exceptions.IllegalMoveException;
 import pdp.model.Game;
 import pdp.model.GameState;
 import pdp.model.ai.algorithms.AlphaBeta;
+import pdp.model.ai.algorithms.AlphaBetaForkJoin;
 import pdp.model.ai.algorithms.AlphaBetaIterativeDeepening;
 import pdp.model.ai.algorithms.AlphaBetaIterativeDeepeningParallel;
 import pdp.model.ai.algorithms.AlphaBetaParallel;
+import pdp.model.ai.algorithms.LazySmp;
 import pdp.model.ai.algorithms.Minimax;
 import pdp.model.ai.algorithms.MonteCarloTreeSearch;
+import pdp.model.ai.algorithms.Playout;
 import pdp.model.ai.algorithms.SearchAlgorithm;
 import pdp.model.ai.heuristics.BadPawnsHeuristic;
 import pdp.model.ai.heuristics.BishopEndgameHeuristic;
@@ -37,8 +39,11 @@ import pdp.model.ai.heuristics.ShannonBasic;
 import pdp.model.ai.heuristics.SpaceControlHeuristic;
 import pdp.model.ai.heuristics.StandardHeuristic;
 import pdp.model.ai.heuristics.StandardLightHeuristic;
+import pdp.model.board.BitboardCache;
+import pdp.model.board.BitboardRepresentation;
 import pdp.model.board.Move;
-import pdp.model.board.ZobristHashing;
+import pdp.model.board.MoveEncoding;
+import pdp.model.board.MoveList;
 import pdp.model.piece.Color;
 import pdp.utils.Logging;
 import pdp.utils.Timer;
@@ -48,12 +53,6 @@ public class Solver {
   /** Logger of the class. */
   private static final Logger LOGGER = Logger.getLogger(Solver.class.getName());
 
-  /** Zobrist hashing to avoid recomputing the position evaluation for the same boards. */
-  private final ZobristHashing zobristHashing = new ZobristHashing();
-
-  /** Map containing evaluations of boards, stored thanks to zobrist. */
-  private ConcurrentMap<Long, Float> evaluatedBoards;
-
   /** AI algorithm to find the best move. */
   private SearchAlgorithm algorithm;
 
@@ -84,19 +83,75 @@ public class Solver {
   /** Time allocated for the search of a move. */
   private long time;
 
+  /** Time remaining on the clock for the next search, in milliseconds, 0 if not known. */
+  private long clockRemaining;
+
+  /** Time added to the clock after each move, in milliseconds. */
+  private long clockIncrement;
+
+  /** Number of moves before the next time control, 0 if not known. */
+  private int movesToGo;
+
+  /** Fixed time of the next search, in milliseconds, 0 if not set. */
+  private long moveTime;
+
+  /** Budget of the running or last timed search, null if the search is not timed. */
+  private volatile TimeManager timeManager;
+
   /** Boolean to indicate whether the algorithm is searching for a move. */
   private boolean searchStopped;
 
   /** Boolean to indicate if the move needs to be played. Used for the hint of gui. */
   private boolean isMoveToPlay = true;
 
+  /** Cache of the boards searched by this solver, not shared with the other players. */
+  private BitboardCache cache = new BitboardCache(BitboardRepresentation.DEFAULT_CACHE_SIZE);
+
+  /** Default size of the transposition table, in megabytes. */
+  public static final int DEFAULT_TRANSPOSITION_TABLE_SIZE = 16;
+
+  /** Size of the transposition table, in megabytes. */
+  private int transpositionTableSize = DEFAULT_TRANSPOSITION_TABLE_SIZE;
+
+  /** Transposition table of the alpha-beta algorithms, allocated on first use. */
+  private volatile TranspositionTable transpositionTable;
+
+  /** Boolean to indicate whether the alpha-beta leaves are extended by a quiescence search. */
+  private boolean quiescence;
+
+  /** Boolean to indicate whether the alpha-beta algorithms try null moves to cut nodes. */
+  private boolean nullMovePruning;
+
+  /** Boolean to indicate whether the alpha-beta algorithms reduce the depth of the late moves. */
+  private boolean lateMoveReductions;
+
+  /** Default number of entries of the evaluation cache. */
+  public static final int DEFAULT_EVALUATION_CACHE_SIZE = 1 << 17;
+
+  /** Scores of the boards evaluated with the current heuristic, stored thanks to zobrist. */
+  private EvaluationCache evaluationCache = new EvaluationCache(DEFAULT_EVALUATION_CACHE_SIZE);
+
+  /** Worker threads of the parallel algorithms, kept between the moves. */
+  private SearchPool searchPool = new SearchPool();
+
+  /** Number of threads running the simulations of the Monte Carlo tree search. */
+  private int monteCarloThreads = 1;
+
+  /** Way of playing the playouts of the Monte Carlo tree search. */
+  private PlayoutPolicy playoutPolicy = PlayoutPolicy.RANDOM;
+
+  /** Number of plies after which a playout scored by the heuristic is cut. */
+  private int playoutCutoff = Playout.DEFAULT_CUTOFF_PLIES;
+
+  /** Listener of the progress of the searches, null if none. */
+  private volatile Consumer<SearchProgress> progressListener;
+
   static {
     Logging.configureLogging(LOGGER);
   }
 
   /** Initializes the solver with the default heuristic and algorithm. */
   public Solver() {
-    evaluatedBoards = new ConcurrentHashMap<>();
     this.algorithm = new AlphaBeta(this);
     this.heuristic = new StandardHeuristic();
     this.moveTimes = new CopyOnWriteArrayList<>();
@@ -114,6 +169,8 @@ public class Solver {
       case ALPHA_BETA_ID -> this.algorithm = new AlphaBetaIterativeDeepening(this);
       case ALPHA_BETA_PARALLEL -> this.algorithm = new AlphaBetaParallel(this);
       case ALPHA_BETA_ID_PARALLEL -> this.algorithm = new AlphaBetaIterativeDeepeningParallel(this);
+      case LAZY_SMP -> this.algorithm = new LazySmp(this);
+      case ALPHA_BETA_YBWC -> this.algorithm = new AlphaBetaForkJoin(this);
       case MCTS -> this.algorithm = new MonteCarloTreeSearch(this);
       default -> throw new IllegalArgumentException("No algorithm is set");
     }
@@ -160,7 +217,8 @@ public class Solver {
     if (this.startHeuristic == null) {
       this.startHeuristic = heuristic;
     }
-    this.evaluatedBoards = new ConcurrentHashMap<>();
+    evaluationCache.clear();
+    clearTranspositionTable();
     debug(LOGGER, "Heuristic set to: " + this.heuristic);
   }
 
@@ -175,7 +233,8 @@ public class Solver {
       if (this.startHeuristic == null) {
         this.startHeuristic = heuristic;
       }
-      evaluatedBoards = new ConcurrentHashMap<>();
+      evaluationCache.clear();
+      clearTranspositionTable();
       this.currentHeuristic = heuristic;
       debug(LOGGER, "Heuristic set to: " + this.heuristic);
     } else {
@@ -292,6 +351,106 @@ public class Solver {
     return time;
   }
 
+  /**
+   * Sets the clock of the player for the next search only, so that its budget is computed from the
+   * remaining time and the increment instead of the time set by {@link #setTime(long)}.
+   *
+   * @param remaining Time remaining on the clock of the player, in milliseconds
+   * @param increment Time added to the clock after each move, in milliseconds
+   * @param movesToGo Number of moves before the next time control, 0 if unknown
+   */
+  public void setClock(final long remaining, final long increment, final int movesToGo) {
+    if (remaining <= 0) {
+      throw new IllegalArgumentException("Remaining time must be greater than 0");
+    }
+    this.clockRemaining = remaining;
+    this.clockIncrement = Math.max(increment, 0);
+    this.movesToGo = Math.max(movesToGo, 0);
+    debug(LOGGER, "Clock set to " + remaining + " + " + increment);
+  }
+
+  /**
+   * Sets a fixed time for the next search only, instead of the time set by {@link #setTime(long)}.
+   * The budget is computed by {@link TimeManager#forMoveTime(long)}.
+   *
+   * @param moveTime Time allocated to the next move, in milliseconds
+   */
+  public void setMoveTime(final long moveTime) {
+    if (moveTime <= 0) {
+      throw new IllegalArgumentException("Move time must be greater than 0");
+    }
+    this.moveTime = moveTime;
+    debug(LOGGER, "Move time set to " + moveTime);
+  }
+
+  /**
+   * Retrieves the budget of the running or last timed search. The iterative deepening algorithms
+   * use it to decide whether to start a new iteration.
+   *
+   * @return the budget of the search, null if the search is not timed
+   */
+  public TimeManager getTimeManager() {
+    return timeManager;
+  }
+
+  /**
+   * Starts a search of {@link #playAiMove(Game)} or {@link #getBestMove(Game)}: the entries of the
+   * transposition table written by the previous searches become replaceable, and the budget of the
+   * search is computed from the clock or the move time if set, or from the time per move. The timer
+   * of the solver is set to the hard limit and started.
+   */
+  private void startSearch() {
+    searchStopped = false;
+    if (transpositionTable != null) {
+      transpositionTable.newSearch();
+    }
+    if (clockRemaining > 0) {
+      timeManager = TimeManager.forClock(clockRemaining, clockIncrement, movesToGo);
+      clockRemaining = 0;
+    } else if (moveTime > 0) {
+      timeManager = TimeManager.forMoveTime(moveTime);
+      moveTime = 0;
+    } else if (time > 0) {
+      timeManager = TimeManager.forMoveTime(time);
+    } else {
+      timeManager = null;
+      return;
+    }
+    debug(LOGGER, "Budget of the search: " + timeManager);
+    if (timer == null) {
+      timer = new Timer(timeManager.getHardLimit());
+      timer.setCallback(() -> this.stopSearch(true));
+    }
+    timer.setDuration(timeManager.getHardLimit());
+    timeManager.start();
+    timer.start();
+  }
+
+  /**
+   * Ends a search of {@link #playAiMove(Game)} or {@link #getBestMove(Game)}: stops the timer of
+   * the solver and logs the statistics of the caches.
+   */
+  private void endSearch() {
+    if (timer != null) {
+      timer.stop();
+    }
+    debug(LOGGER, "Cache: " + cache);
+    debug(LOGGER, "Evaluation cache: " + evaluationCache);
+  }
+
+  /**
+   * Retrieves the first legal move of the player, played when the search could not return any.
+   *
+   * @param game current game
+   * @param player the player to move (true for white, false for black)
+   * @return the first legal move, null if the player has none
+   */
+  private static Move firstLegalMove(final Game game, final boolean player) {
+    final MoveList moves = new MoveList();
+    game.getBoard().generateLegalMoves(player, moves);
+    return moves.isEmpty() ? null : MoveEncoding.toMove(moves.get(0));
+  }
+
   /**
    * Stops the search of the best move and sets the field isMoveToPlay to the boolean in parameter.
    *
@@ -317,23 +476,22 @@ public class Solver {
    * @param game current game
    */
   public void playAiMove(final Game game) {
-    if (timer != null) {
-      timer.start();
-    }
     final long startTime = System.nanoTime();
-    searchStopped = false;
     isMoveToPlay = true;
+    startSearch();
     final AiMove bestMove = algorithm.findBestMove(game, depth, game.getGameState().isWhiteTurn());
-    if (timer != null) {
-      timer.stop();
-    }
+    endSearch();
     moveTimes.add(System.nanoTime() - startTime);
 
     debug(LOGGER, "Best move " + bestMove);
 
     if (isMoveToPlay) {
+      final Move move =
+          bestMove.move() != null
+              ? bestMove.move()
+              : firstLegalMove(game, game.getGameState().isWhiteTurn());
       try {
-        game.playMove(bestMove.move());
+        game.playMove(move);
       } catch (IllegalMoveException e) {
         game.notifyObservers(EventType.AI_NOT_ENOUGH_TIME);
         error(e.getMessage());
@@ -353,16 +511,290 @@ public class Solver {
    * @return best move according to the game in parameter
    */
   public Move getBestMove(final Game game) {
-    if (timer != null) {
-      timer.start();
-    }
+    startSearch();
     final AiMove bestMove = algorithm.findBestMove(game, depth, game.getBoard().getPlayer());
-    if (timer != null) {
-      timer.stop();
-    }
+    endSearch();
 
     debug(LOGGER, "Best move " + bestMove);
-    return bestMove.move();
+    return bestMove.move() != null
+        ? bestMove.move()
+        : firstLegalMove(game, game.getBoard().getPlayer());
+  }
+
+  /**
+   * Retrieves the cache used by the boards searched by this solver.
+   *
+   * @return field cache
+   */
+  public BitboardCache getCache() {
+    return cache;
+  }
+
+  /**
+   * Replaces the cache of the solver by an empty one of the given number of entries (rounded up to
+   * a power of two).
+   *
+   * @param size number of entries of the cache
+   */
+  public void setCacheSize(final int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Cache size must be positive");
+    }
+    this.cache = new BitboardCache(size);
+    debug(LOGGER, "Cache size set to " + cache.getCapacity());
+  }
+
+  /**
+   * Retrieves the transposition table of the solver, allocating it on first use.
+   *
+   * @return field transpositionTable
+   */
+  public TranspositionTable getTranspositionTable() {
+    TranspositionTable table = transpositionTable;
+    if (table == null) {
+      synchronized (this) {
+        table = transpositionTable;
+        if (table == null) {
+          table = new TranspositionTable(transpositionTableSize);
+          transpositionTable = table;
+        }
+      }
+    }
+    return table;
+  }
+
+  /**
+   * Sets the size of the transposition table. The current table is dropped.
+   *
+   * @param sizeMb size of the table in megabytes
+   */
+  public void setTranspositionTableSize(final int sizeMb) {
+    if (sizeMb < 1) {
+      throw new IllegalArgumentException("Transposition table size must be positive");
+    }
+    this.transpositionTableSize = sizeMb;
+    this.transpositionTable = null;
+    debug(LOGGER, "Transposition table size set to " + sizeMb + " MB");
+  }
+
+  /**
+   * Retrieves the size of the transposition table.
+   *
+   * @return the size of the table in megabytes
+   */
+  public int getTranspositionTableSize() {
+    return transpositionTableSize;
+  }
+
+  /**
+   * Indicates whether the alpha-beta algorithms run a quiescence search at their leaves.
+   *
+   * @return true if the quiescence search is enabled, false otherwise
+   */
+  public boolean isQuiescence() {
+    return quiescence;
+  }
+
+  /**
+   * Enables or disables the quiescence search at the leaves of the alpha-beta algorithms.
+   *
+   * @param quiescence true to search the captures and promotions after the depth is reached
+   */
+  public void setQuiescence(final boolean quiescence) {
+    this.quiescence = quiescence;
+    clearTranspositionTable();
+    debug(LOGGER, "Quiescence search set to " + quiescence);
+  }
+
+  /**
+   * Indicates whether the alpha-beta algorithms use the null-move pruning.
+   *
+   * @return true if the null-move pruning is enabled, false otherwise
+   */
+  public boolean isNullMovePruning() {
+    return nullMovePruning;
+  }
+
+  /**
+   * Enables or disables the null-move pruning of the alpha-beta algorithms. Minimax never prunes.
+   *
+   * @param nullMovePruning true to try null moves, false to search every node
+   */
+  public void setNullMovePruning(final boolean nullMovePruning) {
+    this.nullMovePruning = nullMovePruning;
+    clearTranspositionTable();
+    debug(LOGGER, "Null-move pruning set to " + nullMovePruning);
+  }
+
+  /**
+   * Indicates whether the alpha-beta algorithms use the late-move reductions.
+   *
+   * @return true if the late-move reductions are enabled, false otherwise
+   */
+  public boolean isLateMoveReductions() {
+    return lateMoveReductions;
+  }
+
+  /**
+   * Enables or disables the late-move reductions of the alpha-beta algorithms. Minimax never
+   * reduces.
+   *
+   * @param lateMoveReductions true to reduce the late quiet moves, false to search them fully
+   */
+  public void setLateMoveReductions(final boolean lateMoveReductions) {
+    this.lateMoveReductions = lateMoveReductions;
+    clearTranspositionTable();
+    debug(LOGGER, "Late-move reductions set to " + lateMoveReductions);
+  }
+
+  /**
+   * Retrieves the worker threads the parallel algorithms borrow.
+   *
+   * @return field searchPool
+   */
+  public SearchPool getSearchPool() {
+    return searchPool;
+  }
+
+  /**
+   * Replaces the worker threads of the parallel algorithms, stopping the previous ones.
+   *
+   * @param threadCount number of threads searching in parallel
+   * @param virtualThreads true to run the submitted tasks on virtual threads
+   * @throws IllegalArgumentException if the number of threads is not positive
+   */
+  public void setSearchPool(final int threadCount, final boolean virtualThreads) {
+    final SearchPool previous = this.searchPool;
+    this.searchPool = new SearchPool(threadCount, virtualThreads);
+    previous.shutdown();
+    debug(
+        LOGGER,
+        "Search pool set to "
+            + threadCount
+            + (virtualThreads ? " virtual" : " platform")
+            + " threads");
+  }
+
+  /**
+   * Retrieves the number of threads sharing the tree of the Monte Carlo tree search.
+   *
+   * @return field monteCarloThreads
+   */
+  public int getMonteCarloThreads() {
+    return monteCarloThreads;
+  }
+
+  /**
+   * Sets the number of threads sharing the tree of the Monte Carlo tree search, the calling thread
+   * included. The other ones are borrowed from the search pool.
+   *
+   * @param threadCount number of threads running the simulations
+   * @throws IllegalArgumentException if the number of threads is not positive
+   */
+  public void setMonteCarloThreads(final int threadCount) {
+    if (threadCount <= 0) {
+      throw new IllegalArgumentException("Number of simulation threads must be positive");
+    }
+    this.monteCarloThreads = threadCount;
+    debug(LOGGER, "Monte Carlo threads set to " + threadCount);
+  }
+
+  /**
+   * Retrieves the way of playing the playouts of the Monte Carlo tree search.
+   *
+   * @return field playoutPolicy
+   */
+  public PlayoutPolicy getPlayoutPolicy() {
+    return playoutPolicy;
+  }
+
+  /**
+   * Sets the way of playing the playouts of the Monte Carlo tree search, used from its next search.
+   *
+   * @param policy the policy of the playouts
+   */
+  public void setPlayoutPolicy(final PlayoutPolicy policy) {
+    if (policy == null) {
+      throw new IllegalArgumentException("No playout policy is set");
+    }
+    this.playoutPolicy = policy;
+    debug(LOGGER, "Playout policy set to " + policy);
+  }
+
+  /**
+   * Retrieves the number of plies after which a {@link PlayoutPolicy#HEURISTIC} playout is cut.
+   *
+   * @return field playoutCutoff
+   */
+  public int getPlayoutCutoff() {
+    return playoutCutoff;
+  }
+
+  /**
+   * Sets the number of plies after which a {@link PlayoutPolicy#HEURISTIC} playout is cut and
+   * scored by the heuristic, used from the next search of the Monte Carlo tree search.
+   *
+   * @param plies the cutoff depth of the playouts (at least 1)
+   */
+  public void setPlayoutCutoff(final int plies) {
+    if (plies <= 0) {
+      throw new IllegalArgumentException("Cutoff of the playouts must be positive");
+    }
+    this.playoutCutoff = plies;
+    debug(LOGGER, "Playout cutoff set to " + plies);
+  }
+
+  /**
+   * Sets the listener notified of the progress of the searches, from the searching thread. Only the
+   * Monte Carlo tree search reports its progress.
+   *
+   * @param listener the listener, null to remove it
+   */
+  public void setProgressListener(final Consumer<SearchProgress> listener) {
+    this.progressListener = listener;
+  }
+
+  /**
+   * Notifies the listener, if any, of the progress of the running search.
+   *
+   * @param progress the progress of the search
+   */
+  public void reportProgress(final SearchProgress progress) {
+    final Consumer<SearchProgress> listener = progressListener;
+    if (listener != null) {
+      listener.accept(progress);
+    }
+  }
+
+  /**
+   * Retrieves the cache of the scores computed by the heuristic.
+   *
+   * @return field evaluationCache
+   */
+  public EvaluationCache getEvaluationCache() {
+    return evaluationCache;
+  }
+
+  /**
+   * Replaces the evaluation cache of the solver by an empty one of the given number of entries
+   * (rounded up to a power of two).
+   *
+   * @param size number of entries of the cache
+   */
+  public void setEvaluationCacheSize(final int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Evaluation cache size must be positive");
+    }
+    this.evaluationCache = new EvaluationCache(size);
+    debug(LOGGER, "Evaluation cache size set to " + evaluationCache.getCapacity());
+  }
+
+  /** Removes the entries of the transposition table, computed with another heuristic. */
+  private void clearTranspositionTable() {
+    final TranspositionTable table = transpositionTable;
+    if (table != null) {
+      table.clear();
+    }
   }
 
   /**
@@ -378,13 +810,12 @@ public class Solver {
       throw new IllegalArgumentException("Board is null");
     }
 
-    final long hash = zobristHashing.generateHashFromBitboards(gameState.getBoard());
-    float score;
-    if (evaluatedBoards.containsKey(hash)) {
-      score = evaluatedBoards.get(hash);
-    } else {
-      score = heuristic.evaluate(gameState.getBoard(), isWhite);
-      evaluatedBoards.put(hash, score);
+    final long hash = gameState.getBoard().getZobristHash();
+    float score = evaluationCache.probe(hash, isWhite);
+    if (Float.isNaN(score)) {
+      // Adding 0 turns the -0 of a mirrored even position into 0
+      score = heuristic.evaluate(gameState.getBoard(), isWhite) + 0f;
+      evaluationCache.store(hash, isWhite, score);
     }
 
     final Color player = isWhite ? Color.WHITE : Color.BLACK;
@@ -423,6 +854,9 @@ public class Solver {
           + algorithm
           + ", simulations="
           + ((MonteCarloTreeSearch) algorithm).getSimulationLimit()
+          + ", playout="
+          + playoutPolicy
+          + (playoutPolicy == PlayoutPolicy.HEURISTIC ? "/" + playoutCutoff : "")
           + ", time="
           + time;
     }
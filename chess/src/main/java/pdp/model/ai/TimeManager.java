@@ -0,0 +1,217 @@
+package pdp.model.ai;
+
+import pdp.model.board.MoveEncoding;
+
+/**
+ * Time allocated to the search of a move, with a soft limit and a hard limit in milliseconds.
+ *
+ * <p>The hard limit is never exceeded: the timer of the solver stops the search when it is reached,
+ * and the move of the last completed iteration is played. The soft limit is checked between the
+ * iterations of an iterative deepening search: no new iteration is started once it is reached, as
+ * it would most likely not be completed. The soft limit is halved when the best move has not
+ * changed for {@link #STABLE_ITERATIONS} iterations, and extended when the last iteration changed
+ * it.
+ *
+ * <p>A search which may be stopped at any moment without losing its work, as the Monte Carlo tree
+ * search, runs until the target time instead: the whole fixed time of a move, or the share of the
+ * clock of the move.
+ *
+ * <p>The budgets are either computed from the remaining time on the clock and the increment (see
+ * {@link #forClock(long, long, int)}), or from a fixed time per move (see {@link
+ * #forMoveTime(long)}).
+ */
+public final class TimeManager {
+  /** Number of moves assumed to remain before the end of the game, when not known. */
+  public static final int DEFAULT_MOVES_TO_GO = 30;
+
+  /** Time kept on the clock for the overhead of playing the move, in milliseconds. */
+  public static final long SAFETY_MARGIN = 50;
+
+  /** Smallest budget of a move, in milliseconds. */
+  public static final long MIN_BUDGET = 10;
+
+  /** Factor between the soft limit and the hard limit, for a clock. */
+  private static final int HARD_FACTOR = 4;
+
+  /** Number of iterations with the same best move after which the search may stop early. */
+  public static final int STABLE_ITERATIONS = 3;
+
+  /** Time after which no new iteration is started, in milliseconds. */
+  private final long softLimit;
+
+  /** Time after which the search is stopped, in milliseconds. */
+  private final long hardLimit;
+
+  /** Time used by a search which may be stopped at any moment, in milliseconds. */
+  private final long targetTime;
+
+  /** Time the search started at, in nanoseconds. */
+  private long startTime;
+
+  /** Encoded best move of the last completed iteration, {@link MoveEncoding#NONE} if none. */
+  private int bestMove = MoveEncoding.NONE;
+
+  /** Number of completed iterations in a row which did not change the best move. */
+  private int stableIterations;
+
+  /** Boolean to indicate whether the last completed iteration changed the best move. */
+  private boolean bestMoveChanged;
+
+  /**
+   * Creates the budget of a move.
+   *
+   * @param softLimit Time after which no new iteration is started, in milliseconds
+   * @param hardLimit Time after which the search is stopped, in milliseconds
+   */
+  public TimeManager(final long softLimit, final long hardLimit) {
+    this(softLimit, hardLimit, softLimit);
+  }
+
+  /**
+   * Creates the budget of a move with a target time between its soft and hard limits.
+   *
+   * @param softLimit Time after which no new iteration is started, in milliseconds
+   * @param hardLimit Time after which the search is stopped, in milliseconds
+   * @param targetTime Time used by a search which may be stopped at any moment, in milliseconds
+   */
+  private TimeManager(final long softLimit, final long hardLimit, final long targetTime) {
+    if (softLimit <= 0 || hardLimit < softLimit) {
+      throw new IllegalArgumentException("Time limits must be positive, the soft one first");
+    }
+    this.softLimit = softLimit;
+    this.hardLimit = hardLimit;
+    this.targetTime = Math.min(Math.max(targetTime, softLimit), hardLimit);
+    start();
+  }
+
+  /**
+   * Computes the budget of a move from the clock of the player. The remaining time is shared
+   * between the moves to go, and most of the increment is spent on each move. The hard limit lets
+   * an unstable search use several times this share, but never the whole clock.
+   *
+   * @param remaining Time remaining on the clock of the player, in milliseconds
+   * @param increment Time added to the clock after each move, in milliseconds
+   * @param movesToGo Number of moves before the next time control, 0 if unknown
+   * @return the budget of the move
+   */
+  public static TimeManager forClock(
+      final long remaining, final long increment, final int movesToGo) {
+    final long available = Math.max(remaining - SAFETY_MARGIN, MIN_BUDGET);
+    final int moves = movesToGo > 0 ? movesToGo : DEFAULT_MOVES_TO_GO;
+    final long share = available / moves + Math.max(increment, 0) * 3 / 4;
+    final long hard = Math.max(Math.min(share * HARD_FACTOR, available), MIN_BUDGET);
+    final long soft = Math.max(Math.min(share, hard), MIN_BUDGET);
+    return new TimeManager(soft, hard);
+  }
+
+  /**
+   * Computes the budget of a move from a fixed time per move. The search may use all of it, but
+   * does not start an iteration after half of it.
+   *
+   * @param moveTime Time allocated to the move, in milliseconds
+   * @return the budget of the move
+   */
+  public static TimeManager forMoveTime(final long moveTime) {
+    final long hard = Math.max(moveTime - SAFETY_MARGIN, MIN_BUDGET);
+    return new TimeManager(Math.max(hard / 2, 1), hard, hard);
+  }
+
+  /** Starts the clock of the search and forgets the iterations of the previous one. */
+  public void start() {
+    startTime = System.nanoTime();
+    bestMove = MoveEncoding.NONE;
+    stableIterations = 0;
+    bestMoveChanged = false;
+  }
+
+  /**
+   * Retrieves the time after which no new iteration is started.
+   *
+   * @return field softLimit, in milliseconds
+   */
+  public long getSoftLimit() {
+    return softLimit;
+  }
+
+  /**
+   * Retrieves the time used by a search which may be stopped at any moment without losing its work,
+   * such as the simulations of the Monte Carlo tree search.
+   *
+   * @return field targetTime, in milliseconds
+   */
+  public long getTargetTime() {
+    return targetTime;
+  }
+
+  /**
+   * Retrieves the time after which the search is stopped.
+   *
+   * @return field hardLimit, in milliseconds
+   */
+  public long getHardLimit() {
+    return hardLimit;
+  }
+
+  /**
+   * Retrieves the time spent since the search started.
+   *
+   * @return the elapsed time, in milliseconds
+   */
+  public long getElapsed() {
+    return (System.nanoTime() - startTime) / 1_000_000;
+  }
+
+  /**
+   * Records the best move of a completed iteration, to know whether the search is stable.
+   *
+   * @param move The encoded best move of the iteration
+   */
+  public void iterationCompleted(final int move) {
+    bestMoveChanged = bestMove != MoveEncoding.NONE && bestMove != move;
+    if (bestMove != MoveEncoding.NONE && !bestMoveChanged) {
+      stableIterations++;
+    } else {
+      stableIterations = 0;
+    }
+    bestMove = move;
+  }
+
+  /**
+   * Retrieves the number of completed iterations in a row which did not change the best move.
+   *
+   * @return field stableIterations
+   */
+  public int getStableIterations() {
+    return stableIterations;
+  }
+
+  /**
+   * Computes the time after which no new iteration is started, from the soft limit and the
+   * stability of the best move.
+   *
+   * @return the time limit of the next iteration, in milliseconds
+   */
+  public long getIterationLimit() {
+    if (stableIterations >= STABLE_ITERATIONS) {
+      return softLimit / 2;
+    }
+    if (bestMoveChanged) {
+      return Math.min(softLimit * 3 / 2, hardLimit);
+    }
+    return softLimit;
+  }
+
+  /**
+   * Checks whether a new iteration may be started.
+   *
+   * @return true if the time spent is below the limit of the next iteration
+   */
+  public boolean canStartIteration() {
+    return getElapsed() < getIterationLimit();
+  }
+
+  @Override
+  public String toString() {
+    return "TimeManager{soft=" + softLimit + ", hard=" + hardLimit + ", target=" + targetTime + "}";
+  }
+}
@@ -0,0 +1,301 @@
+package pdp.model.ai;
+
+import java.util.Arrays;
+import pdp.model.board.MoveEncoding;
+import pdp.model.board.MoveList;
+
+/**
+ * Transposition table of the alpha-beta algorithms, storing for each searched position its depth,
+ * its score with the type of bound, the best move found and the search it comes from.
+ *
+ * <p>Like the {@link pdp.model.board.BitboardCache}, the table is a power-of-two array of {@code
+ * long} words without any lock, shared by all the threads of a solver. An entry is made of a
+ * verification word (the key xored with the data) and a data word:
+ *
+ * <ul>
+ *   <li>bits 0-31: score (float bits)
+ *   <li>bits 32-47: best move (source, destination and promotion of the encoded move)
+ *   <li>bits 48-55: depth + 1, so that a stored entry is never 0
+ *   <li>bits 56-57: bound ({@link #EXACT}, {@link #LOWER_BOUND}, {@link #UPPER_BOUND})
+ *   <li>bits 58-63: age of the search which stored the entry
+ * </ul>
+ *
+ * <p>An entry is replaced by an entry of the same position, or by a deeper or equally deep entry,
+ * or when it comes from a previous search.
+ */
+public final class TranspositionTable {
+  /** Value returned by {@link #probe(long)} when the position is not in the table. */
+  public static final long NO_ENTRY = 0L;
+
+  /** Bound type of a score which is the exact value of the position. */
+  public static final int EXACT = 0;
+
+  /** Bound type of a score which is a lower bound of the value (the search failed high). */
+  public static final int LOWER_BOUND = 1;
+
+  /** Bound type of a score which is an upper bound of the value (the search failed low). */
+  public static final int UPPER_BOUND = 2;
+
+  /** Number of bytes used by an entry. */
+  private static final int ENTRY_BYTES = 2 * Long.BYTES;
+
+  /** Salt of the keys of the searches made for the black player, whose scores are mirrored. */
+  private static final long BLACK_ROOT_KEY = 0x9E37_79B9_7F4A_7C15L;
+
+  /** Offset of the best move in the data word. */
+  private static final int MOVE_SHIFT = 32;
+
+  /** Offset of the depth in the data word. */
+  private static final int DEPTH_SHIFT = 48;
+
+  /** Offset of the bound in the data word. */
+  private static final int BOUND_SHIFT = 56;
+
+  /** Offset of the age in the data word. */
+  private static final int AGE_SHIFT = 58;
+
+  /** Mask of the best move in the data word, once shifted. */
+  private static final int MOVE_MASK = 0xFFFF;
+
+  /** Mask of the depth in the data word, once shifted. */
+  private static final int DEPTH_MASK = 0xFF;
+
+  /** Mask of the age in the data word, once shifted. */
+  private static final int AGE_MASK = 0x3F;
+
+  /** Words of the table, verification word then data word for each entry. */
+  private final long[] entries;
+
+  /** Mask applied to the key to get the index of an entry. */
+  private final int mask;
+
+  /** Age of the current search, stored in the entries. */
+  private int age;
+
+  /**
+   * Creates a table using at most the given number of megabytes (at least one entry).
+   *
+   * @param sizeMb size of the table in megabytes
+   */
+  public TranspositionTable(final int sizeMb) {
+    final long maxEntries = Math.max(1L, (long) sizeMb * 1024 * 1024 / ENTRY_BYTES);
+    final int capacity = (int) Math.min(Long.highestOneBit(maxEntries), 1 << 28);
+    this.entries = new long[capacity * 2];
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Retrieves the number of entries of the table.
+   *
+   * @return the capacity of the table
+   */
+  public int getCapacity() {
+    return mask + 1;
+  }
+
+  /**
+   * Retrieves the age of the current search, stored in the entries it writes.
+   *
+   * @return field age
+   */
+  public int getAge() {
+    return age;
+  }
+
+  /** Starts a new search: entries of the previous searches become replaceable. */
+  public void newSearch() {
+    age = (age + 1) & AGE_MASK;
+  }
+
+  /** Removes every entry of the table. */
+  public void clear() {
+    Arrays.fill(entries, 0L);
+  }
+
+  /**
+   * Computes the key of a position. The scores of the alpha-beta algorithms are given from the
+   * point of view of the player at the root, so the key depends on it.
+   *
+   * @param zobristHash full Zobrist hash of the board
+   * @param originalPlayer the player at the root of the search (true for white)
+   * @return the key of the position in the table
+   */
+  public static long key(final long zobristHash, final boolean originalPlayer) {
+    return originalPlayer ? zobristHash : zobristHash ^ BLACK_ROOT_KEY;
+  }
+
+  /**
+   * Looks for a position in the table.
+   *
+   * @param key key of the position (see {@link #key(long, boolean)})
+   * @return the data word of the entry, or {@link #NO_ENTRY} if the position is not stored
+   */
+  public long probe(final long key) {
+    final int index = index(key);
+    final long data = entries[index + 1];
+    if ((entries[index] ^ data) != key) {
+      return NO_ENTRY;
+    }
+    return data;
+  }
+
+  /**
+   * Stores the result of the search of a position, if the replacement scheme allows it.
+   *
+   * @param key key of the position (see {@link #key(long, boolean)})
+   * @param depth depth of the search of the position
+   * @param score score of the position
+   * @param bound type of bound of the score
+   * @param move best encoded move found, {@link MoveEncoding#NONE} if none
+   */
+  public void store(
+      final long key, final int depth, final float score, final int bound, final int move) {
+    final int index = index(key);
+    final long oldData = entries[index + 1];
+    final boolean samePosition = (entries[index] ^ oldData) == key;
+    if (oldData != NO_ENTRY
+        && !samePosition
+        && getAge(oldData) == age
+        && getDepth(oldData) > depth) {
+      return;
+    }
+    int packedMove = packMove(move);
+    if (packedMove == 0 && samePosition) {
+      packedMove = (int) (oldData >>> MOVE_SHIFT) & MOVE_MASK;
+    }
+    final long data =
+        Integer.toUnsignedLong(Float.floatToRawIntBits(score))
+            | (long) packedMove << MOVE_SHIFT
+            | (long) (Math.min(depth, DEPTH_MASK - 1) + 1) << DEPTH_SHIFT
+            | (long) bound << BOUND_SHIFT
+            | (long) age << AGE_SHIFT;
+    entries[index + 1] = data;
+    entries[index] = key ^ data;
+  }
+
+  /**
+   * Retrieves the score of an entry.
+   *
+   * @param data data word returned by {@link #probe(long)}
+   * @return the score
+   */
+  public static float getScore(final long data) {
+    return Float.intBitsToFloat((int) data);
+  }
+
+  /**
+   * Retrieves the depth of an entry.
+   *
+   * @param data data word returned by {@link #probe(long)}
+   * @return the depth of the search which stored the entry
+   */
+  public static int getDepth(final long data) {
+    return ((int) (data >>> DEPTH_SHIFT) & DEPTH_MASK) - 1;
+  }
+
+  /**
+   * Retrieves the bound type of an entry.
+   *
+   * @param data data word returned by {@link #probe(long)}
+   * @return {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+   */
+  public static int getBound(final long data) {
+    return (int) (data >>> BOUND_SHIFT) & 3;
+  }
+
+  /**
+   * Checks whether the entry lets the search return its score directly, for a node searched at the
+   * given depth with the given window.
+   *
+   * @param data data word returned by {@link #probe(long)}
+   * @param depth depth of the node
+   * @param alpha lower bound of the window
+   * @param beta upper bound of the window
+   * @return true if the score of the entry can be used as the score of the node
+   */
+  public static boolean isCutoff(
+      final long data, final int depth, final float alpha, final float beta) {
+    if (data == NO_ENTRY || getDepth(data) < depth) {
+      return false;
+    }
+    final float score = getScore(data);
+    return switch (getBound(data)) {
+      case EXACT -> true;
+      case LOWER_BOUND -> score >= beta;
+      default -> score <= alpha;
+    };
+  }
+
+  /**
+   * Computes the bound type of a score returned by a search made with the given window.
+   *
+   * @param score score returned by the search
+   * @param alpha lower bound of the window
+   * @param beta upper bound of the window
+   * @return {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+   */
+  public static int boundOf(final float score, final float alpha, final float beta) {
+    if (score <= alpha) {
+      return UPPER_BOUND;
+    }
+    return score >= beta ? LOWER_BOUND : EXACT;
+  }
+
+  /**
+   * Gives the best move of an entry the highest ordering score of the list, so that it is searched
+   * first by {@link MoveList#pickBest(int)}.
+   *
+   * @param data data word returned by {@link #probe(long)}
+   * @param moves scored moves of the position
+   */
+  public static void orderBestMoveFirst(final long data, final MoveList moves) {
+    if (data == NO_ENTRY) {
+      return;
+    }
+    final int packedMove = (int) (data >>> MOVE_SHIFT) & MOVE_MASK;
+    if (packedMove == 0) {
+      return;
+    }
+    for (int i = 0; i < moves.size(); i++) {
+      if (packMove(moves.get(i)) == packedMove) {
+        moves.setScore(i, Integer.MAX_VALUE);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Packs the source, destination and promotion of an encoded move in 16 bits.
+   *
+   * @param move encoded move
+   * @return the packed move, 0 for {@link MoveEncoding#NONE}
+   */
+  private static int packMove(final int move) {
+    if (move == MoveEncoding.NONE) {
+      return 0;
+    }
+    return MoveEncoding.getFrom(move)
+        | MoveEncoding.getTo(move) << 6
+        | MoveEncoding.getPromotion(move) << 12;
+  }
+
+  /**
+   * Retrieves the age of an entry.
+   *
+   * @param data data word of the entry
+   * @return the age of the search which stored the entry
+   */
+  private static int getAge(final long data) {
+    return (int) (data >>> AGE_SHIFT) & AGE_MASK;
+  }
+
+  /**
+   * Computes the index of the verification word of the entry of a key.
+   *
+   * @param key key of the position
+   * @return index in {@link #entries}
+   */
+  private int index(final long key) {
+    return ((int) key & mask) * 2;
+  }
+}
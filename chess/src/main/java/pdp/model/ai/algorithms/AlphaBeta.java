@@ -2,18 +2,14 @@ package pdp.model.ai.algorithms;
 
 import static pdp.utils.Logging.debug;
 
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.logging.Logger;
-import pdp.exceptions.IllegalMoveException;
 import pdp.model.Game;
 import pdp.model.GameAi;
 import pdp.model.ai.AiMove;
 import pdp.model.ai.Solver;
-import pdp.model.board.Move;
+import pdp.model.ai.TranspositionTable;
+import pdp.model.board.MoveEncoding;
+import pdp.model.board.MoveList;
 import pdp.utils.Logging;
 
 /** Algorithm of artificial intelligence Alpha beta pruning. */
@@ -38,6 +34,15 @@ public class AlphaBeta extends SearchAlgorithm {
     this.solver = solver;
   }
 
+  /**
+   * Retrieves the solver using this algorithm.
+   *
+   * @return field solver
+   */
+  protected Solver getSolver() {
+    return solver;
+  }
+
   /**
    * Determines the best move using the AlphaBeta algorithm.
    *
@@ -48,31 +53,15 @@ public class AlphaBeta extends SearchAlgorithm {
    */
   @Override
   public AiMove findBestMove(final Game game, final int depth, final boolean player) {
-    final GameAi aiGame = GameAi.fromGame(game);
-    final ExecutorService executor =
-        Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
-    final List<Future<AiMove>> futures = new CopyOnWriteArrayList<>();
-
-    futures.add(
-        executor.submit(
-            () -> {
-              final GameAi gameCopy = aiGame.copy();
-              return alphaBeta(gameCopy, depth, player, -Float.MAX_VALUE, Float.MAX_VALUE, player);
-            }));
-
-    AiMove bestMove = null;
-    try {
-      bestMove = futures.get(0).get();
-    } catch (Exception e) {
-      e.printStackTrace();
-    }
-
-    executor.shutdown();
+    final GameAi aiGame = GameAi.fromGame(game, solver.getCache());
+    newSearch();
+    final AiMove bestMove =
+        alphaBeta(aiGame, depth, player, -Float.MAX_VALUE, Float.MAX_VALUE, player);
 
     debug(LOGGER, "Best move: " + bestMove);
-    final long visitedNodes = getVisitedNodes();
+    final String statistics = getNodeStatistics();
     clearNode();
-    debug(LOGGER, "This search: " + visitedNodes + ", mean: " + getMean());
+    debug(LOGGER, "This search: " + statistics + ", mean: " + getMean());
     return bestMove;
   }
 
@@ -80,7 +69,8 @@ public class AlphaBeta extends SearchAlgorithm {
    * Finds the best move for the given player. It cuts the uninteresting branches with the
    * AlphaBetaPruning.
    *
-   * <p>The method evaluates recursively the game state to select the optimal move.
+   * <p>The method evaluates recursively the game state to select the optimal move. Nodes may be cut
+   * by a null move and late quiet moves searched at a reduced depth first (see {@link Pruning}).
    *
    * @param game The current game
    * @param depth The number of moves remaining in the search
@@ -91,52 +81,141 @@ public class AlphaBeta extends SearchAlgorithm {
    * @return The best move with its evaluated score.
    */
   public AiMove alphaBeta(
+      final GameAi game,
+      final int depth,
+      final boolean currentPlayer,
+      final float alpha,
+      final float beta,
+      final boolean originalPlayer) {
+    final int[] bestMove = {MoveEncoding.NONE};
+    final float score = search(game, depth, currentPlayer, alpha, beta, originalPlayer, bestMove);
+    return new AiMove(MoveEncoding.toMove(bestMove[0]), score);
+  }
+
+  /**
+   * Recursive part of {@link #alphaBeta(GameAi, int, boolean, float, float, boolean)}, working on
+   * encoded moves and the per-ply move buffers of the game so that no object is created per node.
+   *
+   * @param game The current game
+   * @param depth The number of moves remaining in the search
+   * @param currentPlayer The current player (true for white, false for black).
+   * @param alpha The best option for the maximizing player
+   * @param beta The best option for the minimizing player
+   * @param originalPlayer The player at root
+   * @param bestMove Array of size 1 receiving the best encoded move, null if not needed
+   * @return The evaluated score of the node.
+   */
+  private float search(
       final GameAi game,
       final int depth,
       final boolean currentPlayer,
       float alpha,
       float beta,
-      final boolean originalPlayer) {
+      final boolean originalPlayer,
+      final int[] bestMove) {
     addNode();
     if (solver.isSearchStopped()) {
-      return new AiMove(null, originalPlayer ? -Float.MAX_VALUE : Float.MAX_VALUE);
+      return originalPlayer ? -Float.MAX_VALUE : Float.MAX_VALUE;
     }
     if (depth == 0 || game.isOver()) {
-      final float evaluation = solver.evaluateBoard(game.getGameState(), originalPlayer);
-      return new AiMove(null, evaluation);
+      return Quiescence.evaluate(this, solver, game, currentPlayer, alpha, beta, originalPlayer);
+    }
+    final TranspositionTable table = solver.getTranspositionTable();
+    final long key = TranspositionTable.key(game.getBoard().getZobristHash(), originalPlayer);
+    final long entry = table.probe(key);
+    if (bestMove == null && TranspositionTable.isCutoff(entry, depth, alpha, beta)) {
+      return TranspositionTable.getScore(entry);
+    }
+    final float alphaStart = alpha;
+    final float betaStart = beta;
+
+    final boolean maximizing = currentPlayer == originalPlayer;
+    final boolean inCheck = Pruning.isInCheck(solver, game, currentPlayer);
+    final MoveHistory history = getMoveHistory();
+    final int ply = game.getSearchPly();
+    if (bestMove == null
+        && Pruning.canTryNullMove(
+            solver, game, depth, currentPlayer, inCheck, maximizing ? beta : alpha)) {
+      game.playNullMove();
+      final float score =
+          search(
+              game,
+              Pruning.getNullMoveDepth(depth),
+              !currentPlayer,
+              maximizing ? Math.nextDown(beta) : alpha,
+              maximizing ? beta : Math.nextUp(alpha),
+              originalPlayer,
+              null);
+      game.undoNullMove();
+      if (!solver.isSearchStopped() && (maximizing ? score >= beta : score <= alpha)) {
+        addNullMoveCutoff();
+        return score;
+      }
     }
-    AiMove bestMove =
-        new AiMove(null, currentPlayer == originalPlayer ? -Float.MAX_VALUE : Float.MAX_VALUE);
-    final List<Move> moves = game.getBoard().getAllAvailableMoves(currentPlayer);
-    MoveOrdering.moveOrder(moves);
-    for (final Move move : moves) {
+
+    float bestScore = maximizing ? -Float.MAX_VALUE : Float.MAX_VALUE;
+    int nodeBestMove = MoveEncoding.NONE;
+    final MoveList moves = game.getMoveList();
+    game.getBoard().generateLegalMoves(currentPlayer, moves);
+    MoveOrdering.scoreMoves(moves, history, currentPlayer, ply);
+    TranspositionTable.orderBestMoveFirst(entry, moves);
+    for (int i = 0; i < moves.size(); i++) {
       if (solver.isSearchStopped()) {
         break;
       }
-      try {
-        game.playMove(move);
-        final AiMove currMove =
-            alphaBeta(game, depth - 1, !currentPlayer, alpha, beta, originalPlayer);
-        game.previousState();
-        if (currentPlayer == originalPlayer) { // Maximizing
-          if (currMove.score() > bestMove.score()) {
-            bestMove = new AiMove(move, currMove.score());
-          }
-          alpha = Math.max(alpha, bestMove.score());
-        } else { // Minimizing
-          if (currMove.score() < bestMove.score()) {
-            bestMove = new AiMove(move, currMove.score());
-          }
-          beta = Math.min(beta, bestMove.score());
+      final int move = moves.pickBest(i);
+      game.playMove(move);
+      float score;
+      if (Pruning.canReduce(solver, game, depth, i, move, currentPlayer, inCheck)) {
+        addLateMoveReduction();
+        score =
+            search(
+                game,
+                depth - 2,
+                !currentPlayer,
+                maximizing ? alpha : Math.nextDown(beta),
+                maximizing ? Math.nextUp(alpha) : beta,
+                originalPlayer,
+                null);
+        if (maximizing ? score > alpha : score < beta) {
+          score = search(game, depth - 1, !currentPlayer, alpha, beta, originalPlayer, null);
+        }
+      } else {
+        score = search(game, depth - 1, !currentPlayer, alpha, beta, originalPlayer, null);
+      }
+      game.undoMove();
+      if (maximizing) {
+        if (score > bestScore) {
+          bestScore = score;
+          nodeBestMove = move;
         }
-        if (alpha >= beta) {
-          break;
+        alpha = Math.max(alpha, bestScore);
+      } else {
+        if (score < bestScore) {
+          bestScore = score;
+          nodeBestMove = move;
         }
-      } catch (IllegalMoveException expected) {
-        // Skipping illegal move
+        beta = Math.min(beta, bestScore);
+      }
+      if (alpha >= beta) {
+        if (MoveOrdering.isQuiet(move)) {
+          history.addCutoff(ply, currentPlayer, move, depth);
+        }
+        break;
       }
     }
-    return bestMove;
+    if (bestMove != null) {
+      bestMove[0] = nodeBestMove;
+    }
+    if (!solver.isSearchStopped()) {
+      table.store(
+          key,
+          depth,
+          bestScore,
+          TranspositionTable.boundOf(bestScore, alphaStart, betaStart),
+          nodeBestMove);
+    }
+    return bestScore;
   }
 
   @Override
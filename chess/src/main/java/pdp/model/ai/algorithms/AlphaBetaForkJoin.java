@@ -0,0 +1,406 @@
+package pdp.model.ai.algorithms;
+
+import static pdp.utils.Logging.debug;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Logger;
+import pdp.model.Game;
+import pdp.model.GameAi;
+import pdp.model.ai.AiMove;
+import pdp.model.ai.Solver;
+import pdp.model.ai.TranspositionTable;
+import pdp.model.board.MoveEncoding;
+import pdp.model.board.MoveList;
+import pdp.utils.Logging;
+
+/**
+ * Algorithm of artificial intelligence Alpha beta pruning, splitting the tree at every node between
+ * the threads of the fork-join pool of the solver (Young Brothers Wait Concept).
+ *
+ * <p>At each node, the first move (the eldest brother) is searched alone, so that the window is
+ * known before anything else is searched. When enough depth remains, the other moves (the young
+ * brothers) are then forked as tasks on the pool, which idle threads steal. A task copies the game
+ * of its node only when it starts, and searches with the window of its split point, tightened by
+ * the brothers already searched. When a young brother causes a cutoff, its split point is aborted
+ * and the tasks of its siblings, their subtrees included, return without finishing their search.
+ */
+public class AlphaBetaForkJoin extends SearchAlgorithm {
+  /** Minimum remaining depth of a node to search its young brothers in parallel. */
+  public static final int MIN_SPLIT_DEPTH = 3;
+
+  /** Solver used for calling the evaluation of the board once depth is reached or time is up. */
+  private final Solver solver;
+
+  /** Logger of the class. */
+  private static final Logger LOGGER = Logger.getLogger(AlphaBetaForkJoin.class.getName());
+
+  static {
+    Logging.configureLogging(LOGGER);
+  }
+
+  /**
+   * Initializes the field solver with the one given in parameter.
+   *
+   * @param solver Solver needed to call the evaluation
+   */
+  public AlphaBetaForkJoin(final Solver solver) {
+    super();
+    this.solver = solver;
+  }
+
+  /**
+   * Determines the best move using the AlphaBeta algorithm on the fork-join pool of the solver.
+   *
+   * @param game The current game state.
+   * @param depth The number of moves to look ahead.
+   * @param player The current player (true for white, false for black).
+   * @return The best move for the player.
+   */
+  @Override
+  public AiMove findBestMove(final Game game, final int depth, final boolean player) {
+    newSearch();
+    final GameAi gameAi = GameAi.fromGame(game, solver.getCache());
+    final int[] bestMove = {MoveEncoding.NONE};
+    final float score =
+        solver
+            .getSearchPool()
+            .getForkJoinPool()
+            .invoke(
+                ForkJoinTask.adapt(
+                    () ->
+                        search(
+                            gameAi,
+                            depth,
+                            player,
+                            -Float.MAX_VALUE,
+                            Float.MAX_VALUE,
+                            player,
+                            null,
+                            bestMove)));
+    final AiMove result = new AiMove(MoveEncoding.toMove(bestMove[0]), score);
+
+    debug(LOGGER, "Best move: " + result);
+    final String statistics = getNodeStatistics();
+    clearNode();
+    debug(LOGGER, "This search: " + statistics + ", mean: " + getMean());
+    return result;
+  }
+
+  /**
+   * Finds the score of the best move for the given player, splitting the young brothers between the
+   * threads of the pool. Nodes may be cut by a null move (see {@link Pruning}).
+   *
+   * @param game The current game, owned by the calling task
+   * @param depth The number of moves remaining in the search
+   * @param currentPlayer The current player (true for white, false for black).
+   * @param alpha The best option for the maximizing player
+   * @param beta The best option for the minimizing player
+   * @param originalPlayer The player at root
+   * @param split The split point of the task searching the node, null for the root task
+   * @param bestMove Array of size 1 receiving the best encoded move, null if not needed
+   * @return The evaluated score of the node, meaningless if the split point was aborted.
+   */
+  private float search(
+      final GameAi game,
+      final int depth,
+      final boolean currentPlayer,
+      float alpha,
+      float beta,
+      final boolean originalPlayer,
+      final SplitPoint split,
+      final int[] bestMove) {
+    addNode();
+    final boolean maximizing = currentPlayer == originalPlayer;
+    if (isStopped(split)) {
+      return maximizing ? -Float.MAX_VALUE : Float.MAX_VALUE;
+    }
+    if (depth == 0 || game.isOver()) {
+      return Quiescence.evaluate(this, solver, game, currentPlayer, alpha, beta, originalPlayer);
+    }
+    final TranspositionTable table = solver.getTranspositionTable();
+    final long key = TranspositionTable.key(game.getBoard().getZobristHash(), originalPlayer);
+    final long entry = table.probe(key);
+    if (bestMove == null && TranspositionTable.isCutoff(entry, depth, alpha, beta)) {
+      return TranspositionTable.getScore(entry);
+    }
+    final float alphaStart = alpha;
+    final float betaStart = beta;
+
+    final boolean inCheck = Pruning.isInCheck(solver, game, currentPlayer);
+    if (bestMove == null
+        && Pruning.canTryNullMove(
+            solver, game, depth, currentPlayer, inCheck, maximizing ? beta : alpha)) {
+      game.playNullMove();
+      final float score =
+          search(
+              game,
+              Pruning.getNullMoveDepth(depth),
+              !currentPlayer,
+              maximizing ? Math.nextDown(beta) : alpha,
+              maximizing ? beta : Math.nextUp(alpha),
+              originalPlayer,
+              split,
+              null);
+      game.undoNullMove();
+      if (!isStopped(split) && (maximizing ? score >= beta : score <= alpha)) {
+        addNullMoveCutoff();
+        return score;
+      }
+    }
+
+    final MoveHistory history = getMoveHistory();
+    final int ply = game.getSearchPly();
+    final MoveList moves = game.getMoveList();
+    game.getBoard().generateLegalMoves(currentPlayer, moves);
+    MoveOrdering.scoreMoves(moves, history, currentPlayer, ply);
+    TranspositionTable.orderBestMoveFirst(entry, moves);
+
+    float bestScore = maximizing ? -Float.MAX_VALUE : Float.MAX_VALUE;
+    int nodeBestMove = MoveEncoding.NONE;
+    for (int i = 0; i < moves.size(); i++) {
+      if (isStopped(split)) {
+        break;
+      }
+      if (nodeBestMove != MoveEncoding.NONE && depth >= MIN_SPLIT_DEPTH && i < moves.size() - 1) {
+        // The eldest brother is searched: the young brothers are searched in parallel
+        final SplitPoint point = new SplitPoint(split, maximizing, alpha, beta);
+        final List<MoveTask> tasks = new ArrayList<>();
+        for (int j = i; j < moves.size(); j++) {
+          final int move = moves.pickBest(j);
+          final MoveTask task =
+              new MoveTask(game, move, depth - 1, !currentPlayer, originalPlayer, point);
+          task.fork();
+          tasks.add(task);
+        }
+        for (final MoveTask task : tasks) {
+          final float score = task.join();
+          if (task.isSearched() && (maximizing ? score > bestScore : score < bestScore)) {
+            bestScore = score;
+            nodeBestMove = task.move;
+          }
+        }
+        if (maximizing) {
+          alpha = Math.max(alpha, bestScore);
+        } else {
+          beta = Math.min(beta, bestScore);
+        }
+        if (alpha >= beta && MoveOrdering.isQuiet(nodeBestMove)) {
+          history.addCutoff(ply, currentPlayer, nodeBestMove, depth);
+        }
+        break;
+      }
+
+      final int move = moves.pickBest(i);
+      game.playMove(move);
+      final float score =
+          search(game, depth - 1, !currentPlayer, alpha, beta, originalPlayer, split, null);
+      game.undoMove();
+      if (maximizing ? score > bestScore : score < bestScore) {
+        bestScore = score;
+        nodeBestMove = move;
+      }
+      if (maximizing) {
+        alpha = Math.max(alpha, bestScore);
+      } else {
+        beta = Math.min(beta, bestScore);
+      }
+      if (alpha >= beta) {
+        if (MoveOrdering.isQuiet(move)) {
+          history.addCutoff(ply, currentPlayer, move, depth);
+        }
+        break;
+      }
+    }
+    if (bestMove != null) {
+      bestMove[0] = nodeBestMove;
+    }
+    if (!isStopped(split)) {
+      table.store(
+          key,
+          depth,
+          bestScore,
+          TranspositionTable.boundOf(bestScore, alphaStart, betaStart),
+          nodeBestMove);
+    }
+    return bestScore;
+  }
+
+  /**
+   * Checks whether a search must stop, because the solver stopped it or a split point above it was
+   * aborted.
+   *
+   * @param split The split point of the task searching, null for the root task
+   * @return true if the search must stop
+   */
+  private boolean isStopped(final SplitPoint split) {
+    return solver.isSearchStopped() || (split != null && split.isAborted());
+  }
+
+  @Override
+  public String toString() {
+    return "Alpha-Beta Fork-Join";
+  }
+
+  /** Node whose young brothers are searched in parallel, aborted when one of them cuts. */
+  private static final class SplitPoint {
+    /** Split point of the task searching the node, null for the root task. */
+    private final SplitPoint parent;
+
+    /** Boolean indicating whether the player of the node is the maximizing one. */
+    private final boolean maximizing;
+
+    /** The best option for the maximizing player, raised by the young brothers searched. */
+    private float alpha;
+
+    /** The best option for the minimizing player, lowered by the young brothers searched. */
+    private float beta;
+
+    /** Boolean set once a young brother has caused a cutoff. */
+    private volatile boolean aborted;
+
+    /**
+     * Creates a split point below the given one.
+     *
+     * @param parent Split point of the task searching the node, null for the root task
+     * @param maximizing true if the player of the node is the maximizing one
+     * @param alpha The best option for the maximizing player once the eldest brother is searched
+     * @param beta The best option for the minimizing player once the eldest brother is searched
+     */
+    private SplitPoint(
+        final SplitPoint parent, final boolean maximizing, final float alpha, final float beta) {
+      this.parent = parent;
+      this.maximizing = maximizing;
+      this.alpha = alpha;
+      this.beta = beta;
+    }
+
+    /**
+     * Retrieves the current best option for the maximizing player.
+     *
+     * @return field alpha
+     */
+    private synchronized float getAlpha() {
+      return alpha;
+    }
+
+    /**
+     * Retrieves the current best option for the minimizing player.
+     *
+     * @return field beta
+     */
+    private synchronized float getBeta() {
+      return beta;
+    }
+
+    /**
+     * Tightens the window of the node with the score of a young brother, and aborts the split point
+     * if the brother causes a cutoff.
+     *
+     * @param score The score of a young brother whose search was not aborted
+     */
+    private synchronized void update(final float score) {
+      if (maximizing) {
+        alpha = Math.max(alpha, score);
+      } else {
+        beta = Math.min(beta, score);
+      }
+      if (alpha >= beta) {
+        aborted = true;
+      }
+    }
+
+    /**
+     * Checks whether this split point or one above it was aborted.
+     *
+     * @return true if the search of the young brothers must stop
+     */
+    private boolean isAborted() {
+      for (SplitPoint point = this; point != null; point = point.parent) {
+        if (point.aborted) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /** Search of a young brother, forked on the pool. */
+  private final class MoveTask extends RecursiveTask<Float> {
+    /** Game of the node of the split point, only read by the task to make its own copy. */
+    private final transient GameAi parentGame;
+
+    /** Encoded move searched. */
+    private final int move;
+
+    /** The number of moves remaining in the search after the move. */
+    private final int depth;
+
+    /** The player after the move (true for white, false for black). */
+    private final boolean player;
+
+    /** The player at root. */
+    private final boolean originalPlayer;
+
+    /** Split point of the node of the move. */
+    private final transient SplitPoint point;
+
+    /** Boolean set if the search was not aborted, its score being meaningful. */
+    private boolean searched;
+
+    /**
+     * Creates the search of a young brother.
+     *
+     * @param parentGame Game of the node of the split point, left unchanged until the task is
+     *     joined
+     * @param move Encoded move searched
+     * @param depth The number of moves remaining in the search after the move
+     * @param player The player after the move (true for white, false for black)
+     * @param originalPlayer The player at root
+     * @param point Split point of the node of the move
+     */
+    private MoveTask(
+        final GameAi parentGame,
+        final int move,
+        final int depth,
+        final boolean player,
+        final boolean originalPlayer,
+        final SplitPoint point) {
+      this.parentGame = parentGame;
+      this.move = move;
+      this.depth = depth;
+      this.player = player;
+      this.originalPlayer = originalPlayer;
+      this.point = point;
+    }
+
+    /**
+     * Checks whether the score of the task is meaningful, once joined.
+     *
+     * @return true if the search was not aborted
+     */
+    private boolean isSearched() {
+      return searched;
+    }
+
+    @Override
+    protected Float compute() {
+      if (isStopped(point)) {
+        return 0f;
+      }
+      // Copied at the same ply, so that the killer moves of the subtree are those of its plies
+      final GameAi game = parentGame.copy();
+      game.playMove(move);
+      final float score =
+          search(
+              game, depth, player, point.getAlpha(), point.getBeta(), originalPlayer, point, null);
+      searched = !isStopped(point);
+      if (searched) {
+        point.update(score);
+      }
+      return score;
+    }
+  }
+}
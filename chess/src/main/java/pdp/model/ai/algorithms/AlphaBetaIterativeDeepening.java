@@ -2,20 +2,29 @@ package pdp.model.ai.algorithms;
 
 import static pdp.utils.Logging.debug;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.logging.Logger;
-import pdp.exceptions.IllegalMoveException;
 import pdp.model.Game;
 import pdp.model.GameAi;
 import pdp.model.ai.AiMove;
 import pdp.model.ai.Solver;
-import pdp.model.board.Move;
+import pdp.model.ai.TimeManager;
+import pdp.model.ai.TranspositionTable;
+import pdp.model.board.MoveEncoding;
+import pdp.model.board.MoveList;
 import pdp.utils.Logging;
 
 /**
  * Algorithm of artificial intelligence Alpha beta pruning, with iterative deepening to have more
  * efficient search.
+ *
+ * <p>Each iteration starts with an aspiration window centred on the score of the previous one, and
+ * is searched again with a wider window when the score falls outside. Inside the tree, only the
+ * first move of a node is searched with the full window (principal variation search): the others
+ * are searched with a null window proving that they are not better, and searched again with the
+ * full window when they are.
+ *
+ * <p>In a timed search, no new iteration is started once the budget of the {@link TimeManager} of
+ * the solver is spent, and the move of the last completed iteration is returned.
  */
 public class AlphaBetaIterativeDeepening extends SearchAlgorithm {
   /** Solver used for calling the evaluation of the board once depth is reached or time is up. */
@@ -28,6 +37,21 @@ public class AlphaBetaIterativeDeepening extends SearchAlgorithm {
   /** Boolean to indicate whether the search has been stopped before reaching the depth asked. */
   private boolean stoppedEarly;
 
+  /** Boolean set by another thread of a parallel search to stop this one. */
+  private volatile boolean aborted;
+
+  /** Depth of the last iteration completed. */
+  private int completedDepth;
+
+  /** Index of the main thread of a search, searching without any perturbation. */
+  static final int MAIN_THREAD = 0;
+
+  /** Half width of the first aspiration window, in pawns of the heuristic. */
+  private static final float ASPIRATION_WINDOW = 0.5f;
+
+  /** Factor applied to the half width of the aspiration window after each failed search. */
+  private static final float ASPIRATION_GROWTH = 4f;
+
   static {
     Logging.configureLogging(LOGGER);
   }
@@ -52,48 +76,158 @@ public class AlphaBetaIterativeDeepening extends SearchAlgorithm {
    */
   @Override
   public AiMove findBestMove(final Game game, final int maxDepth, final boolean player) {
+    newSearch();
+    final AiMove result =
+        iterate(GameAi.fromGame(game, solver.getCache()), maxDepth, player, MAIN_THREAD);
 
-    final GameAi gameAi = GameAi.fromGame(game);
+    debug(LOGGER, "Best move: " + result);
+    final String statistics = getNodeStatistics();
+    clearNode();
+    debug(LOGGER, "This search: " + statistics + ", mean: " + getMean());
+    return result;
+  }
 
+  /**
+   * Runs the iterations of the search up to the given depth, or until the search is stopped.
+   *
+   * <p>A helper thread of a {@link LazySmp} search starts at a different depth and with a different
+   * first move at root, so that the threads do not search the same tree at the same time.
+   *
+   * @param gameAi The game to search, owned by the calling thread.
+   * @param maxDepth The number of moves to look ahead.
+   * @param player The current player (true for white, false for black).
+   * @param helper The index of the thread in a parallel search, {@link #MAIN_THREAD} otherwise.
+   * @return The best move of the deepest completed iteration.
+   */
+  AiMove iterate(final GameAi gameAi, final int maxDepth, final boolean player, final int helper) {
     this.stoppedEarly = false;
+    this.completedDepth = 0;
 
-    AiMove bestMove = null;
-    final List<Move> rootMoves = new ArrayList<>(gameAi.getBoard().getAllAvailableMoves(player));
+    int bestMove = MoveEncoding.NONE;
+    float bestScore = 0;
+    boolean completed = false;
+    final MoveList rootMoves = new MoveList();
+    gameAi.getBoard().generateLegalMoves(player, rootMoves);
+    MoveOrdering.scoreMoves(rootMoves);
+    for (int i = 0; i < rootMoves.size(); i++) {
+      rootMoves.pickBest(i);
+    }
+    if (helper != MAIN_THREAD && !rootMoves.isEmpty()) {
+      rootMoves.moveToFront(rootMoves.get(helper % rootMoves.size()));
+    }
 
-    for (int depth = 1; depth <= maxDepth; depth++) {
-      if (solver.isSearchStopped()) {
+    for (int depth = 1 + helper % 2; depth <= maxDepth; depth++) {
+      if (isStopped()) {
         break;
       }
 
-      if (bestMove != null && bestMove.move() != null) {
-        rootMoves.remove(bestMove.move());
-        MoveOrdering.moveOrder(rootMoves);
-        rootMoves.add(0, bestMove.move());
+      if (bestMove != MoveEncoding.NONE) {
+        rootMoves.moveToFront(bestMove);
       }
 
-      final AiMove currentBest =
-          alphaBeta(gameAi, depth, player, -Float.MAX_VALUE, Float.MAX_VALUE, player, rootMoves);
-      if (currentBest != null && !this.stoppedEarly) {
-        bestMove = currentBest;
+      float window = solver.getHeuristic().getPawnValue() * ASPIRATION_WINDOW;
+      float alpha = -Float.MAX_VALUE;
+      float beta = Float.MAX_VALUE;
+      if (completed && window > 0) {
+        alpha = bestScore - window;
+        beta = bestScore + window;
+      }
+      while (true) {
+        final int[] currentBest = {MoveEncoding.NONE};
+        final float score =
+            alphaBeta(gameAi, depth, player, alpha, beta, player, rootMoves, currentBest);
+        if (this.stoppedEarly) {
+          break;
+        }
+        window *= ASPIRATION_GROWTH;
+        if (score <= alpha && alpha > -Float.MAX_VALUE) {
+          debug(LOGGER, "Depth " + depth + " failed low: " + score);
+          alpha = Math.max(score - window, -Float.MAX_VALUE);
+        } else if (score >= beta && beta < Float.MAX_VALUE) {
+          debug(LOGGER, "Depth " + depth + " failed high: " + score);
+          beta = Math.min(score + window, Float.MAX_VALUE);
+          rootMoves.moveToFront(currentBest[0]);
+        } else {
+          bestMove = currentBest[0];
+          bestScore = score;
+          completed = true;
+          this.completedDepth = depth;
+          break;
+        }
+      }
+      if (helper == MAIN_THREAD && completed && !canStartIteration(bestMove)) {
+        break;
       }
     }
 
-    if (bestMove == null) {
-      bestMove = new AiMove(rootMoves.get(0), 0);
+    if (completed) {
+      return new AiMove(MoveEncoding.toMove(bestMove), bestScore);
     }
+    return new AiMove(rootMoves.isEmpty() ? null : MoveEncoding.toMove(rootMoves.get(0)), 0);
+  }
 
-    debug(LOGGER, "Best move: " + bestMove);
-    final long visitedNodes = getVisitedNodes();
-    clearNode();
-    debug(LOGGER, "This search: " + visitedNodes + ", mean: " + getMean());
-    return bestMove;
+  /**
+   * Records the best move of a completed iteration in the budget of a timed search, and checks
+   * whether there is enough time left to start the next iteration.
+   *
+   * @param bestMove The encoded best move of the completed iteration
+   * @return true if the search is not timed or if a new iteration may be started
+   */
+  private boolean canStartIteration(final int bestMove) {
+    final TimeManager timeManager = solver.getTimeManager();
+    if (timeManager == null) {
+      return true;
+    }
+    timeManager.iterationCompleted(bestMove);
+    if (timeManager.canStartIteration()) {
+      return true;
+    }
+    debug(
+        LOGGER,
+        "Depth "
+            + completedDepth
+            + " completed after "
+            + timeManager.getElapsed()
+            + " ms, stopping the search");
+    return false;
+  }
+
+  /**
+   * Stops or allows {@link #iterate(GameAi, int, boolean, int)} without changing the solver, so
+   * that a parallel search stops its helper threads once its main thread has finished.
+   *
+   * @param aborted true to stop the running and next iterations, false before a new search
+   */
+  void setAborted(final boolean aborted) {
+    this.aborted = aborted;
+  }
+
+  /**
+   * Retrieves the depth of the last iteration completed by {@link #iterate(GameAi, int, boolean,
+   * int)}.
+   *
+   * @return The completed depth, 0 if no iteration was completed
+   */
+  int getCompletedDepth() {
+    return completedDepth;
+  }
+
+  /**
+   * Checks whether the search must stop, because the solver stopped it or it was aborted.
+   *
+   * @return true if the search must stop
+   */
+  private boolean isStopped() {
+    return aborted || solver.isSearchStopped();
   }
 
   /**
    * Finds the best move for the given player. It cuts the uninteresting branches with the
    * AlphaBetaPruning.
    *
-   * <p>The method evaluates recursively the game state to select the optimal move.
+   * <p>The method evaluates recursively the game state to select the optimal move. The moves after
+   * the first one are searched with a null window (see {@link #searchMove}), nodes may be cut by a
+   * null move and late quiet moves are searched at a reduced depth first (see {@link Pruning}).
    *
    * @param game The current game
    * @param depth The number of moves remaining in the search
@@ -101,64 +235,166 @@ public class AlphaBetaIterativeDeepening extends SearchAlgorithm {
    * @param alpha The best option for the maximizing player
    * @param beta The best option for the minimizing player
    * @param originalPlayer The player at root
-   * @return The best move with its evaluated score.
+   * @param orderedMoves The moves to search in this order, null to generate them
+   * @param bestMove Array of size 1 receiving the best encoded move, null if not needed
+   * @return The evaluated score of the node.
    */
-  private AiMove alphaBeta(
+  private float alphaBeta(
       final GameAi game,
       final int depth,
       final boolean currentPlayer,
       float alpha,
       float beta,
       final boolean originalPlayer,
-      final List<Move> orderedMoves) {
+      final MoveList orderedMoves,
+      final int[] bestMove) {
     addNode();
-    if (solver.isSearchStopped()) {
+    final boolean maximizing = currentPlayer == originalPlayer;
+    if (isStopped()) {
       this.stoppedEarly = true;
-      return new AiMove(
-          null, currentPlayer == originalPlayer ? Integer.MIN_VALUE : Integer.MAX_VALUE);
+      return maximizing ? -Float.MAX_VALUE : Float.MAX_VALUE;
     }
     if (depth == 0 || game.isOver()) {
-      final float evaluation = solver.evaluateBoard(game.getGameState(), originalPlayer);
-      return new AiMove(null, evaluation);
+      return Quiescence.evaluate(this, solver, game, currentPlayer, alpha, beta, originalPlayer);
     }
+    final TranspositionTable table = solver.getTranspositionTable();
+    final long key = TranspositionTable.key(game.getBoard().getZobristHash(), originalPlayer);
+    final long entry = table.probe(key);
+    if (orderedMoves == null && TranspositionTable.isCutoff(entry, depth, alpha, beta)) {
+      return TranspositionTable.getScore(entry);
+    }
+    final float alphaStart = alpha;
+    final float betaStart = beta;
 
-    List<Move> moves = orderedMoves;
+    final boolean inCheck = Pruning.isInCheck(solver, game, currentPlayer);
+    final MoveHistory history = getMoveHistory();
+    final int ply = game.getSearchPly();
+    if (orderedMoves == null
+        && Pruning.canTryNullMove(
+            solver, game, depth, currentPlayer, inCheck, maximizing ? beta : alpha)) {
+      game.playNullMove();
+      final float score =
+          alphaBeta(
+              game,
+              Pruning.getNullMoveDepth(depth),
+              !currentPlayer,
+              maximizing ? Math.nextDown(beta) : alpha,
+              maximizing ? beta : Math.nextUp(alpha),
+              originalPlayer,
+              null,
+              null);
+      game.undoNullMove();
+      if (!this.stoppedEarly && (maximizing ? score >= beta : score <= alpha)) {
+        addNullMoveCutoff();
+        return score;
+      }
+    }
+
+    MoveList moves = orderedMoves;
     if (moves == null) {
-      moves = game.getBoard().getAllAvailableMoves(currentPlayer);
-      MoveOrdering.moveOrder(moves);
+      moves = game.getMoveList();
+      game.getBoard().generateLegalMoves(currentPlayer, moves);
+      MoveOrdering.scoreMoves(moves, history, currentPlayer, ply);
+      // Best move of the previous iteration (or of a transposition) first
+      TranspositionTable.orderBestMoveFirst(entry, moves);
     }
 
-    AiMove bestMove =
-        new AiMove(null, currentPlayer == originalPlayer ? Integer.MIN_VALUE : Integer.MAX_VALUE);
-    for (final Move move : moves) {
-      if (solver.isSearchStopped()) {
+    float bestScore = maximizing ? -Float.MAX_VALUE : Float.MAX_VALUE;
+    int nodeBestMove = MoveEncoding.NONE;
+    boolean firstMove = true;
+    for (int i = 0; i < moves.size(); i++) {
+      if (isStopped()) {
         this.stoppedEarly = true;
         break;
       }
-      try {
-        game.playMove(move);
-        final AiMove currMove =
-            alphaBeta(game, depth - 1, !currentPlayer, alpha, beta, originalPlayer, null);
-        game.previousState();
-        if (currentPlayer == originalPlayer) { // Maximizing
-          if (currMove.score() > bestMove.score()) {
-            bestMove = new AiMove(move, currMove.score());
-          }
-          alpha = Math.max(alpha, bestMove.score());
-        } else { // Minimizing
-          if (currMove.score() < bestMove.score()) {
-            bestMove = new AiMove(move, currMove.score());
-          }
-          beta = Math.min(beta, bestMove.score());
+      final int move = orderedMoves == null ? moves.pickBest(i) : moves.get(i);
+      game.playMove(move);
+      final boolean reduce =
+          Pruning.canReduce(solver, game, depth, i, move, currentPlayer, inCheck);
+      final float score =
+          searchMove(game, depth, currentPlayer, alpha, beta, originalPlayer, firstMove, reduce);
+      game.undoMove();
+      firstMove = false;
+      if (maximizing) {
+        if (score > bestScore) {
+          bestScore = score;
+          nodeBestMove = move;
         }
-        if (alpha >= beta) {
-          break;
+        alpha = Math.max(alpha, bestScore);
+      } else {
+        if (score < bestScore) {
+          bestScore = score;
+          nodeBestMove = move;
         }
-      } catch (IllegalMoveException expected) {
-        // Skipping illegal move
+        beta = Math.min(beta, bestScore);
+      }
+      if (alpha >= beta) {
+        if (MoveOrdering.isQuiet(move)) {
+          history.addCutoff(ply, currentPlayer, move, depth);
+        }
+        break;
+      }
+    }
+    if (bestMove != null) {
+      bestMove[0] = nodeBestMove;
+    }
+    if (!isStopped()) {
+      table.store(
+          key,
+          depth,
+          bestScore,
+          TranspositionTable.boundOf(bestScore, alphaStart, betaStart),
+          nodeBestMove);
+    }
+    return bestScore;
+  }
+
+  /**
+   * Searches the move just played. The first move of a node is searched with the full window. The
+   * next ones are searched with a null window, only telling whether they are better than the best
+   * move so far, and searched again with the full window if they are. A reduced move is first
+   * searched with the null window one ply shallower.
+   *
+   * @param game The current game, the move being played
+   * @param depth The number of moves remaining in the search of the parent node
+   * @param currentPlayer The player of the parent node (true for white, false for black).
+   * @param alpha The best option for the maximizing player
+   * @param beta The best option for the minimizing player
+   * @param originalPlayer The player at root
+   * @param firstMove true if the move is the first searched in the parent node
+   * @param reduce true if the move is first searched at a reduced depth
+   * @return The evaluated score of the move.
+   */
+  private float searchMove(
+      final GameAi game,
+      final int depth,
+      final boolean currentPlayer,
+      final float alpha,
+      final float beta,
+      final boolean originalPlayer,
+      final boolean firstMove,
+      final boolean reduce) {
+    if (!firstMove) {
+      final boolean maximizing = currentPlayer == originalPlayer;
+      final float nullAlpha = maximizing ? alpha : Math.nextDown(beta);
+      final float nullBeta = maximizing ? Math.nextUp(alpha) : beta;
+      if (reduce) {
+        addLateMoveReduction();
+        final float score =
+            alphaBeta(
+                game, depth - 2, !currentPlayer, nullAlpha, nullBeta, originalPlayer, null, null);
+        if (maximizing ? score <= alpha : score >= beta) {
+          return score;
+        }
+      }
+      final float score =
+          alphaBeta(
+              game, depth - 1, !currentPlayer, nullAlpha, nullBeta, originalPlayer, null, null);
+      if (score <= alpha || score >= beta) {
+        return score;
       }
     }
-    return bestMove;
+    return alphaBeta(game, depth - 1, !currentPlayer, alpha, beta, originalPlayer, null, null);
   }
 
   @Override
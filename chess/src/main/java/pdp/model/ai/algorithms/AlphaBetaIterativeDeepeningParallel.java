@@ -2,20 +2,20 @@ package pdp.model.ai.algorithms;
 
 import static pdp.utils.Logging.debug;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
-import pdp.exceptions.IllegalMoveException;
 import pdp.model.Game;
 import pdp.model.GameAi;
 import pdp.model.ai.AiMove;
 import pdp.model.ai.Solver;
-import pdp.model.board.Move;
+import pdp.model.ai.TimeManager;
+import pdp.model.ai.TranspositionTable;
+import pdp.model.board.MoveEncoding;
+import pdp.model.board.MoveList;
 import pdp.utils.Logging;
 
 /**
@@ -59,105 +59,104 @@ public class AlphaBetaIterativeDeepeningParallel extends SearchAlgorithm {
   @Override
   public AiMove findBestMove(final Game game, final int maxDepth, final boolean player) {
     stoppedEarly.set(false);
-    AiMove bestMove = null;
-    final GameAi gameAi = GameAi.fromGame(game);
-    final List<Move> rootMoves = new ArrayList<>(game.getBoard().getAllAvailableMoves(player));
-    MoveOrdering.moveOrder(rootMoves);
+    newSearch();
+    int bestMove = MoveEncoding.NONE;
+    float bestScore = 0;
+    final GameAi gameAi = GameAi.fromGame(game, solver.getCache());
+    final MoveList rootMoves = new MoveList();
+    gameAi.getBoard().generateLegalMoves(player, rootMoves);
+    MoveOrdering.scoreMoves(rootMoves);
+    for (int i = 0; i < rootMoves.size(); i++) {
+      rootMoves.pickBest(i);
+    }
 
     for (int depth = 1; depth <= maxDepth; depth++) {
       if (solver.isSearchStopped()) {
         break;
       }
 
-      if (bestMove != null && bestMove.move() != null) {
-        rootMoves.remove(bestMove.move());
-        rootMoves.add(0, bestMove.move());
+      if (bestMove != MoveEncoding.NONE) {
+        rootMoves.moveToFront(bestMove);
       }
 
-      final int numThreads = Runtime.getRuntime().availableProcessors() / 2;
-      final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
-      final List<Future<AiMove>> futures = new CopyOnWriteArrayList<>();
+      final ExecutorService executor = solver.getSearchPool().getExecutor();
+      final List<Future<Float>> futures = new CopyOnWriteArrayList<>();
 
-      AiMove currentBest = new AiMove(null, -Float.MAX_VALUE);
+      int currentBest = MoveEncoding.NONE;
+      float currentScore = -Float.MAX_VALUE;
 
       if (!rootMoves.isEmpty()) {
-        final Move firstMove = rootMoves.get(0);
-        try {
-          final GameAi firstGameCopy = gameAi.copy();
-          firstGameCopy.playMove(firstMove);
-          final AiMove firstResult =
-              alphaBeta(
-                  firstGameCopy, depth - 1, !player, -Float.MAX_VALUE, Float.MAX_VALUE, player);
-          currentBest = new AiMove(firstMove, firstResult.score());
-        } catch (IllegalMoveException ignored) {
-          // Illegal move, normal search
-        }
+        final int firstMove = rootMoves.get(0);
+        final GameAi firstGameCopy = gameAi.copy();
+        firstGameCopy.playMove(firstMove);
+        currentScore =
+            alphaBeta(firstGameCopy, depth - 1, !player, -Float.MAX_VALUE, Float.MAX_VALUE, player);
+        currentBest = firstMove;
       }
 
-      final float initialAlpha = currentBest.score();
+      final float initialAlpha = currentScore;
 
       for (int i = 1; i < rootMoves.size(); i++) {
-        final Move move = rootMoves.get(i);
+        final int move = rootMoves.get(i);
         final int currentDepth = depth; // Create a final copy of depth
         futures.add(
             executor.submit(
                 () -> {
                   final GameAi gameCopy = gameAi.copy();
-                  try {
-                    gameCopy.playMove(move);
-                    final AiMove result =
-                        alphaBeta(
-                            gameCopy,
-                            currentDepth - 1,
-                            !player,
-                            initialAlpha,
-                            Float.MAX_VALUE,
-                            player);
-                    return new AiMove(move, result.score());
-                  } catch (IllegalMoveException e) {
-                    return new AiMove(null, -Float.MAX_VALUE);
-                  }
+                  gameCopy.playMove(move);
+                  return alphaBeta(
+                      gameCopy, currentDepth - 1, !player, initialAlpha, Float.MAX_VALUE, player);
                 }));
       }
 
-      for (final Future<AiMove> future : futures) {
+      for (int i = 0; i < futures.size(); i++) {
         try {
-          final AiMove candidate = future.get();
-          if (candidate.move() != null) {
-            if (currentBest == null || candidate.score() > currentBest.score()) {
-              currentBest = candidate;
-            }
+          final Float candidate = futures.get(i).get();
+          if (currentBest == MoveEncoding.NONE || candidate > currentScore) {
+            currentScore = candidate;
+            currentBest = rootMoves.get(i + 1);
           }
         } catch (Exception e) {
           e.printStackTrace();
         }
       }
 
-      executor.shutdown();
-
-      if (!stoppedEarly.get() && currentBest != null) {
+      if (!stoppedEarly.get()) {
         bestMove = currentBest;
+        bestScore = currentScore;
       } else {
         break;
       }
+      final TimeManager timeManager = solver.getTimeManager();
+      if (timeManager != null) {
+        timeManager.iterationCompleted(bestMove);
+        if (!timeManager.canStartIteration()) {
+          debug(LOGGER, "Depth " + depth + " completed, no time left for the next one");
+          break;
+        }
+      }
     }
 
-    if (bestMove == null) {
-      bestMove = new AiMove(rootMoves.get(0), 0);
+    if (bestMove == MoveEncoding.NONE && !rootMoves.isEmpty()) {
+      bestMove = rootMoves.get(0);
+      bestScore = 0;
     }
+    final AiMove result = new AiMove(MoveEncoding.toMove(bestMove), bestScore);
 
-    debug(LOGGER, "Best move: " + bestMove);
-    final long visitedNodes = getVisitedNodes();
+    debug(LOGGER, "Best move: " + result);
+    final String statistics = getNodeStatistics();
     clearNode();
-    debug(LOGGER, "This search: " + visitedNodes + ", mean: " + getMean());
-    return bestMove;
+    debug(LOGGER, "This search: " + statistics + ", mean: " + getMean());
+    return result;
   }
 
   /**
-   * Finds the best move for the given player. It cuts the uninteresting branches with the
-   * AlphaBetaPruning.
+   * Finds the score of the best move for the given player. It cuts the uninteresting branches with
+   * the AlphaBetaPruning.
    *
-   * <p>The method evaluates recursively the game state to select the optimal move.
+   * <p>The method evaluates recursively the game state, iterating the per-ply move buffers of the
+   * game so that no object is created per node. Nodes may be cut by a null move and late quiet
+   * moves searched at a reduced depth first (see {@link Pruning}).
    *
    * @param game The current game
    * @param depth The number of moves remaining in the search
@@ -165,9 +164,9 @@ public class AlphaBetaIterativeDeepeningParallel extends SearchAlgorithm {
    * @param alpha The best option for the maximizing player
    * @param beta The best option for the minimizing player
    * @param originalPlayer The player at root
-   * @return The best move with its evaluated score.
+   * @return The evaluated score of the node.
    */
-  private AiMove alphaBeta(
+  private float alphaBeta(
       final GameAi game,
       final int depth,
       final boolean currentPlayer,
@@ -175,55 +174,107 @@ public class AlphaBetaIterativeDeepeningParallel extends SearchAlgorithm {
       float beta,
       final boolean originalPlayer) {
     addNode();
+    final boolean maximizing = currentPlayer == originalPlayer;
     if (solver.isSearchStopped()) {
       stoppedEarly.set(true);
-      return new AiMove(null, currentPlayer == originalPlayer ? -Float.MAX_VALUE : Float.MAX_VALUE);
+      return maximizing ? -Float.MAX_VALUE : Float.MAX_VALUE;
     }
 
     if (depth == 0 || game.isOver()) {
-      final float evaluation = solver.evaluateBoard(game.getGameState(), originalPlayer);
-      return new AiMove(null, evaluation);
+      return Quiescence.evaluate(this, solver, game, currentPlayer, alpha, beta, originalPlayer);
+    }
+    final TranspositionTable table = solver.getTranspositionTable();
+    final long key = TranspositionTable.key(game.getBoard().getZobristHash(), originalPlayer);
+    final long entry = table.probe(key);
+    if (TranspositionTable.isCutoff(entry, depth, alpha, beta)) {
+      return TranspositionTable.getScore(entry);
+    }
+    final float alphaStart = alpha;
+    final float betaStart = beta;
+
+    final boolean inCheck = Pruning.isInCheck(solver, game, currentPlayer);
+    final MoveHistory history = getMoveHistory();
+    final int ply = game.getSearchPly();
+    if (Pruning.canTryNullMove(
+        solver, game, depth, currentPlayer, inCheck, maximizing ? beta : alpha)) {
+      game.playNullMove();
+      final float score =
+          alphaBeta(
+              game,
+              Pruning.getNullMoveDepth(depth),
+              !currentPlayer,
+              maximizing ? Math.nextDown(beta) : alpha,
+              maximizing ? beta : Math.nextUp(alpha),
+              originalPlayer);
+      game.undoNullMove();
+      if (!solver.isSearchStopped() && (maximizing ? score >= beta : score <= alpha)) {
+        addNullMoveCutoff();
+        return score;
+      }
     }
 
-    final List<Move> moves = game.getBoard().getAllAvailableMoves(currentPlayer);
-    MoveOrdering.moveOrder(moves);
+    final MoveList moves = game.getMoveList();
+    game.getBoard().generateLegalMoves(currentPlayer, moves);
+    MoveOrdering.scoreMoves(moves, history, currentPlayer, ply);
+    TranspositionTable.orderBestMoveFirst(entry, moves);
 
-    AiMove bestMove =
-        new AiMove(null, currentPlayer == originalPlayer ? -Float.MAX_VALUE : Float.MAX_VALUE);
+    float bestScore = maximizing ? -Float.MAX_VALUE : Float.MAX_VALUE;
+    int bestMove = MoveEncoding.NONE;
 
-    for (final Move move : moves) {
+    for (int i = 0; i < moves.size(); i++) {
       if (solver.isSearchStopped()) {
         stoppedEarly.set(true);
         break;
       }
 
-      try {
-        game.playMove(move);
-        final AiMove currMove =
-            alphaBeta(game, depth - 1, !currentPlayer, alpha, beta, originalPlayer);
-        game.previousState();
-
-        if (currentPlayer == originalPlayer) { // Maximizing
-          if (currMove.score() > bestMove.score()) {
-            bestMove = new AiMove(move, currMove.score());
-          }
-          alpha = Math.max(alpha, bestMove.score());
-        } else { // Minimizing
-          if (currMove.score() < bestMove.score()) {
-            bestMove = new AiMove(move, currMove.score());
-          }
-          beta = Math.min(beta, bestMove.score());
+      final int move = moves.pickBest(i);
+      game.playMove(move);
+      float score;
+      if (Pruning.canReduce(solver, game, depth, i, move, currentPlayer, inCheck)) {
+        addLateMoveReduction();
+        score =
+            alphaBeta(
+                game,
+                depth - 2,
+                !currentPlayer,
+                maximizing ? alpha : Math.nextDown(beta),
+                maximizing ? Math.nextUp(alpha) : beta,
+                originalPlayer);
+        if (maximizing ? score > alpha : score < beta) {
+          score = alphaBeta(game, depth - 1, !currentPlayer, alpha, beta, originalPlayer);
         }
+      } else {
+        score = alphaBeta(game, depth - 1, !currentPlayer, alpha, beta, originalPlayer);
+      }
+      game.undoMove();
 
-        if (alpha >= beta) {
-          break;
+      if (maximizing ? score > bestScore : score < bestScore) {
+        bestScore = score;
+        bestMove = move;
+      }
+      if (maximizing) {
+        alpha = Math.max(alpha, bestScore);
+      } else {
+        beta = Math.min(beta, bestScore);
+      }
+
+      if (alpha >= beta) {
+        if (MoveOrdering.isQuiet(move)) {
+          history.addCutoff(ply, currentPlayer, move, depth);
         }
-      } catch (IllegalMoveException expected) {
-        // Skipping illegal move
+        break;
       }
     }
 
-    return bestMove;
+    if (!solver.isSearchStopped()) {
+      table.store(
+          key,
+          depth,
+          bestScore,
+          TranspositionTable.boundOf(bestScore, alphaStart, betaStart),
+          bestMove);
+    }
+    return bestScore;
   }
 
   @Override
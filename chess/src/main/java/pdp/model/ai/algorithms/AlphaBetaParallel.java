@@ -5,15 +5,14 @@ import static pdp.utils.Logging.debug;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.logging.Logger;
-import pdp.exceptions.IllegalMoveException;
 import pdp.model.Game;
 import pdp.model.GameAi;
 import pdp.model.ai.AiMove;
 import pdp.model.ai.Solver;
-import pdp.model.board.Move;
+import pdp.model.board.MoveEncoding;
+import pdp.model.board.MoveList;
 import pdp.utils.Logging;
 
 /**
@@ -47,45 +46,38 @@ public class AlphaBetaParallel extends AlphaBeta {
    */
   @Override
   public AiMove findBestMove(final Game game, final int depth, final boolean player) {
-    final GameAi aiGame = GameAi.fromGame(game);
-    final int nbThreads = Runtime.getRuntime().availableProcessors() / 2;
-    final ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+    final GameAi aiGame = GameAi.fromGame(game, getSolver().getCache());
+    newSearch();
+    final ExecutorService executor = getSolver().getSearchPool().getExecutor();
     final List<Future<AiMove>> futures = new CopyOnWriteArrayList<>();
 
-    final List<Move> moves = aiGame.getBoard().getAllAvailableMoves(player);
-    MoveOrdering.moveOrder(moves);
+    final MoveList moves = new MoveList();
+    aiGame.getBoard().generateLegalMoves(player, moves);
+    MoveOrdering.scoreMoves(moves);
 
-    AiMove bestMove = new AiMove(moves.get(0), -Float.MAX_VALUE);
+    AiMove bestMove = new AiMove(MoveEncoding.toMove(moves.pickBest(0)), -Float.MAX_VALUE);
 
     if (!moves.isEmpty()) {
-      final Move firstMove = moves.get(0);
-      try {
-        final GameAi firstGameCopy = aiGame.copy();
-        firstGameCopy.playMove(firstMove);
-        final AiMove firstResult =
-            alphaBeta(firstGameCopy, depth - 1, !player, -Float.MAX_VALUE, Float.MAX_VALUE, player);
-        bestMove = new AiMove(firstMove, firstResult.score());
-      } catch (IllegalMoveException ignored) {
-        // Illegal move, normal search
-      }
+      final int firstMove = moves.get(0);
+      final GameAi firstGameCopy = aiGame.copy();
+      firstGameCopy.playMove(firstMove);
+      final AiMove firstResult =
+          alphaBeta(firstGameCopy, depth - 1, !player, -Float.MAX_VALUE, Float.MAX_VALUE, player);
+      bestMove = new AiMove(bestMove.move(), firstResult.score());
 
       final float initialAlpha = bestMove.score();
 
       for (int i = 1; i < moves.size(); i++) {
-        final Move move = moves.get(i);
+        final int move = moves.pickBest(i);
         futures.add(
             executor.submit(
                 () -> {
                   final GameAi gameCopy = aiGame.copy();
-                  try {
-                    gameCopy.playMove(move);
-                    final AiMove result =
-                        alphaBeta(
-                            gameCopy, depth - 1, !player, initialAlpha, Float.MAX_VALUE, player);
-                    return new AiMove(move, result.score());
-                  } catch (IllegalMoveException e) {
-                    return new AiMove(null, -Float.MAX_VALUE);
-                  }
+                  gameCopy.playMove(move);
+                  final AiMove result =
+                      alphaBeta(
+                          gameCopy, depth - 1, !player, initialAlpha, Float.MAX_VALUE, player);
+                  return new AiMove(MoveEncoding.toMove(move), result.score());
                 }));
       }
     }
@@ -101,11 +93,10 @@ public class AlphaBetaParallel extends AlphaBeta {
       e.printStackTrace();
     }
 
-    executor.shutdown();
     debug(LOGGER, "Best move: " + bestMove);
-    final long visitedNodes = getVisitedNodes();
+    final String statistics = getNodeStatistics();
     clearNode();
-    debug(LOGGER, "This search: " + visitedNodes + ", mean: " + getMean());
+    debug(LOGGER, "This search: " + statistics + ", mean: " + getMean());
     return bestMove;
   }
 
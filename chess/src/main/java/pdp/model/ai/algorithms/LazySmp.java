@@ -0,0 +1,155 @@
+package pdp.model.ai.algorithms;
+
+import static pdp.utils.Logging.debug;
+import static pdp.utils.Logging.error;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+import pdp.model.Game;
+import pdp.model.GameAi;
+import pdp.model.ai.AiMove;
+import pdp.model.ai.Solver;
+import pdp.utils.Logging;
+
+/**
+ * Algorithm of artificial intelligence Alpha beta pruning with iterative deepening, run by several
+ * threads on the same root (Lazy SMP).
+ *
+ * <p>Each thread runs its own {@link AlphaBetaIterativeDeepening} on its own copy of the game. The
+ * threads only communicate through the lock-free transposition table of the solver: the results
+ * stored by one thread cut or order the search of the others. The helper threads start at a
+ * different depth and with a different first move at root, so that they do not search the same tree
+ * at the same time. The move played is the one of the thread which completed the deepest iteration,
+ * the main thread in case of a tie.
+ */
+public class LazySmp extends SearchAlgorithm {
+  /** Solver used for calling the evaluation of the board once depth is reached or time is up. */
+  private final Solver solver;
+
+  /** Logger of the class. */
+  private static final Logger LOGGER = Logger.getLogger(LazySmp.class.getName());
+
+  /** Number of threads searching, 0 to use every thread of the search pool of the solver. */
+  private final int nbThreads;
+
+  /** Searches run by the threads, the main thread first. */
+  private AlphaBetaIterativeDeepening[] workers = new AlphaBetaIterativeDeepening[0];
+
+  static {
+    Logging.configureLogging(LOGGER);
+  }
+
+  /**
+   * Initializes the field solver with the one given in parameter, with as many threads as the
+   * search pool of the solver.
+   *
+   * @param solver Solver needed to call the evaluation
+   */
+  public LazySmp(final Solver solver) {
+    this(solver, 0);
+  }
+
+  /**
+   * Initializes the field solver with the one given in parameter and the number of threads.
+   *
+   * @param solver Solver needed to call the evaluation
+   * @param nbThreads Number of threads searching, the main one included, 0 to use every thread of
+   *     the search pool of the solver
+   */
+  public LazySmp(final Solver solver, final int nbThreads) {
+    super();
+    this.solver = solver;
+    this.nbThreads = Math.max(0, nbThreads);
+  }
+
+  /**
+   * Retrieves the number of threads searching, the main one included.
+   *
+   * @return the number of threads
+   */
+  public int getThreadCount() {
+    return nbThreads > 0 ? nbThreads : solver.getSearchPool().getThreadCount();
+  }
+
+  /**
+   * Determines the best move using the helper threads, borrowed from the search pool of the solver,
+   * and the main one running in the calling thread. The helper threads are stopped once the main
+   * one has finished.
+   *
+   * @param game The current game state.
+   * @param maxDepth The number of moves to look ahead.
+   * @param player The current player (true for white, false for black).
+   * @return The best move for the player.
+   */
+  @Override
+  public AiMove findBestMove(final Game game, final int maxDepth, final boolean player) {
+    newSearch();
+    final int threadCount = getThreadCount();
+    if (workers.length != threadCount) {
+      workers = new AlphaBetaIterativeDeepening[threadCount];
+      for (int i = 0; i < threadCount; i++) {
+        workers[i] = new AlphaBetaIterativeDeepening(solver);
+      }
+    }
+    final GameAi gameAi = GameAi.fromGame(game, solver.getCache());
+    final List<Future<AiMove>> futures = new ArrayList<>();
+    if (workers.length > 1) {
+      final ExecutorService executor = solver.getSearchPool().getExecutor();
+      for (int i = 1; i < workers.length; i++) {
+        final AlphaBetaIterativeDeepening worker = workers[i];
+        final GameAi gameCopy = gameAi.copy();
+        final int helper = i;
+        worker.newSearch();
+        worker.setAborted(false);
+        futures.add(executor.submit(() -> worker.iterate(gameCopy, maxDepth, player, helper)));
+      }
+    }
+
+    final AlphaBetaIterativeDeepening main = workers[AlphaBetaIterativeDeepening.MAIN_THREAD];
+    main.newSearch();
+    main.setAborted(false);
+    AiMove bestMove =
+        main.iterate(gameAi, maxDepth, player, AlphaBetaIterativeDeepening.MAIN_THREAD);
+    int bestDepth = main.getCompletedDepth();
+
+    for (int i = 1; i < workers.length; i++) {
+      workers[i].setAborted(true);
+    }
+    for (int i = 0; i < futures.size(); i++) {
+      final AlphaBetaIterativeDeepening worker = workers[i + 1];
+      try {
+        final AiMove candidate = futures.get(i).get();
+        if (candidate.move() != null && worker.getCompletedDepth() > bestDepth) {
+          bestMove = candidate;
+          bestDepth = worker.getCompletedDepth();
+        }
+      } catch (ExecutionException e) {
+        error("Helper thread " + (i + 1) + " of the search failed: " + e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+
+    for (final AlphaBetaIterativeDeepening worker : workers) {
+      addStatistics(worker);
+      worker.clearNode();
+    }
+    debug(LOGGER, "Best move: " + bestMove + " at depth " + bestDepth);
+    final String statistics = getNodeStatistics();
+    clearNode();
+    debug(
+        LOGGER,
+        "This search: " + statistics + " on " + workers.length + " threads, mean: " + getMean());
+    return bestMove;
+  }
+
+  @Override
+  public String toString() {
+    return "Lazy SMP";
+  }
+}
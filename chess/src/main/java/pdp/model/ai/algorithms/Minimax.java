@@ -1,11 +1,11 @@
 package pdp.model.ai.algorithms;
 
-import java.util.List;
 import pdp.model.Game;
 import pdp.model.GameAi;
 import pdp.model.ai.AiMove;
 import pdp.model.ai.Solver;
-import pdp.model.board.Move;
+import pdp.model.board.MoveEncoding;
+import pdp.model.board.MoveList;
 
 /** Algorithm of artificial intelligence Minimax. */
 public class Minimax extends SearchAlgorithm {
@@ -32,10 +32,11 @@ public class Minimax extends SearchAlgorithm {
    */
   @Override
   public AiMove findBestMove(final Game game, final int depth, final boolean player) {
-    final GameAi aiGame = GameAi.fromGame(game);
-    final AiMove bestMove = minimax(aiGame, depth, player, player);
+    final GameAi aiGame = GameAi.fromGame(game, solver.getCache());
+    final int[] bestMove = {MoveEncoding.NONE};
+    final float score = minimax(aiGame, depth, player, player, bestMove);
     clearNode();
-    return bestMove;
+    return new AiMove(MoveEncoding.toMove(bestMove[0]), score);
   }
 
   /**
@@ -47,49 +48,48 @@ public class Minimax extends SearchAlgorithm {
    * @param depth The number of moves remaining in the search
    * @param originalPlayer The original player
    * @param currentPlayer The current player (true for white, false for black).
-   * @return The best move with its evaluated score.
+   * @param bestMove Array of size 1 receiving the best encoded move, null if not needed
+   * @return The evaluated score of the node.
    */
-  private AiMove minimax(
+  private float minimax(
       final GameAi game,
       final int depth,
       final boolean currentPlayer,
-      final boolean originalPlayer) {
+      final boolean originalPlayer,
+      final int[] bestMove) {
     addNode();
+    final boolean isMinimizing = currentPlayer != originalPlayer;
     if (solver.isSearchStopped()) {
-      final boolean isMinimizing = currentPlayer != originalPlayer;
-      return new AiMove(null, isMinimizing ? Integer.MAX_VALUE : Integer.MIN_VALUE);
+      return isMinimizing ? Integer.MAX_VALUE : Integer.MIN_VALUE;
     }
     if (depth == 0 || game.isOver()) {
-      final float evaluation = solver.evaluateBoard(game.getGameState(), originalPlayer);
-      return new AiMove(null, evaluation);
+      return solver.evaluateBoard(game.getGameState(), originalPlayer);
     }
 
-    final boolean isMinimizing = currentPlayer != originalPlayer;
-    AiMove bestMove = new AiMove(null, isMinimizing ? Integer.MAX_VALUE : Integer.MIN_VALUE);
-    final List<Move> moves = game.getBoard().getAllAvailableMoves(currentPlayer);
-    for (final Move move : moves) {
+    float bestScore = isMinimizing ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+    final MoveList moves = game.getMoveList();
+    game.getBoard().generateLegalMoves(currentPlayer, moves);
+    for (int i = 0; i < moves.size(); i++) {
       if (solver.isSearchStopped()) {
         break;
       }
+      final int move = moves.get(i);
       try {
         game.playMove(move);
-        final AiMove currMove = minimax(game, depth - 1, !currentPlayer, originalPlayer);
-        game.previousState();
+        final float score = minimax(game, depth - 1, !currentPlayer, originalPlayer, null);
+        game.undoMove();
 
-        if (isMinimizing) {
-          if (currMove.score() < bestMove.score()) {
-            bestMove = new AiMove(move, currMove.score());
-          }
-        } else {
-          if (currMove.score() > bestMove.score()) {
-            bestMove = new AiMove(move, currMove.score());
+        if (isMinimizing ? score < bestScore : score > bestScore) {
+          bestScore = score;
+          if (bestMove != null) {
+            bestMove[0] = move;
           }
         }
       } catch (Exception expected) {
         // Handle illegal move
       }
     }
-    return bestMove;
+    return bestScore;
   }
 
   @Override
@@ -1,17 +1,55 @@
 package pdp.model.ai.algorithms;
 
+import static pdp.utils.Logging.debug;
+import static pdp.utils.Logging.error;
+
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
 import pdp.model.Game;
 import pdp.model.GameAi;
 import pdp.model.GameState;
 import pdp.model.ai.AiMove;
+import pdp.model.ai.PlayoutPolicy;
+import pdp.model.ai.SearchProgress;
 import pdp.model.ai.Solver;
+import pdp.model.ai.TimeManager;
+import pdp.model.board.BitboardRepresentation;
 import pdp.model.board.Move;
-import pdp.model.piece.Color;
-
-/** Algorithm of artificial intelligence Monte Carlo Tree search. */
+import pdp.model.board.MoveList;
+import pdp.utils.Logging;
+
+/**
+ * Algorithm of artificial intelligence Monte Carlo Tree search.
+ *
+ * <p>The simulations may be run by several threads sharing the same tree (tree parallelism), as
+ * many as {@link Solver#getMonteCarloThreads()}: the main one runs in the calling thread and the
+ * others are borrowed from the search pool of the solver. Each thread works on its own copy of the
+ * game, and the virtual losses of the nodes (see {@link TreeNodeMonteCarlo}) make the threads
+ * explore different branches.
+ *
+ * <p>The tree of a search is kept for the next one: if the game reached a position of the tree
+ * within two plies (usually the move played by the solver then the answer of the opponent), the
+ * node of this position becomes the new root with its statistics. The size of the tree is bounded
+ * by {@link #getMaxNodes()} nodes: no node is expanded beyond it, and the least visited branches of
+ * a reused tree are dropped until it fits in half of the budget.
+ *
+ * <p>A search is bounded by {@link #getSimulationLimit()} simulations, or by time when the solver
+ * gives it a budget (see {@link Solver#getTimeManager()}): the simulations then run until the
+ * target time of the budget (see {@link TimeManager#getTargetTime()}), from the leaves of the tree
+ * once it is full. An iteration interrupted by the timer of the solver is discarded, so that the
+ * statistics only count complete playouts. The best move found so far and the visits of the moves
+ * may be read at any moment, and the progress of the search is reported to the solver every {@link
+ * #PROGRESS_INTERVAL} milliseconds.
+ */
 public class MonteCarloTreeSearch extends SearchAlgorithm {
   /**
    * Solver used for calling the evaluation of the board once the number of iterations is reached or
@@ -22,12 +60,43 @@ public class MonteCarloTreeSearch extends SearchAlgorithm {
   /** c value. */
   private static final double EXPLORATION_FACTOR = Math.sqrt(2);
 
-  /** Randomizer for the moves. */
-  private final Random random = new Random();
+  /** Logger of the class. */
+  private static final Logger LOGGER = Logger.getLogger(MonteCarloTreeSearch.class.getName());
 
   /** Number of times to execute MonteCarloTreeSearch. */
   private final int simulationLimit;
 
+  /** Default maximal number of nodes of the tree. */
+  public static final int DEFAULT_MAX_NODES = 200_000;
+
+  /** Time between two reports of the progress of the search, in milliseconds. */
+  public static final long PROGRESS_INTERVAL = 1000;
+
+  /** Number of plies after the root of the previous search where its tree may be reused. */
+  private static final int REUSE_PLIES = 2;
+
+  /**
+   * Random playouts run from the expanded nodes, with the policy of the solver, one for each thread
+   * of the search and kept between the searches so that their buffers are reused.
+   */
+  private final List<Playout> playouts = new ArrayList<>();
+
+  /** Maximal number of nodes of the tree. */
+  private final int maxNodes;
+
+  /** Number of nodes of the current tree. */
+  private final AtomicInteger nodeCount = new AtomicInteger(0);
+
+  /** Tree of the running or previous search, null if none. */
+  private volatile TreeNodeMonteCarlo tree;
+
+  /** Start of the running or previous search, in milliseconds. */
+  private volatile long searchStart;
+
+  static {
+    Logging.configureLogging(LOGGER);
+  }
+
   /**
    * Creates an instance of the MonteCarloTreeSearch algorithm with a given solver and a set number
    * of simulations (number of times to execute the MTCS).
@@ -36,9 +105,25 @@ public class MonteCarloTreeSearch extends SearchAlgorithm {
    * @param nbIterations max number of simulations
    */
   public MonteCarloTreeSearch(final Solver solver, final int nbIterations) {
+    this(solver, nbIterations, DEFAULT_MAX_NODES);
+  }
+
+  /**
+   * Creates an instance of the MonteCarloTreeSearch algorithm with a given solver, a set number of
+   * simulations and a bound on the size of the tree.
+   *
+   * @param solver Solver to save into the field.
+   * @param nbIterations max number of simulations
+   * @param maxNodes max number of nodes of the tree (at least 1)
+   */
+  public MonteCarloTreeSearch(final Solver solver, final int nbIterations, final int maxNodes) {
     super();
+    if (maxNodes <= 0) {
+      throw new IllegalArgumentException("Number of nodes of the tree must be positive");
+    }
     this.solver = solver;
     simulationLimit = nbIterations;
+    this.maxNodes = maxNodes;
   }
 
   /**
@@ -47,9 +132,7 @@ public class MonteCarloTreeSearch extends SearchAlgorithm {
    * @param solver Solver to save into the field.
    */
   public MonteCarloTreeSearch(final Solver solver) {
-    super();
-    this.solver = solver;
-    simulationLimit = 150; // 150 by default
+    this(solver, 150); // 150 by default
   }
 
   /**
@@ -61,6 +144,75 @@ public class MonteCarloTreeSearch extends SearchAlgorithm {
     return simulationLimit;
   }
 
+  /**
+   * Returns the maximal number of nodes of the tree.
+   *
+   * @return field maxNodes
+   */
+  public int getMaxNodes() {
+    return maxNodes;
+  }
+
+  /**
+   * Returns the tree of the running or last search, kept for the next one.
+   *
+   * @return The root of the tree, null before the first search
+   */
+  public TreeNodeMonteCarlo getTree() {
+    return tree;
+  }
+
+  /**
+   * Returns the most visited child of the root of the running or last search, whose move is the
+   * best one found so far.
+   *
+   * @return The best child, null if the root has no children yet
+   */
+  public TreeNodeMonteCarlo getBestChild() {
+    final TreeNodeMonteCarlo root = tree;
+    return root == null ? null : getBestChild(root);
+  }
+
+  /**
+   * Returns the number of visits of each move of the root of the running or last search, in the
+   * order of the move generation.
+   *
+   * @return The visits of each move, empty if the root has no children yet
+   */
+  public Map<Move, Integer> getVisitDistribution() {
+    final Map<Move, Integer> distribution = new LinkedHashMap<>();
+    final TreeNodeMonteCarlo root = tree;
+    if (root != null) {
+      for (final TreeNodeMonteCarlo child : root.getChildrenNodes()) {
+        distribution.put(child.getStartingMove(), child.getNbVisits());
+      }
+    }
+    return distribution;
+  }
+
+  /**
+   * Returns the progress of the running or last search.
+   *
+   * @return The best move found so far, with the simulations and the time of the search
+   */
+  public SearchProgress getProgress() {
+    final TreeNodeMonteCarlo best = getBestChild();
+    return new SearchProgress(
+        best == null ? null : best.getStartingMove(),
+        getWinRate(best),
+        getVisitedNodes(),
+        System.currentTimeMillis() - searchStart);
+  }
+
+  /**
+   * Returns the number of nodes of the tree of the last search, kept for the next one.
+   *
+   * @return The number of nodes
+   */
+  public int getNodeCount() {
+    return nodeCount.get();
+  }
+
   /**
    * Determines the "best move" using the MonteCarloTreeSearch algorithm.
    *
@@ -71,190 +223,343 @@ public class MonteCarloTreeSearch extends SearchAlgorithm {
    */
   @Override
   public AiMove findBestMove(final Game game, int depth, boolean player) {
-    final GameAi aiGame = GameAi.fromGame(game);
-    final GameState gameStateCopy = aiGame.getGameState().getCopy();
-    // Give the root a copy of the game state to work on new ones
-    final TreeNodeMonteCarlo root = new TreeNodeMonteCarlo(gameStateCopy, null, null);
-
-    // Run MonteCarloTreeSearch for a fixed number of simulations
-    for (int i = 0; i < simulationLimit; i++) {
-      final TreeNodeMonteCarlo selectedNode = select(root);
-      final TreeNodeMonteCarlo expandedNode = expand(aiGame, selectedNode);
-      final int simulationResult = simulate(aiGame, expandedNode);
-      backpropagate(expandedNode, simulationResult);
+    searchStart = System.currentTimeMillis();
+    final GameAi aiGame = GameAi.fromGame(game, solver.getCache());
+    final TreeNodeMonteCarlo root = getRoot(aiGame);
+    tree = root;
+    final TimeManager timeManager = solver.getTimeManager();
+    final AtomicInteger simulations = new AtomicInteger(0);
+
+    final int threadCount = solver.getMonteCarloThreads();
+    updatePlayouts(Math.max(threadCount, 1));
+    final List<Future<?>> futures = new ArrayList<>();
+    if (threadCount > 1) {
+      final ExecutorService executor = solver.getSearchPool().getExecutor();
+      for (int i = 1; i < threadCount; i++) {
+        final GameAi gameCopy = aiGame.copy();
+        final Playout playout = playouts.get(i);
+        futures.add(
+            executor.submit(
+                () -> runSimulations(gameCopy, playout, root, simulations, timeManager, false)));
+      }
+    }
+    runSimulations(aiGame, playouts.get(0), root, simulations, timeManager, true);
+    for (final Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        error("Simulation thread of the search failed: " + e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
     }
 
+    debug(
+        LOGGER,
+        getVisitedNodes()
+            + " simulations on "
+            + Math.max(threadCount, 1)
+            + " threads, "
+            + root.getNbVisits()
+            + " in the tree");
+    solver.reportProgress(getProgress());
+    clearNode();
     return getBestMove(root);
   }
 
   /**
-   * Assess the resulting position after a simulated sequence of moves.
+   * Builds the root of the search: the node of the current position in the tree of the previous
+   * search if any, pruned to half of the node budget, otherwise a new node.
    *
-   * @param state the state of the game
-   * @return the result of the simulation. -1 if black wins, 1 if white wins and 0 if draw
+   * @param game the current game
+   * @return the root of the tree
    */
-  private int evaluateSimulation(final GameState state) {
-    // Draw or game not over.
-    int res = 0;
-    if (state.isGameOver()) {
-      if (state.getBoard().isCheckMate(Color.WHITE)) {
-        // Black wins
-        res = -1;
-      } else if (state.getBoard().isCheckMate(Color.BLACK)) {
-        // White wins
-        res = 1;
+  private TreeNodeMonteCarlo getRoot(final GameAi game) {
+    // Give the root a copy of the game state, the other nodes are built from it when needed
+    final GameState state = game.getGameState().getCopy();
+    final TreeNodeMonteCarlo previous = tree;
+    if (previous != null) {
+      final BitboardRepresentation board =
+          (BitboardRepresentation) previous.getGameState(game).getBoard().getCopy();
+      final TreeNodeMonteCarlo node =
+          findPosition(previous, board, game.getBoard().getZobristHash(), REUSE_PLIES);
+      if (node != null) {
+        node.makeRoot(state);
+        nodeCount.set(prune(node, maxNodes / 2));
+        debug(LOGGER, "Tree reused with " + node.getNbVisits() + " simulations");
+        return node;
       }
     }
-    return res;
+    nodeCount.set(1);
+    return new TreeNodeMonteCarlo(state);
   }
 
   /**
-   * Select the node to explore.
+   * Looks for the node of a position in the subtree of a node, by playing the moves of the children
+   * on a board.
    *
-   * @param node the current tree node in the algorithm
-   * @return the node that the algorithm selects to explore (based on UCT)
+   * @param node the node, in the position of the board
+   * @param board the board, left in the position of the node
+   * @param hash the Zobrist hash of the searched position
+   * @param plies the number of plies searched below the node
+   * @return the node of the position, null if not found
    */
-  private TreeNodeMonteCarlo select(TreeNodeMonteCarlo node) {
-    while (!node.getChildrenNodes().isEmpty() && node.isFullyExpanded()) {
-      if (solver.isSearchStopped()) {
-        return node;
+  private static TreeNodeMonteCarlo findPosition(
+      final TreeNodeMonteCarlo node,
+      final BitboardRepresentation board,
+      final long hash,
+      final int plies) {
+    // makeMove leaves the player unchanged, which is part of the hash
+    final boolean player = board.getPlayer();
+    board.setPlayer(!node.isWhiteMove());
+    final boolean found = board.getZobristHash() == hash;
+    board.setPlayer(player);
+    if (found) {
+      return node;
+    }
+    if (plies == 0) {
+      return null;
+    }
+    for (final TreeNodeMonteCarlo child : node.getChildrenNodes()) {
+      final long undoInfo = board.makeMove(child.getMove());
+      final TreeNodeMonteCarlo position = findPosition(child, board, hash, plies - 1);
+      board.unmakeMove(child.getMove(), undoInfo);
+      if (position != null) {
+        return position;
       }
-      node = node.getChildToExplore(EXPLORATION_FACTOR);
     }
-    return node;
+    return null;
   }
 
   /**
-   * Generate a child node for every possible move in the gameState of the given node.
+   * Drops the subtrees of the least visited nodes until the tree fits in a number of nodes. The
+   * expanded nodes visited fewer times than a threshold are collapsed, the threshold being doubled
+   * until the tree is small enough.
    *
-   * @param game the current ongoing game
-   * @param node the current node in the algorithm
-   * @return the expanded node
+   * @param root the root of the tree, never collapsed
+   * @param budget the number of nodes to fit in
+   * @return the number of nodes left in the tree
    */
-  private TreeNodeMonteCarlo expand(final GameAi game, final TreeNodeMonteCarlo node) {
-    if (solver.isSearchStopped() || node.getGameState().isGameOver()) {
-      // No expansion if game over
-      return node;
+  private static int prune(final TreeNodeMonteCarlo root, final int budget) {
+    int threshold = 0;
+    int size = countNodes(root, threshold);
+    while (size > budget && threshold < root.getNbVisits()) {
+      threshold = Math.max(2 * threshold, 1);
+      size = countNodes(root, threshold);
     }
-
-    final List<Move> possibleMoves =
-        node.getGameState().getBoard().getAllAvailableMoves(node.getGameState().isWhiteTurn());
-
-    for (final Move move : possibleMoves) {
-      if (solver.isSearchStopped()) {
-        return node;
-      }
-      try {
-        final GameState nextState = node.getGameState().getCopy();
-        game.playMoveOtherGameState(nextState, move);
-        // Add node to tree
-        node.addChildToTree(new TreeNodeMonteCarlo(nextState, node, move));
-      } catch (Exception expected) {
-        // Illegal move was caught
-      }
+    if (threshold > 0) {
+      collapse(root, threshold);
     }
+    return size;
+  }
 
-    if (node.getChildrenNodes().isEmpty()) {
-      return node;
-    } else {
-      return node.getChildrenNodes().get(random.nextInt(node.getChildrenNodes().size()));
+  /**
+   * Counts the nodes of a subtree, without the children of the nodes visited fewer times than a
+   * threshold.
+   *
+   * @param node the root of the subtree, whose children are always counted
+   * @param threshold the number of visits of the nodes whose children are counted
+   * @return the number of nodes
+   */
+  private static int countNodes(final TreeNodeMonteCarlo node, final int threshold) {
+    int count = 1;
+    for (final TreeNodeMonteCarlo child : node.getChildrenNodes()) {
+      count += child.getNbVisits() < threshold ? 1 : countNodes(child, threshold);
     }
+    return count;
   }
 
   /**
-   * Simulate a game randomly by playing moves randomly and assessing the sequence of played moves.
-   * Stop when a Terminal State is reached (win, loss, draw) and return the obtained result.
+   * Collapses the nodes of a subtree visited fewer times than a threshold.
    *
-   * @param game the current ongoing game
-   * @param node the current node in the algorithm
-   * @return the evaluation of the simulated sequence of moves from current node
+   * @param node the root of the subtree, never collapsed
+   * @param threshold the number of visits of the nodes kept expanded
    */
-  private int simulate(final GameAi game, final TreeNodeMonteCarlo node) {
-    if (solver.isSearchStopped()) {
-      final TreeNodeMonteCarlo parentNode = node.getParentNode();
-      if (parentNode == null) {
-        return 0;
+  private static void collapse(final TreeNodeMonteCarlo node, final int threshold) {
+    for (final TreeNodeMonteCarlo child : node.getChildrenNodes()) {
+      if (child.getNbVisits() < threshold) {
+        child.collapse();
+      } else {
+        collapse(child, threshold);
       }
-      return parentNode.getGameState().isWhiteTurn() ? Integer.MIN_VALUE : Integer.MAX_VALUE;
     }
+  }
 
-    final GameState simulationState = node.getGameState().getCopy();
+  /**
+   * Creates the playouts of the threads of the search, unless those of the previous search are
+   * still configured like the solver.
+   *
+   * @param threadCount the number of threads of the search
+   */
+  private void updatePlayouts(final int threadCount) {
+    final PlayoutPolicy policy = solver.getPlayoutPolicy();
+    if (!playouts.isEmpty()
+        && (playouts.get(0).getPolicy() != policy
+            || policy == PlayoutPolicy.HEURISTIC
+                && playouts.get(0).getMaxPlies() != solver.getPlayoutCutoff())) {
+      playouts.clear();
+    }
+    while (playouts.size() < threadCount) {
+      playouts.add(new Playout(solver, policy));
+    }
+  }
 
-    while (!simulationState.isGameOver()) {
-      if (solver.isSearchStopped()) {
-        final TreeNodeMonteCarlo parentNode = node.getParentNode();
-        if (parentNode == null) {
-          return 0;
-        }
-        return parentNode.getGameState().isWhiteTurn() ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+  /**
+   * Runs select/expand/simulate/backpropagate iterations on the shared tree until the simulation
+   * limit is reached by all the threads together, or until the budget of a timed search is spent.
+   *
+   * <p>The moves of the selected nodes are played on the board of the game, and undone once the
+   * result is known, so that the game is back at the root for the next iteration. An iteration
+   * interrupted by the stop of the search is not backpropagated.
+   *
+   * @param game the copy of the game owned by the calling thread, at the root of the tree
+   * @param playout the playouts of the calling thread
+   * @param root the root node of the shared tree
+   * @param simulations the number of simulations started by all the threads
+   * @param timeManager the budget of the search, null if it is bounded by the simulation limit
+   * @param reporting true if the thread reports the progress of the search to the solver
+   */
+  private void runSimulations(
+      final GameAi game,
+      final Playout playout,
+      final TreeNodeMonteCarlo root,
+      final AtomicInteger simulations,
+      final TimeManager timeManager,
+      final boolean reporting) {
+    final Random random = ThreadLocalRandom.current();
+    final int rootPly = game.getSearchPly();
+    long nextReport = searchStart + PROGRESS_INTERVAL;
+    while (canSimulate(simulations, timeManager)) {
+      final TreeNodeMonteCarlo selectedNode = select(game, root);
+      final TreeNodeMonteCarlo expandedNode = expand(game, selectedNode, random);
+      final int simulationResult = playout.run(game, random);
+      while (game.getSearchPly() > rootPly) {
+        game.undoMove();
       }
-      final List<Move> availableMoves =
-          simulationState.getBoard().getAllAvailableMoves(simulationState.isWhiteTurn());
-
-      if (availableMoves.isEmpty()) {
+      if (solver.isSearchStopped()) {
+        discard(expandedNode);
         break;
       }
+      backpropagate(expandedNode, simulationResult);
+      addNode();
 
-      // Filter only legal moves
-      final List<Move> legalMoves = new ArrayList<>();
-      for (final Move move : availableMoves) {
-        if (solver.isSearchStopped()) {
-          final TreeNodeMonteCarlo parentNode = node.getParentNode();
-          if (parentNode == null) {
-            return 0;
-          }
-          return parentNode.getGameState().isWhiteTurn() ? Integer.MIN_VALUE : Integer.MAX_VALUE;
-        }
-        try {
-          // Copy GameState and try to play the move to see if move is valid and legal
-          final GameState testState = simulationState.getCopy();
-          game.playMoveOtherGameState(testState, move);
-          legalMoves.add(move);
-        } catch (Exception expected) {
-          // Caught illegal move, pursue
-        }
-      }
-
-      if (legalMoves.isEmpty()) {
-        break;
+      if (reporting && System.currentTimeMillis() >= nextReport) {
+        solver.reportProgress(getProgress());
+        nextReport += PROGRESS_INTERVAL;
       }
+    }
+  }
 
-      final Move randomMove = selectRandomMove(legalMoves);
+  /**
+   * Decides whether a thread starts a new simulation.
+   *
+   * @param simulations the number of simulations started by all the threads
+   * @param timeManager the budget of the search, null if it is bounded by the simulation limit
+   * @return true if the search goes on
+   */
+  private boolean canSimulate(final AtomicInteger simulations, final TimeManager timeManager) {
+    if (solver.isSearchStopped()) {
+      return false;
+    }
+    if (timeManager == null) {
+      return simulations.getAndIncrement() < simulationLimit;
+    }
+    // A full tree is not expanded any more, but its leaves are still simulated until the budget
+    return timeManager.getElapsed() < timeManager.getTargetTime();
+  }
 
-      try {
-        game.playMoveOtherGameState(simulationState, randomMove);
-      } catch (Exception expected) {
-        // Exception occurred when trying to play the randomly selected move
+  /**
+   * Select the node to explore, playing the moves on the way down. A virtual loss is added to every
+   * node selected on the way down.
+   *
+   * @param game the current ongoing game, at the root of the tree
+   * @param node the current tree node in the algorithm
+   * @return the node that the algorithm selects to explore (based on UCT)
+   */
+  private TreeNodeMonteCarlo select(final GameAi game, TreeNodeMonteCarlo node) {
+    while (node.isFullyExpanded() && !node.getChildrenNodes().isEmpty()) {
+      if (solver.isSearchStopped()) {
+        return node;
       }
+      node = node.getChildToExplore(EXPLORATION_FACTOR);
+      node.addVirtualLoss();
+      game.playMove(node.getMove());
     }
-
-    return evaluateSimulation(simulationState);
+    return node;
   }
 
   /**
-   * Selects a random move from the list of available moves.
+   * Generate a child node for every legal move in the position of the given node, and play the move
+   * of one of them.
+   *
+   * <p>Only one thread expands a node: the others simulate from the node itself while it is being
+   * expanded. No node is expanded once the tree reached its budget of nodes. A virtual loss is
+   * added to the child returned.
    *
-   * @param moves the list of possible moves
-   * @return A randomly chosen move
+   * @param game the current ongoing game, in the position of the node
+   * @param node the current node in the algorithm
+   * @param random the randomizer of the calling thread
+   * @return the expanded node
    */
-  private Move selectRandomMove(final List<Move> moves) {
-    return moves.get(this.random.nextInt(moves.size()));
+  private TreeNodeMonteCarlo expand(
+      final GameAi game, final TreeNodeMonteCarlo node, final Random random) {
+    if (solver.isSearchStopped()
+        || game.isOver()
+        || nodeCount.get() >= maxNodes
+        || !node.tryStartExpansion()) {
+      // No expansion if game over, if the tree is full or if another thread expands it
+      return node;
+    }
+
+    final boolean white = game.getGameState().isWhiteTurn();
+    final MoveList possibleMoves = game.getMoveList();
+    game.getBoard().generateLegalMoves(white, possibleMoves);
+    final List<TreeNodeMonteCarlo> children = new ArrayList<>(possibleMoves.size());
+    for (int i = 0; i < possibleMoves.size(); i++) {
+      children.add(new TreeNodeMonteCarlo(node, possibleMoves.get(i), white));
+    }
+    // Add the nodes to the tree, all at once for the other threads
+    node.setChildren(children);
+    nodeCount.addAndGet(children.size());
+
+    if (children.isEmpty()) {
+      return node;
+    }
+    final TreeNodeMonteCarlo child = children.get(random.nextInt(children.size()));
+    child.addVirtualLoss();
+    game.playMove(child.getMove());
+    return child;
   }
 
   /**
-   * Back propagate the obtained result during the algorithm to the root node.
+   * Back propagate the obtained result during the algorithm to the root node. Each node counts it
+   * for the player who played the move leading to it, and loses the virtual loss of the thread.
    *
    * @param node the current tree node in the algorithm
-   * @param result the obtained result after simulation
+   * @param result the obtained result after simulation, 1 if white wins and -1 if black wins
    */
-  private void backpropagate(TreeNodeMonteCarlo node, final int result) {
+  private static void backpropagate(TreeNodeMonteCarlo node, final int result) {
     while (node != null) {
       node.incrementNbVisits();
-      node.incrementNbWinsBy(result);
-      node = node.getParentNode();
-      if (solver.isSearchStopped()) {
-        break;
+      node.incrementNbWinsBy(node.isWhiteMove() ? result : -result);
+      if (node.getParentNode() != null) {
+        node.removeVirtualLoss();
       }
+      node = node.getParentNode();
+    }
+  }
+
+  /**
+   * Drops an interrupted iteration: the virtual losses of the thread are removed from the nodes up
+   * to the root, which count neither a visit nor a result.
+   *
+   * @param node the last node selected by the iteration
+   */
+  private static void discard(TreeNodeMonteCarlo node) {
+    while (node.getParentNode() != null) {
+      node.removeVirtualLoss();
+      node = node.getParentNode();
     }
   }
 
@@ -264,32 +569,46 @@ public class MonteCarloTreeSearch extends SearchAlgorithm {
    * @param root the root node in the tree representing the initial game state
    * @return the best computed move based on winrate of the move
    */
-  private AiMove getBestMove(final TreeNodeMonteCarlo root) {
-    if (root.getChildrenNodes().isEmpty()) {
+  private static AiMove getBestMove(final TreeNodeMonteCarlo root) {
+    final TreeNodeMonteCarlo bestNode = getBestChild(root);
+    if (bestNode == null) {
       return new AiMove(null, 0);
     }
+    return new AiMove(bestNode.getStartingMove(), (int) getWinRate(bestNode));
+  }
 
+  /**
+   * Returns the most visited child of a node.
+   *
+   * @param root the node
+   * @return the most visited child, null if the node has no children
+   */
+  private static TreeNodeMonteCarlo getBestChild(final TreeNodeMonteCarlo root) {
     TreeNodeMonteCarlo bestNode = null;
     int maxVisits = -1;
 
     // Find the most visited child node
-    final List<TreeNodeMonteCarlo> childrenNodes = root.getChildrenNodes();
-    for (final TreeNodeMonteCarlo child : childrenNodes) {
+    for (final TreeNodeMonteCarlo child : root.getChildrenNodes()) {
       final int visits = child.getNbVisits();
       if (visits > maxVisits) {
         maxVisits = visits;
         bestNode = child;
       }
     }
+    return bestNode;
+  }
 
-    if (bestNode == null) {
-      return new AiMove(null, 0);
+  /**
+   * Returns the win rate of the player who played the move of a node.
+   *
+   * @param node the node, may be null
+   * @return the wins minus the losses divided by the visits, 0 if the node was never visited
+   */
+  private static double getWinRate(final TreeNodeMonteCarlo node) {
+    if (node == null || node.getNbVisits() == 0) {
+      return 0;
     }
-
-    final Move bestMove = bestNode.getStartingMove();
-    final double winRate = (double) bestNode.getNbWins() / bestNode.getNbVisits();
-
-    return new AiMove(bestMove, (int) winRate);
+    return (double) node.getNbWins() / node.getNbVisits();
   }
 
   @Override
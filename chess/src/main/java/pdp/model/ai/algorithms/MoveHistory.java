@@ -0,0 +1,125 @@
+package pdp.model.ai.algorithms;
+
+import java.util.Arrays;
+import pdp.model.board.MoveEncoding;
+
+/**
+ * Ordering information on the quiet moves learnt during a search: two killer moves per ply (quiet
+ * moves which caused a cutoff at the same ply in a sibling node) and a butterfly history table (how
+ * often a quiet move from a square to another caused a cutoff, weighted by the depth).
+ *
+ * <p>A table is only meant to be used by one thread: {@link SearchAlgorithm#getMoveHistory()} gives
+ * one table per thread running the search.
+ */
+public final class MoveHistory {
+  /** Number of plies having killer moves, deeper plies have none. */
+  public static final int MAX_PLY = 128;
+
+  /** Upper bound of a history score, the table of a player is halved when it is reached. */
+  public static final int MAX_HISTORY = 1 << 20;
+
+  /** Number of squares of the board. */
+  private static final int SQUARES = 64;
+
+  /** Two killer moves per ply, the most recent first. */
+  private final int[] killers = new int[MAX_PLY * 2];
+
+  /** History scores of the quiet moves, indexed by player then from and to squares. */
+  private final int[] history = new int[2 * SQUARES * SQUARES];
+
+  /** Search the table was last used by, see {@link SearchAlgorithm#newSearch()}. */
+  private int search;
+
+  /**
+   * Prepares the table for a new search: the killer moves are forgotten and the history scores are
+   * halved, so that the previous searches still order the moves without dominating.
+   *
+   * @param search Number identifying the new search
+   */
+  void startSearch(final int search) {
+    this.search = search;
+    Arrays.fill(killers, MoveEncoding.NONE);
+    for (int i = 0; i < history.length; i++) {
+      history[i] >>= 1;
+    }
+  }
+
+  /**
+   * Retrieves the search the table was last used by.
+   *
+   * @return Number identifying the search
+   */
+  int getSearch() {
+    return search;
+  }
+
+  /** Removes every killer move and history score. */
+  public void clear() {
+    Arrays.fill(killers, MoveEncoding.NONE);
+    Arrays.fill(history, 0);
+  }
+
+  /**
+   * Records a quiet move which caused a cutoff.
+   *
+   * @param ply The ply of the node, from the root of the search
+   * @param player The player of the move (true for white, false for black)
+   * @param move The encoded move
+   * @param depth The number of moves remaining in the search of the node
+   */
+  public void addCutoff(final int ply, final boolean player, final int move, final int depth) {
+    if (ply < MAX_PLY && killers[ply * 2] != move) {
+      killers[ply * 2 + 1] = killers[ply * 2];
+      killers[ply * 2] = move;
+    }
+    final int index = index(player, move);
+    history[index] += depth * depth;
+    if (history[index] >= MAX_HISTORY) {
+      final int start = player ? 0 : SQUARES * SQUARES;
+      for (int i = start; i < start + SQUARES * SQUARES; i++) {
+        history[i] >>= 1;
+      }
+    }
+  }
+
+  /**
+   * Retrieves the rank of a move among the killer moves of a ply.
+   *
+   * @param ply The ply of the node, from the root of the search
+   * @param move The encoded move
+   * @return 2 for the most recent killer move, 1 for the other one, 0 if the move is not a killer
+   */
+  public int getKillerRank(final int ply, final int move) {
+    if (ply >= MAX_PLY || move == MoveEncoding.NONE) {
+      return 0;
+    }
+    if (killers[ply * 2] == move) {
+      return 2;
+    }
+    return killers[ply * 2 + 1] == move ? 1 : 0;
+  }
+
+  /**
+   * Retrieves the history score of a quiet move.
+   *
+   * @param player The player of the move (true for white, false for black)
+   * @param move The encoded move
+   * @return The score, between 0 and {@link #MAX_HISTORY}
+   */
+  public int getHistory(final boolean player, final int move) {
+    return history[index(player, move)];
+  }
+
+  /**
+   * Computes the index of a move in the history table.
+   *
+   * @param player The player of the move (true for white, false for black)
+   * @param move The encoded move
+   * @return The index in {@link #history}
+   */
+  private static int index(final boolean player, final int move) {
+    return (player ? 0 : SQUARES * SQUARES)
+        + MoveEncoding.getFrom(move) * SQUARES
+        + MoveEncoding.getTo(move);
+  }
+}
@@ -3,6 +3,8 @@ package pdp.model.ai.algorithms;
 import java.util.Comparator;
 import java.util.List;
 import pdp.model.board.Move;
+import pdp.model.board.MoveEncoding;
+import pdp.model.board.MoveList;
 import pdp.model.board.PromoteMove;
 import pdp.model.piece.ColoredPiece;
 
@@ -31,6 +33,15 @@ public final class MoveOrdering {
         return 0;
       };
 
+  /** Values of the pieces, indexed like the bitboards (king, queen, bishop, rook, knight, pawn). */
+  private static final int[] PIECE_VALUES = {1000, 9, 3, 5, 3, 1};
+
+  /** Ordering score added to the captures and promotions, so they come before the quiet moves. */
+  private static final int CAPTURE_SCORE = 1 << 24;
+
+  /** Ordering score of a killer move of rank 1, above any history score. */
+  private static final int KILLER_SCORE = MoveHistory.MAX_HISTORY + 1;
+
   /** Private constructor to avoid instanciating a utility class. */
   private MoveOrdering() {}
 
@@ -41,7 +52,28 @@ public final class MoveOrdering {
    * @return The sorted moves.
    */
   public static List<Move> moveOrder(final List<Move> moves) {
-    moves.sort(moveOrderingComparator);
+    // Scores computed once per move, then a stable insertion sort on both arrays
+    final Move[] sorted = moves.toArray(new Move[0]);
+    final int[] scores = new int[sorted.length];
+    for (int i = 0; i < sorted.length; i++) {
+      final Move move = sorted[i];
+      scores[i] =
+          getMvvlva(move) * 4 + (move instanceof PromoteMove ? 2 : 0) + (move.isCheck() ? 1 : 0);
+      int j = i;
+      while (j > 0 && scores[j - 1] < scores[i]) {
+        j--;
+      }
+      if (j < i) {
+        final int score = scores[i];
+        System.arraycopy(sorted, j, sorted, j + 1, i - j);
+        System.arraycopy(scores, j, scores, j + 1, i - j);
+        sorted[j] = move;
+        scores[j] = score;
+      }
+    }
+    for (int i = 0; i < sorted.length; i++) {
+      moves.set(i, sorted[i]);
+    }
     return moves;
   }
 
@@ -74,4 +106,66 @@ public final class MoveOrdering {
     }
     return (getValue(move.getPieceTaken()) * 10) - getValue(move.getPiece());
   }
+
+  /**
+   * Compute the MVVLVA score of an encoded move.
+   *
+   * @param move The encoded move to get the score.
+   * @return The score corresponding to the move.
+   */
+  public static int getMvvlva(final int move) {
+    if (!MoveEncoding.isCapture(move)) {
+      return 0;
+    }
+    return (PIECE_VALUES[MoveEncoding.getCaptured(move) % 6] * 10)
+        - PIECE_VALUES[MoveEncoding.getPiece(move) % 6];
+  }
+
+  /**
+   * Fills the ordering scores of encoded moves with the same criteria as {@link
+   * #moveOrderingComparator}: MVVLVA first, then promotions. Moves are then iterated in order with
+   * {@link MoveList#pickBest(int)}.
+   *
+   * @param moves The moves to score.
+   */
+  public static void scoreMoves(final MoveList moves) {
+    for (int i = 0; i < moves.size(); i++) {
+      final int move = moves.get(i);
+      moves.setScore(i, getMvvlva(move) * 2 + (MoveEncoding.isPromotion(move) ? 1 : 0));
+    }
+  }
+
+  /**
+   * Fills the ordering scores of encoded moves inside a search: captures and promotions first by
+   * MVVLVA, then the killer moves of the ply, then the other quiet moves by history score.
+   *
+   * @param moves The moves to score.
+   * @param history The killer moves and history scores of the search.
+   * @param player The player of the moves (true for white, false for black).
+   * @param ply The ply of the node, from the root of the search.
+   */
+  public static void scoreMoves(
+      final MoveList moves, final MoveHistory history, final boolean player, final int ply) {
+    for (int i = 0; i < moves.size(); i++) {
+      final int move = moves.get(i);
+      final int score;
+      if (isQuiet(move)) {
+        final int killerRank = history.getKillerRank(ply, move);
+        score = killerRank > 0 ? KILLER_SCORE + killerRank - 1 : history.getHistory(player, move);
+      } else {
+        score = CAPTURE_SCORE + getMvvlva(move) * 2 + (MoveEncoding.isPromotion(move) ? 1 : 0);
+      }
+      moves.setScore(i, score);
+    }
+  }
+
+  /**
+   * Checks whether an encoded move is quiet, i.e. neither a capture nor a promotion.
+   *
+   * @param move The encoded move.
+   * @return true if the move is quiet.
+   */
+  public static boolean isQuiet(final int move) {
+    return !MoveEncoding.isCapture(move) && !MoveEncoding.isPromotion(move);
+  }
 }
@@ -0,0 +1,315 @@
+package pdp.model.ai.algorithms;
+
+import java.util.Random;
+import pdp.model.GameAi;
+import pdp.model.GameState;
+import pdp.model.ai.PlayoutPolicy;
+import pdp.model.ai.Solver;
+import pdp.model.ai.heuristics.Heuristic;
+import pdp.model.board.BitboardRepresentation;
+import pdp.model.board.MoveList;
+import pdp.model.piece.Color;
+
+/**
+ * Random playouts of the Monte Carlo tree search, played directly on the board of a game with the
+ * legal move generation and make/unmake (see {@link BitboardRepresentation#makeMove(int)}), so that
+ * no game state is copied nor updated.
+ *
+ * <p>The moves are drawn according to the {@link PlayoutPolicy} of the playout: uniformly, or with
+ * a weight of 1 plus the MVVLVA score of the captures (see {@link MoveOrdering#getMvvlva(int)}). A
+ * {@link PlayoutPolicy#HEURISTIC} playout is cut after {@link Solver#getPlayoutCutoff()} plies and
+ * its last position is scored by the heuristic of the solver, turned into a win probability from
+ * which the result is drawn.
+ *
+ * <p>A playout ends with a checkmate or a stalemate, once the fifty-move rule applies, or when no
+ * side has enough material to mate (a cheap check ignoring the colors of the bishops). The
+ * repetitions are not detected. A playout is stopped after {@link #getMaxPlies()} plies, and
+ * adjudicated early when one side is ahead by {@link #ADJUDICATION_MATERIAL} pawns of material
+ * after {@link #MIN_ADJUDICATION_PLY} plies. A stopped playout is scored from the material of its
+ * last position.
+ *
+ * <p>A playout keeps the buffers of its moves between two runs, so it is used by a single thread:
+ * each worker of a search has its own.
+ */
+public final class Playout {
+  /** Default number of plies after which a playout is stopped. */
+  public static final int DEFAULT_MAX_PLIES = 200;
+
+  /** Material advantage, in pawns, for which a playout is adjudicated as won. */
+  public static final int ADJUDICATION_MATERIAL = 9;
+
+  /** Number of plies played before a playout may be adjudicated. */
+  public static final int MIN_ADJUDICATION_PLY = 8;
+
+  /** Default number of plies after which a playout scored by the heuristic is stopped. */
+  public static final int DEFAULT_CUTOFF_PLIES = 8;
+
+  /** Advantage, in pawns, which gives a win probability of 10 to 1, as 400 Elo points. */
+  private static final double PAWNS_PER_DECADE = 4;
+
+  /** Values of the pieces, indexed like the bitboards of a color (king first). */
+  private static final int[] PIECE_VALUES = {0, 9, 3, 5, 3, 1};
+
+  /** Number of bitboards of a color. */
+  private static final int PIECE_TYPES = 6;
+
+  /** Solver whose search stops the playouts. */
+  private final Solver solver;
+
+  /** Way of drawing the moves and scoring the stopped playouts. */
+  private final PlayoutPolicy policy;
+
+  /** Number of plies after which a playout is stopped. */
+  private final int maxPlies;
+
+  /** Buffer of the legal moves of the current position. */
+  private final MoveList moves = new MoveList();
+
+  /** Moves played by the running playout, to be undone. */
+  private final int[] played;
+
+  /** Information needed to undo the moves played by the running playout. */
+  private final long[] undoInfos;
+
+  /**
+   * Creates the uniformly random playouts of the searches of a solver.
+   *
+   * @param solver Solver whose search stops the playouts
+   * @param maxPlies Number of plies after which a playout is stopped (at least 1)
+   */
+  public Playout(final Solver solver, final int maxPlies) {
+    this(solver, PlayoutPolicy.RANDOM, maxPlies);
+  }
+
+  /**
+   * Creates the playouts of the searches of a solver, stopped after the number of plies of the
+   * policy: the cutoff of the solver for {@link PlayoutPolicy#HEURISTIC}, the default one
+   * otherwise.
+   *
+   * @param solver Solver whose search stops the playouts, and whose heuristic scores them
+   * @param policy Way of drawing the moves and scoring the stopped playouts
+   */
+  public Playout(final Solver solver, final PlayoutPolicy policy) {
+    this(
+        solver,
+        policy,
+        policy == PlayoutPolicy.HEURISTIC ? solver.getPlayoutCutoff() : DEFAULT_MAX_PLIES);
+  }
+
+  /**
+   * Creates the playouts of the searches of a solver.
+   *
+   * @param solver Solver whose search stops the playouts, and whose heuristic scores them
+   * @param policy Way of drawing the moves and scoring the stopped playouts
+   * @param maxPlies Number of plies after which a playout is stopped (at least 1)
+   */
+  public Playout(final Solver solver, final PlayoutPolicy policy, final int maxPlies) {
+    if (maxPlies <= 0) {
+      throw new IllegalArgumentException("Number of plies of a playout must be positive");
+    }
+    this.solver = solver;
+    this.policy = policy;
+    this.maxPlies = maxPlies;
+    this.played = new int[maxPlies];
+    this.undoInfos = new long[maxPlies];
+  }
+
+  /**
+   * Retrieves the way of drawing the moves and scoring the stopped playouts.
+   *
+   * @return field policy
+   */
+  public PlayoutPolicy getPolicy() {
+    return policy;
+  }
+
+  /**
+   * Retrieves the number of plies after which a playout is stopped.
+   *
+   * @return field maxPlies
+   */
+  public int getMaxPlies() {
+    return maxPlies;
+  }
+
+  /**
+   * Plays random moves from the current position of the game, then undoes them. The result of a
+   * playout scored by the heuristic is drawn, so that its expected value follows the score.
+   *
+   * @param game The game, owned by the calling thread, left in the same position
+   * @param random The randomizer of the calling thread
+   * @return the result of the playout: 1 if white wins, -1 if black wins and 0 if draw
+   */
+  public int run(final GameAi game, final Random random) {
+    final BitboardRepresentation board = (BitboardRepresentation) game.getBoard();
+    if (game.isOver()) {
+      if (board.isCheckMate(Color.WHITE)) {
+        return -1;
+      }
+      return board.isCheckMate(Color.BLACK) ? 1 : 0;
+    }
+
+    boolean white = game.getGameState().isWhiteTurn();
+    int ply = 0;
+    int result = 0;
+    boolean over = false;
+    while (ply < maxPlies && !solver.isSearchStopped()) {
+      if (board.getNbFullMovesWithNoCaptureOrPawn() >= GameState.getFiftyMoveLimit()
+          || isInsufficientMaterial(board)) {
+        over = true;
+        break;
+      }
+      if (ply >= MIN_ADJUDICATION_PLY && Math.abs(getMaterial(board)) >= ADJUDICATION_MATERIAL) {
+        break;
+      }
+      board.generateLegalMoves(white, moves);
+      if (moves.isEmpty()) {
+        // Checkmate or stalemate
+        if (board.isCheck(white ? Color.WHITE : Color.BLACK)) {
+          result = white ? -1 : 1;
+        }
+        over = true;
+        break;
+      }
+      final int move = chooseMove(moves, random);
+      undoInfos[ply] = board.makeMove(move);
+      played[ply] = move;
+      ply++;
+      white = !white;
+    }
+    if (!over) {
+      result =
+          policy == PlayoutPolicy.HEURISTIC && ply == maxPlies
+              ? score(board, white, random)
+              : adjudicate(board);
+    }
+
+    while (ply > 0) {
+      ply--;
+      board.unmakeMove(played[ply], undoInfos[ply]);
+    }
+    return result;
+  }
+
+  /**
+   * Draws a legal move according to the policy.
+   *
+   * @param moves The legal moves, at least one
+   * @param random The randomizer of the calling thread
+   * @return The encoded move to play
+   */
+  private int chooseMove(final MoveList moves, final Random random) {
+    if (policy == PlayoutPolicy.RANDOM) {
+      return moves.get(random.nextInt(moves.size()));
+    }
+    int totalWeight = 0;
+    for (int i = 0; i < moves.size(); i++) {
+      totalWeight += getWeight(moves.get(i));
+    }
+    int drawn = random.nextInt(totalWeight);
+    int i = 0;
+    while (drawn >= getWeight(moves.get(i))) {
+      drawn -= getWeight(moves.get(i));
+      i++;
+    }
+    return moves.get(i);
+  }
+
+  /**
+   * Computes the weight of a move drawn by the MVVLVA policies.
+   *
+   * @param move The encoded move
+   * @return 1 for a quiet move, more for a capture of a valuable piece by a cheap one
+   */
+  public static int getWeight(final int move) {
+    return 1 + Math.max(MoveOrdering.getMvvlva(move), 0);
+  }
+
+  /**
+   * Scores the last position of a playout cut by the policy with the heuristic of the solver.
+   *
+   * @param board The board, in the last position of the playout
+   * @param white The player to move
+   * @param random The randomizer of the calling thread
+   * @return the result drawn from the win probability of the position
+   */
+  private int score(final BitboardRepresentation board, final boolean white, final Random random) {
+    final double expected = getExpectedResult(solver.getHeuristic(), board, white);
+    return random.nextDouble() < Math.abs(expected) ? (int) Math.signum(expected) : 0;
+  }
+
+  /**
+   * Maps the score of a position to the expected result of the game, from the win probability of
+   * the logistic model of the Elo ratings. A heuristic without material (see {@link
+   * Heuristic#getPawnValue()}) is replaced by the material balance.
+   *
+   * @param heuristic The heuristic scoring the position
+   * @param board The board
+   * @param white The player to move
+   * @return The expected result, between -1 (black wins) and 1 (white wins)
+   */
+  public static double getExpectedResult(
+      final Heuristic heuristic, final BitboardRepresentation board, final boolean white) {
+    final float pawnValue = heuristic.getPawnValue();
+    final double pawns;
+    if (pawnValue > 0) {
+      // makeMove leaves the player unchanged, the heuristic may need it
+      final boolean player = board.getPlayer();
+      board.setPlayer(white);
+      pawns = heuristic.evaluate(board, true) / pawnValue;
+      board.setPlayer(player);
+    } else {
+      pawns = getMaterial(board);
+    }
+    final double winProbability = 1 / (1 + Math.pow(10, -pawns / PAWNS_PER_DECADE));
+    return 2 * winProbability - 1;
+  }
+
+  /**
+   * Scores the last position of a playout stopped before the end of the game.
+   *
+   * @param board The board, in the last position of the playout
+   * @return 1 if white is ahead by enough material, -1 if black is, 0 otherwise
+   */
+  static int adjudicate(final BitboardRepresentation board) {
+    final int material = getMaterial(board);
+    return Math.abs(material) >= ADJUDICATION_MATERIAL ? Integer.signum(material) : 0;
+  }
+
+  /**
+   * Computes the material balance of the board.
+   *
+   * @param board The board
+   * @return The material of white minus the material of black, in pawns
+   */
+  static int getMaterial(final BitboardRepresentation board) {
+    int material = 0;
+    for (int i = 1; i < PIECE_TYPES; i++) {
+      material +=
+          PIECE_VALUES[i]
+              * (Long.bitCount(board.getBitboard(i))
+                  - Long.bitCount(board.getBitboard(i + PIECE_TYPES)));
+    }
+    return material;
+  }
+
+  /**
+   * Checks whether no side can mate: no pawn, rook nor queen, and at most one minor piece.
+   *
+   * @param board The board
+   * @return true if the game is drawn by lack of material
+   */
+  private static boolean isInsufficientMaterial(final BitboardRepresentation board) {
+    int minorPieces = 0;
+    for (int i = 1; i < PIECE_TYPES; i++) {
+      final int white = Long.bitCount(board.getBitboard(i));
+      final int black = Long.bitCount(board.getBitboard(i + PIECE_TYPES));
+      if (PIECE_VALUES[i] == 3) {
+        minorPieces += white + black;
+      } else if (white + black > 0) {
+        return false;
+      }
+    }
+    return minorPieces <= 1;
+  }
+}
@@ -0,0 +1,117 @@
+package pdp.model.ai.algorithms;
+
+import pdp.model.GameAi;
+import pdp.model.ai.Solver;
+import pdp.model.board.MoveEncoding;
+import pdp.model.piece.Color;
+
+/**
+ * Conditions of the selective searches shared by the alpha-beta algorithms: null-move pruning and
+ * late-move reductions. The Minimax algorithm always searches the full tree.
+ *
+ * <p>With the null-move pruning, the player to move passes its turn and the opponent searches the
+ * position at a reduced depth: if the player is still above the window, a real move would be too,
+ * and the node is cut. It is skipped when the player is in check, after another null move, and in
+ * the endgame where passing may be the best move (zugzwang).
+ *
+ * <p>With the late-move reductions, the quiet moves ordered after the first ones by {@link
+ * MoveOrdering} are first searched one ply shallower with a null window, and searched again at the
+ * full depth only if they turn out better than the best move so far.
+ */
+public final class Pruning {
+  /** Minimum remaining depth of a node to try a null move. */
+  public static final int NULL_MOVE_MIN_DEPTH = 3;
+
+  /** Depth reduction of the search after a null move, in addition to the move itself. */
+  public static final int NULL_MOVE_REDUCTION = 2;
+
+  /** Minimum remaining depth of a node to reduce its late moves. */
+  public static final int LATE_MOVE_MIN_DEPTH = 3;
+
+  /** Number of moves of a node searched at full depth before the late moves are reduced. */
+  public static final int LATE_MOVE_MIN_INDEX = 3;
+
+  /** Private constructor to avoid instantiating a utility class. */
+  private Pruning() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class");
+  }
+
+  /**
+   * Checks whether a player is in check, when one of the selective searches needs it.
+   *
+   * @param solver The solver of the search
+   * @param game The current game
+   * @param player The player (true for white, false for black)
+   * @return true if the player is in check, false if not or if no selective search is enabled
+   */
+  public static boolean isInCheck(final Solver solver, final GameAi game, final boolean player) {
+    return (solver.isNullMovePruning() || solver.isLateMoveReductions())
+        && game.getBoard().isCheck(player ? Color.WHITE : Color.BLACK);
+  }
+
+  /**
+   * Checks whether a null move can be tried at a node.
+   *
+   * @param solver The solver of the search
+   * @param game The current game
+   * @param depth The number of moves remaining in the search
+   * @param currentPlayer The player of the node (true for white, false for black)
+   * @param inCheck true if the player of the node is in check
+   * @param bound The bound of the window the null move must exceed (beta for the maximizing player,
+   *     alpha for the minimizing one)
+   * @return true if the null move can be searched
+   */
+  public static boolean canTryNullMove(
+      final Solver solver,
+      final GameAi game,
+      final int depth,
+      final boolean currentPlayer,
+      final boolean inCheck,
+      final float bound) {
+    return solver.isNullMovePruning()
+        && depth >= NULL_MOVE_MIN_DEPTH
+        && !inCheck
+        && Math.abs(bound) < Float.MAX_VALUE
+        && !game.isLastMoveNull()
+        && !game.getBoard().isEndGamePhase(game.getGameState().getFullTurn(), currentPlayer);
+  }
+
+  /**
+   * Computes the depth of the search following a null move.
+   *
+   * @param depth The number of moves remaining in the search of the node
+   * @return The depth of the search of the null move
+   */
+  public static int getNullMoveDepth(final int depth) {
+    return Math.max(0, depth - 1 - NULL_MOVE_REDUCTION);
+  }
+
+  /**
+   * Checks whether the search of a move can be reduced. Must be called once the move is played.
+   *
+   * @param solver The solver of the search
+   * @param game The current game, the move being played
+   * @param depth The number of moves remaining in the search of the node
+   * @param index The index of the move in the ordered moves of the node
+   * @param move The encoded move
+   * @param currentPlayer The player of the node (true for white, false for black)
+   * @param inCheck true if the player of the node is in check
+   * @return true if the move can be searched at a reduced depth first
+   */
+  public static boolean canReduce(
+      final Solver solver,
+      final GameAi game,
+      final int depth,
+      final int index,
+      final int move,
+      final boolean currentPlayer,
+      final boolean inCheck) {
+    return solver.isLateMoveReductions()
+        && depth >= LATE_MOVE_MIN_DEPTH
+        && index >= LATE_MOVE_MIN_INDEX
+        && !inCheck
+        && !MoveEncoding.isCapture(move)
+        && !MoveEncoding.isPromotion(move)
+        && !game.getBoard().isCheck(currentPlayer ? Color.BLACK : Color.WHITE);
+  }
+}
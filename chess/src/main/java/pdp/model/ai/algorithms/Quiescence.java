@@ -0,0 +1,180 @@
+package pdp.model.ai.algorithms;
+
+import pdp.model.GameAi;
+import pdp.model.ai.Solver;
+import pdp.model.board.MoveEncoding;
+import pdp.model.board.MoveList;
+import pdp.model.piece.Color;
+
+/**
+ * Quiescence search run by the alpha-beta algorithms once their depth is reached, so that a leaf is
+ * never evaluated in the middle of an exchange.
+ *
+ * <p>Only the captures and promotions are searched, ordered by MVV-LVA. The side to move may stand
+ * pat (keep the static evaluation) instead of capturing, and captures which cannot bring the score
+ * back into the window even when winning the captured piece are skipped (delta pruning). A side in
+ * check searches all its moves, since standing pat is not possible.
+ */
+public final class Quiescence {
+  /** Maximum number of plies searched after the depth of the alpha-beta search. */
+  public static final int MAX_DEPTH = 16;
+
+  /** Margin in pawns added to the gain of a capture for the delta pruning. */
+  private static final float DELTA_MARGIN = 2f;
+
+  /** Values in pawns of the pieces, indexed like the bitboards (king, queen, bishop, ...). */
+  private static final int[] PIECE_VALUES = {0, 9, 3, 5, 3, 1};
+
+  /** Private constructor to avoid instantiating a utility class. */
+  private Quiescence() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class");
+  }
+
+  /**
+   * Evaluates a leaf of an alpha-beta search: runs the quiescence search if the solver enables it,
+   * or returns the static evaluation of the board otherwise.
+   *
+   * @param algorithm The algorithm counting the visited nodes
+   * @param solver The solver evaluating the boards
+   * @param game The current game
+   * @param currentPlayer The current player (true for white, false for black)
+   * @param alpha The best option for the maximizing player
+   * @param beta The best option for the minimizing player
+   * @param originalPlayer The player at root
+   * @return The evaluated score of the leaf
+   */
+  public static float evaluate(
+      final SearchAlgorithm algorithm,
+      final Solver solver,
+      final GameAi game,
+      final boolean currentPlayer,
+      final float alpha,
+      final float beta,
+      final boolean originalPlayer) {
+    if (!solver.isQuiescence() || game.isOver()) {
+      return solver.evaluateBoard(game.getGameState(), originalPlayer);
+    }
+    return search(
+        algorithm,
+        solver,
+        game,
+        MAX_DEPTH,
+        currentPlayer,
+        alpha,
+        beta,
+        originalPlayer,
+        solver.getHeuristic().getPawnValue());
+  }
+
+  /**
+   * Recursive part of the quiescence search.
+   *
+   * @param algorithm The algorithm counting the visited nodes
+   * @param solver The solver evaluating the boards
+   * @param game The current game
+   * @param depth The number of plies remaining
+   * @param currentPlayer The current player (true for white, false for black)
+   * @param alpha The best option for the maximizing player
+   * @param beta The best option for the minimizing player
+   * @param originalPlayer The player at root
+   * @param pawnValue Score of a pawn for the heuristic, 0 to disable the delta pruning
+   * @return The evaluated score of the node
+   */
+  private static float search(
+      final SearchAlgorithm algorithm,
+      final Solver solver,
+      final GameAi game,
+      final int depth,
+      final boolean currentPlayer,
+      float alpha,
+      float beta,
+      final boolean originalPlayer,
+      final float pawnValue) {
+    final float standPat = solver.evaluateBoard(game.getGameState(), originalPlayer);
+    if (depth == 0 || game.isOver()) {
+      return standPat;
+    }
+
+    final boolean maximizing = currentPlayer == originalPlayer;
+    final boolean inCheck = game.getBoard().isCheck(currentPlayer ? Color.WHITE : Color.BLACK);
+    float bestScore;
+    if (inCheck) {
+      bestScore = maximizing ? -Float.MAX_VALUE : Float.MAX_VALUE;
+    } else {
+      bestScore = standPat;
+      if (maximizing) {
+        if (standPat >= beta) {
+          return standPat;
+        }
+        alpha = Math.max(alpha, standPat);
+      } else {
+        if (standPat <= alpha) {
+          return standPat;
+        }
+        beta = Math.min(beta, standPat);
+      }
+    }
+
+    final MoveList moves = game.getMoveList();
+    game.getBoard().generateLegalMoves(currentPlayer, moves);
+    MoveOrdering.scoreMoves(moves);
+    for (int i = 0; i < moves.size(); i++) {
+      if (solver.isSearchStopped()) {
+        break;
+      }
+      final int move = moves.pickBest(i);
+      if (!inCheck) {
+        if (!MoveEncoding.isCapture(move) && !MoveEncoding.isPromotion(move)) {
+          continue;
+        }
+        final float maxGain = (getGain(move) + DELTA_MARGIN) * pawnValue;
+        if (pawnValue > 0
+            && (maximizing ? standPat + maxGain <= alpha : standPat - maxGain >= beta)) {
+          continue;
+        }
+      }
+      algorithm.addNode();
+      game.playMove(move);
+      final float score =
+          search(
+              algorithm,
+              solver,
+              game,
+              depth - 1,
+              !currentPlayer,
+              alpha,
+              beta,
+              originalPlayer,
+              pawnValue);
+      game.undoMove();
+      if (maximizing) {
+        bestScore = Math.max(bestScore, score);
+        alpha = Math.max(alpha, bestScore);
+      } else {
+        bestScore = Math.min(bestScore, score);
+        beta = Math.min(beta, bestScore);
+      }
+      if (alpha >= beta) {
+        break;
+      }
+    }
+    return bestScore;
+  }
+
+  /**
+   * Computes the material won by a capture or a promotion.
+   *
+   * @param move The encoded move
+   * @return The gain in pawns
+   */
+  private static int getGain(final int move) {
+    int gain = 0;
+    if (MoveEncoding.isCapture(move)) {
+      gain += PIECE_VALUES[MoveEncoding.getCaptured(move) % 6];
+    }
+    if (MoveEncoding.isPromotion(move)) {
+      gain += PIECE_VALUES[MoveEncoding.getPromotion(move) % 6] - 1;
+    }
+    return gain;
+  }
+}
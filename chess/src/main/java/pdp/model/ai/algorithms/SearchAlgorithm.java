@@ -2,6 +2,7 @@ package pdp.model.ai.algorithms;
 
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import pdp.model.Game;
 import pdp.model.ai.AiMove;
@@ -11,9 +12,21 @@ public abstract class SearchAlgorithm {
   /** Number of visited nodes. */
   private final AtomicLong visitedNodes = new AtomicLong(0);
 
+  /** Number of nodes cut by a null move. */
+  private final AtomicLong nullMoveCutoffs = new AtomicLong(0);
+
+  /** Number of moves searched at a reduced depth. */
+  private final AtomicLong lateMoveReductions = new AtomicLong(0);
+
   /** List containing the number of visited nodes per launch of the search algorithm. */
   private final List<Long> visitedNodeList = new CopyOnWriteArrayList<>();
 
+  /** Killer moves and history scores of each thread running the search. */
+  private final ThreadLocal<MoveHistory> moveHistory = ThreadLocal.withInitial(MoveHistory::new);
+
+  /** Number of searches started, see {@link #newSearch()}. */
+  private final AtomicInteger searchCount = new AtomicInteger(0);
+
   /**
    * Determines the best move using the implemented algorithm.
    *
@@ -24,6 +37,28 @@ public abstract class SearchAlgorithm {
    */
   public abstract AiMove findBestMove(Game game, int depth, boolean player);
 
+  /**
+   * Starts a new search: the move histories of the threads are aged the next time they are used.
+   */
+  protected void newSearch() {
+    searchCount.incrementAndGet();
+  }
+
+  /**
+   * Retrieves the killer moves and history scores of the calling thread, so that parallel workers
+   * order their moves without sharing any state.
+   *
+   * @return The move history of the current thread, prepared for the current search
+   */
+  public MoveHistory getMoveHistory() {
+    final MoveHistory history = moveHistory.get();
+    final int search = searchCount.get();
+    if (history.getSearch() != search) {
+      history.startSearch(search);
+    }
+    return history;
+  }
+
   /** Adds a node to the field visitedNodes. */
   public void addNode() {
     visitedNodes.incrementAndGet();
@@ -36,6 +71,62 @@ public abstract class SearchAlgorithm {
   public void clearNode() {
     visitedNodeList.add(visitedNodes.get());
     visitedNodes.set(0);
+    nullMoveCutoffs.set(0);
+    lateMoveReductions.set(0);
+  }
+
+  /**
+   * Adds the nodes visited by another algorithm during its run, such as a worker of a parallel
+   * search, to the counters of this run.
+   *
+   * @param other The algorithm which searched on behalf of this one
+   */
+  protected void addStatistics(final SearchAlgorithm other) {
+    visitedNodes.addAndGet(other.getVisitedNodes());
+    nullMoveCutoffs.addAndGet(other.getNullMoveCutoffs());
+    lateMoveReductions.addAndGet(other.getLateMoveReductions());
+  }
+
+  /** Counts a node cut by a null move. */
+  public void addNullMoveCutoff() {
+    nullMoveCutoffs.incrementAndGet();
+  }
+
+  /**
+   * Retrieves the number of nodes cut by a null move during this run of the algorithm.
+   *
+   * @return field nullMoveCutoffs
+   */
+  public long getNullMoveCutoffs() {
+    return nullMoveCutoffs.get();
+  }
+
+  /** Counts a move searched at a reduced depth. */
+  public void addLateMoveReduction() {
+    lateMoveReductions.incrementAndGet();
+  }
+
+  /**
+   * Retrieves the number of moves searched at a reduced depth during this run of the algorithm.
+   *
+   * @return field lateMoveReductions
+   */
+  public long getLateMoveReductions() {
+    return lateMoveReductions.get();
+  }
+
+  /**
+   * Describes the nodes visited during this run of the algorithm, to compare the searches.
+   *
+   * @return the number of visited nodes, null-move cutoffs and late-move reductions
+   */
+  public String getNodeStatistics() {
+    return visitedNodes.get()
+        + " nodes, "
+        + nullMoveCutoffs.get()
+        + " null-move cutoffs, "
+        + lateMoveReductions.get()
+        + " late-move reductions";
   }
 
   /**
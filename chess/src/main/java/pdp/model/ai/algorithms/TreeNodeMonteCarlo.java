@@ -1,67 +1,128 @@
 package pdp.model.ai.algorithms;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import pdp.model.GameAi;
 import pdp.model.GameState;
 import pdp.model.board.Move;
+import pdp.model.board.MoveEncoding;
 
 /**
- * Node in the MonteCarloTreeSearch algorithm. Contains GameState, parent node (for backpropagation
- * and other operations), children nodes (to go down the tree), the number of registered wins and
- * the number of visits for this node.
+ * Node in the MonteCarloTreeSearch algorithm. Contains the encoded move leading to it, parent node
+ * (for backpropagation and other operations), children nodes (to go down the tree), the number of
+ * registered wins and the number of visits for this node.
+ *
+ * <p>The search plays the moves of the nodes on the board of its game, so only the root keeps a
+ * game state. The game state of another node is only built when asked for (see {@link
+ * #getGameState(GameAi)}).
+ *
+ * <p>A tree may be searched by several threads at once: the statistics are atomic counters, the
+ * children are published at once by the only thread allowed to expand the node, and the threads
+ * going down through a node add a virtual loss to it until their result is backpropagated, so that
+ * the next threads prefer other nodes.
+ *
+ * <p>A node of a previous search may become the root of the next one (see {@link
+ * #makeRoot(GameState)}), and the subtree of a node may be dropped to bound the size of the tree
+ * (see {@link #collapse()}). Both are only done between searches.
  */
 public class TreeNodeMonteCarlo {
-  /** Game state of this node. */
-  private final GameState state;
+  /** Number of lost games counted for each thread going down through a node. */
+  public static final int VIRTUAL_LOSS = 1;
 
-  /** Parent node, for backpropagation. */
-  private final TreeNodeMonteCarlo parent;
+  /** Game state of this node, null until built. */
+  private GameState state;
 
-  /** Children nodes, to go down the tree. */
-  private final List<TreeNodeMonteCarlo> children;
+  /** Parent node, for backpropagation, null for the root. */
+  private TreeNodeMonteCarlo parent;
 
-  /** Number of registered wins. */
-  private int wins;
+  /** Children nodes, to go down the tree, empty until the node is expanded. */
+  private volatile List<TreeNodeMonteCarlo> children = List.of();
+
+  /** Boolean to indicate whether the children of the node were published. */
+  private volatile boolean expanded;
+
+  /** Boolean set by the thread expanding the node, so that no other thread expands it. */
+  private final AtomicBoolean expanding = new AtomicBoolean(false);
+
+  /**
+   * Number of registered wins of the player who played the move leading to this node, minus its
+   * losses.
+   */
+  private final AtomicInteger wins = new AtomicInteger(0);
 
   /** Number of visits of the node. */
-  private int nbVisits;
+  private final AtomicInteger nbVisits = new AtomicInteger(0);
+
+  /** Number of threads currently going down through this node. */
+  private final AtomicInteger virtualLosses = new AtomicInteger(0);
+
+  /** Encoded move leading to this state, {@link MoveEncoding#NONE} for the root. */
+  private final int move;
 
-  /** Move leading to this state. */
-  private final Move startingMove;
+  /** Boolean to indicate whether white played the move leading to this node. */
+  private final boolean whiteMove;
+
+  /**
+   * Creates the root node of the Monte Carlo Tree Search.
+   *
+   * @param state GameState of the root
+   */
+  public TreeNodeMonteCarlo(final GameState state) {
+    this.state = state;
+    this.parent = null;
+    this.move = MoveEncoding.NONE;
+    this.whiteMove = !state.isWhiteTurn();
+  }
 
   /**
    * Creates a node of the Monte Carlo Tree Search.
    *
-   * @param state GameState of this node.
    * @param parent parent node in the tree
-   * @param move move done from the parent to arrive to this node
+   * @param move encoded move done from the parent to arrive to this node
+   * @param whiteMove true if white played the move
    */
   public TreeNodeMonteCarlo(
-      final GameState state, final TreeNodeMonteCarlo parent, final Move move) {
-    this.state = state;
+      final TreeNodeMonteCarlo parent, final int move, final boolean whiteMove) {
     this.parent = parent;
-    this.children = new ArrayList<>();
-    this.wins = 0;
-    this.nbVisits = 0;
-    this.startingMove = move;
+    this.move = move;
+    this.whiteMove = whiteMove;
   }
 
   /**
-   * Retrieves the number of won games observed.
+   * Retrieves the number of won games observed, minus the lost ones.
    *
    * @return the number of wins that were observed
    */
   public int getNbWins() {
-    return this.wins;
+    return this.wins.get();
   }
 
   /**
    * Retrieves the move leading to this game state.
    *
-   * @return the starting move that leads to this game state
+   * @return the starting move that leads to this game state, null for the root
    */
   public Move getStartingMove() {
-    return this.startingMove;
+    return this.move == MoveEncoding.NONE ? null : MoveEncoding.toMove(this.move);
+  }
+
+  /**
+   * Retrieves the encoded move leading to this game state.
+   *
+   * @return field move, {@link MoveEncoding#NONE} for the root
+   */
+  public int getMove() {
+    return this.move;
+  }
+
+  /**
+   * Indicates which player played the move leading to this node, whose wins are counted.
+   *
+   * @return true if white played the move
+   */
+  public boolean isWhiteMove() {
+    return this.whiteMove;
   }
 
   /**
@@ -70,7 +131,7 @@ public class TreeNodeMonteCarlo {
    * @param nbNewWins the number of new wins
    */
   public void incrementNbWinsBy(final int nbNewWins) {
-    this.wins += nbNewWins;
+    this.wins.addAndGet(nbNewWins);
   }
 
   /**
@@ -79,12 +140,31 @@ public class TreeNodeMonteCarlo {
    * @return the number of times this node was visited.
    */
   public int getNbVisits() {
-    return this.nbVisits;
+    return this.nbVisits.get();
   }
 
   /** Increments the number of visits by 1. */
   public void incrementNbVisits() {
-    this.nbVisits++;
+    this.nbVisits.incrementAndGet();
+  }
+
+  /** Counts a virtual loss, while a thread goes down through the node. */
+  public void addVirtualLoss() {
+    this.virtualLosses.incrementAndGet();
+  }
+
+  /** Removes a virtual loss, once the result of the thread is backpropagated. */
+  public void removeVirtualLoss() {
+    this.virtualLosses.decrementAndGet();
+  }
+
+  /**
+   * Retrieves the number of threads currently going down through this node.
+   *
+   * @return the number of virtual losses
+   */
+  public int getVirtualLosses() {
+    return this.virtualLosses.get();
   }
 
   /**
@@ -106,41 +186,83 @@ public class TreeNodeMonteCarlo {
   }
 
   /**
-   * Retrieves the game state of the current node.
+   * Retrieves the game state of the current node, built from the one of its parent on first call.
    *
+   * @param game the game used to play the move on a copy of the game state of the parent
    * @return the GameState representing the current node.
    */
-  public GameState getGameState() {
+  public synchronized GameState getGameState(final GameAi game) {
+    if (this.state == null) {
+      final GameState nextState = parent.getGameState(game).getCopy();
+      game.playMoveOtherGameState(nextState, this.move);
+      this.state = nextState;
+    }
     return this.state;
   }
 
+  /**
+   * Detaches the node from its parent so that it becomes the root of a new search, keeping its
+   * statistics and its subtree.
+   *
+   * @param state GameState of the node, in the position of the new search
+   */
+  public synchronized void makeRoot(final GameState state) {
+    this.parent = null;
+    this.state = state;
+  }
+
+  /**
+   * Drops the children of the node, which may be expanded again later. The statistics of the node
+   * are kept.
+   */
+  public void collapse() {
+    this.expanded = false;
+    this.children = List.of();
+    this.expanding.set(false);
+  }
+
   /**
    * Calculate UCT (Upper Confidence Bound for Trees).
    *
    * <p>UCT = w(i)/n(i) + c * sqrt(ln(t)/n(i))
    *
    * <p>w = number of wins after the i-th move (can be 0). n = number of simulations after the i-th
-   * move. c = exploration parameter. t = total number of simulations for the parent node.
+   * move. c = exploration parameter. t = total number of simulations for the parent node. The
+   * virtual losses count as simulations lost.
    *
    * @param node the child node
    * @param exploration the exploration factor (c value in formula)
+   * @param parentVisits the number of simulations of this node, virtual losses included
    * @return The UCT value
    */
-  private double uctValue(final TreeNodeMonteCarlo node, final double exploration) {
-    if (node.nbVisits == 0) {
+  private static double uctValue(
+      final TreeNodeMonteCarlo node, final double exploration, final int parentVisits) {
+    final int virtual = node.virtualLosses.get() * VIRTUAL_LOSS;
+    final int visits = node.nbVisits.get() + virtual;
+    if (visits == 0) {
       return Double.MAX_VALUE;
     }
-    return (node.wins / (double) node.nbVisits)
-        + exploration * Math.sqrt(Math.log(this.nbVisits) / node.nbVisits);
+    return ((node.wins.get() - virtual) / (double) visits)
+        + exploration * Math.sqrt(Math.log(parentVisits) / visits);
+  }
+
+  /**
+   * Claims the expansion of the node. Only the first thread calling it may expand the node.
+   *
+   * @return true if the calling thread must expand the node
+   */
+  public boolean tryStartExpansion() {
+    return expanding.compareAndSet(false, true);
   }
 
   /**
-   * Adds a child node to the current node (expand tree).
+   * Publishes the children of the node, once expanded.
    *
-   * @param child the child node wer want to add to the tree
+   * @param children the child nodes, one per legal move
    */
-  public void addChildToTree(final TreeNodeMonteCarlo child) {
-    children.add(child);
+  public void setChildren(final List<TreeNodeMonteCarlo> children) {
+    this.children = List.copyOf(children);
+    this.expanded = true;
   }
 
   /**
@@ -153,9 +275,11 @@ public class TreeNodeMonteCarlo {
     TreeNodeMonteCarlo bestChild = null;
     // First -inf and update it later when better child is found
     double bestValue = Double.NEGATIVE_INFINITY;
+    final int parentVisits =
+        Math.max(this.nbVisits.get() + this.virtualLosses.get() * VIRTUAL_LOSS, 1);
 
     for (final TreeNodeMonteCarlo child : this.children) {
-      final double uct = uctValue(child, exploration);
+      final double uct = uctValue(child, exploration, parentVisits);
       if (uct > bestValue) {
         // Update best child
         bestValue = uct;
@@ -172,7 +296,6 @@ public class TreeNodeMonteCarlo {
    * @return true if a node is fully explored, false otherwise
    */
   public boolean isFullyExpanded() {
-    final boolean isWhite = state.isWhiteTurn();
-    return state.getBoard().getAllAvailableMoves(isWhite).size() == children.size();
+    return expanded;
   }
 }
@@ -67,4 +67,18 @@ public abstract class AbstractHeuristic implements Heuristic {
     }
     return score;
   }
+
+  /**
+   * Retrieves the score of a pawn of material advantage, summed over the weighted sub-heuristics.
+   *
+   * @return score of a pawn, 0 if no sub-heuristic counts the material
+   */
+  @Override
+  public float getPawnValue() {
+    float pawnValue = 0;
+    for (final WeightedHeuristic heuristic : heuristics) {
+      pawnValue += heuristic.heuristic().getPawnValue() * heuristic.weight();
+    }
+    return pawnValue;
+  }
 }
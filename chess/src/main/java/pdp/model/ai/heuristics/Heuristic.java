@@ -12,4 +12,14 @@ public interface Heuristic {
    * @return score for the given player on the board
    */
   float evaluate(BoardRepresentation board, boolean isWhite);
+
+  /**
+   * Retrieves the score given by the heuristic to a pawn of material advantage. It is used by the
+   * quiescence search to bound the gain of a capture (delta pruning).
+   *
+   * @return score of a pawn, 0 if the heuristic does not count the material
+   */
+  default float getPawnValue() {
+    return 0;
+  }
 }
@@ -55,4 +55,14 @@ public class MaterialHeuristic implements Heuristic {
 
     return isWhite ? score : -score;
   }
+
+  /**
+   * Retrieves the score of a pawn of material advantage.
+   *
+   * @return score of a pawn
+   */
+  @Override
+  public float getPawnValue() {
+    return PAWN_VALUE * MULTIPLIER;
+  }
 }
@@ -27,8 +27,8 @@ public class MobilityHeuristic implements Heuristic {
     float score = 0;
     if (board instanceof BitboardRepresentation bitBoard) {
       score +=
-          (bitBoard.getColorAttackBitboard(true).bitCount()
-                  - bitBoard.getColorAttackBitboard(false).bitCount())
+          (Long.bitCount(bitBoard.getColorAttackBits(true))
+                  - Long.bitCount(bitBoard.getColorAttackBits(false)))
               * MOVE_VALUE;
 
       score = Math.min(score, SCORE_CAP); // cap to 100
@@ -3,7 +3,10 @@ package pdp.model.board;
 import java.util.ArrayList;
 import java.util.List;
 
-/** Bitboard structure with all needed treatments. */
+/**
+ * Bitboard structure with all needed treatments. Mutable object view over a long, kept for
+ * convenience outside the hot paths which work directly on longs through {@link BitboardOps}.
+ */
 public class Bitboard {
   /** Long int representing a bitboard state. */
   private long bitboard;
@@ -28,7 +31,7 @@ public class Bitboard {
    * @param square Position of the bit to set
    */
   public void setBit(final int square) {
-    bitboard = bitboard | (1L << square);
+    bitboard = BitboardOps.setBit(bitboard, square);
   }
 
   /**
@@ -37,7 +40,7 @@ public class Bitboard {
    * @param square Position of the bit to set
    */
   public void clearBit(final int square) {
-    bitboard = bitboard & ~(1L << square);
+    bitboard = BitboardOps.clearBit(bitboard, square);
   }
 
   /**
@@ -46,7 +49,7 @@ public class Bitboard {
    * @param square Position of the bit to set
    */
   public void toggleBit(final int square) {
-    bitboard = bitboard ^ (1L << square);
+    bitboard = BitboardOps.toggleBit(bitboard, square);
   }
 
   /**
@@ -56,7 +59,7 @@ public class Bitboard {
    * @return Value of the given bit
    */
   public boolean getBit(final int square) {
-    return (bitboard & (1L << square)) != 0;
+    return BitboardOps.getBit(bitboard, square);
   }
 
   /**
@@ -74,7 +77,7 @@ public class Bitboard {
    * @return A new bitboard with the bits correctly sets
    */
   public Bitboard moveUp() {
-    return new Bitboard(bitboard << 8);
+    return new Bitboard(BitboardOps.moveUp(bitboard));
   }
 
   /**
@@ -83,7 +86,7 @@ public class Bitboard {
    * @return A new bitboard with the bits correctly sets
    */
   public Bitboard moveDown() {
-    return new Bitboard(bitboard >>> 8);
+    return new Bitboard(BitboardOps.moveDown(bitboard));
   }
 
   /**
@@ -92,7 +95,7 @@ public class Bitboard {
    * @return A new bitboard with the bits correctly sets
    */
   public Bitboard moveRight() {
-    return new Bitboard((bitboard << 1) & 0xFEFEFEFEFEFEFEFEL);
+    return new Bitboard(BitboardOps.moveRight(bitboard));
   }
 
   /**
@@ -101,7 +104,7 @@ public class Bitboard {
    * @return A new bitboard with the bits correctly sets
    */
   public Bitboard moveLeft() {
-    return new Bitboard((bitboard >>> 1) & 0x7F7F7F7F7F7F7F7FL);
+    return new Bitboard(BitboardOps.moveLeft(bitboard));
   }
 
   /**
@@ -110,7 +113,7 @@ public class Bitboard {
    * @return A new bitboard with the bits correctly sets
    */
   public Bitboard moveUpRight() {
-    return new Bitboard(bitboard).moveUp().moveRight();
+    return new Bitboard(BitboardOps.moveUpRight(bitboard));
   }
 
   /**
@@ -119,7 +122,7 @@ public class Bitboard {
    * @return A new bitboard with the bits correctly sets
    */
   public Bitboard moveUpLeft() {
-    return new Bitboard(bitboard).moveUp().moveLeft();
+    return new Bitboard(BitboardOps.moveUpLeft(bitboard));
   }
 
   /**
@@ -128,7 +131,7 @@ public class Bitboard {
    * @return A new bitboard with the bits correctly sets
    */
   public Bitboard moveDownRight() {
-    return new Bitboard(bitboard).moveDown().moveRight();
+    return new Bitboard(BitboardOps.moveDownRight(bitboard));
   }
 
   /**
@@ -137,7 +140,7 @@ public class Bitboard {
    * @return A new bitboard with the bits correctly sets
    */
   public Bitboard moveDownLeft() {
-    return new Bitboard(bitboard).moveDown().moveLeft();
+    return new Bitboard(BitboardOps.moveDownLeft(bitboard));
   }
 
   /** Set all the bits to False. */
@@ -160,11 +163,9 @@ public class Bitboard {
    * @return Array list containing the square set to 1
    */
   public List<Integer> getSetBits() {
-    final List<Integer> setBits = new ArrayList<>();
-    for (int square = 0; square < 64; square++) {
-      if (getBit(square)) {
-        setBits.add(square);
-      }
+    final List<Integer> setBits = new ArrayList<>(Long.bitCount(bitboard));
+    for (long bits = bitboard; bits != 0; bits = BitboardOps.popLsb(bits)) {
+      setBits.add(BitboardOps.lsb(bits));
     }
     return setBits;
   }
@@ -1,70 +1,315 @@
 package pdp.model.board;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
 
-/** Class used to store cache composed of bitboards to avoid recalculating too many methods. */
+/**
+ * Fixed-size cache of the expensive board computations (check, checkmate, stalemate and attack
+ * bitboards), indexed by the hash of the board.
+ *
+ * <p>The table is a power-of-two array of {@code long} slots without any lock: each entry is made
+ * of a verification word, a word of flags and the two attack bitboards. The verification word is
+ * the hash xored with the three data words, so an entry partially written by a concurrent thread is
+ * seen as a miss instead of a wrong result. Entries are always replaced by the newest position
+ * mapped to the same slot, no eviction pass is needed.
+ *
+ * <p>Each AI player owns its own instance (see {@code Solver#setCacheSize}), so two engines playing
+ * in the same JVM do not replace each other's entries. Hits, misses and evictions are counted to
+ * help choosing the size of the table.
+ */
 public class BitboardCache {
-  /** Maximum number of elements in the cache. */
-  private final int maxNb;
-
-  /** Map storing a hash of a board and a cache result. Structure used for the cache. */
-  private final Map<Long, CachedResult> cache = new ConcurrentHashMap<>();
+  /** Returned by {@link #getStatus(long, int, boolean)} when the status is not cached. */
+  public static final int UNKNOWN = -1;
 
   /**
-   * Queue to store the access to the different cache elements. Helps for the replacement of values
-   * in the cache.
+   * Returned by {@link #getAttackBitboard(long, boolean)} when the bitboard is not cached. A side
+   * can never attack every square, so this value is never stored.
    */
-  private final ConcurrentLinkedDeque<Long> accessOrder = new ConcurrentLinkedDeque<>();
+  public static final long NO_ATTACK_BITBOARD = -1L;
+
+  /** Status telling whether the king is in check. */
+  public static final int CHECK = 0;
+
+  /** Status telling whether the king is checkmate. */
+  public static final int CHECKMATE = 1;
+
+  /** Status telling whether the player is stalemate. */
+  public static final int STALEMATE = 2;
+
+  /** Number of words used by an entry. */
+  private static final int ENTRY_WORDS = 4;
+
+  /** Offset of the verification word (hash xor data words) in an entry. */
+  private static final int VERIFICATION = 0;
+
+  /** Offset of the flags word in an entry. */
+  private static final int FLAGS = 1;
+
+  /** Offset of the white attack bitboard in an entry. */
+  private static final int WHITE_ATTACK = 2;
+
+  /** Offset of the black attack bitboard in an entry. */
+  private static final int BLACK_ATTACK = 3;
+
+  /** Flag set when the white attack bitboard of the entry is known. */
+  private static final long WHITE_ATTACK_KNOWN = 1L << 12;
+
+  /** Flag set when the black attack bitboard of the entry is known. */
+  private static final long BLACK_ATTACK_KNOWN = 1L << 13;
+
+  /** Slots of the table, {@link #ENTRY_WORDS} words per entry. */
+  private final long[] slots;
+
+  /** Mask applied to the hash to get the index of an entry. */
+  private final int mask;
+
+  /** Number of lookups that found the requested value. */
+  private final LongAdder hits = new LongAdder();
+
+  /** Number of lookups that did not find the requested value. */
+  private final LongAdder misses = new LongAdder();
+
+  /** Number of entries of another board replaced by a store. */
+  private final LongAdder evictions = new LongAdder();
 
   /**
-   * Creates an instance of cache, with the maximum number of elements inside given as an argument.
+   * Creates an instance of cache, able to hold at least the number of elements given as an argument
+   * (rounded up to a power of two).
    *
    * @param maxNb maximum number of elements in the cache
    */
   public BitboardCache(final int maxNb) {
-    this.maxNb = maxNb;
+    int capacity = 1;
+    while (capacity < maxNb) {
+      capacity <<= 1;
+    }
+    this.slots = new long[capacity * ENTRY_WORDS];
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Retrieves the number of entries of the table.
+   *
+   * @return the capacity of the cache
+   */
+  public int getCapacity() {
+    return mask + 1;
   }
 
   /**
-   * Retrieves the cached result corresponding to the given hash if it exists. If not, creates it
-   * and returns it.
+   * Retrieves a cached status of a player.
    *
    * @param hash Zobrist hashing corresponding to a board
-   * @return instance of cache corresponding to the hash
+   * @param status one of {@link #CHECK}, {@link #CHECKMATE} or {@link #STALEMATE}
+   * @param white true for the white player, false for the black player
+   * @return 1 if the status holds, 0 if it does not, {@link #UNKNOWN} if it is not cached
    */
-  public CachedResult getOrCreate(final long hash) {
-    final boolean[] isNew = {false};
-    final CachedResult result =
-        cache.computeIfAbsent(
-            hash,
-            k -> {
-              isNew[0] = true;
-              accessOrder.addLast(k);
-              return new CachedResult();
-            });
-    if (isNew[0]) {
-      evictIfNecessary();
+  public int getStatus(final long hash, final int status, final boolean white) {
+    final int base = index(hash);
+    final long flags = slots[base + FLAGS];
+    final int bit = statusBit(status, white);
+    if (!matches(base, hash, flags, slots[base + WHITE_ATTACK], slots[base + BLACK_ATTACK])
+        || (flags & 1L << bit) == 0) {
+      misses.increment();
+      return UNKNOWN;
     }
-    return result;
+    hits.increment();
+    return (int) (flags >>> bit + 1) & 1;
   }
 
-  private void evictIfNecessary() {
-    if (cache.size() >= maxNb) {
-      synchronized (accessOrder) {
-        if (cache.size() >= maxNb) {
-          final int numToRemove = maxNb / 10 + 1;
-          for (int i = 0; i < numToRemove; i++) {
-            final Long oldestKey = accessOrder.pollFirst();
-            if (oldestKey != null) {
-              cache.remove(oldestKey);
-            } else {
-              break;
-            }
-          }
-        }
+  /**
+   * Stores a status of a player, replacing the entry if it belongs to another board.
+   *
+   * @param hash Zobrist hashing corresponding to a board
+   * @param status one of {@link #CHECK}, {@link #CHECKMATE} or {@link #STALEMATE}
+   * @param white true for the white player, false for the black player
+   * @param value true if the status holds, false otherwise
+   */
+  public void setStatus(
+      final long hash, final int status, final boolean white, final boolean value) {
+    final int bit = statusBit(status, white);
+    final int base = index(hash);
+    long flags = slots[base + FLAGS];
+    long whiteAttack = slots[base + WHITE_ATTACK];
+    long blackAttack = slots[base + BLACK_ATTACK];
+    if (!matches(base, hash, flags, whiteAttack, blackAttack)) {
+      if (flags != 0L) {
+        evictions.increment();
+      }
+      flags = 0L;
+      whiteAttack = 0L;
+      blackAttack = 0L;
+    }
+    flags = flags & ~(3L << bit) | 1L << bit | (value ? 2L : 0L) << bit;
+    write(base, hash, flags, whiteAttack, blackAttack);
+  }
+
+  /**
+   * Retrieves the cached attack bitboard of a side.
+   *
+   * @param hash Zobrist hashing corresponding to a board
+   * @param white true for the white side, false for the black side
+   * @return the attack bitboard, or {@link #NO_ATTACK_BITBOARD} if it is not cached
+   */
+  public long getAttackBitboard(final long hash, final boolean white) {
+    final int base = index(hash);
+    final long flags = slots[base + FLAGS];
+    final long whiteAttack = slots[base + WHITE_ATTACK];
+    final long blackAttack = slots[base + BLACK_ATTACK];
+    if (!matches(base, hash, flags, whiteAttack, blackAttack)
+        || (flags & (white ? WHITE_ATTACK_KNOWN : BLACK_ATTACK_KNOWN)) == 0) {
+      misses.increment();
+      return NO_ATTACK_BITBOARD;
+    }
+    hits.increment();
+    return white ? whiteAttack : blackAttack;
+  }
+
+  /**
+   * Stores the attack bitboard of a side, replacing the entry if it belongs to another board.
+   *
+   * @param hash Zobrist hashing corresponding to a board
+   * @param white true for the white side, false for the black side
+   * @param bitboard attack bitboard to store
+   */
+  public void setAttackBitboard(final long hash, final boolean white, final long bitboard) {
+    if (bitboard == NO_ATTACK_BITBOARD) {
+      return;
+    }
+    final int base = index(hash);
+    long flags = slots[base + FLAGS];
+    long whiteAttack = slots[base + WHITE_ATTACK];
+    long blackAttack = slots[base + BLACK_ATTACK];
+    if (!matches(base, hash, flags, whiteAttack, blackAttack)) {
+      if (flags != 0L) {
+        evictions.increment();
       }
+      flags = 0L;
+      whiteAttack = 0L;
+      blackAttack = 0L;
     }
+    if (white) {
+      flags |= WHITE_ATTACK_KNOWN;
+      whiteAttack = bitboard;
+    } else {
+      flags |= BLACK_ATTACK_KNOWN;
+      blackAttack = bitboard;
+    }
+    write(base, hash, flags, whiteAttack, blackAttack);
+  }
+
+  /** Removes every entry of the cache and resets the counters. */
+  public void clear() {
+    Arrays.fill(slots, 0L);
+    hits.reset();
+    misses.reset();
+    evictions.reset();
+  }
+
+  /**
+   * Retrieves the number of lookups that found the requested value.
+   *
+   * @return the number of hits
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * Retrieves the number of lookups that did not find the requested value.
+   *
+   * @return the number of misses
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * Retrieves the number of entries replaced by the entry of another board.
+   *
+   * @return the number of evictions
+   */
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * Describes the size and the counters of the cache.
+   *
+   * @return the statistics of the cache
+   */
+  @Override
+  public String toString() {
+    return "capacity="
+        + getCapacity()
+        + ", hits="
+        + getHits()
+        + ", misses="
+        + getMisses()
+        + ", evictions="
+        + getEvictions();
+  }
+
+  /**
+   * Computes the index of the first word of the entry of a hash.
+   *
+   * @param hash Zobrist hashing corresponding to a board
+   * @return index in {@link #slots}
+   */
+  private int index(final long hash) {
+    return ((int) hash & mask) * ENTRY_WORDS;
+  }
+
+  /**
+   * Checks that the entry at the given index holds the given hash and was not torn by a concurrent
+   * write.
+   *
+   * @param base index of the entry
+   * @param hash Zobrist hashing corresponding to a board
+   * @param flags flags word already read from the entry
+   * @param whiteAttack white attack bitboard already read from the entry
+   * @param blackAttack black attack bitboard already read from the entry
+   * @return true if the entry belongs to the hash
+   */
+  private boolean matches(
+      final int base,
+      final long hash,
+      final long flags,
+      final long whiteAttack,
+      final long blackAttack) {
+    return (slots[base + VERIFICATION] ^ flags ^ whiteAttack ^ blackAttack) == hash;
+  }
+
+  /**
+   * Writes an entry, the verification word last.
+   *
+   * @param base index of the entry
+   * @param hash Zobrist hashing corresponding to a board
+   * @param flags flags word
+   * @param whiteAttack white attack bitboard
+   * @param blackAttack black attack bitboard
+   */
+  private void write(
+      final int base,
+      final long hash,
+      final long flags,
+      final long whiteAttack,
+      final long blackAttack) {
+    slots[base + FLAGS] = flags;
+    slots[base + WHITE_ATTACK] = whiteAttack;
+    slots[base + BLACK_ATTACK] = blackAttack;
+    slots[base + VERIFICATION] = hash ^ flags ^ whiteAttack ^ blackAttack;
+  }
+
+  /**
+   * Computes the position of the "known" bit of a status in the flags word, the value bit being the
+   * next one.
+   *
+   * @param status one of {@link #CHECK}, {@link #CHECKMATE} or {@link #STALEMATE}
+   * @param white true for the white player, false for the black player
+   * @return position of the bit
+   */
+  private static int statusBit(final int status, final boolean white) {
+    return (status * 2 + (white ? 0 : 1)) * 2;
   }
 }
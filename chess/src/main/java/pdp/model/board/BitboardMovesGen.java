@@ -63,25 +63,10 @@ public final class BitboardMovesGen {
    */
   public static Bitboard getInlineMoves(
       final Position square, final Bitboard unreachableSquares, final Bitboard enemies) {
-    final Bitboard position = new Bitboard();
     final int squareIndex = square.x() % 8 + square.y() * 8;
-    position.setBit(squareIndex);
-    // move left
-    final Bitboard leftMoves =
-        getMultipleMovesFromDirection(position, unreachableSquares, enemies, Bitboard::moveLeft);
-    // move right
-    final Bitboard rightMoves =
-        getMultipleMovesFromDirection(position, unreachableSquares, enemies, Bitboard::moveRight);
-    // move up
-    final Bitboard upMoves =
-        getMultipleMovesFromDirection(position, unreachableSquares, enemies, Bitboard::moveUp);
-    // move down
-    final Bitboard downMoves =
-        getMultipleMovesFromDirection(position, unreachableSquares, enemies, Bitboard::moveDown);
-
-    final Bitboard res = new Bitboard().or(leftMoves).or(rightMoves).or(upMoves).or(downMoves);
-    res.clearBit(squareIndex);
-    return res;
+    final long unreachable = unreachableSquares.getBits();
+    return new Bitboard(
+        MagicBitboards.rookAttacks(squareIndex, unreachable | enemies.getBits()) & ~unreachable);
   }
 
   /**
@@ -95,24 +80,27 @@ public final class BitboardMovesGen {
    */
   public static Bitboard getDiagonalMoves(
       final Position square, final Bitboard unreachableSquares, final Bitboard enemies) {
-    final Bitboard position = new Bitboard();
     final int squareIndex = square.x() % 8 + square.y() * 8;
-    position.setBit(squareIndex);
+    final long unreachable = unreachableSquares.getBits();
+    return new Bitboard(
+        MagicBitboards.bishopAttacks(squareIndex, unreachable | enemies.getBits()) & ~unreachable);
+  }
 
-    final Bitboard upLeftMoves =
-        getMultipleMovesFromDirection(position, unreachableSquares, enemies, Bitboard::moveUpLeft);
-    final Bitboard upRightMoves =
-        getMultipleMovesFromDirection(position, unreachableSquares, enemies, Bitboard::moveUpRight);
-    final Bitboard downLeftMoves =
-        getMultipleMovesFromDirection(
-            position, unreachableSquares, enemies, Bitboard::moveDownLeft);
-    final Bitboard downRightMoves =
-        getMultipleMovesFromDirection(
-            position, unreachableSquares, enemies, Bitboard::moveDownRight);
-    final Bitboard res =
-        new Bitboard().or(upLeftMoves).or(upRightMoves).or(downRightMoves).or(downLeftMoves);
-    res.clearBit(squareIndex);
-    return res;
+  /**
+   * Generate the bitboard containing the reachable positions for a queen, i.e. both inline and
+   * diagonal directions, using a single queen lookup.
+   *
+   * @param square The position of the piece that want to move
+   * @param unreachableSquares A bitboard containing all the unreachable squares
+   * @param enemies A bitboard containing all the enemies pieces
+   * @return A bitboard containing the possible queen moves
+   */
+  public static Bitboard getQueenMoveBitboard(
+      final Position square, final Bitboard unreachableSquares, final Bitboard enemies) {
+    final int squareIndex = square.x() % 8 + square.y() * 8;
+    final long unreachable = unreachableSquares.getBits();
+    return new Bitboard(
+        MagicBitboards.queenAttacks(squareIndex, unreachable | enemies.getBits()) & ~unreachable);
   }
 
   /**
@@ -149,7 +137,7 @@ public final class BitboardMovesGen {
 
       if (enemies.getBit(i)) { // move is capture
         for (int j = 0; j < bitboardRep.getBitboards().length; j++) {
-          if (bitboardRep.getBitboards()[j].getBit(i)) {
+          if (BitboardOps.getBit(bitboardRep.getBitboard(j), i)) {
             isTake = true;
             capturedPiece = BitboardRepresentation.getPiecesMap().getFromKey(j);
             if (!isPromotion) {
@@ -506,12 +494,7 @@ public final class BitboardMovesGen {
       final ColoredPiece piece,
       final BitboardRepresentation bitboardRep) {
     return bitboardToMoves(
-        getInlineMoves(square, unreachableSq, enemies)
-            .or(getDiagonalMoves(square, unreachableSq, enemies)),
-        enemies,
-        square,
-        piece,
-        bitboardRep);
+        getQueenMoveBitboard(square, unreachableSq, enemies), enemies, square, piece, bitboardRep);
   }
 
   /**
@@ -658,7 +641,7 @@ public final class BitboardMovesGen {
     final Bitboard unreachableSquares =
         piece.getColor() == Color.WHITE ? bitboardRep.getWhiteBoard() : bitboardRep.getBlackBoard();
     unreachableSquares.clearBit(x % 8 + y * 8); // remove piece position from reachable positions
-    if (!kingReachable) {
+    if (!kingReachable && enemyKing != -1) {
       unreachableSquares.setBit(enemyKing); // Put enemyKing to unreachable positions
     }
     final Bitboard enemies =
@@ -678,9 +661,7 @@ public final class BitboardMovesGen {
             + ")");
     return switch (piece.getPiece()) {
       case KING -> getKingAttackBitboard(new Position(x, y), unreachableSquares);
-      case QUEEN ->
-          getInlineMoves(new Position(x, y), unreachableSquares, enemies)
-              .or(getDiagonalMoves(new Position(x, y), unreachableSquares, enemies));
+      case QUEEN -> getQueenMoveBitboard(new Position(x, y), unreachableSquares, enemies);
       case BISHOP -> getDiagonalMoves(new Position(x, y), unreachableSquares, enemies);
       case ROOK -> getInlineMoves(new Position(x, y), unreachableSquares, enemies);
       case KNIGHT -> getKnightMoveBitboard(new Position(x, y), unreachableSquares);
@@ -843,4 +824,415 @@ public final class BitboardMovesGen {
 
     return bishopMoves;
   }
+
+  /**
+   * Fills the given list with the legal moves of a color, encoded as ints (see {@link
+   * MoveEncoding}). Works on the raw bitboards only and does not modify the board.
+   *
+   * <p>The checkers of the king and the pinned pieces are computed once per position: when the king
+   * is in check, the other pieces may only move to the check evasion mask (capture of the checker
+   * or interposition), and a pinned piece may only move along the line of its pin. Only the king
+   * moves (and the rare en passant captures) still need a per-move attack test.
+   *
+   * @param bitboardRep The board
+   * @param white {true} to generate the white moves, {false} for the black ones
+   * @param moves The list to fill, cleared first
+   */
+  public static void generateMoves(
+      final BitboardRepresentation bitboardRep, final boolean white, final MoveList moves) {
+    moves.clear();
+    final long[] board = bitboardRep.getBitboards();
+    final int offset = white ? 0 : 6;
+    final long own = white ? bitboardRep.getWhiteBits() : bitboardRep.getBlackBits();
+    final long enemies = white ? bitboardRep.getBlackBits() : bitboardRep.getWhiteBits();
+    final long occupancy = own | enemies;
+    // The enemy king is never captured, as in the list based generation
+    final long targetable = enemies & ~board[white ? 6 : 0];
+
+    final long kingBit = board[offset];
+    final int kingSquare = BitboardOps.lsb(kingBit);
+    long checkMask = -1L;
+    long pinned = 0L;
+    if (kingBit != 0) {
+      final long checkers = attackersTo(kingSquare, !white, board, occupancy);
+      if (Long.bitCount(checkers) > 1) {
+        checkMask = 0L;
+      } else if (checkers != 0) {
+        checkMask = checkers | MagicBitboards.between(kingSquare, BitboardOps.lsb(checkers));
+      }
+      pinned = pinnedPieces(board, white, kingSquare, own, enemies, occupancy);
+
+      final long kingTargets = BitboardOps.kingAttacks(kingSquare) & (~occupancy | targetable);
+      addKingMoves(board, white, kingSquare, offset, kingTargets, enemies, occupancy, moves);
+    }
+
+    if (checkMask != 0) {
+      for (int piece = offset + 1; piece < offset + 5; piece++) {
+        long pieces = board[piece];
+        while (pieces != 0) {
+          final int from = BitboardOps.lsb(pieces);
+          pieces = BitboardOps.popLsb(pieces);
+          final long targets =
+              switch (piece - offset) {
+                case 1 -> MagicBitboards.queenAttacks(from, occupancy);
+                case 2 -> MagicBitboards.bishopAttacks(from, occupancy);
+                case 3 -> MagicBitboards.rookAttacks(from, occupancy);
+                default -> BitboardOps.knightAttacks(from);
+              };
+          final long legal = checkMask & pinMask(pinned, kingSquare, from);
+          addMoves(board, white, from, piece, targets & (~occupancy | targetable) & legal, moves);
+        }
+      }
+      generatePawnMoves(
+          bitboardRep, board, white, targetable, occupancy, checkMask, pinned, kingSquare, moves);
+    }
+    generateCastlingMoves(bitboardRep, board, white, occupancy, moves);
+  }
+
+  /**
+   * Retrieves the pieces of a color attacking a square.
+   *
+   * @param square The attacked square
+   * @param byWhite {true} for the white attackers, {false} for the black ones
+   * @param board The raw bitboards
+   * @param occupancy All the occupied squares
+   * @return The squares of the attackers
+   */
+  private static long attackersTo(
+      final int square, final boolean byWhite, final long[] board, final long occupancy) {
+    final int offset = byWhite ? 0 : 6;
+    final long queens = board[offset + 1];
+    return (BitboardOps.pawnAttacks(!byWhite, square) & board[offset + 5])
+        | (BitboardOps.knightAttacks(square) & board[offset + 4])
+        | (BitboardOps.kingAttacks(square) & board[offset])
+        | (MagicBitboards.rookAttacks(square, occupancy) & (board[offset + 3] | queens))
+        | (MagicBitboards.bishopAttacks(square, occupancy) & (board[offset + 2] | queens));
+  }
+
+  /**
+   * Retrieves the pieces pinned against their king: the only piece standing between the king and an
+   * enemy slider aligned with it.
+   *
+   * @param board The raw bitboards
+   * @param white Color of the king
+   * @param kingSquare Square of the king
+   * @param own Squares occupied by the color of the king
+   * @param enemies Squares occupied by the opponent
+   * @param occupancy All the occupied squares
+   * @return The squares of the pinned pieces
+   */
+  private static long pinnedPieces(
+      final long[] board,
+      final boolean white,
+      final int kingSquare,
+      final long own,
+      final long enemies,
+      final long occupancy) {
+    final int enemyOffset = white ? 6 : 0;
+    final long queens = board[enemyOffset + 1];
+    // Enemy sliders seeing the king through the own pieces
+    long snipers =
+        (MagicBitboards.rookAttacks(kingSquare, enemies) & (board[enemyOffset + 3] | queens))
+            | (MagicBitboards.bishopAttacks(kingSquare, enemies)
+                & (board[enemyOffset + 2] | queens));
+    long pinned = 0L;
+    while (snipers != 0) {
+      final int sniper = BitboardOps.lsb(snipers);
+      snipers = BitboardOps.popLsb(snipers);
+      final long blockers = MagicBitboards.between(kingSquare, sniper) & occupancy;
+      if (Long.bitCount(blockers) == 1 && (blockers & own) != 0) {
+        pinned |= blockers;
+      }
+    }
+    return pinned;
+  }
+
+  /**
+   * Retrieves the squares a piece may move to without breaking a pin.
+   *
+   * @param pinned The squares of the pinned pieces
+   * @param kingSquare Square of the king
+   * @param from Square of the piece
+   * @return The line of the pin if the piece is pinned, every square otherwise
+   */
+  private static long pinMask(final long pinned, final int kingSquare, final int from) {
+    return BitboardOps.getBit(pinned, from) ? MagicBitboards.line(kingSquare, from) : -1L;
+  }
+
+  /**
+   * Adds the moves of a piece to its target squares, already restricted to the legal ones.
+   *
+   * @param board The raw bitboards
+   * @param white Color of the piece
+   * @param from Source square
+   * @param piece Index of the piece
+   * @param targets Legal destination squares
+   * @param moves The list to fill
+   */
+  private static void addMoves(
+      final long[] board,
+      final boolean white,
+      final int from,
+      final int piece,
+      final long targets,
+      final MoveList moves) {
+    long remaining = targets;
+    while (remaining != 0) {
+      final int to = BitboardOps.lsb(remaining);
+      remaining = BitboardOps.popLsb(remaining);
+      moves.add(
+          MoveEncoding.encode(
+              from, to, piece, capturedIndex(board, white, to), MoveEncoding.NO_PIECE, 0));
+    }
+  }
+
+  /**
+   * Adds the king moves to squares that are not attacked once the king has left its square.
+   *
+   * @param board The raw bitboards
+   * @param white Color of the king
+   * @param from Square of the king
+   * @param piece Index of the king
+   * @param targets Reachable squares (empty or occupied by a capturable piece)
+   * @param enemies Squares occupied by the opponent
+   * @param occupancy All the occupied squares
+   * @param moves The list to fill
+   */
+  private static void addKingMoves(
+      final long[] board,
+      final boolean white,
+      final int from,
+      final int piece,
+      final long targets,
+      final long enemies,
+      final long occupancy,
+      final MoveList moves) {
+    // The king must not hide from a slider behind its own square
+    final long occupancyWithoutKing = occupancy & ~(1L << from);
+    long remaining = targets;
+    while (remaining != 0) {
+      final int to = BitboardOps.lsb(remaining);
+      remaining = BitboardOps.popLsb(remaining);
+      if (!BitboardRules.isSquareAttacked(to, !white, board, occupancyWithoutKing, -1L, 0L, 0L)) {
+        final int captured =
+            BitboardOps.getBit(enemies, to)
+                ? capturedIndex(board, white, to)
+                : MoveEncoding.NO_PIECE;
+        moves.add(MoveEncoding.encode(from, to, piece, captured, MoveEncoding.NO_PIECE, 0));
+      }
+    }
+  }
+
+  /**
+   * Adds the legal pawn moves (pushes, captures, promotions and en passant).
+   *
+   * @param bitboardRep The board
+   * @param board The raw bitboards
+   * @param white Color of the pawns
+   * @param enemies Squares occupied by a capturable opponent piece
+   * @param occupancy All the occupied squares
+   * @param checkMask Squares resolving the current check, every square if not in check
+   * @param pinned The squares of the pinned pieces
+   * @param kingSquare Square of the king
+   * @param moves The list to fill
+   */
+  private static void generatePawnMoves(
+      final BitboardRepresentation bitboardRep,
+      final long[] board,
+      final boolean white,
+      final long enemies,
+      final long occupancy,
+      final long checkMask,
+      final long pinned,
+      final int kingSquare,
+      final MoveList moves) {
+    final int piece = white ? 5 : 11;
+    final int forward = white ? 8 : -8;
+    final int startRank = white ? 1 : 6;
+    final int lastRank = white ? 7 : 0;
+    final Position enPassantPos = bitboardRep.getEnPassantPos();
+    final int enPassant =
+        bitboardRep.isLastMoveDoublePush()
+                && enPassantPos != null
+                && enPassantPos.y() == (white ? 5 : 2)
+            ? enPassantPos.x() + enPassantPos.y() * 8
+            : -1;
+
+    long pawns = board[piece];
+    while (pawns != 0) {
+      final int from = BitboardOps.lsb(pawns);
+      pawns = BitboardOps.popLsb(pawns);
+      final long legal = checkMask & pinMask(pinned, kingSquare, from);
+
+      final int push = from + forward;
+      if (!BitboardOps.getBit(occupancy, push)) {
+        if (BitboardOps.getBit(legal, push)) {
+          addPawnMove(from, push, piece, MoveEncoding.NO_PIECE, lastRank, moves);
+        }
+        final int doublePush = push + forward;
+        if (from / 8 == startRank
+            && !BitboardOps.getBit(occupancy, doublePush)
+            && BitboardOps.getBit(legal, doublePush)) {
+          moves.add(
+              MoveEncoding.encode(
+                  from,
+                  doublePush,
+                  piece,
+                  MoveEncoding.NO_PIECE,
+                  MoveEncoding.NO_PIECE,
+                  MoveEncoding.DOUBLE_PUSH));
+        }
+      }
+
+      final long attacks = BitboardOps.pawnAttacks(white, from);
+      long captures = attacks & enemies & legal;
+      while (captures != 0) {
+        final int to = BitboardOps.lsb(captures);
+        captures = BitboardOps.popLsb(captures);
+        addPawnMove(from, to, piece, capturedIndex(board, white, to), lastRank, moves);
+      }
+
+      // En passant removes two pieces from the same rank: keep the full test for it
+      if (enPassant >= 0 && BitboardOps.getBit(attacks, enPassant)) {
+        final int take = enPassant - forward;
+        if (!BitboardRules.isCheckAfterMove(white, from, enPassant, take, board)) {
+          moves.add(
+              MoveEncoding.encode(
+                  from,
+                  enPassant,
+                  piece,
+                  white ? 11 : 5,
+                  MoveEncoding.NO_PIECE,
+                  MoveEncoding.EN_PASSANT));
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds a legal pawn move, expanded to the four promotions when reaching the last rank.
+   *
+   * @param from Source square
+   * @param to Destination square
+   * @param piece Index of the pawn
+   * @param captured Index of the captured piece, {@link MoveEncoding#NO_PIECE} if none
+   * @param lastRank Promotion rank
+   * @param moves The list to fill
+   */
+  private static void addPawnMove(
+      final int from,
+      final int to,
+      final int piece,
+      final int captured,
+      final int lastRank,
+      final MoveList moves) {
+    if (to / 8 == lastRank) {
+      final int offset = piece - 5;
+      // Queen, knight, rook, bishop: same order as the list based generation
+      moves.add(MoveEncoding.encode(from, to, piece, captured, offset + 1, 0));
+      moves.add(MoveEncoding.encode(from, to, piece, captured, offset + 4, 0));
+      moves.add(MoveEncoding.encode(from, to, piece, captured, offset + 3, 0));
+      moves.add(MoveEncoding.encode(from, to, piece, captured, offset + 2, 0));
+    } else {
+      moves.add(MoveEncoding.encode(from, to, piece, captured, MoveEncoding.NO_PIECE, 0));
+    }
+  }
+
+  /**
+   * Adds the castling moves allowed by the castling rights, when the squares between the king and
+   * the rook are empty and the king does not cross an attacked square.
+   *
+   * @param bitboardRep The board
+   * @param board The raw bitboards
+   * @param white Color of the king
+   * @param occupancy All the occupied squares
+   * @param moves The list to fill
+   */
+  private static void generateCastlingMoves(
+      final BitboardRepresentation bitboardRep,
+      final long[] board,
+      final boolean white,
+      final long occupancy,
+      final MoveList moves) {
+    final int king = white ? 0 : 6;
+    final int rank = white ? 0 : 56;
+    final int kingSquare = rank + 4;
+    if (!BitboardOps.getBit(board[king], kingSquare)) {
+      return;
+    }
+    final long rooks = board[king + 3];
+    final boolean shortCastle =
+        white ? bitboardRep.isWhiteShortCastle() : bitboardRep.isBlackShortCastle();
+    final boolean longCastle =
+        white ? bitboardRep.isWhiteLongCastle() : bitboardRep.isBlackLongCastle();
+
+    if (shortCastle
+        && BitboardOps.getBit(rooks, rank + 7)
+        && (occupancy & (0x60L << rank)) == 0
+        && isCastlingPathSafe(board, white, occupancy, kingSquare, kingSquare + 2)) {
+      moves.add(
+          MoveEncoding.encode(
+              kingSquare,
+              kingSquare + 2,
+              king,
+              MoveEncoding.NO_PIECE,
+              MoveEncoding.NO_PIECE,
+              MoveEncoding.CASTLE));
+    }
+    if (longCastle
+        && BitboardOps.getBit(rooks, rank)
+        && (occupancy & (0x0EL << rank)) == 0
+        && isCastlingPathSafe(board, white, occupancy, kingSquare - 2, kingSquare)) {
+      moves.add(
+          MoveEncoding.encode(
+              kingSquare,
+              kingSquare - 2,
+              king,
+              MoveEncoding.NO_PIECE,
+              MoveEncoding.NO_PIECE,
+              MoveEncoding.CASTLE));
+    }
+  }
+
+  /**
+   * Checks that none of the squares crossed by the king while castling is attacked.
+   *
+   * @param board The raw bitboards
+   * @param white Color of the king
+   * @param occupancy All the occupied squares
+   * @param first First square of the path
+   * @param last Last square of the path (inclusive)
+   * @return true if no square of the path is attacked
+   */
+  private static boolean isCastlingPathSafe(
+      final long[] board,
+      final boolean white,
+      final long occupancy,
+      final int first,
+      final int last) {
+    for (int square = first; square <= last; square++) {
+      if (BitboardRules.isSquareAttacked(square, !white, board, occupancy, -1L, 0L, 0L)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Retrieves the index of the opponent piece on a square.
+   *
+   * @param board The raw bitboards
+   * @param white Color of the moving side
+   * @param square The square of the captured piece
+   * @return The index of the captured piece
+   */
+  private static int capturedIndex(final long[] board, final boolean white, final int square) {
+    final int offset = white ? 6 : 0;
+    for (int piece = offset; piece < offset + 6; piece++) {
+      if (BitboardOps.getBit(board[piece], square)) {
+        return piece;
+      }
+    }
+    return MoveEncoding.NO_PIECE;
+  }
 }
@@ -0,0 +1,226 @@
+package pdp.model.board;
+
+/**
+ * Allocation-free bit operations on raw long bitboards (a1 = bit 0, h8 = bit 63). {@link Bitboard}
+ * delegates to these methods and stays as a convenience view for code outside the hot paths.
+ */
+public final class BitboardOps {
+
+  /** Mask removing the A file, used when shifting towards the H file. */
+  public static final long NOT_A_FILE = 0xFEFEFEFEFEFEFEFEL;
+
+  /** Mask removing the H file, used when shifting towards the A file. */
+  public static final long NOT_H_FILE = 0x7F7F7F7F7F7F7F7FL;
+
+  /** Number of squares on the board. */
+  private static final int NB_SQUARES = 64;
+
+  /** Squares attacked by a knight from each square. */
+  private static final long[] KNIGHT_ATTACKS = new long[NB_SQUARES];
+
+  /** Squares attacked by a king from each square. */
+  private static final long[] KING_ATTACKS = new long[NB_SQUARES];
+
+  /** Squares attacked by a white pawn from each square. */
+  private static final long[] WHITE_PAWN_ATTACKS = new long[NB_SQUARES];
+
+  /** Squares attacked by a black pawn from each square. */
+  private static final long[] BLACK_PAWN_ATTACKS = new long[NB_SQUARES];
+
+  static {
+    for (int square = 0; square < NB_SQUARES; square++) {
+      final long bit = 1L << square;
+      final long horizontal1 = moveLeft(bit) | moveRight(bit);
+      final long horizontal2 = moveLeft(moveLeft(bit)) | moveRight(moveRight(bit));
+      KNIGHT_ATTACKS[square] =
+          moveUp(moveUp(horizontal1))
+              | moveDown(moveDown(horizontal1))
+              | moveUp(horizontal2)
+              | moveDown(horizontal2);
+      final long row = bit | horizontal1;
+      KING_ATTACKS[square] = (row | moveUp(row) | moveDown(row)) & ~bit;
+      WHITE_PAWN_ATTACKS[square] = moveUpLeft(bit) | moveUpRight(bit);
+      BLACK_PAWN_ATTACKS[square] = moveDownLeft(bit) | moveDownRight(bit);
+    }
+  }
+
+  /** Private constructor to avoid instantiation. */
+  private BitboardOps() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class");
+  }
+
+  /**
+   * Set the given bit to True.
+   *
+   * @param bitboard The bitboard to update
+   * @param square Position of the bit to set
+   * @return The updated bitboard
+   */
+  public static long setBit(final long bitboard, final int square) {
+    return bitboard | (1L << square);
+  }
+
+  /**
+   * Set the given bit to False.
+   *
+   * @param bitboard The bitboard to update
+   * @param square Position of the bit to clear
+   * @return The updated bitboard
+   */
+  public static long clearBit(final long bitboard, final int square) {
+    return bitboard & ~(1L << square);
+  }
+
+  /**
+   * Toggle the value of the given bit.
+   *
+   * @param bitboard The bitboard to update
+   * @param square Position of the bit to toggle
+   * @return The updated bitboard
+   */
+  public static long toggleBit(final long bitboard, final int square) {
+    return bitboard ^ (1L << square);
+  }
+
+  /**
+   * Get the value of the given bit.
+   *
+   * @param bitboard The bitboard to read
+   * @param square Position of the bit
+   * @return Value of the given bit
+   */
+  public static boolean getBit(final long bitboard, final int square) {
+    return (bitboard & (1L << square)) != 0;
+  }
+
+  /**
+   * Get the index of the least significant bit set.
+   *
+   * @param bitboard The bitboard to read
+   * @return The square of the lowest bit set, 64 if the bitboard is empty
+   */
+  public static int lsb(final long bitboard) {
+    return Long.numberOfTrailingZeros(bitboard);
+  }
+
+  /**
+   * Remove the least significant bit set. Used with {@link #lsb(long)} to iterate over squares.
+   *
+   * @param bitboard The bitboard to update
+   * @return The bitboard without its lowest bit
+   */
+  public static long popLsb(final long bitboard) {
+    return bitboard & (bitboard - 1);
+  }
+
+  /**
+   * Move up all the bits of the bitboard.
+   *
+   * @param bitboard The bitboard to shift
+   * @return The shifted bitboard
+   */
+  public static long moveUp(final long bitboard) {
+    return bitboard << 8;
+  }
+
+  /**
+   * Move down all the bits of the bitboard.
+   *
+   * @param bitboard The bitboard to shift
+   * @return The shifted bitboard
+   */
+  public static long moveDown(final long bitboard) {
+    return bitboard >>> 8;
+  }
+
+  /**
+   * Move right all the bits of the bitboard.
+   *
+   * @param bitboard The bitboard to shift
+   * @return The shifted bitboard
+   */
+  public static long moveRight(final long bitboard) {
+    return (bitboard << 1) & NOT_A_FILE;
+  }
+
+  /**
+   * Move left all the bits of the bitboard.
+   *
+   * @param bitboard The bitboard to shift
+   * @return The shifted bitboard
+   */
+  public static long moveLeft(final long bitboard) {
+    return (bitboard >>> 1) & NOT_H_FILE;
+  }
+
+  /**
+   * Move up-right all the bits of the bitboard.
+   *
+   * @param bitboard The bitboard to shift
+   * @return The shifted bitboard
+   */
+  public static long moveUpRight(final long bitboard) {
+    return moveRight(moveUp(bitboard));
+  }
+
+  /**
+   * Move up-left all the bits of the bitboard.
+   *
+   * @param bitboard The bitboard to shift
+   * @return The shifted bitboard
+   */
+  public static long moveUpLeft(final long bitboard) {
+    return moveLeft(moveUp(bitboard));
+  }
+
+  /**
+   * Move down-right all the bits of the bitboard.
+   *
+   * @param bitboard The bitboard to shift
+   * @return The shifted bitboard
+   */
+  public static long moveDownRight(final long bitboard) {
+    return moveRight(moveDown(bitboard));
+  }
+
+  /**
+   * Move down-left all the bits of the bitboard.
+   *
+   * @param bitboard The bitboard to shift
+   * @return The shifted bitboard
+   */
+  public static long moveDownLeft(final long bitboard) {
+    return moveLeft(moveDown(bitboard));
+  }
+
+  /**
+   * Retrieves the squares attacked by a knight.
+   *
+   * @param square The square of the knight
+   * @return The attacked squares
+   */
+  public static long knightAttacks(final int square) {
+    return KNIGHT_ATTACKS[square];
+  }
+
+  /**
+   * Retrieves the squares attacked by a king.
+   *
+   * @param square The square of the king
+   * @return The attacked squares
+   */
+  public static long kingAttacks(final int square) {
+    return KING_ATTACKS[square];
+  }
+
+  /**
+   * Retrieves the squares attacked (diagonally) by a pawn.
+   *
+   * @param white {true} for a white pawn, {false} for a black one
+   * @param square The square of the pawn
+   * @return The attacked squares
+   */
+  public static long pawnAttacks(final boolean white, final int square) {
+    return white ? WHITE_PAWN_ATTACKS[square] : BLACK_PAWN_ATTACKS[square];
+  }
+}
@@ -25,13 +25,7 @@ public final class BitboardPieces {
    * @return the bitboard containing all white pieces
    */
   public static Bitboard getWhiteBoard(final BitboardRepresentation bitboardRep) {
-    return bitboardRep
-        .getBitboards()[0]
-        .or(bitboardRep.getBitboards()[1])
-        .or(bitboardRep.getBitboards()[2])
-        .or(bitboardRep.getBitboards()[3])
-        .or(bitboardRep.getBitboards()[4])
-        .or(bitboardRep.getBitboards()[5]);
+    return new Bitboard(bitboardRep.getWhiteBits());
   }
 
   /**
@@ -40,13 +34,34 @@ public final class BitboardPieces {
    * @return the bitboard containing all black pieces
    */
   public static Bitboard getBlackBoard(final BitboardRepresentation bitboardRep) {
-    return bitboardRep
-        .getBitboards()[6]
-        .or(bitboardRep.getBitboards()[7])
-        .or(bitboardRep.getBitboards()[8])
-        .or(bitboardRep.getBitboards()[9])
-        .or(bitboardRep.getBitboards()[10])
-        .or(bitboardRep.getBitboards()[11]);
+    return new Bitboard(bitboardRep.getBlackBits());
+  }
+
+  /**
+   * Get the raw bitboard that contains all the pieces of a color, by or on its six bitboards.
+   *
+   * @param white if true -> white pieces, if false -> black pieces
+   * @param board The raw bitboards of the board
+   * @return the raw bitboard containing all the pieces of the given color
+   */
+  public static long getColorBits(final boolean white, final long[] board) {
+    final int offset = white ? 0 : 6;
+    return board[offset]
+        | board[offset + 1]
+        | board[offset + 2]
+        | board[offset + 3]
+        | board[offset + 4]
+        | board[offset + 5];
+  }
+
+  /**
+   * Get the raw bitboard that contains all the pieces of the board.
+   *
+   * @param board The raw bitboards of the board
+   * @return the raw bitboard containing all pieces
+   */
+  public static long getOccupiedBits(final long[] board) {
+    return getColorBits(true, board) | getColorBits(false, board);
   }
 
   /**
@@ -126,11 +141,11 @@ public final class BitboardPieces {
    *
    * @param white if true -> white king, if false -> black king
    * @param bitboardRep bitboard representation of the board
-   * @return A list containing the king position for the given color
+   * @return The square of the king for the given color, -1 if there is no king
    */
   public static int getKingOpti(final boolean white, final BitboardRepresentation bitboardRep) {
-    final int bitmapIndex = white ? 0 : 6;
-    return bitboardRep.getBitboards()[bitmapIndex].getSetBits().get(0);
+    final long king = bitboardRep.getBitboard(white ? 0 : 6);
+    return king == 0 ? -1 : BitboardOps.lsb(king);
   }
 
   /**
@@ -139,13 +154,6 @@ public final class BitboardPieces {
    * @return the number of remaining pieces on the board
    */
   public static int nbPiecesRemaining(final BitboardRepresentation bitboardRep) {
-    int count = 0;
-    final int maxBoardIndex = 11;
-    for (int i = 0; i <= maxBoardIndex; i++) {
-      final List<Position> occupiedSquares = bitboardRep.getOccupiedSquares(i);
-      count += occupiedSquares.size();
-    }
-
-    return count;
+    return Long.bitCount(bitboardRep.getOccupiedBits());
   }
 }
@@ -17,16 +17,17 @@ import pdp.utils.Position;
 
 /** Implementation of BoardRepresentation using bitboards. */
 public class BitboardRepresentation implements BoardRepresentation {
-  /** Size of the cache. */
-  private static final int CACHE_SIZE = 10_000;
+  /** Default number of entries of a cache. */
+  public static final int DEFAULT_CACHE_SIZE = 10_000;
 
   /** Logger of the class. */
   private static final Logger LOGGER = Logger.getLogger(BitboardRepresentation.class.getName());
 
   /**
-   * Array of bitboard representing the placement of each piece type for white and black players.
+   * Array of raw bitboards representing the placement of each piece type for white and black
+   * players.
    */
-  private final Bitboard[] board;
+  private final long[] board;
 
   /** Number of columns on a chess board. */
   private static final int NB_COLS = 8;
@@ -37,8 +38,26 @@ public class BitboardRepresentation implements BoardRepresentation {
   /** Bidirectional map associating each bitmap to the type of piece stored inside. */
   private static final BiDirectionalMap<Integer, ColoredPiece> PIECES = new BiDirectionalMap<>();
 
-  /** Cache instance. */
-  private static final BitboardCache CACHE;
+  /** Cache used by the boards which are not given one, such as the board of the game. */
+  private static final BitboardCache DEFAULT_CACHE;
+
+  /** Cache of the board, shared with its copies. */
+  private BitboardCache cache = DEFAULT_CACHE;
+
+  /** Squares occupied by the white pieces, kept up to date by every board update. */
+  private long whiteOccupancy;
+
+  /** Squares occupied by the black pieces, kept up to date by every board update. */
+  private long blackOccupancy;
+
+  /**
+   * Attack bitboards of the current position (white then black), computed on demand and shared by
+   * all the heuristics evaluating the position.
+   */
+  private final long[] attackMap = new long[2];
+
+  /** Bits of the sides whose attack bitboard in attackMap is up to date (1 white, 2 black). */
+  private int attackMapValid;
 
   /** Zobrist hashing instance used to generate the hash. */
   private ZobristHashing zobristHashing;
@@ -46,6 +65,15 @@ public class BitboardRepresentation implements BoardRepresentation {
   /** Zobrist simple hash generated for the board at a given moment. */
   private long simpleHash;
 
+  /**
+   * Full Zobrist hash of the board (pieces, player, castling rights and en passant file), updated
+   * along with the board.
+   */
+  private long zobristHash;
+
+  /** Part of {@link #zobristHash} coming from the player, castling rights and en passant file. */
+  private long stateKey;
+
   /** Position where an en passant could happen in the next turn. */
   private Position enPassantPos;
 
@@ -85,6 +113,27 @@ public class BitboardRepresentation implements BoardRepresentation {
   /** Counter of move made without a pawn moved or a piece captured. */
   private int nbMovesWithNoCaptureOrPawn;
 
+  /** Squares whose move or capture removes the white long castling right (a1, e1). */
+  private static final long WHITE_LONG_CASTLE_SQUARES = (1L << 0) | (1L << 4);
+
+  /** Squares whose move or capture removes the white short castling right (e1, h1). */
+  private static final long WHITE_SHORT_CASTLE_SQUARES = (1L << 4) | (1L << 7);
+
+  /** Squares whose move or capture removes the black long castling right (a8, e8). */
+  private static final long BLACK_LONG_CASTLE_SQUARES = (1L << 56) | (1L << 60);
+
+  /** Squares whose move or capture removes the black short castling right (e8, h8). */
+  private static final long BLACK_SHORT_CASTLE_SQUARES = (1L << 60) | (1L << 63);
+
+  /** En passant square value stored in the undo information when there is none. */
+  private static final int NO_EN_PASSANT = 64;
+
+  /** Offset of the en passant square in the undo information. */
+  private static final int UNDO_EN_PASSANT_SHIFT = 8;
+
+  /** Offset of the fifty-move counter in the undo information. */
+  private static final int UNDO_COUNTER_SHIFT = 16;
+
   static {
     Logging.configureLogging(LOGGER);
     PIECES.put(0, new ColoredPiece(Piece.KING, Color.WHITE));
@@ -100,7 +149,7 @@ public class BitboardRepresentation implements BoardRepresentation {
     PIECES.put(10, new ColoredPiece(Piece.KNIGHT, Color.BLACK));
     PIECES.put(11, new ColoredPiece(Piece.PAWN, Color.BLACK));
 
-    CACHE = new BitboardCache(CACHE_SIZE);
+    DEFAULT_CACHE = new BitboardCache(DEFAULT_CACHE_SIZE);
   }
 
   /*
@@ -130,24 +179,26 @@ public class BitboardRepresentation implements BoardRepresentation {
     this.enPassantTake = false;
     this.nbMovesWithNoCaptureOrPawn = 0;
 
-    board = new Bitboard[12];
-    board[0] = new Bitboard(16L); // WKi
-    board[1] = new Bitboard(8L); // WQ
-    board[2] = new Bitboard(36L); // WB
-    board[3] = new Bitboard(129L); // WR
-    board[4] = new Bitboard(66L); // WKn
-    board[5] = new Bitboard(65_280L); // WP
-    board[6] = new Bitboard(1_152_921_504_606_846_976L); // BKi
-    board[7] = new Bitboard(576_460_752_303_423_488L); // BQ
-    board[8] = new Bitboard(2_594_073_385_365_405_696L); // BB
-    board[9] = new Bitboard(); // BR // TODO: Find why overflow
-    board[9].setBit(56);
-    board[9].setBit(63);
-    board[10] = new Bitboard(4_755_801_206_503_243_776L); // BKi
-    board[11] = new Bitboard(71_776_119_061_217_280L);
+    board = new long[12];
+    board[0] = 16L; // WKi
+    board[1] = 8L; // WQ
+    board[2] = 36L; // WB
+    board[3] = 129L; // WR
+    board[4] = 66L; // WKn
+    board[5] = 65_280L; // WP
+    board[6] = 1_152_921_504_606_846_976L; // BKi
+    board[7] = 576_460_752_303_423_488L; // BQ
+    board[8] = 2_594_073_385_365_405_696L; // BB
+    board[9] = 0x8100000000000000L; // BR
+    board[10] = 4_755_801_206_503_243_776L; // BKn
+    board[11] = 71_776_119_061_217_280L; // BP
+    refreshOccupancy();
 
     this.zobristHashing = new ZobristHashing();
     this.simpleHash = zobristHashing.generateSimplifiedHashFromBitboards(this);
+    this.zobristHash = simpleHash;
+    this.stateKey = 0L;
+    refreshStateKey();
   }
 
   /**
@@ -204,6 +255,7 @@ public class BitboardRepresentation implements BoardRepresentation {
         }
       }
     }
+    refreshStateKey();
   }
 
   /**
@@ -247,21 +299,26 @@ public class BitboardRepresentation implements BoardRepresentation {
     this.enPassantTake = false;
     this.nbMovesWithNoCaptureOrPawn = 0;
 
-    board = new Bitboard[12];
-    board[0] = whiteKing;
-    board[1] = whiteQueen;
-    board[2] = whiteBishops;
-    board[3] = whiteRooks;
-    board[4] = whiteKnights;
-    board[5] = whitePawns;
-    board[6] = blackKing;
-    board[7] = blackQueen;
-    board[8] = blackBishops;
-    board[9] = blackRooks;
-    board[10] = blackKnights;
-    board[11] = blackPawns;
+    board = new long[12];
+    board[0] = whiteKing.getBits();
+    board[1] = whiteQueen.getBits();
+    board[2] = whiteBishops.getBits();
+    board[3] = whiteRooks.getBits();
+    board[4] = whiteKnights.getBits();
+    board[5] = whitePawns.getBits();
+    board[6] = blackKing.getBits();
+    board[7] = blackQueen.getBits();
+    board[8] = blackBishops.getBits();
+    board[9] = blackRooks.getBits();
+    board[10] = blackKnights.getBits();
+    board[11] = blackPawns.getBits();
+    refreshOccupancy();
 
     this.zobristHashing = new ZobristHashing();
+    this.simpleHash = zobristHashing.generateSimplifiedHashFromBitboards(this);
+    this.zobristHash = simpleHash;
+    this.stateKey = 0L;
+    refreshStateKey();
   }
 
   /**
@@ -275,25 +332,35 @@ public class BitboardRepresentation implements BoardRepresentation {
 
   @Override
   public String toString() {
-    return getWhiteBoard().or(getBlackBoard()).toString();
+    return new Bitboard(getOccupiedBits()).toString();
   }
 
   @Override
   public boolean equals(final Object obj) {
     if (obj instanceof BitboardRepresentation bitboardRep) {
-      if (board.length != bitboardRep.board.length) {
-        return false;
-      }
-      for (int i = 0; i < board.length; i++) {
-        if (!board[i].equals(bitboardRep.board[i])) {
-          return false;
-        }
-      }
-      return true;
+      return Arrays.equals(board, bitboardRep.board);
     }
     return false;
   }
 
+  /**
+   * Retrieves the cache used by the board.
+   *
+   * @return the cache of the board
+   */
+  public BitboardCache getCache() {
+    return cache;
+  }
+
+  /**
+   * Sets the cache used by the board and its future copies.
+   *
+   * @param cache the cache to use
+   */
+  public void setCache(final BitboardCache cache) {
+    this.cache = cache;
+  }
+
   /**
    * Creates a deep copy of this BitboardRepresentation object. Each bitboard is copied
    * independently to avoid shared references.
@@ -303,9 +370,7 @@ public class BitboardRepresentation implements BoardRepresentation {
   @Override
   public BoardRepresentation getCopy() {
     final BitboardRepresentation copy = new BitboardRepresentation();
-    for (int i = 0; i < this.board.length; i++) {
-      copy.board[i] = this.board[i].getCopy();
-    }
+    System.arraycopy(this.board, 0, copy.board, 0, this.board.length);
 
     copy.setPlayer(this.getPlayer());
     copy.setWhiteShortCastle(this.isWhiteShortCastle());
@@ -320,6 +385,13 @@ public class BitboardRepresentation implements BoardRepresentation {
     copy.setZobristHashing(new ZobristHashing(this.zobristHashing));
 
     copy.simpleHash = this.simpleHash;
+    copy.zobristHash = this.zobristHash;
+    copy.stateKey = this.stateKey;
+    copy.cache = this.cache;
+    copy.whiteOccupancy = this.whiteOccupancy;
+    copy.blackOccupancy = this.blackOccupancy;
+    System.arraycopy(this.attackMap, 0, copy.attackMap, 0, this.attackMap.length);
+    copy.attackMapValid = this.attackMapValid;
 
     return copy;
   }
@@ -333,16 +405,27 @@ public class BitboardRepresentation implements BoardRepresentation {
    */
   @Override
   public ColoredPiece getPieceAt(final int x, final int y) {
-    final ColoredPiece piece;
-    final int square = x + 8 * y;
+    final int index = getPieceIndexAt(x + 8 * y);
+    if (index == -1) {
+      return new ColoredPiece(Piece.EMPTY, Color.EMPTY);
+    }
+    return PIECES.getFromKey(index);
+  }
+
+  /**
+   * Get the index of the bitboard containing a piece on the given square, without allocating.
+   *
+   * @param square The square index (0..63)
+   * @return The bitboard index (0..11) or -1 if the square is empty
+   */
+  public int getPieceIndexAt(final int square) {
+    final long mask = 1L << square;
     for (int index = 0; index < board.length; index++) {
-      if (board[index].getBit(square)) {
-        piece = PIECES.getFromKey(index);
-        return piece;
+      if ((board[index] & mask) != 0) {
+        return index;
       }
     }
-    piece = new ColoredPiece(Piece.EMPTY, Color.EMPTY);
-    return piece;
+    return -1;
   }
 
   /**
@@ -354,23 +437,22 @@ public class BitboardRepresentation implements BoardRepresentation {
    */
   @Override
   public void movePiece(final Position from, final Position to) {
-    final ColoredPiece piece = getPieceAt(from.x(), from.y());
     final int fromIndex = from.x() % 8 + from.y() * 8;
     final int toIndex = to.x() % 8 + to.y() * 8;
-    final int bitboardIndex =
-        switch (piece.getPiece()) {
-          case KING -> piece.getColor() == Color.WHITE ? 0 : 6;
-          case QUEEN -> piece.getColor() == Color.WHITE ? 1 : 7;
-          case BISHOP -> piece.getColor() == Color.WHITE ? 2 : 8;
-          case ROOK -> piece.getColor() == Color.WHITE ? 3 : 9;
-          case KNIGHT -> piece.getColor() == Color.WHITE ? 4 : 10;
-          case PAWN -> piece.getColor() == Color.WHITE ? 5 : 11;
-          default -> throw new IllegalArgumentException("Invalid piece: " + piece.getColor());
-        };
-    board[bitboardIndex].clearBit(fromIndex);
-    board[bitboardIndex].setBit(toIndex);
+    final int bitboardIndex = getPieceIndexAt(fromIndex);
+    if (bitboardIndex == -1) {
+      throw new IllegalArgumentException("Invalid piece: " + Color.EMPTY);
+    }
+    board[bitboardIndex] = BitboardOps.clearBit(board[bitboardIndex], fromIndex);
+    board[bitboardIndex] = BitboardOps.setBit(board[bitboardIndex], toIndex);
+    updateOccupancy(bitboardIndex, fromIndex, false);
+    updateOccupancy(bitboardIndex, toIndex, true);
 
-    this.simpleHash = zobristHashing.generateSimplifiedHashFromBitboards(this);
+    final long keys =
+        ZobristHashing.pieceKey(bitboardIndex, fromIndex)
+            ^ ZobristHashing.pieceKey(bitboardIndex, toIndex);
+    this.simpleHash ^= keys;
+    this.zobristHash ^= keys;
   }
 
   /**
@@ -391,20 +473,20 @@ public class BitboardRepresentation implements BoardRepresentation {
     }
 
     final int boardIndex = white ? 0 : 6;
-    final Bitboard newPieceBitBoard;
-    final Bitboard pawnBitboard = this.board[5 + boardIndex];
+    final int pawnIndex = 5 + boardIndex;
+    final int newPieceIndex;
     switch (newPiece) {
       case KNIGHT:
-        newPieceBitBoard = this.board[4 + boardIndex];
+        newPieceIndex = 4 + boardIndex;
         break;
       case BISHOP:
-        newPieceBitBoard = this.board[2 + boardIndex];
+        newPieceIndex = 2 + boardIndex;
         break;
       case ROOK:
-        newPieceBitBoard = this.board[3 + boardIndex];
+        newPieceIndex = 3 + boardIndex;
         break;
       case QUEEN:
-        newPieceBitBoard = this.board[1 + boardIndex];
+        newPieceIndex = 1 + boardIndex;
         break;
       default:
         error("Error: A pawn can only be promoted to Queen, Rook, Knight or Bishop !");
@@ -413,10 +495,15 @@ public class BitboardRepresentation implements BoardRepresentation {
 
     final int bitIndex = 8 * y + x;
     // Change bits
-    pawnBitboard.clearBit(bitIndex);
-    newPieceBitBoard.setBit(bitIndex);
+    board[pawnIndex] = BitboardOps.clearBit(board[pawnIndex], bitIndex);
+    board[newPieceIndex] = BitboardOps.setBit(board[newPieceIndex], bitIndex);
+    attackMapValid = 0;
 
-    this.simpleHash = zobristHashing.generateSimplifiedHashFromBitboards(this);
+    final long keys =
+        ZobristHashing.pieceKey(pawnIndex, bitIndex)
+            ^ ZobristHashing.pieceKey(newPieceIndex, bitIndex);
+    this.simpleHash ^= keys;
+    this.zobristHash ^= keys;
   }
 
   /**
@@ -426,19 +513,36 @@ public class BitboardRepresentation implements BoardRepresentation {
    * @param squareIndex position to set in the bitboard.
    */
   public void setSquare(final ColoredPiece piece, final int squareIndex) {
-    board[PIECES.getFromValue(piece)].setBit(squareIndex);
-    this.simpleHash = zobristHashing.generateSimplifiedHashFromBitboards(this);
+    final int index = PIECES.getFromValue(piece);
+    if (!BitboardOps.getBit(board[index], squareIndex)) {
+      board[index] = BitboardOps.setBit(board[index], squareIndex);
+      updateOccupancy(index, squareIndex, true);
+      final long key = ZobristHashing.pieceKey(index, squareIndex);
+      this.simpleHash ^= key;
+      this.zobristHash ^= key;
+    }
   }
 
   /**
-   * Retrieves the bitboards representing the current chess board.
+   * Retrieves the raw bitboards representing the current chess board. The returned array is the
+   * internal state and must not be modified by callers.
    *
    * @return field board.
    */
-  protected Bitboard[] getBitboards() {
+  protected long[] getBitboards() {
     return this.board;
   }
 
+  /**
+   * Retrieves the raw bitboard stored at the given index (see bitboards order).
+   *
+   * @param index The bitboard index (0..11)
+   * @return The raw bitboard
+   */
+  public long getBitboard(final int index) {
+    return this.board[index];
+  }
+
   /**
    * Delete the piece contained at the given position.
    *
@@ -447,9 +551,16 @@ public class BitboardRepresentation implements BoardRepresentation {
    */
   @Override
   public void deletePieceAt(final int x, final int y) {
-    final ColoredPiece piece = getPieceAt(x, y);
-    board[PIECES.getFromValue(piece)].clearBit(x % 8 + y * 8);
-    this.simpleHash = zobristHashing.generateSimplifiedHashFromBitboards(this);
+    final int square = x % 8 + y * 8;
+    final int index = getPieceIndexAt(square);
+    if (index == -1) {
+      return;
+    }
+    board[index] = BitboardOps.clearBit(board[index], square);
+    updateOccupancy(index, square, false);
+    final long key = ZobristHashing.pieceKey(index, square);
+    this.simpleHash ^= key;
+    this.zobristHash ^= key;
     debug(LOGGER, "Piece at position " + x + " and position " + y + " was removed");
   }
 
@@ -462,8 +573,7 @@ public class BitboardRepresentation implements BoardRepresentation {
    * @param piece The type of piece to add
    */
   protected void addPieceAt(final int x, final int y, final ColoredPiece piece) {
-    board[PIECES.getFromValue(piece)].setBit(x % 8 + y * 8);
-    this.simpleHash = zobristHashing.generateSimplifiedHashFromBitboards(this);
+    setSquare(piece, x % 8 + y * 8);
     debug(LOGGER, "A " + piece.getColor() + " " + piece.getPiece() + " was added to the board");
   }
 
@@ -499,6 +609,7 @@ public class BitboardRepresentation implements BoardRepresentation {
       this.blackShortCastle = false;
       this.blackLongCastle = false;
     }
+    refreshStateKey();
   }
 
   /**
@@ -533,6 +644,7 @@ public class BitboardRepresentation implements BoardRepresentation {
       this.blackShortCastle = false;
       this.blackLongCastle = false;
     }
+    refreshStateKey();
   }
 
   /**
@@ -605,6 +717,17 @@ public class BitboardRepresentation implements BoardRepresentation {
         blackShortCastle);
   }
 
+  /**
+   * Generate the legal moves for a player as encoded ints, castling and en passant included.
+   *
+   * @param isWhite {true} for the white moves, {false} for the black ones
+   * @param moves The list to fill, cleared first
+   */
+  @Override
+  public void generateLegalMoves(final boolean isWhite, final MoveList moves) {
+    BitboardMovesGen.generateMoves(this, isWhite, moves);
+  }
+
   /**
    * Generate the possible moves for a player. This function do not apply check after guard.
    * Optimised for AI.
@@ -613,16 +736,32 @@ public class BitboardRepresentation implements BoardRepresentation {
    * @return The bitboard containing all possible moves (without special cases)
    */
   public Bitboard getColorAttackBitboard(final boolean isWhite) {
-    final CachedResult cached = CACHE.getOrCreate(simpleHash);
-    final Long attackLong = cached.getAttackBitboard(isWhite);
-    if (attackLong != null) {
-      return new Bitboard(attackLong);
+    return new Bitboard(getColorAttackBits(isWhite));
+  }
+
+  /**
+   * Get the raw attack bitboard of a player (see {@link #getColorAttackBitboard(boolean)}). It is
+   * computed once per position: the result is kept until the board changes, then in the cache.
+   *
+   * @param isWhite {true} for the white player, {false} for the black player
+   * @return The raw bitboard of the attacked squares
+   */
+  public long getColorAttackBits(final boolean isWhite) {
+    final int side = isWhite ? 0 : 1;
+    if ((attackMapValid & 1 << side) != 0) {
+      return attackMap[side];
     }
 
-    final Bitboard attackBitboard =
-        BitboardMovesGen.getColorAttackBitboard(isWhite, this, enPassantPos, lastMoveDoublePush);
-    cached.setAttackBitboard(isWhite, attackBitboard);
-    return attackBitboard;
+    long attackLong = cache.getAttackBitboard(simpleHash, isWhite);
+    if (attackLong == BitboardCache.NO_ATTACK_BITBOARD) {
+      attackLong =
+          BitboardMovesGen.getColorAttackBitboard(isWhite, this, enPassantPos, lastMoveDoublePush)
+              .getBits();
+      cache.setAttackBitboard(simpleHash, isWhite, attackLong);
+    }
+    attackMap[side] = attackLong;
+    attackMapValid |= 1 << side;
+    return attackLong;
   }
 
   // ________________________ BitboardPieces
@@ -720,7 +859,7 @@ public class BitboardRepresentation implements BoardRepresentation {
    * @return the bitboard containing all white pieces
    */
   protected Bitboard getWhiteBoard() {
-    return BitboardPieces.getWhiteBoard(this);
+    return new Bitboard(whiteOccupancy);
   }
 
   /**
@@ -729,7 +868,34 @@ public class BitboardRepresentation implements BoardRepresentation {
    * @return the bitboard containing all black pieces
    */
   protected Bitboard getBlackBoard() {
-    return BitboardPieces.getBlackBoard(this);
+    return new Bitboard(blackOccupancy);
+  }
+
+  /**
+   * Get the raw bitboard that contains all the white pieces.
+   *
+   * @return the raw bitboard containing all white pieces
+   */
+  public long getWhiteBits() {
+    return whiteOccupancy;
+  }
+
+  /**
+   * Get the raw bitboard that contains all the black pieces.
+   *
+   * @return the raw bitboard containing all black pieces
+   */
+  public long getBlackBits() {
+    return blackOccupancy;
+  }
+
+  /**
+   * Get the raw bitboard that contains all the pieces of the board.
+   *
+   * @return the raw bitboard containing all pieces
+   */
+  public long getOccupiedBits() {
+    return whiteOccupancy | blackOccupancy;
   }
 
   // ________________________ BitboardRules
@@ -756,14 +922,14 @@ public class BitboardRepresentation implements BoardRepresentation {
    */
   @Override
   public boolean isCheck(final Color color) {
-    final CachedResult cached = CACHE.getOrCreate(simpleHash);
-    Boolean isCheck = cached.isCheck(color);
-    if (isCheck != null) {
-      return isCheck;
+    final boolean white = color == Color.WHITE;
+    final int cached = cache.getStatus(simpleHash, BitboardCache.CHECK, white);
+    if (cached != BitboardCache.UNKNOWN) {
+      return cached == 1;
     }
 
-    isCheck = BitboardRules.isCheck(color, this);
-    cached.setCheck(isCheck, color);
+    final boolean isCheck = BitboardRules.isCheck(color, this);
+    cache.setStatus(simpleHash, BitboardCache.CHECK, white, isCheck);
 
     return isCheck;
   }
@@ -789,15 +955,14 @@ public class BitboardRepresentation implements BoardRepresentation {
    */
   @Override
   public boolean isCheckMate(final Color color) {
-    final CachedResult cached = CACHE.getOrCreate(simpleHash);
-    Boolean isCheckMate = cached.isCheckMate(color);
-    if (isCheckMate != null) {
-      return isCheckMate;
+    final boolean white = color == Color.WHITE;
+    final int cached = cache.getStatus(simpleHash, BitboardCache.CHECKMATE, white);
+    if (cached != BitboardCache.UNKNOWN) {
+      return cached == 1;
     }
 
-    isCheckMate = BitboardRules.isCheckMate(color, this);
-
-    cached.setCheckMate(isCheckMate, color);
+    final boolean isCheckMate = BitboardRules.isCheckMate(color, this);
+    cache.setStatus(simpleHash, BitboardCache.CHECKMATE, white, isCheckMate);
     return isCheckMate;
   }
 
@@ -811,12 +976,13 @@ public class BitboardRepresentation implements BoardRepresentation {
    */
   @Override
   public boolean isStaleMate(final Color color, final Color colorTurnToPlay) {
-    final Boolean res = CACHE.getOrCreate(simpleHash).isStaleMate(color);
-    if (res != null) {
-      return res;
+    final boolean white = color == Color.WHITE;
+    final int cached = cache.getStatus(simpleHash, BitboardCache.STALEMATE, white);
+    if (cached != BitboardCache.UNKNOWN) {
+      return cached == 1;
     }
     final boolean cacheElt = BitboardRules.isStaleMate(color, colorTurnToPlay, this);
-    CACHE.getOrCreate(simpleHash).setStaleMate(cacheElt, color);
+    cache.setStatus(simpleHash, BitboardCache.STALEMATE, white, cacheElt);
     return cacheElt;
   }
 
@@ -1117,6 +1283,7 @@ public class BitboardRepresentation implements BoardRepresentation {
   @Override
   public void setPlayer(final boolean isWhite) {
     this.isWhite = isWhite;
+    refreshStateKey();
   }
 
   @Override
@@ -1127,6 +1294,7 @@ public class BitboardRepresentation implements BoardRepresentation {
   @Override
   public void setEnPassantPos(final Position enPassantPos) {
     this.enPassantPos = enPassantPos;
+    refreshStateKey();
   }
 
   @Override
@@ -1137,6 +1305,7 @@ public class BitboardRepresentation implements BoardRepresentation {
   @Override
   public void setLastMoveDoublePush(final boolean lastMoveDoublePush) {
     this.lastMoveDoublePush = lastMoveDoublePush;
+    this.attackMapValid = 0;
   }
 
   @Override
@@ -1147,6 +1316,7 @@ public class BitboardRepresentation implements BoardRepresentation {
   @Override
   public void setWhiteShortCastle(final boolean whiteShortCastle) {
     this.whiteShortCastle = whiteShortCastle;
+    refreshStateKey();
   }
 
   @Override
@@ -1157,6 +1327,7 @@ public class BitboardRepresentation implements BoardRepresentation {
   @Override
   public void setBlackShortCastle(final boolean blackShortCastle) {
     this.blackShortCastle = blackShortCastle;
+    refreshStateKey();
   }
 
   @Override
@@ -1167,6 +1338,7 @@ public class BitboardRepresentation implements BoardRepresentation {
   @Override
   public void setWhiteLongCastle(final boolean whiteLongCastle) {
     this.whiteLongCastle = whiteLongCastle;
+    refreshStateKey();
   }
 
   @Override
@@ -1177,6 +1349,7 @@ public class BitboardRepresentation implements BoardRepresentation {
   @Override
   public void setBlackLongCastle(final boolean blackLongCastle) {
     this.blackLongCastle = blackLongCastle;
+    refreshStateKey();
   }
 
   @Override
@@ -1210,9 +1383,33 @@ public class BitboardRepresentation implements BoardRepresentation {
     return this.getNbMovesWithNoCaptureOrPawn() / 2;
   }
 
+  /**
+   * Retrieves the Zobrist hash of the piece placement, kept up to date by every board update.
+   *
+   * @return The hash of the pieces on the board
+   */
+  @Override
+  public long getSimpleHash() {
+    return simpleHash;
+  }
+
+  /**
+   * Retrieves the full Zobrist hash of the board (pieces, player, castling rights and en passant
+   * file), kept up to date by every board update.
+   *
+   * @return The hash of the board
+   */
+  @Override
+  public long getZobristHash() {
+    return zobristHash;
+  }
+
   public void setZobristHashing(final ZobristHashing zobristHashing) {
     this.zobristHashing = zobristHashing;
     this.simpleHash = this.zobristHashing.generateSimplifiedHashFromBitboards(this);
+    this.zobristHash = simpleHash;
+    this.stateKey = 0L;
+    refreshStateKey();
   }
 
   /**
@@ -1280,6 +1477,250 @@ public class BitboardRepresentation implements BoardRepresentation {
     }
   }
 
+  /**
+   * Executes an encoded move (see {@link MoveEncoding}) produced by the legal move generation,
+   * handling captures, en passant, castling and promotions, and updates the castling rights, the en
+   * passant square and the fifty-move counter. The player to move is left unchanged, as with {@link
+   * #makeMove(Move)}.
+   *
+   * @param move The encoded move to execute
+   * @return The information needed by {@link #unmakeMove(int, long)} to revert the move
+   */
+  @Override
+  public long makeMove(final int move) {
+    final long undoInfo = packUndoInfo();
+    final int from = MoveEncoding.getFrom(move);
+    final int to = MoveEncoding.getTo(move);
+    final int piece = MoveEncoding.getPiece(move);
+
+    this.nbMovesWithNoCaptureOrPawn++;
+    if (MoveEncoding.isCapture(move)) {
+      togglePiece(MoveEncoding.getCaptured(move), MoveEncoding.getCaptureSquare(move));
+      this.nbMovesWithNoCaptureOrPawn = 0;
+    }
+    if (piece % 6 == 5) {
+      this.nbMovesWithNoCaptureOrPawn = 0;
+    }
+
+    togglePiece(piece, from);
+    togglePiece(piece, to);
+    if (MoveEncoding.isPromotion(move)) {
+      togglePiece(piece, to);
+      togglePiece(MoveEncoding.getPromotion(move), to);
+    }
+    if (MoveEncoding.isCastle(move)) {
+      toggleCastlingRook(piece + 3, from, to);
+    }
+
+    updateCastlingRights(from, to);
+
+    if (MoveEncoding.isDoublePush(move)) {
+      this.enPassantPos = BitboardUtils.squareToPosition((from + to) >>> 1);
+      this.lastMoveDoublePush = true;
+    } else {
+      this.enPassantPos = null;
+      this.lastMoveDoublePush = false;
+    }
+    this.enPassantTake = false;
+    refreshStateKey();
+    return undoInfo;
+  }
+
+  /**
+   * Reverts an encoded move played with {@link #makeMove(int)}, restoring the pieces, the castling
+   * rights, the en passant square, the fifty-move counter and the hash in constant time.
+   *
+   * @param move The encoded move to revert
+   * @param undoInfo The value returned by {@link #makeMove(int)} for this move
+   */
+  @Override
+  public void unmakeMove(final int move, final long undoInfo) {
+    final int from = MoveEncoding.getFrom(move);
+    final int to = MoveEncoding.getTo(move);
+    final int piece = MoveEncoding.getPiece(move);
+
+    if (MoveEncoding.isCastle(move)) {
+      toggleCastlingRook(piece + 3, from, to);
+    }
+    if (MoveEncoding.isPromotion(move)) {
+      togglePiece(MoveEncoding.getPromotion(move), to);
+      togglePiece(piece, to);
+    }
+    togglePiece(piece, to);
+    togglePiece(piece, from);
+    if (MoveEncoding.isCapture(move)) {
+      togglePiece(MoveEncoding.getCaptured(move), MoveEncoding.getCaptureSquare(move));
+    }
+
+    unpackUndoInfo(undoInfo);
+  }
+
+  /**
+   * Passes the turn without moving a piece: only the en passant square is cleared. The player to
+   * move is left unchanged, as with {@link #makeMove(int)}.
+   *
+   * @return The information needed by {@link #unmakeNullMove(long)} to revert the null move
+   */
+  @Override
+  public long makeNullMove() {
+    final long undoInfo = packUndoInfo();
+    this.enPassantPos = null;
+    this.lastMoveDoublePush = false;
+    this.enPassantTake = false;
+    refreshStateKey();
+    return undoInfo;
+  }
+
+  /**
+   * Reverts a null move played with {@link #makeNullMove()}.
+   *
+   * @param undoInfo The value returned by {@link #makeNullMove()}
+   */
+  @Override
+  public void unmakeNullMove(final long undoInfo) {
+    unpackUndoInfo(undoInfo);
+  }
+
+  /**
+   * Toggles a piece on a square, keeping the hash up to date.
+   *
+   * @param index The bitboard index of the piece
+   * @param square The square to toggle
+   */
+  private void togglePiece(final int index, final int square) {
+    board[index] = BitboardOps.toggleBit(board[index], square);
+    if (index < 6) {
+      whiteOccupancy ^= 1L << square;
+    } else {
+      blackOccupancy ^= 1L << square;
+    }
+    attackMapValid = 0;
+    final long key = ZobristHashing.pieceKey(index, square);
+    this.simpleHash ^= key;
+    this.zobristHash ^= key;
+  }
+
+  /**
+   * Toggles the rook of a castling move on its source and destination squares.
+   *
+   * @param rookIndex The bitboard index of the rook
+   * @param kingFrom Source square of the king
+   * @param kingTo Destination square of the king
+   */
+  private void toggleCastlingRook(final int rookIndex, final int kingFrom, final int kingTo) {
+    final boolean shortCastle = kingTo > kingFrom;
+    togglePiece(rookIndex, shortCastle ? kingFrom + 3 : kingFrom - 4);
+    togglePiece(rookIndex, shortCastle ? kingFrom + 1 : kingFrom - 1);
+  }
+
+  /**
+   * Removes the castling rights lost by a move leaving or reaching a king or rook initial square.
+   *
+   * @param from Source square of the move
+   * @param to Destination square of the move
+   */
+  private void updateCastlingRights(final int from, final int to) {
+    final long touched = (1L << from) | (1L << to);
+    if ((touched & WHITE_LONG_CASTLE_SQUARES) != 0) {
+      this.whiteLongCastle = false;
+    }
+    if ((touched & WHITE_SHORT_CASTLE_SQUARES) != 0) {
+      this.whiteShortCastle = false;
+    }
+    if ((touched & BLACK_LONG_CASTLE_SQUARES) != 0) {
+      this.blackLongCastle = false;
+    }
+    if ((touched & BLACK_SHORT_CASTLE_SQUARES) != 0) {
+      this.blackShortCastle = false;
+    }
+  }
+
+  /**
+   * Packs the irreversible state of the board (castling rights, en passant, fifty-move counter).
+   *
+   * @return The packed state
+   */
+  private long packUndoInfo() {
+    long info = 0L;
+    info |= whiteShortCastle ? 1L : 0L;
+    info |= whiteLongCastle ? 1L << 1 : 0L;
+    info |= blackShortCastle ? 1L << 2 : 0L;
+    info |= blackLongCastle ? 1L << 3 : 0L;
+    info |= lastMoveDoublePush ? 1L << 4 : 0L;
+    info |= enPassantTake ? 1L << 5 : 0L;
+    final long enPassantSquare =
+        enPassantPos == null ? NO_EN_PASSANT : enPassantPos.x() + enPassantPos.y() * NB_COLS;
+    info |= enPassantSquare << UNDO_EN_PASSANT_SHIFT;
+    info |= ((long) nbMovesWithNoCaptureOrPawn) << UNDO_COUNTER_SHIFT;
+    return info;
+  }
+
+  /**
+   * Restores the irreversible state of the board packed by {@link #packUndoInfo()}.
+   *
+   * @param info The packed state
+   */
+  private void unpackUndoInfo(final long info) {
+    this.whiteShortCastle = (info & 1L) != 0;
+    this.whiteLongCastle = (info & (1L << 1)) != 0;
+    this.blackShortCastle = (info & (1L << 2)) != 0;
+    this.blackLongCastle = (info & (1L << 3)) != 0;
+    this.lastMoveDoublePush = (info & (1L << 4)) != 0;
+    this.enPassantTake = (info & (1L << 5)) != 0;
+    final int enPassantSquare = (int) ((info >>> UNDO_EN_PASSANT_SHIFT) & 0x7F);
+    this.enPassantPos =
+        enPassantSquare == NO_EN_PASSANT ? null : BitboardUtils.squareToPosition(enPassantSquare);
+    this.nbMovesWithNoCaptureOrPawn = (int) (info >>> UNDO_COUNTER_SHIFT);
+    refreshStateKey();
+  }
+
+  /**
+   * Recomputes the part of the Zobrist hash depending on the player, the castling rights and the en
+   * passant file, and XORs the difference into the full hash.
+   */
+  private void refreshStateKey() {
+    int castlingRights = 0;
+    castlingRights |= whiteShortCastle ? 1 : 0;
+    castlingRights |= whiteLongCastle ? 2 : 0;
+    castlingRights |= blackShortCastle ? 4 : 0;
+    castlingRights |= blackLongCastle ? 8 : 0;
+    final int enPassantFile = enPassantPos == null ? -1 : enPassantPos.x();
+    final long newStateKey = ZobristHashing.stateKey(castlingRights, enPassantFile, isWhite);
+    this.zobristHash ^= stateKey ^ newStateKey;
+    this.stateKey = newStateKey;
+    this.attackMapValid = 0;
+  }
+
+  /**
+   * Sets or clears a square in the occupancy of the color of a piece, and invalidates the attack
+   * map.
+   *
+   * @param index The bitboard index of the piece
+   * @param square The updated square
+   * @param occupied {true} if the piece was put on the square, {false} if it was removed
+   */
+  private void updateOccupancy(final int index, final int square, final boolean occupied) {
+    if (index < 6) {
+      whiteOccupancy =
+          occupied
+              ? BitboardOps.setBit(whiteOccupancy, square)
+              : BitboardOps.clearBit(whiteOccupancy, square);
+    } else {
+      blackOccupancy =
+          occupied
+              ? BitboardOps.setBit(blackOccupancy, square)
+              : BitboardOps.clearBit(blackOccupancy, square);
+    }
+    attackMapValid = 0;
+  }
+
+  /** Recomputes the occupancy of both colors from the bitboards, and invalidates the attack map. */
+  private void refreshOccupancy() {
+    whiteOccupancy = BitboardPieces.getColorBits(true, board);
+    blackOccupancy = BitboardPieces.getColorBits(false, board);
+    attackMapValid = 0;
+  }
+
   /**
    * Generates an ASCII representation of the chess board.
    *
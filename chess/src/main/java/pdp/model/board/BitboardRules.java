@@ -1,7 +1,6 @@
 package pdp.model.board;
 
 import static pdp.utils.Logging.debug;
-import static pdp.utils.Logging.error;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -40,8 +39,7 @@ public final class BitboardRules {
       final int x, final int y, final Color by, final BitboardRepresentation bitboardRep) {
     final Bitboard square = new Bitboard();
     square.setBit((x % 8) + (y * 8));
-    return (square.getBits() & bitboardRep.getColorAttackBitboard(by == Color.WHITE).getBits())
-        != 0;
+    return (square.getBits() & bitboardRep.getColorAttackBits(by == Color.WHITE)) != 0;
   }
 
   /**
@@ -51,9 +49,124 @@ public final class BitboardRules {
    * @return True if the given color is in check, False else
    */
   public static boolean isCheck(final Color color, final BitboardRepresentation bitboardRep) {
-    final int kingPosition = bitboardRep.getKingOpti(color == Color.WHITE);
-    final Color attacker = color == Color.WHITE ? Color.BLACK : Color.WHITE;
-    return isAttacked(kingPosition % 8, kingPosition / 8, attacker, bitboardRep);
+    final long[] board = bitboardRep.getBitboards();
+    final long king = board[color == Color.WHITE ? 0 : 6];
+    if (king == 0) {
+      return false;
+    }
+    return isSquareAttacked(
+        BitboardOps.lsb(king),
+        color != Color.WHITE,
+        board,
+        bitboardRep.getOccupiedBits(),
+        -1L,
+        0L,
+        0L);
+  }
+
+  /**
+   * Checks if an occupied square (typically a king) is attacked by the given side, working on raw
+   * bitboards only. The attacker bitboards can be adjusted on the fly to simulate a move without
+   * modifying the board: every attacker bitboard is masked with {@code keepMask}, and if it
+   * contains {@code fromBit} the piece is moved to {@code toBit}.
+   *
+   * @param square The square to test
+   * @param byWhite {true} if the attackers are white, {false} if black
+   * @param board The raw bitboards of the board
+   * @param occupancy All the occupied squares of the board
+   * @param keepMask Mask applied to every attacker bitboard (used to remove a captured piece)
+   * @param fromBit Source square bit of a simulated move (0 if none)
+   * @param toBit Destination square bit of a simulated move (0 if none)
+   * @return True if the square is attacked, False else
+   */
+  public static boolean isSquareAttacked(
+      final int square,
+      final boolean byWhite,
+      final long[] board,
+      final long occupancy,
+      final long keepMask,
+      final long fromBit,
+      final long toBit) {
+    final int offset = byWhite ? 0 : 6;
+    final long pawns = afterMove(board[offset + 5], keepMask, fromBit, toBit);
+    if ((BitboardOps.pawnAttacks(!byWhite, square) & pawns) != 0) {
+      return true;
+    }
+    final long knights = afterMove(board[offset + 4], keepMask, fromBit, toBit);
+    if ((BitboardOps.knightAttacks(square) & knights) != 0) {
+      return true;
+    }
+    final long king = afterMove(board[offset], keepMask, fromBit, toBit);
+    if ((BitboardOps.kingAttacks(square) & king) != 0) {
+      return true;
+    }
+    final long queens = afterMove(board[offset + 1], keepMask, fromBit, toBit);
+    final long rooks = afterMove(board[offset + 3], keepMask, fromBit, toBit) | queens;
+    if ((MagicBitboards.rookAttacks(square, occupancy) & rooks) != 0) {
+      return true;
+    }
+    final long bishops = afterMove(board[offset + 2], keepMask, fromBit, toBit) | queens;
+    return (MagicBitboards.bishopAttacks(square, occupancy) & bishops) != 0;
+  }
+
+  /**
+   * Applies a simulated move to a raw bitboard.
+   *
+   * @param bitboard The raw bitboard
+   * @param keepMask Mask of the squares to keep
+   * @param fromBit Source square bit of the move
+   * @param toBit Destination square bit of the move
+   * @return The bitboard after the move
+   */
+  private static long afterMove(
+      final long bitboard, final long keepMask, final long fromBit, final long toBit) {
+    final long kept = bitboard & keepMask;
+    return (kept & fromBit) != 0 ? (kept & ~fromBit) | toBit : kept;
+  }
+
+  /**
+   * Get the check state of a color after a move, without modifying the board.
+   *
+   * @param white {true} for the white king, {false} for the black one
+   * @param from The source square of the move
+   * @param to The destination square of the move
+   * @param take The square of the captured piece, -1 if the move is not a capture
+   * @param board The raw bitboards of the board
+   * @return True if the given color is in check after the move, False else
+   */
+  public static boolean isCheckAfterMove(
+      final boolean white, final int from, final int to, final int take, final long[] board) {
+    final long fromBit = 1L << from;
+    final long toBit = 1L << to;
+    final long keepMask = take >= 0 ? ~(1L << take) : -1L;
+    final long king = afterMove(board[white ? 0 : 6], keepMask, fromBit, toBit);
+    if (king == 0) {
+      return false;
+    }
+    final long occupancy = (BitboardPieces.getOccupiedBits(board) & keepMask & ~fromBit) | toBit;
+    return isSquareAttacked(
+        BitboardOps.lsb(king), !white, board, occupancy, keepMask, fromBit, toBit);
+  }
+
+  /**
+   * Get the check state of a color after a move, without modifying the board.
+   *
+   * @param white {true} for the white king, {false} for the black one
+   * @param move The move to simulate
+   * @param board The raw bitboards of the board
+   * @return True if the given color is in check after the move, False else
+   */
+  private static boolean isCheckAfterMove(
+      final boolean white, final Move move, final long[] board) {
+    final Position source = move.getSource();
+    final Position dest = move.getDest();
+    final Position takeDest = move.getTakeDest() == null ? dest : move.getTakeDest();
+    return isCheckAfterMove(
+        white,
+        source.x() + source.y() * 8,
+        dest.x() + dest.y() * 8,
+        move.isTake() ? takeDest.x() + takeDest.y() * 8 : -1,
+        board);
   }
 
   /**
@@ -66,20 +179,11 @@ public final class BitboardRules {
   public static boolean isCheckAfterMove(
       final Color color, final Move move, final BitboardRepresentation bitboardRep) {
     debug(LOGGER, "Checking if " + color + " is check after move (" + move + ")");
-    ColoredPiece removedPiece = null;
     if (move.getTakeDest() == null) {
       move.setTakeDest(move.getDest());
     }
-    if (move.isTake()) {
-      removedPiece = bitboardRep.getPieceAt(move.getTakeDest().x(), move.getTakeDest().y());
-      bitboardRep.deletePieceAt(move.getTakeDest().x(), move.getTakeDest().y());
-    }
-    bitboardRep.movePiece(move.getSource(), move.getDest()); // Play move
-    final boolean isCheckAfterMove = isCheck(color, bitboardRep);
-    bitboardRep.movePiece(move.getDest(), move.getSource()); // undo move
-    if (move.isTake()) {
-      bitboardRep.addPieceAt(move.getTakeDest().x(), move.getTakeDest().y(), removedPiece);
-    }
+    final boolean isCheckAfterMove =
+        isCheckAfterMove(color == Color.WHITE, move, bitboardRep.getBitboards());
     if (isCheckAfterMove) {
       debug(LOGGER, color.toString() + "will be checked after move");
     }
@@ -98,37 +202,28 @@ public final class BitboardRules {
     if (!bitboardRep.isCheck(color)) {
       return false;
     }
-    final Bitboard pieces =
-        color == Color.WHITE ? bitboardRep.getWhiteBoard() : bitboardRep.getBlackBoard();
-    for (final Integer i : pieces.getSetBits()) {
-      final Position piecePosition = bitboardRep.squareToPosition(i);
-      final List<Move> availableMoves =
-          bitboardRep.getAvailableMoves(piecePosition.x(), piecePosition.y(), false);
-      for (final Move move : availableMoves) {
-        if (move.getTakeDest() == null) {
-          move.setTakeDest(move.getDest());
-        }
-        ColoredPiece removedPiece = null;
-        if (move.isTake()) {
-          removedPiece = bitboardRep.getPieceAt(move.getTakeDest().x(), move.getTakeDest().y());
-          bitboardRep.deletePieceAt(move.getTakeDest().x(), move.getTakeDest().y());
-        }
-        bitboardRep.movePiece(move.getSource(), move.getDest()); // Play move
-        final boolean isStillCheck = bitboardRep.isCheck(color);
-        bitboardRep.movePiece(move.getDest(), move.getSource()); // Undo move
-        if (move.isTake()) {
-          bitboardRep.addPieceAt(move.getTakeDest().x(), move.getTakeDest().y(), removedPiece);
-        }
-        if (!isStillCheck) {
-          debug(LOGGER, color.toString() + " is not check mate");
-          return false;
-        }
-      }
+    if (hasLegalMove(color == Color.WHITE, bitboardRep)) {
+      debug(LOGGER, color.toString() + " is not check mate");
+      return false;
     }
     debug(LOGGER, color.toString() + " is check mate ");
     return true;
   }
 
+  /**
+   * Checks if a color has at least one legal move, using the pin and check aware generation.
+   *
+   * @param white {true} for white, {false} for black
+   * @param bitboardRep The board
+   * @return true if the color can play a move
+   */
+  private static boolean hasLegalMove(
+      final boolean white, final BitboardRepresentation bitboardRep) {
+    final MoveList moves = new MoveList();
+    BitboardMovesGen.generateMoves(bitboardRep, white, moves);
+    return !moves.isEmpty();
+  }
+
   /**
    * Checks the StaleMate state for the given color.
    *
@@ -142,29 +237,9 @@ public final class BitboardRules {
     if (bitboardRep.isCheck(color)) {
       return false;
     }
-    final Bitboard pieces =
-        color == Color.WHITE ? bitboardRep.getWhiteBoard() : bitboardRep.getBlackBoard();
-    for (final Integer i : pieces.getSetBits()) {
-      final Position piecePosition = bitboardRep.squareToPosition(i);
-      final List<Move> availableMoves =
-          bitboardRep.getAvailableMoves(piecePosition.x(), piecePosition.y(), true);
-      for (final Move move : availableMoves) {
-        ColoredPiece removedPiece = null;
-        if (move.isTake()) {
-          removedPiece = bitboardRep.getPieceAt(move.getTakeDest().x(), move.getTakeDest().y());
-          bitboardRep.deletePieceAt(move.getTakeDest().x(), move.getTakeDest().y());
-        }
-        bitboardRep.movePiece(move.getSource(), move.getDest()); // Play move
-        final boolean isStillCheck = isCheck(color, bitboardRep);
-        bitboardRep.movePiece(move.getDest(), move.getSource()); // Undo move
-        if (move.isTake()) {
-          bitboardRep.addPieceAt(move.getTakeDest().x(), move.getTakeDest().y(), removedPiece);
-        }
-        if (!isStillCheck) {
-          debug(LOGGER, color.toString() + " is not stalemate");
-          return false;
-        }
-      }
+    if (hasLegalMove(color == Color.WHITE, bitboardRep)) {
+      debug(LOGGER, color.toString() + " is not stalemate");
+      return false;
     }
     // Stalemate only if it is someone's turn to play and that someone has no move
     // If "stalemate" but it is other player's turn to play, then can play a move to prevent
@@ -269,12 +344,11 @@ public final class BitboardRules {
       return false;
     } else {
       // White pawns --> 5 and Black pawns --> 11
-      final Bitboard pawnBitBoard =
-          white ? bitboardRep.getBitboards()[5] : bitboardRep.getBitboards()[11];
+      final long pawnBitBoard = bitboardRep.getBitboard(white ? 5 : 11);
       final int bitIndex = 8 * y + x;
 
       // If bit is 1 then pawn is located at Position(x,y)
-      return pawnBitBoard.getBit(bitIndex);
+      return BitboardOps.getBit(pawnBitBoard, bitIndex);
     }
   }
 
@@ -302,12 +376,11 @@ public final class BitboardRules {
       return false;
     } else {
       // White pawns --> 5 and Black pawns --> 11
-      final Bitboard pawnBitBoard =
-          white ? bitboardRep.getBitboards()[5] : bitboardRep.getBitboards()[11];
+      final long pawnBitBoard = bitboardRep.getBitboard(white ? 5 : 11);
       final int bitIndex = 8 * ySource + xSource;
 
       // If bit is 1 then pawn is located at Position(xSource,ySource)
-      return pawnBitBoard.getBit(bitIndex);
+      return BitboardOps.getBit(pawnBitBoard, bitIndex);
     }
   }
 
@@ -325,38 +398,8 @@ public final class BitboardRules {
       final boolean white,
       final Piece newPiece,
       final BitboardRepresentation bitboardRep) {
-    debug(LOGGER, "Promoting pawn at [" + x + ", " + y + "] to " + newPiece);
-    final ColoredPiece pieceAtPosition = bitboardRep.getPieceAt(x, y);
-    if (pieceAtPosition.getPiece() != Piece.PAWN
-        || pieceAtPosition.getColor() != (white ? Color.WHITE : Color.BLACK)) {
-      return;
-    }
-
-    final int boardIndex = white ? 0 : 6;
-    final Bitboard newPieceBitBoard;
-    final Bitboard pawnBitboard = bitboardRep.getBitboards()[5 + boardIndex];
-    switch (newPiece) {
-      case KNIGHT:
-        newPieceBitBoard = bitboardRep.getBitboards()[4 + boardIndex];
-        break;
-      case BISHOP:
-        newPieceBitBoard = bitboardRep.getBitboards()[2 + boardIndex];
-        break;
-      case ROOK:
-        newPieceBitBoard = bitboardRep.getBitboards()[3 + boardIndex];
-        break;
-      case QUEEN:
-        newPieceBitBoard = bitboardRep.getBitboards()[1 + boardIndex];
-        break;
-      default:
-        error("Error: A pawn can only be promoted to Queen, Rook, Knight or Bishop !");
-        return;
-    }
-
-    final int bitIndex = 8 * y + x;
-    // Change bits
-    pawnBitboard.clearBit(bitIndex);
-    newPieceBitBoard.setBit(bitIndex);
+    // The representation owns the raw bitboards and keeps its hash in sync
+    bitboardRep.promotePawn(x, y, white, newPiece);
   }
 
   /**
@@ -28,7 +28,7 @@ public final class BitboardStatusCheck {
    * @return true if queens are off the board. false otherwise
    */
   public static boolean queensOffTheBoard(final BitboardRepresentation bitboardRep) {
-    return bitboardRep.getQueens(true).isEmpty() && bitboardRep.getQueens(false).isEmpty();
+    return (bitboardRep.getBitboard(1) | bitboardRep.getBitboard(7)) == 0;
   }
 
   /**
@@ -39,8 +39,8 @@ public final class BitboardStatusCheck {
    */
   public static boolean pawnsHaveProgressed(
       final boolean isWhite, final BitboardRepresentation bitboardRep) {
-    final List<Position> pawns = bitboardRep.getPawns(isWhite);
-    if (pawns.isEmpty()) {
+    final long pawns = bitboardRep.getBitboard(isWhite ? 5 : 11);
+    if (pawns == 0) {
       return false;
     }
 
@@ -48,17 +48,12 @@ public final class BitboardStatusCheck {
     final int middleRankWhite = 3;
     final int middleRankBlack = 4;
 
-    int advancedPawns = 0;
+    // Squares on or past the middle rank for the given color
+    final long advancedMask =
+        isWhite ? -1L << (middleRankWhite * 8) : -1L >>> ((7 - middleRankBlack) * 8);
+    final int advancedPawns = Long.bitCount(pawns & advancedMask);
 
-    for (final Position pos : pawns) {
-      if (isWhite && pos.y() >= middleRankWhite) {
-        advancedPawns++;
-      } else if (!isWhite && pos.y() <= middleRankBlack) {
-        advancedPawns++;
-      }
-    }
-
-    final double ratio = (double) advancedPawns / pawns.size();
+    final double ratio = (double) advancedPawns / Long.bitCount(pawns);
     return ratio >= factorAdvancedPawns;
   }
 
@@ -29,7 +29,7 @@ public final class BitboardUtils {
    */
   public static List<Position> getOccupiedSquares(
       final int bitBoardIndex, final BitboardRepresentation bitboardRep) {
-    return squaresToPosition(bitboardRep.getBitboards()[bitBoardIndex].getSetBits());
+    return squaresToPosition(bitboardRep.getBitboard(bitBoardIndex));
   }
 
   /**
@@ -56,6 +56,21 @@ public final class BitboardUtils {
     return positions;
   }
 
+  /**
+   * Translate the bits set in a raw bitboard to a list of position (x,y).
+   *
+   * @param bitboard The raw bitboard to translate
+   * @return A new list containing the translations
+   */
+  public static List<Position> squaresToPosition(final long bitboard) {
+    final List<Position> positions = new ArrayList<>(Long.bitCount(bitboard));
+    for (long bits = bitboard; bits != 0; bits = BitboardOps.popLsb(bits)) {
+      final int square = BitboardOps.lsb(bits);
+      positions.add(new Position(square % 8, square / 8));
+    }
+    return positions;
+  }
+
   /**
    * Retrieves the number of columns of the board.
    *
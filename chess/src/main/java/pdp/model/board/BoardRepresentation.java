@@ -200,6 +200,63 @@ public interface BoardRepresentation {
    */
   List<Move> getAllAvailableMoves(boolean isWhite);
 
+  /**
+   * Fills the given list with the legal moves of a player, encoded as ints (see {@link
+   * MoveEncoding}). Allocation free alternative to {@link #getAllAvailableMoves(boolean)} for the
+   * search algorithms.
+   *
+   * @param isWhite true if the player is white, false otherwise.
+   * @param moves list to fill, cleared first.
+   */
+  void generateLegalMoves(boolean isWhite, MoveList moves);
+
+  /**
+   * Plays an encoded move (see {@link MoveEncoding}) produced by {@link
+   * #generateLegalMoves(boolean, MoveList)}.
+   *
+   * @param move the encoded move.
+   * @return the information needed by {@link #unmakeMove(int, long)} to revert the move.
+   */
+  long makeMove(int move);
+
+  /**
+   * Reverts an encoded move played with {@link #makeMove(int)}.
+   *
+   * @param move the encoded move.
+   * @param undoInfo the value returned by {@link #makeMove(int)} for this move.
+   */
+  void unmakeMove(int move, long undoInfo);
+
+  /**
+   * Passes the turn without moving a piece, for the null-move pruning of the search algorithms: the
+   * en passant square is cleared, the player to move is left unchanged.
+   *
+   * @return the information needed by {@link #unmakeNullMove(long)} to revert the null move.
+   */
+  long makeNullMove();
+
+  /**
+   * Reverts a null move played with {@link #makeNullMove()}.
+   *
+   * @param undoInfo the value returned by {@link #makeNullMove()}.
+   */
+  void unmakeNullMove(long undoInfo);
+
+  /**
+   * Retrieves the Zobrist hash of the piece placement, kept up to date by every board update.
+   *
+   * @return the hash of the pieces on the board.
+   */
+  long getSimpleHash();
+
+  /**
+   * Retrieves the full Zobrist hash of the board (pieces, player, castling rights and en passant
+   * file), kept up to date by every board update.
+   *
+   * @return the hash of the board.
+   */
+  long getZobristHash();
+
   /**
    * Boolean to indicate whether the square at (x,y) is attacked by the player of the given color.
    *
@@ -0,0 +1,403 @@
+package pdp.model.board;
+
+import java.util.logging.Logger;
+import pdp.utils.Logging;
+
+/**
+ * Precomputed sliding piece attack tables indexed with magic bitboards. Tables are built once at
+ * class-load so that rook, bishop and queen attacks can be retrieved with a mask, a multiply and a
+ * shift instead of walking each ray square by square.
+ *
+ * <p>The magic numbers are constants, found once by a random search (see MagicBitboardsTest to
+ * regenerate them), so that loading the class only fills the attack tables.
+ */
+public final class MagicBitboards {
+
+  /** Logger of the class. */
+  private static final Logger LOGGER = Logger.getLogger(MagicBitboards.class.getName());
+
+  /** Number of squares on the board. */
+  private static final int NB_SQUARES = 64;
+
+  /** Rook relevant occupancy masks (board edges excluded). */
+  private static final long[] ROOK_MASKS = new long[NB_SQUARES];
+
+  /** Bishop relevant occupancy masks (board edges excluded). */
+  private static final long[] BISHOP_MASKS = new long[NB_SQUARES];
+
+  /** Rook magic numbers. */
+  private static final long[] ROOK_MAGICS = {
+    0x008000908064C000L,
+    0x0040200040001000L,
+    0x0180100080A0010AL,
+    0x8880041000800800L,
+    0x1200100201200804L,
+    0x0200020004011008L,
+    0x2180010000800600L,
+    0x0200005088210204L,
+    0x0000800080204001L,
+    0x1000804000802001L,
+    0x8240801000200080L,
+    0x8611001004200900L,
+    0x008180800C001800L,
+    0x0100800200800400L,
+    0x0A02000102000408L,
+    0x8020802300104280L,
+    0x0080004000402000L,
+    0xE010104000402000L,
+    0x0800808010002000L,
+    0xA280210008100100L,
+    0x0001818014000800L,
+    0xA002010100080400L,
+    0x0008040088020130L,
+    0x0001020004048845L,
+    0x0081826280004004L,
+    0x2020810900284000L,
+    0x0200100080802000L,
+    0x0200080080100080L,
+    0x8083080100100500L,
+    0x4406000901000400L,
+    0x0005020080800100L,
+    0x0090204200008114L,
+    0x0010400094800420L,
+    0x0900804000802002L,
+    0x0201001841002000L,
+    0x4100080080801000L,
+    0x4540040080800800L,
+    0x0000800400800200L,
+    0x9281800100808200L,
+    0x8004048102000854L,
+    0x4420802040008006L,
+    0x0880500020004002L,
+    0x0801200241050010L,
+    0x8400080010008080L,
+    0x0008000500090010L,
+    0x0082009084020008L,
+    0x4012000108020004L,
+    0x9000104D08860004L,
+    0x2004204114800100L,
+    0x0148802112400300L,
+    0x0202842000100880L,
+    0x001B080080900080L,
+    0x001A002008100600L,
+    0x0004008004020080L,
+    0x5181000600040300L,
+    0x0000044401128A00L,
+    0x8044110480002441L,
+    0x1023012082044112L,
+    0x00804080200A0012L,
+    0x000420310A004A42L,
+    0x0023001004020801L,
+    0x0882001008040102L,
+    0x000230088118020CL,
+    0x0000019025040042L
+  };
+
+  /** Bishop magic numbers. */
+  private static final long[] BISHOP_MAGICS = {
+    0x1010220204082A00L,
+    0x80E0020202002804L,
+    0x2008480104200020L,
+    0x000220920280002DL,
+    0x32040421000B0284L,
+    0x1002080404000400L,
+    0x0004160892080040L,
+    0x2203024206204201L,
+    0x0002404264010200L,
+    0x1120908408428124L,
+    0xB100424403002280L,
+    0x240008060440C288L,
+    0x2040040420490400L,
+    0x0100620210040022L,
+    0x0400084104202028L,
+    0x0010050080908820L,
+    0x0C90A04490824802L,
+    0x000200A008210130L,
+    0x0C08001000204010L,
+    0x0008000186014480L,
+    0x0601044820080021L,
+    0x0002000101013100L,
+    0x1400A08108080204L,
+    0x0250401104485410L,
+    0x4820240810142843L,
+    0x0009142A20182200L,
+    0x0848140048440020L,
+    0x2020120000400440L,
+    0x0108840200802003L,
+    0x0009070082009492L,
+    0x020C0C0038424245L,
+    0xCA44005808210410L,
+    0x8011212000500404L,
+    0x2028840510101008L,
+    0x0004042A00041400L,
+    0x0624020080980080L,
+    0x1820410040840040L,
+    0x2201004202050100L,
+    0x402A088A24040224L,
+    0x0242061040002400L,
+    0x90020202400821A0L,
+    0x00C9009004E01002L,
+    0x58C2060202023100L,
+    0x0000012214040800L,
+    0x0210846810100200L,
+    0x0004208081010200L,
+    0x01A4108404442100L,
+    0x8054082C80280106L,
+    0x0004144904104208L,
+    0x00324C0A11104000L,
+    0x1000020231040100L,
+    0x2080001042020004L,
+    0x0544021020288104L,
+    0x1103501408083020L,
+    0x4010451004960002L,
+    0x003010091C44902CL,
+    0x0102402884202000L,
+    0x0480804C00841086L,
+    0x04602C8602210400L,
+    0x0000004000420200L,
+    0x0040000020442C18L,
+    0x4483804089094100L,
+    0x80000B0248020400L,
+    0x0045010808008680L
+  };
+
+  /** Rook right shifts (64 - number of relevant bits). */
+  private static final int[] ROOK_SHIFTS = new int[NB_SQUARES];
+
+  /** Bishop right shifts (64 - number of relevant bits). */
+  private static final int[] BISHOP_SHIFTS = new int[NB_SQUARES];
+
+  /** Rook attack tables, one per square. */
+  private static final long[][] ROOK_ATTACKS = new long[NB_SQUARES][];
+
+  /** Bishop attack tables, one per square. */
+  private static final long[][] BISHOP_ATTACKS = new long[NB_SQUARES][];
+
+  /** Rook ray directions as {file delta, rank delta}. */
+  private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+
+  /** Bishop ray directions as {file delta, rank delta}. */
+  private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+  /** Squares strictly between two aligned squares, 0 if they are not aligned. */
+  private static final long[][] BETWEEN = new long[NB_SQUARES][NB_SQUARES];
+
+  /** Full line (rank, file or diagonal) going through two aligned squares, 0 otherwise. */
+  private static final long[][] LINE = new long[NB_SQUARES][NB_SQUARES];
+
+  static {
+    Logging.configureLogging(LOGGER);
+    for (int square = 0; square < NB_SQUARES; square++) {
+      ROOK_MASKS[square] = relevantMask(square, ROOK_DIRECTIONS);
+      BISHOP_MASKS[square] = relevantMask(square, BISHOP_DIRECTIONS);
+      ROOK_SHIFTS[square] = NB_SQUARES - Long.bitCount(ROOK_MASKS[square]);
+      BISHOP_SHIFTS[square] = NB_SQUARES - Long.bitCount(BISHOP_MASKS[square]);
+      initSquare(square, ROOK_MASKS, ROOK_SHIFTS, ROOK_MAGICS, ROOK_ATTACKS, ROOK_DIRECTIONS);
+      initSquare(
+          square, BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_MAGICS, BISHOP_ATTACKS, BISHOP_DIRECTIONS);
+    }
+    for (int from = 0; from < NB_SQUARES; from++) {
+      for (int to = 0; to < NB_SQUARES; to++) {
+        initLine(from, to);
+      }
+    }
+  }
+
+  /** Private constructor to avoid instantiation. */
+  private MagicBitboards() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class");
+  }
+
+  /**
+   * Retrieves the squares attacked by a rook. The first blocker of each ray is included.
+   *
+   * @param square The square index of the rook (a1 = 0, h8 = 63)
+   * @param occupancy All the occupied squares of the board
+   * @return A long containing the attacked squares
+   */
+  public static long rookAttacks(final int square, final long occupancy) {
+    final int index =
+        (int) (((occupancy & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square]);
+    return ROOK_ATTACKS[square][index];
+  }
+
+  /**
+   * Retrieves the squares attacked by a bishop. The first blocker of each ray is included.
+   *
+   * @param square The square index of the bishop (a1 = 0, h8 = 63)
+   * @param occupancy All the occupied squares of the board
+   * @return A long containing the attacked squares
+   */
+  public static long bishopAttacks(final int square, final long occupancy) {
+    final int index =
+        (int)
+            (((occupancy & BISHOP_MASKS[square]) * BISHOP_MAGICS[square])
+                >>> BISHOP_SHIFTS[square]);
+    return BISHOP_ATTACKS[square][index];
+  }
+
+  /**
+   * Retrieves the squares attacked by a queen. The first blocker of each ray is included.
+   *
+   * @param square The square index of the queen (a1 = 0, h8 = 63)
+   * @param occupancy All the occupied squares of the board
+   * @return A long containing the attacked squares
+   */
+  public static long queenAttacks(final int square, final long occupancy) {
+    return rookAttacks(square, occupancy) | bishopAttacks(square, occupancy);
+  }
+
+  /**
+   * Retrieves the squares strictly between two squares on the same rank, file or diagonal.
+   *
+   * @param from The first square index
+   * @param to The second square index
+   * @return The squares in between, 0 if the squares are not aligned
+   */
+  public static long between(final int from, final int to) {
+    return BETWEEN[from][to];
+  }
+
+  /**
+   * Retrieves the whole rank, file or diagonal going through two squares (both included).
+   *
+   * @param from The first square index
+   * @param to The second square index
+   * @return The line through both squares, 0 if the squares are not aligned
+   */
+  public static long line(final int from, final int to) {
+    return LINE[from][to];
+  }
+
+  /**
+   * Fills the between and line tables for a pair of squares.
+   *
+   * @param from The first square index
+   * @param to The second square index
+   */
+  private static void initLine(final int from, final int to) {
+    if (from == to) {
+      return;
+    }
+    final long fromBit = 1L << from;
+    final long toBit = 1L << to;
+    if ((rookAttacks(from, 0L) & toBit) != 0) {
+      BETWEEN[from][to] = rookAttacks(from, toBit) & rookAttacks(to, fromBit);
+      LINE[from][to] = (rookAttacks(from, 0L) & rookAttacks(to, 0L)) | fromBit | toBit;
+    } else if ((bishopAttacks(from, 0L) & toBit) != 0) {
+      BETWEEN[from][to] = bishopAttacks(from, toBit) & bishopAttacks(to, fromBit);
+      LINE[from][to] = (bishopAttacks(from, 0L) & bishopAttacks(to, 0L)) | fromBit | toBit;
+    }
+  }
+
+  /**
+   * Computes the attacks of a slider by walking each ray. Only used to fill the tables and as a
+   * reference implementation.
+   *
+   * @param square The square index of the piece
+   * @param occupancy All the occupied squares of the board
+   * @param directions The ray directions of the piece
+   * @return A long containing the attacked squares
+   */
+  static long slowAttacks(final int square, final long occupancy, final int[][] directions) {
+    long attacks = 0L;
+    for (final int[] direction : directions) {
+      int file = square % 8 + direction[0];
+      int rank = square / 8 + direction[1];
+      while (file >= 0 && file < 8 && rank >= 0 && rank < 8) {
+        final long bit = 1L << (file + rank * 8);
+        attacks |= bit;
+        if ((occupancy & bit) != 0) {
+          break;
+        }
+        file += direction[0];
+        rank += direction[1];
+      }
+    }
+    return attacks;
+  }
+
+  /**
+   * Computes the rook attacks by walking each ray.
+   *
+   * @param square The square index of the rook
+   * @param occupancy All the occupied squares of the board
+   * @return A long containing the attacked squares
+   */
+  static long slowRookAttacks(final int square, final long occupancy) {
+    return slowAttacks(square, occupancy, ROOK_DIRECTIONS);
+  }
+
+  /**
+   * Computes the bishop attacks by walking each ray.
+   *
+   * @param square The square index of the bishop
+   * @param occupancy All the occupied squares of the board
+   * @return A long containing the attacked squares
+   */
+  static long slowBishopAttacks(final int square, final long occupancy) {
+    return slowAttacks(square, occupancy, BISHOP_DIRECTIONS);
+  }
+
+  /**
+   * Computes the squares whose occupancy matters for a slider, i.e. its rays without the last
+   * square before the edge.
+   *
+   * @param square The square index of the piece
+   * @param directions The ray directions of the piece
+   * @return The relevant occupancy mask
+   */
+  private static long relevantMask(final int square, final int[][] directions) {
+    long mask = 0L;
+    for (final int[] direction : directions) {
+      int file = square % 8 + direction[0];
+      int rank = square / 8 + direction[1];
+      while (file + direction[0] >= 0
+          && file + direction[0] < 8
+          && rank + direction[1] >= 0
+          && rank + direction[1] < 8) {
+        mask |= 1L << (file + rank * 8);
+        file += direction[0];
+        rank += direction[1];
+      }
+    }
+    return mask;
+  }
+
+  /**
+   * Fills the attack table of the given square with its magic number.
+   *
+   * @param square The square index to initialize
+   * @param masks The relevant occupancy masks of the piece type
+   * @param shifts The shifts of the piece type
+   * @param magics The magic numbers of the piece type
+   * @param attacks The attack tables of the piece type, filled by this method
+   * @param directions The ray directions of the piece type
+   * @throws IllegalStateException if two occupancies with different attacks share an index
+   */
+  private static void initSquare(
+      final int square,
+      final long[] masks,
+      final int[] shifts,
+      final long[] magics,
+      final long[][] attacks,
+      final int[][] directions) {
+    final long mask = masks[square];
+    final long[] table = new long[1 << Long.bitCount(mask)];
+    final boolean[] filled = new boolean[table.length];
+
+    // Carry-rippler enumeration of every subset of the mask
+    long subset = 0L;
+    do {
+      final int index = (int) ((subset * magics[square]) >>> shifts[square]);
+      final long reference = slowAttacks(square, subset, directions);
+      if (filled[index] && table[index] != reference) {
+        throw new IllegalStateException("Invalid magic number for square " + square);
+      }
+      table[index] = reference;
+      filled[index] = true;
+      subset = (subset - mask) & mask;
+    } while (subset != 0);
+    attacks[square] = table;
+  }
+}
@@ -0,0 +1,289 @@
+package pdp.model.board;
+
+import pdp.model.piece.Color;
+import pdp.model.piece.ColoredPiece;
+import pdp.model.piece.Piece;
+import pdp.utils.Position;
+
+/**
+ * Packs a move into a single int so that the search can generate, store and replay moves without
+ * allocating {@link Move} objects. {@link Move} is only materialised at the boundaries (UI, parser,
+ * history) through {@link #toMove(int)} and {@link #fromMove(Move, BitboardRepresentation)}.
+ *
+ * <p>Layout (least significant bits first):
+ *
+ * <ul>
+ *   <li>bits 0-5: source square (a1 = 0, h8 = 63)
+ *   <li>bits 6-11: destination square
+ *   <li>bits 12-15: index of the moving piece (see {@link BitboardRepresentation#getPiecesMap()})
+ *   <li>bits 16-19: index of the captured piece, {@link #NO_PIECE} if none
+ *   <li>bits 20-23: index of the promotion piece, {@link #NO_PIECE} if none
+ *   <li>bits 24-26: flags ({@link #DOUBLE_PUSH}, {@link #EN_PASSANT}, {@link #CASTLE})
+ * </ul>
+ */
+public final class MoveEncoding {
+
+  /** Value representing the absence of move (a1 to a1 cannot be played). */
+  public static final int NONE = 0;
+
+  /** Piece index value used when there is no captured or promotion piece. */
+  public static final int NO_PIECE = 0xF;
+
+  /** Flag set on a pawn double push. */
+  public static final int DOUBLE_PUSH = 1 << 24;
+
+  /** Flag set on an en passant capture. */
+  public static final int EN_PASSANT = 1 << 25;
+
+  /** Flag set on a castling move (the king move is encoded). */
+  public static final int CASTLE = 1 << 26;
+
+  /** Mask of a square field. */
+  private static final int SQUARE_MASK = 0x3F;
+
+  /** Mask of a piece field. */
+  private static final int PIECE_MASK = 0xF;
+
+  /** Offset of the destination square. */
+  private static final int TO_SHIFT = 6;
+
+  /** Offset of the moving piece. */
+  private static final int PIECE_SHIFT = 12;
+
+  /** Offset of the captured piece. */
+  private static final int CAPTURED_SHIFT = 16;
+
+  /** Offset of the promotion piece. */
+  private static final int PROMOTION_SHIFT = 20;
+
+  /** Private constructor to avoid instantiation. */
+  private MoveEncoding() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class");
+  }
+
+  /**
+   * Packs the given move fields into an int.
+   *
+   * @param from Source square
+   * @param to Destination square
+   * @param piece Index of the moving piece
+   * @param captured Index of the captured piece, {@link #NO_PIECE} if none
+   * @param promotion Index of the promotion piece, {@link #NO_PIECE} if none
+   * @param flags Special move flags
+   * @return The encoded move
+   */
+  public static int encode(
+      final int from,
+      final int to,
+      final int piece,
+      final int captured,
+      final int promotion,
+      final int flags) {
+    return from
+        | (to << TO_SHIFT)
+        | (piece << PIECE_SHIFT)
+        | (captured << CAPTURED_SHIFT)
+        | (promotion << PROMOTION_SHIFT)
+        | flags;
+  }
+
+  /**
+   * Retrieves the source square of an encoded move.
+   *
+   * @param move The encoded move
+   * @return The source square
+   */
+  public static int getFrom(final int move) {
+    return move & SQUARE_MASK;
+  }
+
+  /**
+   * Retrieves the destination square of an encoded move.
+   *
+   * @param move The encoded move
+   * @return The destination square
+   */
+  public static int getTo(final int move) {
+    return (move >>> TO_SHIFT) & SQUARE_MASK;
+  }
+
+  /**
+   * Retrieves the index of the moving piece of an encoded move.
+   *
+   * @param move The encoded move
+   * @return The index of the moving piece
+   */
+  public static int getPiece(final int move) {
+    return (move >>> PIECE_SHIFT) & PIECE_MASK;
+  }
+
+  /**
+   * Retrieves the index of the captured piece of an encoded move.
+   *
+   * @param move The encoded move
+   * @return The index of the captured piece, {@link #NO_PIECE} if none
+   */
+  public static int getCaptured(final int move) {
+    return (move >>> CAPTURED_SHIFT) & PIECE_MASK;
+  }
+
+  /**
+   * Retrieves the index of the promotion piece of an encoded move.
+   *
+   * @param move The encoded move
+   * @return The index of the promotion piece, {@link #NO_PIECE} if none
+   */
+  public static int getPromotion(final int move) {
+    return (move >>> PROMOTION_SHIFT) & PIECE_MASK;
+  }
+
+  /**
+   * Checks if an encoded move captures a piece (en passant included).
+   *
+   * @param move The encoded move
+   * @return true if the move is a capture
+   */
+  public static boolean isCapture(final int move) {
+    return getCaptured(move) != NO_PIECE;
+  }
+
+  /**
+   * Checks if an encoded move is a promotion.
+   *
+   * @param move The encoded move
+   * @return true if the move is a promotion
+   */
+  public static boolean isPromotion(final int move) {
+    return getPromotion(move) != NO_PIECE;
+  }
+
+  /**
+   * Checks if an encoded move is a pawn double push.
+   *
+   * @param move The encoded move
+   * @return true if the move is a double push
+   */
+  public static boolean isDoublePush(final int move) {
+    return (move & DOUBLE_PUSH) != 0;
+  }
+
+  /**
+   * Checks if an encoded move is an en passant capture.
+   *
+   * @param move The encoded move
+   * @return true if the move is an en passant capture
+   */
+  public static boolean isEnPassant(final int move) {
+    return (move & EN_PASSANT) != 0;
+  }
+
+  /**
+   * Checks if an encoded move is a castling move.
+   *
+   * @param move The encoded move
+   * @return true if the move is a castling move
+   */
+  public static boolean isCastle(final int move) {
+    return (move & CASTLE) != 0;
+  }
+
+  /**
+   * Retrieves the square of the piece captured by an encoded move. Differs from the destination
+   * square only for en passant captures.
+   *
+   * @param move The encoded move
+   * @return The square of the captured piece
+   */
+  public static int getCaptureSquare(final int move) {
+    if (isEnPassant(move)) {
+      return (getTo(move) & 7) | (getFrom(move) & ~7);
+    }
+    return getTo(move);
+  }
+
+  /**
+   * Materialises an encoded move as a {@link Move} object of the right subtype.
+   *
+   * @param move The encoded move
+   * @return The corresponding move, null for {@link #NONE}
+   */
+  public static Move toMove(final int move) {
+    if (move == NONE) {
+      return null;
+    }
+    final Position source = toPosition(getFrom(move));
+    final Position dest = toPosition(getTo(move));
+    final ColoredPiece piece = BitboardRepresentation.getPiecesMap().getFromKey(getPiece(move));
+    final ColoredPiece taken =
+        isCapture(move)
+            ? BitboardRepresentation.getPiecesMap().getFromKey(getCaptured(move))
+            : null;
+
+    if (isCastle(move)) {
+      return new CastlingMove(source, dest, piece, getTo(move) > getFrom(move));
+    }
+    if (isEnPassant(move)) {
+      return new EnPassantMove(source, dest, piece, toPosition(getCaptureSquare(move)), taken);
+    }
+    if (isPromotion(move)) {
+      final Piece promPiece =
+          BitboardRepresentation.getPiecesMap().getFromKey(getPromotion(move)).getPiece();
+      return new PromoteMove(source, dest, promPiece, piece, taken != null, taken);
+    }
+    return new Move(source, dest, piece, taken != null, taken);
+  }
+
+  /**
+   * Encodes a move coming from outside the search (UI, parser), using the board to retrieve the
+   * pieces involved and the kind of the move.
+   *
+   * @param move The move to encode
+   * @param board The board on which the move will be played
+   * @return The encoded move, {@link #NONE} if the source square is empty
+   */
+  public static int fromMove(final Move move, final BitboardRepresentation board) {
+    final int from = move.getSource().x() + move.getSource().y() * 8;
+    final int to = move.getDest().x() + move.getDest().y() * 8;
+    final int piece = board.getPieceIndexAt(from);
+    if (piece < 0) {
+      return NONE;
+    }
+    final boolean white = piece < 6;
+    int captured = board.getPieceIndexAt(to);
+    int promotion = NO_PIECE;
+    int flags = 0;
+
+    if (piece % 6 == 0 && Math.abs(to - from) == 2) {
+      flags |= CASTLE;
+    } else if (piece % 6 == 5) {
+      final Position enPassant = board.getEnPassantPos();
+      if (Math.abs(to - from) == 16) {
+        flags |= DOUBLE_PUSH;
+      } else if (captured < 0
+          && (to - from) % 8 != 0
+          && enPassant != null
+          && to == enPassant.x() + enPassant.y() * 8) {
+        flags |= EN_PASSANT;
+        captured = white ? 11 : 5;
+      }
+      if (move instanceof PromoteMove promoteMove) {
+        promotion =
+            BitboardRepresentation.getPiecesMap()
+                .getFromValue(
+                    new ColoredPiece(
+                        promoteMove.getPromPiece(), white ? Color.WHITE : Color.BLACK));
+      }
+    }
+    return encode(from, to, piece, captured < 0 ? NO_PIECE : captured, promotion, flags);
+  }
+
+  /**
+   * Converts a square index to a position.
+   *
+   * @param square The square index
+   * @return The corresponding position
+   */
+  private static Position toPosition(final int square) {
+    return new Position(square & 7, square >>> 3);
+  }
+}
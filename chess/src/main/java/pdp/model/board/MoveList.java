@@ -0,0 +1,162 @@
+package pdp.model.board;
+
+/**
+ * Reusable buffer of encoded moves (see {@link MoveEncoding}) with an ordering score per move. A
+ * search keeps one list per ply and refills it at every node, so no move object is created while
+ * searching.
+ */
+public final class MoveList {
+
+  /** Upper bound of the number of legal moves in any chess position. */
+  public static final int MAX_MOVES = 256;
+
+  /** Encoded moves. */
+  private final int[] moves = new int[MAX_MOVES];
+
+  /** Ordering score of each move. */
+  private final int[] scores = new int[MAX_MOVES];
+
+  /** Number of moves in the list. */
+  private int size;
+
+  /** Empties the list, keeping its buffers. */
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * Appends an encoded move with a score of 0.
+   *
+   * @param move The encoded move
+   */
+  public void add(final int move) {
+    scores[size] = 0;
+    moves[size++] = move;
+  }
+
+  /**
+   * Retrieves the number of moves in the list.
+   *
+   * @return The number of moves
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks if the list is empty.
+   *
+   * @return true if the list contains no move
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Retrieves the move at the given index.
+   *
+   * @param index The index of the move
+   * @return The encoded move
+   */
+  public int get(final int index) {
+    return moves[index];
+  }
+
+  /**
+   * Retrieves the ordering score of the move at the given index.
+   *
+   * @param index The index of the move
+   * @return The score of the move
+   */
+  public int getScore(final int index) {
+    return scores[index];
+  }
+
+  /**
+   * Sets the ordering score of the move at the given index.
+   *
+   * @param index The index of the move
+   * @param score The new score
+   */
+  public void setScore(final int index, final int score) {
+    scores[index] = score;
+  }
+
+  /**
+   * Checks if the list contains the given move.
+   *
+   * @param move The encoded move
+   * @return true if the move is in the list
+   */
+  public boolean contains(final int move) {
+    return indexOf(move) >= 0;
+  }
+
+  /**
+   * Retrieves the index of the given move.
+   *
+   * @param move The encoded move
+   * @return The index of the move, -1 if absent
+   */
+  public int indexOf(final int move) {
+    for (int i = 0; i < size; i++) {
+      if (moves[i] == move) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Moves the best scored move among the ones at {@code index} and after to {@code index} and
+   * returns it. Calling it with increasing indexes iterates the moves in score order while only
+   * sorting the part of the list actually visited (useful when a cutoff happens early).
+   *
+   * @param index The index to fill
+   * @return The encoded move now at {@code index}
+   */
+  public int pickBest(final int index) {
+    int best = index;
+    for (int i = index + 1; i < size; i++) {
+      if (scores[i] > scores[best]) {
+        best = i;
+      }
+    }
+    if (best != index) {
+      swap(index, best);
+    }
+    return moves[index];
+  }
+
+  /**
+   * Moves the given move to the front of the list, keeping the relative order of the others.
+   *
+   * @param move The encoded move
+   */
+  public void moveToFront(final int move) {
+    final int index = indexOf(move);
+    if (index <= 0) {
+      return;
+    }
+    final int score = scores[index];
+    System.arraycopy(moves, 0, moves, 1, index);
+    System.arraycopy(scores, 0, scores, 1, index);
+    moves[0] = move;
+    scores[0] = score;
+  }
+
+  /**
+   * Swaps two moves and their scores.
+   *
+   * @param i Index of the first move
+   * @param j Index of the second move
+   */
+  private void swap(final int i, final int j) {
+    final int move = moves[i];
+    moves[i] = moves[j];
+    moves[j] = move;
+    final int score = scores[i];
+    scores[i] = scores[j];
+    scores[j] = score;
+  }
+}
@@ -0,0 +1,198 @@
+package pdp.model.board;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import pdp.model.parsers.FenParser;
+
+/**
+ * Counts the leaf nodes of the move generation tree (perft) to check the correctness of the move
+ * generator against known values and to measure its raw speed. Moves are played with {@link
+ * BitboardRepresentation#makeMove(int)} and reverted with {@link
+ * BitboardRepresentation#unmakeMove(int, long)}, so the board is left untouched.
+ */
+public final class Perft {
+
+  /**
+   * Standard perft position with its known node counts.
+   *
+   * @param name Name of the position
+   * @param fen FEN string of the position
+   * @param nodes Known node counts, starting at depth 1
+   */
+  public record PerftPosition(String name, String fen, long... nodes) {
+    /**
+     * Loads the position on a new board.
+     *
+     * @return The board of the position
+     */
+    public BitboardRepresentation load() {
+      return new BitboardRepresentation(FenParser.loadBoardFromFen(fen));
+    }
+  }
+
+  /** Well-known perft positions (chessprogramming.org), used as regression suite and benchmark. */
+  public static final List<PerftPosition> STANDARD_POSITIONS =
+      List.of(
+          new PerftPosition(
+              "Initial position",
+              "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+              20L,
+              400L,
+              8_902L,
+              197_281L,
+              4_865_609L),
+          new PerftPosition(
+              "Kiwipete",
+              "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+              48L,
+              2_039L,
+              97_862L,
+              4_085_603L),
+          new PerftPosition(
+              "Position 3",
+              "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+              14L,
+              191L,
+              2_812L,
+              43_238L,
+              674_624L),
+          new PerftPosition(
+              "Position 4",
+              "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+              6L,
+              264L,
+              9_467L,
+              422_333L),
+          new PerftPosition(
+              "Position 5",
+              "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+              44L,
+              1_486L,
+              62_379L,
+              2_103_487L),
+          new PerftPosition(
+              "Position 6",
+              "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+              46L,
+              2_079L,
+              89_890L,
+              3_894_594L));
+
+  /** Private constructor to avoid instantiation. */
+  private Perft() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class");
+  }
+
+  /**
+   * Counts the leaf nodes at the given depth.
+   *
+   * @param board The board to explore, restored before returning
+   * @param white {true} if white is to move
+   * @param depth The depth to explore
+   * @return The number of leaf nodes
+   */
+  public static long perft(
+      final BitboardRepresentation board, final boolean white, final int depth) {
+    return perft(board, white, depth, createMoveLists(depth));
+  }
+
+  /**
+   * Counts the leaf nodes at the given depth below each root move.
+   *
+   * @param board The board to explore, restored before returning
+   * @param white {true} if white is to move
+   * @param depth The depth to explore, at least 1
+   * @return The number of leaf nodes for each root move (UCI notation), in generation order
+   */
+  public static Map<String, Long> divide(
+      final BitboardRepresentation board, final boolean white, final int depth) {
+    final MoveList[] moveLists = createMoveLists(depth);
+    final MoveList rootMoves = moveLists[depth];
+    board.generateLegalMoves(white, rootMoves);
+    final Map<String, Long> result = new LinkedHashMap<>();
+    for (int i = 0; i < rootMoves.size(); i++) {
+      final int move = rootMoves.get(i);
+      final long undoInfo = board.makeMove(move);
+      final long nodes = perft(board, !white, depth - 1, moveLists);
+      board.unmakeMove(move, undoInfo);
+      result.put(MoveEncoding.toMove(move).toUciString(), nodes);
+    }
+    return result;
+  }
+
+  /**
+   * Runs a divide and formats it with the total number of nodes, the time spent and the number of
+   * nodes per second.
+   *
+   * @param board The board to explore, restored before returning
+   * @param white {true} if white is to move
+   * @param depth The depth to explore, at least 1
+   * @return The lines of the report
+   */
+  public static List<String> report(
+      final BitboardRepresentation board, final boolean white, final int depth) {
+    final long start = System.nanoTime();
+    final Map<String, Long> divide = divide(board, white, depth);
+    final long elapsed = Math.max(System.nanoTime() - start, 1L);
+
+    final List<String> lines = new ArrayList<>();
+    long total = 0;
+    for (final Map.Entry<String, Long> entry : divide.entrySet()) {
+      lines.add(entry.getKey() + ": " + entry.getValue());
+      total += entry.getValue();
+    }
+    lines.add("");
+    lines.add("Nodes searched: " + total);
+    lines.add("Time: " + elapsed / 1_000_000 + " ms");
+    lines.add("Nodes/second: " + total * 1_000_000_000L / elapsed);
+    return lines;
+  }
+
+  /**
+   * Recursive node count, reusing one move list per remaining depth.
+   *
+   * @param board The board to explore
+   * @param white {true} if white is to move
+   * @param depth The remaining depth
+   * @param moveLists The move lists, indexed by remaining depth
+   * @return The number of leaf nodes
+   */
+  private static long perft(
+      final BitboardRepresentation board,
+      final boolean white,
+      final int depth,
+      final MoveList[] moveLists) {
+    if (depth == 0) {
+      return 1L;
+    }
+    final MoveList moves = moveLists[depth];
+    board.generateLegalMoves(white, moves);
+    if (depth == 1) {
+      return moves.size();
+    }
+    long nodes = 0;
+    for (int i = 0; i < moves.size(); i++) {
+      final int move = moves.get(i);
+      final long undoInfo = board.makeMove(move);
+      nodes += perft(board, !white, depth - 1, moveLists);
+      board.unmakeMove(move, undoInfo);
+    }
+    return nodes;
+  }
+
+  /**
+   * Allocates the move lists used by a search of the given depth.
+   *
+   * @param depth The depth of the search
+   * @return One move list per remaining depth
+   */
+  private static MoveList[] createMoveLists(final int depth) {
+    final MoveList[] moveLists = new MoveList[depth + 1];
+    for (int i = 0; i <= depth; i++) {
+      moveLists[i] = new MoveList();
+    }
+    return moveLists;
+  }
+}
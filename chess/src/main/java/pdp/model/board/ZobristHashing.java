@@ -110,10 +110,19 @@ public class ZobristHashing {
     if (!(boardRep instanceof BitboardRepresentation bitboardRep)) {
       throw new InvalidBoardException();
     }
-    final Bitboard[] bitboards = bitboardRep.getBitboards();
+    return generatePieceHash(bitboardRep.getBitboards());
+  }
+
+  /**
+   * Generate the hash corresponding to the given raw bitboards.
+   *
+   * @param bitboards The raw bitboards of the board (see BitboardRepresentation order)
+   * @return hash corresponding to the pieces placement
+   */
+  public static long generatePieceHash(final long[] bitboards) {
     long hash = 0;
     for (int i = 0; i < PIECES_TYPES; i++) {
-      long bitboardValue = bitboards[i].getBits();
+      long bitboardValue = bitboards[i];
       while (bitboardValue != 0) {
         final int square = Long.numberOfTrailingZeros(bitboardValue);
         hash ^= PIECES[i][square];
@@ -123,6 +132,38 @@ public class ZobristHashing {
     return hash;
   }
 
+  /**
+   * Retrieves the key of a piece on a square, to be XORed in or out of a hash.
+   *
+   * @param pieceIndex The bitboard index of the piece (0..11)
+   * @param square The square index (0..63)
+   * @return The zobrist key
+   */
+  public static long pieceKey(final int pieceIndex, final int square) {
+    return PIECES[pieceIndex][square];
+  }
+
+  /**
+   * Retrieves the part of the full hash that does not depend on the pieces placement, to be XORed
+   * in or out of a hash when the castling rights, the en passant file or the player change.
+   *
+   * @param castlingRights The castling rights as a 4-bit integer (see translateCastling)
+   * @param enPassantFile The en passant file, -1 if none
+   * @param whiteToMove {true} if white is to move
+   * @return The zobrist key of the state
+   */
+  public static long stateKey(
+      final int castlingRights, final int enPassantFile, final boolean whiteToMove) {
+    long key = castlingRights == 0 ? 0L : CASTLING[castlingRights];
+    if (enPassantFile != -1) {
+      key ^= EN_PASSANT[enPassantFile];
+    }
+    if (whiteToMove) {
+      key ^= SIDE_TO_MOVE;
+    }
+    return key;
+  }
+
   /**
    * Compute the simplified hash from a board -> update the change of position of piece and captured
    * piece.
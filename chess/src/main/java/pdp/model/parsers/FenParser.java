@@ -30,22 +30,6 @@ public final class FenParser {
           entry("n", new ColoredPiece(Piece.KNIGHT, Color.BLACK)),
           entry("p", new ColoredPiece(Piece.PAWN, Color.BLACK)));
 
-  /** Bitboard to initialize when parsing a file. */
-  private static final BitboardRepresentation BITBOARD_REP =
-      new BitboardRepresentation(
-          new Bitboard(0L),
-          new Bitboard(0L),
-          new Bitboard(0L),
-          new Bitboard(0L),
-          new Bitboard(0L),
-          new Bitboard(0L),
-          new Bitboard(0L),
-          new Bitboard(0L),
-          new Bitboard(0L),
-          new Bitboard(0L),
-          new Bitboard(0L),
-          new Bitboard(0L));
-
   /** Private constructor to avoid instantiation. */
   private FenParser() {}
 
@@ -67,6 +51,22 @@ public final class FenParser {
       throw new IllegalArgumentException("Invalid FEN board structure");
     }
 
+    // Fresh empty board for each parse, so that positions do not leak into each other
+    final BitboardRepresentation bitboardRep =
+        new BitboardRepresentation(
+            new Bitboard(0L),
+            new Bitboard(0L),
+            new Bitboard(0L),
+            new Bitboard(0L),
+            new Bitboard(0L),
+            new Bitboard(0L),
+            new Bitboard(0L),
+            new Bitboard(0L),
+            new Bitboard(0L),
+            new Bitboard(0L),
+            new Bitboard(0L),
+            new Bitboard(0L));
+
     for (int y = 7; y >= 0; y--) {
       int x = 0;
       for (final char c : ranks[7 - y].toCharArray()) {
@@ -74,7 +74,7 @@ public final class FenParser {
           x += Character.getNumericValue(c); // Skip empty squares
         } else {
           final ColoredPiece piece = PIECES.get(String.valueOf(c));
-          BITBOARD_REP.setSquare(piece, x + y * 8);
+          bitboardRep.setSquare(piece, x + y * 8);
           x++;
         }
       }
@@ -92,6 +92,9 @@ public final class FenParser {
         case 'Q' -> whiteQueenCastling = true;
         case 'k' -> blackKingCastling = true;
         case 'q' -> blackQueenCastling = true;
+        case '-' -> {
+          // No castling right
+        }
         default -> throw new ChessException("Unknown castling right");
       }
     }
@@ -110,6 +113,6 @@ public final class FenParser {
             pos,
             fiftyMoveRule,
             playedMoves);
-    return new FileBoard(BITBOARD_REP, isWhiteTurn, header);
+    return new FileBoard(bitboardRep, isWhiteTurn, header);
   }
 }
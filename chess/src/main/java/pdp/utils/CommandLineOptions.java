@@ -304,6 +304,18 @@ public final class CommandLineOptions {
           LOGGER, "Contest mode activated with file: " + activatedOptions.get(OptionType.CONTEST));
     }
 
+    if (activatedOptions.containsKey(OptionType.PERFT)) {
+      try {
+        if (Integer.parseInt(activatedOptions.get(OptionType.PERFT)) < 1) {
+          throw new NumberFormatException();
+        }
+      } catch (NumberFormatException e) {
+        error("Error: --" + OptionType.PERFT.getLong() + " option requires a positive depth.");
+        activatedOptions.remove(OptionType.PERFT);
+        runtime.exit(1);
+      }
+    }
+
     if (activatedOptions.containsKey(OptionType.TIME)
         && !activatedOptions.containsKey(OptionType.BLITZ)) {
       error("The TIME option can't be used without BLITZ activated : option ignored.");
@@ -344,9 +356,24 @@ public final class CommandLineOptions {
             OptionType.AI_MODE_W,
             OptionType.AI_MODE_B,
             OptionType.AI_SIMULATION,
+            OptionType.AI_MCTS_THREADS,
+            OptionType.AI_PLAYOUT,
+            OptionType.AI_PLAYOUT_W,
+            OptionType.AI_PLAYOUT_B,
+            OptionType.AI_CUTOFF,
+            OptionType.AI_CUTOFF_W,
+            OptionType.AI_CUTOFF_B,
             OptionType.AI_ENDGAME,
             OptionType.AI_ENDGAME_W,
-            OptionType.AI_ENDGAME_B
+            OptionType.AI_ENDGAME_B,
+            OptionType.AI_CACHE_SIZE,
+            OptionType.AI_TT_SIZE,
+            OptionType.AI_EVAL_CACHE_SIZE,
+            OptionType.AI_QUIESCENCE,
+            OptionType.AI_NULL_MOVE,
+            OptionType.AI_LMR,
+            OptionType.AI_THREADS,
+            OptionType.AI_VIRTUAL_THREADS
           }) {
         if (activatedOptions.containsKey(aiOption)) {
           error("Modifying " + aiOption.getLong() + " requires 'a' argument");
@@ -406,6 +433,28 @@ public final class CommandLineOptions {
 
       activatedOptions.remove(OptionType.AI_SIMULATION);
 
+      if (activatedOptions.containsKey(OptionType.AI_PLAYOUT)) {
+        if (!activatedOptions.containsKey(OptionType.AI_PLAYOUT_W)) {
+          activatedOptions.put(
+              OptionType.AI_PLAYOUT_W, activatedOptions.get(OptionType.AI_PLAYOUT));
+        }
+        if (!activatedOptions.containsKey(OptionType.AI_PLAYOUT_B)) {
+          activatedOptions.put(
+              OptionType.AI_PLAYOUT_B, activatedOptions.get(OptionType.AI_PLAYOUT));
+        }
+        activatedOptions.remove(OptionType.AI_PLAYOUT);
+      }
+
+      if (activatedOptions.containsKey(OptionType.AI_CUTOFF)) {
+        if (!activatedOptions.containsKey(OptionType.AI_CUTOFF_W)) {
+          activatedOptions.put(OptionType.AI_CUTOFF_W, activatedOptions.get(OptionType.AI_CUTOFF));
+        }
+        if (!activatedOptions.containsKey(OptionType.AI_CUTOFF_B)) {
+          activatedOptions.put(OptionType.AI_CUTOFF_B, activatedOptions.get(OptionType.AI_CUTOFF));
+        }
+        activatedOptions.remove(OptionType.AI_CUTOFF);
+      }
+
       if (!activatedOptions.containsKey(OptionType.AI_HEURISTIC)) {
         activatedOptions.put(OptionType.AI_HEURISTIC, "STANDARD");
       }
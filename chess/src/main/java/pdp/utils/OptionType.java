@@ -236,7 +236,9 @@ public enum OptionType {
                           - MCTS : Uses Monte Carlo Tree Search for AI move exploration.
                           - ALPHA_BETA_PARALLEL, Alpha-Beta with multithreading. More nodes explored but faster.
                           - ALPHA_BETA_ID, Alpha-Beta with iterative deepening, really efficient algorithm.
-                          - ALPHA_BETA_ID_PARALLEL, Alpha-Beta with iterative deepening and multithreading.""")
+                          - ALPHA_BETA_ID_PARALLEL, Alpha-Beta with iterative deepening and multithreading.
+                          - LAZY_SMP, Alpha-Beta with iterative deepening on one thread per processor sharing the transposition table.
+                          - ALPHA_BETA_YBWC, Alpha-Beta splitting every node between the threads once its first move is searched.""")
           .build();
     }
   },
@@ -345,6 +347,154 @@ public enum OptionType {
           .build();
     }
   },
+  AI_MCTS_THREADS {
+    @Override
+    public String getShort() {
+      return null;
+    }
+
+    @Override
+    public String getLong() {
+      return "ai-mcts-threads";
+    }
+
+    @Override
+    public Option getOption() {
+      return Option.builder()
+          .longOpt(this.getLong())
+          .argName("NUMBER")
+          .hasArg(true)
+          .desc("Specify the number of threads sharing the tree of the MCTS AI algorithm")
+          .type(Integer.class)
+          .build();
+    }
+  },
+  AI_PLAYOUT {
+    @Override
+    public String getShort() {
+      return null;
+    }
+
+    @Override
+    public String getLong() {
+      return "ai-playout";
+    }
+
+    @Override
+    public Option getOption() {
+      return Option.builder()
+          .longOpt(this.getLong())
+          .hasArg(true)
+          .argName("POLICY")
+          .desc("Choose the playout policy of the MCTS AI algorithm")
+          .build();
+    }
+  },
+  AI_PLAYOUT_W {
+    @Override
+    public String getShort() {
+      return null;
+    }
+
+    @Override
+    public String getLong() {
+      return "ai-playout-w";
+    }
+
+    @Override
+    public Option getOption() {
+      return Option.builder()
+          .longOpt(this.getLong())
+          .hasArg(true)
+          .argName("POLICY")
+          .desc("Choose the playout policy of the White MCTS AI algorithm")
+          .build();
+    }
+  },
+  AI_PLAYOUT_B {
+    @Override
+    public String getShort() {
+      return null;
+    }
+
+    @Override
+    public String getLong() {
+      return "ai-playout-b";
+    }
+
+    @Override
+    public Option getOption() {
+      return Option.builder()
+          .longOpt(this.getLong())
+          .hasArg(true)
+          .argName("POLICY")
+          .desc("Choose the playout policy of the Black MCTS AI algorithm")
+          .build();
+    }
+  },
+  AI_CUTOFF {
+    @Override
+    public String getShort() {
+      return null;
+    }
+
+    @Override
+    public String getLong() {
+      return "ai-cutoff";
+    }
+
+    @Override
+    public Option getOption() {
+      return Option.builder()
+          .longOpt(this.getLong())
+          .hasArg(true)
+          .argName("PLIES")
+          .desc("Choose the cutoff depth of the HEURISTIC playouts of the MCTS AI algorithm")
+          .build();
+    }
+  },
+  AI_CUTOFF_W {
+    @Override
+    public String getShort() {
+      return null;
+    }
+
+    @Override
+    public String getLong() {
+      return "ai-cutoff-w";
+    }
+
+    @Override
+    public Option getOption() {
+      return Option.builder()
+          .longOpt(this.getLong())
+          .hasArg(true)
+          .argName("PLIES")
+          .desc("Choose the cutoff depth of the HEURISTIC playouts of the White MCTS AI")
+          .build();
+    }
+  },
+  AI_CUTOFF_B {
+    @Override
+    public String getShort() {
+      return null;
+    }
+
+    @Override
+    public String getLong() {
+      return "ai-cutoff-b";
+    }
+
+    @Override
+    public Option getOption() {
+      return Option.builder()
+          .longOpt(this.getLong())
+          .hasArg(true)
+          .argName("PLIES")
+          .desc("Choose the cutoff depth of the HEURISTIC playouts of the Black MCTS AI")
+          .build();
+    }
+  },
   AI_DEPTH {
     @Override
     public String getShort() {
@@ -630,6 +780,177 @@ public enum OptionType {
           .build();
     }
   },
+  AI_CACHE_SIZE {
+    @Override
+    public String getShort() {
+      return null;
+    }
+
+    @Override
+    public String getLong() {
+      return "ai-cache-size";
+    }
+
+    @Override
+    public Option getOption() {
+      return Option.builder()
+          .longOpt(this.getLong())
+          .argName("ENTRIES")
+          .hasArg(true)
+          .desc("Specify the number of entries of the position cache of each AI player")
+          .type(Integer.class)
+          .build();
+    }
+  },
+  AI_TT_SIZE {
+    @Override
+    public String getShort() {
+      return null;
+    }
+
+    @Override
+    public String getLong() {
+      return "ai-tt-size";
+    }
+
+    @Override
+    public Option getOption() {
+      return Option.builder()
+          .longOpt(this.getLong())
+          .argName("MB")
+          .hasArg(true)
+          .desc("Specify the size in megabytes of the transposition table of each AI player")
+          .type(Integer.class)
+          .build();
+    }
+  },
+  AI_EVAL_CACHE_SIZE {
+    @Override
+    public String getShort() {
+      return null;
+    }
+
+    @Override
+    public String getLong() {
+      return "ai-eval-cache-size";
+    }
+
+    @Override
+    public Option getOption() {
+      return Option.builder()
+          .longOpt(this.getLong())
+          .argName("ENTRIES")
+          .hasArg(true)
+          .desc("Specify the number of scores kept in the evaluation cache of each AI player")
+          .type(Integer.class)
+          .build();
+    }
+  },
+  AI_QUIESCENCE {
+    @Override
+    public String getShort() {
+      return null;
+    }
+
+    @Override
+    public String getLong() {
+      return "ai-quiescence";
+    }
+
+    @Override
+    public Option getOption() {
+      return Option.builder()
+          .longOpt(this.getLong())
+          .optionalArg(true)
+          .argName("COLOR")
+          .desc(
+              "Extend the Alpha-Beta search of the AI players with COLOR 'W', 'B' or 'A' (All) "
+                  + "with a search of the captures and promotions (A by default)")
+          .build();
+    }
+  },
+  AI_NULL_MOVE {
+    @Override
+    public String getShort() {
+      return null;
+    }
+
+    @Override
+    public String getLong() {
+      return "ai-null-move";
+    }
+
+    @Override
+    public Option getOption() {
+      return new Option(
+          this.getShort(),
+          this.getLong(),
+          false,
+          "Enable the null-move pruning of the Alpha-Beta algorithms");
+    }
+  },
+  AI_LMR {
+    @Override
+    public String getShort() {
+      return null;
+    }
+
+    @Override
+    public String getLong() {
+      return "ai-lmr";
+    }
+
+    @Override
+    public Option getOption() {
+      return new Option(
+          this.getShort(),
+          this.getLong(),
+          false,
+          "Enable the late-move reductions of the Alpha-Beta algorithms");
+    }
+  },
+  AI_THREADS {
+    @Override
+    public String getShort() {
+      return null;
+    }
+
+    @Override
+    public String getLong() {
+      return "ai-threads";
+    }
+
+    @Override
+    public Option getOption() {
+      return Option.builder()
+          .longOpt(this.getLong())
+          .argName("NUMBER")
+          .hasArg(true)
+          .desc("Specify the number of threads of the parallel algorithms of each AI player")
+          .type(Integer.class)
+          .build();
+    }
+  },
+  AI_VIRTUAL_THREADS {
+    @Override
+    public String getShort() {
+      return null;
+    }
+
+    @Override
+    public String getLong() {
+      return "ai-virtual-threads";
+    }
+
+    @Override
+    public Option getOption() {
+      return new Option(
+          this.getShort(),
+          this.getLong(),
+          false,
+          "Run the tasks of the parallel algorithms on virtual threads (Java 21 and later)");
+    }
+  },
   LOAD {
     @Override
     public String getShort() {
@@ -651,6 +972,29 @@ public enum OptionType {
           .build();
     }
   },
+  PERFT {
+    @Override
+    public String getShort() {
+      return null;
+    }
+
+    @Override
+    public String getLong() {
+      return "perft";
+    }
+
+    @Override
+    public Option getOption() {
+      return Option.builder()
+          .longOpt(this.getLong())
+          .hasArg(true)
+          .argName("DEPTH")
+          .desc(
+              "Count the positions reachable in DEPTH moves from the start or loaded board and exit")
+          .type(Integer.class)
+          .build();
+    }
+  },
   UCI {
     @Override
     public String getShort() {
@@ -13,7 +13,7 @@ public class Timer implements Runnable {
   private static final Logger LOGGER = Logger.getLogger(Timer.class.getName());
 
   /** Duration of the timer, in milliseconds. */
-  private final long duration;
+  private long duration;
 
   /** Remaining time in the timer. */
   private long remaining;
@@ -85,6 +85,18 @@ public class Timer implements Runnable {
     running = false;
   }
 
+  /**
+   * Changes the duration of the timer, taken into account the next time it is started.
+   *
+   * @param time duration of the timer
+   */
+  public synchronized void setDuration(final long time) {
+    this.duration = time;
+    if (!running) {
+      this.remaining = this.duration;
+    }
+  }
+
   /** Creates and starts the timer thread. */
   public synchronized void start() {
     if (!running) {
@@ -23,8 +23,12 @@ import pdp.model.GameAbstract;
 import pdp.model.GameState;
 import pdp.model.ai.AlgorithmType;
 import pdp.model.ai.HeuristicType;
+import pdp.model.ai.SearchProgress;
 import pdp.model.ai.Solver;
+import pdp.model.ai.algorithms.MonteCarloTreeSearch;
+import pdp.model.board.BitboardRepresentation;
 import pdp.model.board.Move;
+import pdp.model.board.Perft;
 import pdp.utils.Logging;
 import pdp.utils.OptionType;
 
@@ -39,6 +43,13 @@ public class UciView implements View {
   /** Logger of the class. */
   private static final Logger LOGGER = Logger.getLogger(UciView.class.getName());
 
+  /** Highest win rate converted to a score, worth about 9 pawns. */
+  private static final double MAX_WIN_RATE = 0.99;
+
+  /** Arguments of the go command followed by a time or a number of moves. */
+  private static final Set<String> GO_TIME_ARGUMENTS =
+      Set.of("wtime", "btime", "winc", "binc", "movestogo", "movetime");
+
   /** Solver to make the moves against another AI. */
   private final Solver solver = new Solver();
 
@@ -62,8 +73,25 @@ public class UciView implements View {
     GameState.setFiftyMoveLimit(75);
     final Solver aiConfiguration = Game.getInstance().getWhiteSolver();
     if (aiConfiguration != null) {
-      solver.setAlgorithm(AlgorithmType.ALPHA_BETA);
+      if (aiConfiguration.getAlgorithm() instanceof MonteCarloTreeSearch) {
+        solver.setMonteCarloAlgorithm(
+            ((MonteCarloTreeSearch) aiConfiguration.getAlgorithm()).getSimulationLimit());
+      } else {
+        solver.setAlgorithm(AlgorithmType.ALPHA_BETA);
+      }
       solver.setDepth(aiConfiguration.getDepth());
+      solver.setCacheSize(aiConfiguration.getCache().getCapacity());
+      solver.setTranspositionTableSize(aiConfiguration.getTranspositionTableSize());
+      solver.setEvaluationCacheSize(aiConfiguration.getEvaluationCache().getCapacity());
+      solver.setQuiescence(aiConfiguration.isQuiescence());
+      solver.setNullMovePruning(aiConfiguration.isNullMovePruning());
+      solver.setLateMoveReductions(aiConfiguration.isLateMoveReductions());
+      solver.setMonteCarloThreads(aiConfiguration.getMonteCarloThreads());
+      solver.setPlayoutPolicy(aiConfiguration.getPlayoutPolicy());
+      solver.setPlayoutCutoff(aiConfiguration.getPlayoutCutoff());
+      solver.setSearchPool(
+          aiConfiguration.getSearchPool().getThreadCount(),
+          aiConfiguration.getSearchPool().isVirtualThreads());
       solver.setHeuristic(aiConfiguration.getStartHeuristic());
       solver.setEndgameHeuristic(aiConfiguration.getEndgameHeuristic());
       if (options.containsKey(OptionType.AI_WEIGHT_W)
@@ -84,6 +112,41 @@ public class UciView implements View {
         solver.setHeuristic(HeuristicType.valueOf(options.get(OptionType.AI_HEURISTIC_W)));
       }
     }
+    solver.setProgressListener(progress -> print(infoLine(progress)));
+  }
+
+  /**
+   * Builds the info line sent to the other engine for the progress of a search.
+   *
+   * @param progress The progress of the search
+   * @return The info line, with the score of the win rate of the best move
+   */
+  public static String infoLine(final SearchProgress progress) {
+    final StringBuilder line =
+        new StringBuilder("info")
+            .append(" score cp ")
+            .append(winRateToCentipawns(progress.winRate()))
+            .append(" nodes ")
+            .append(progress.nodes())
+            .append(" nps ")
+            .append(progress.getNodesPerSecond())
+            .append(" time ")
+            .append(progress.elapsed());
+    if (progress.bestMove() != null) {
+      line.append(" pv ").append(progress.bestMove().toUciString());
+    }
+    return line.toString();
+  }
+
+  /**
+   * Converts a win rate to a score in centipawns, with the logistic model of the ratings.
+   *
+   * @param winRate The wins minus the losses divided by the games, between -1 and 1
+   * @return The score in centipawns
+   */
+  private static int winRateToCentipawns(final double winRate) {
+    final double clamped = Math.max(-MAX_WIN_RATE, Math.min(MAX_WIN_RATE, winRate));
+    return (int) Math.round(400 * Math.log10((1 + clamped) / (1 - clamped)));
   }
 
   /**
@@ -214,6 +277,12 @@ public class UciView implements View {
   }
 
   private void goCommand(String args) {
+    final String[] goArgs = args.trim().split(" ");
+    if (goArgs.length == 2 && "perft".equals(goArgs[0])) {
+      perftCommand(goArgs[1]);
+      return;
+    }
+    setClock(goArgs);
     debug(LOGGER, "Searching for best move");
     final Move move = solver.getBestMove(Game.getInstance());
     if (move == null) {
@@ -222,6 +291,75 @@ public class UciView implements View {
     print("bestmove " + move.toUciString());
   }
 
+  /**
+   * Gives the clock of the player to move, sent with the go command (wtime, btime, winc, binc,
+   * movestogo or movetime in milliseconds), to the solver for the next search. The arguments are
+   * read by keyword: flags such as ponder or infinite and the unsupported arguments are skipped.
+   *
+   * @param goArgs The arguments of the go command
+   */
+  private void setClock(final String[] goArgs) {
+    final boolean white = Game.getInstance().getGameState().isWhiteTurn();
+    long remaining = 0;
+    long increment = 0;
+    int movesToGo = 0;
+    long moveTime = 0;
+    try {
+      for (int i = 0; i < goArgs.length; i++) {
+        final String keyword = goArgs[i];
+        if (!GO_TIME_ARGUMENTS.contains(keyword)) {
+          debug(LOGGER, "Ignored go argument: " + keyword);
+          continue;
+        }
+        if (i + 1 >= goArgs.length) {
+          error("Missing value of go argument: " + keyword);
+          return;
+        }
+        final long value = Long.parseLong(goArgs[++i]);
+        switch (keyword) {
+          case "wtime" -> remaining = white ? value : remaining;
+          case "btime" -> remaining = white ? remaining : value;
+          case "winc" -> increment = white ? value : increment;
+          case "binc" -> increment = white ? increment : value;
+          case "movestogo" -> movesToGo = (int) value;
+          default -> moveTime = value;
+        }
+      }
+    } catch (NumberFormatException e) {
+      error("Invalid go arguments: " + String.join(" ", goArgs));
+      return;
+    }
+    if (moveTime > 0) {
+      solver.setMoveTime(moveTime);
+    } else if (remaining > 0) {
+      solver.setClock(remaining, increment, movesToGo);
+    }
+  }
+
+  /**
+   * Prints the perft divide of the current position (extension of the go command).
+   *
+   * @param depth The depth of the perft, as given to the command
+   */
+  private void perftCommand(final String depth) {
+    final int perftDepth;
+    try {
+      perftDepth = Integer.parseInt(depth);
+    } catch (NumberFormatException e) {
+      error("Invalid perft depth: " + depth);
+      return;
+    }
+    if (perftDepth < 1) {
+      error("Invalid perft depth: " + depth);
+      return;
+    }
+    final GameState gameState = Game.getInstance().getGameState();
+    final BitboardRepresentation board = (BitboardRepresentation) gameState.getBoard().getCopy();
+    for (final String line : Perft.report(board, gameState.isWhiteTurn(), perftDepth)) {
+      print(line);
+    }
+  }
+
   private void isReadyCommand(String args) {
     print("readyok");
   }
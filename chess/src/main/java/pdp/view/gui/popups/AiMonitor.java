@@ -2,6 +2,7 @@ package pdp.view.gui.popups;
 
 import java.text.DecimalFormat;
 import java.util.List;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Pos;
@@ -13,8 +14,11 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import pdp.model.Game;
+import pdp.model.ai.EvaluationCache;
+import pdp.model.ai.SearchProgress;
 import pdp.model.ai.Solver;
-import pdp.model.ai.algorithms.MonteCarloTreeSearch;
+import pdp.model.board.BitboardCache;
+import pdp.model.board.Move;
 import pdp.utils.TextGetter;
 import pdp.view.GuiView;
 
@@ -33,6 +37,12 @@ public class AiMonitor extends Stage {
   /** Label to display average values. */
   private final Label average;
 
+  /** Label to display the hit rates of the caches of the solver. */
+  private final Label caches;
+
+  /** Label to display the progress of the running search. */
+  private final Label progress;
+
   /**
    * Constructor to create a monitor from the Ai color.
    *
@@ -52,9 +62,11 @@ public class AiMonitor extends Stage {
 
     average = new Label();
 
-    if (solver.getAlgorithm() instanceof MonteCarloTreeSearch) {
-      average.setText("Monitoring couldn't be activated with MCTS");
-    }
+    caches = new Label();
+
+    progress = new Label();
+    solver.setProgressListener(
+        searchProgress -> Platform.runLater(() -> progress.setText(format(searchProgress))));
 
     final TableColumn<MonitorEntry, Integer> turnColumn =
         new TableColumn<>(TextGetter.getText("turn"));
@@ -80,7 +92,7 @@ public class AiMonitor extends Stage {
     table.getColumns().addAll(turnColumn, nodesColumn, timeColumn, rateColumn);
 
     final Label config = new Label(solver.toString());
-    final VBox layout = new VBox(config, average, table);
+    final VBox layout = new VBox(config, average, caches, progress, table);
     layout.setAlignment(Pos.TOP_CENTER);
 
     final Scene secondaryScene = new Scene(layout, 600, 200);
@@ -108,9 +120,36 @@ public class AiMonitor extends Stage {
     }
   }
 
+  /**
+   * Describes the progress of a search.
+   *
+   * @param searchProgress The progress of the search
+   * @return A String with the best move found so far, the searched nodes and the time.
+   */
+  private static String format(final SearchProgress searchProgress) {
+    final Move bestMove = searchProgress.bestMove();
+    return TextGetter.getText(
+        "searchProgress",
+        bestMove == null ? "-" : bestMove.toUciString(),
+        String.valueOf(Math.round(searchProgress.winRate() * 100)),
+        formatNumber(searchProgress.nodes()),
+        String.valueOf(searchProgress.elapsed()),
+        formatNumber(searchProgress.getNodesPerSecond()));
+  }
+
   /** Update the displayed data. */
   public void update() {
     data.clear();
+    final EvaluationCache evaluationCache = solver.getEvaluationCache();
+    final BitboardCache cache = solver.getCache();
+    final long cacheLookups = cache.getHits() + cache.getMisses();
+    caches.setText(
+        TextGetter.getText(
+            "cacheHitRates",
+            String.valueOf(Math.round(evaluationCache.getHitRate() * 100)),
+            formatNumber(evaluationCache.getHits()),
+            formatNumber(evaluationCache.getHits() + evaluationCache.getMisses()),
+            String.valueOf(cacheLookups == 0 ? 0 : cache.getHits() * 100 / cacheLookups)));
     final List<Long> times = solver.getMoveTimes();
     final List<Long> nodes = solver.getAlgorithm().getVisitedNodeList();
     if (nodes.isEmpty() || nodes.size() != times.size()) {
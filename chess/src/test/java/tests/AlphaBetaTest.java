@@ -1,5 +1,7 @@
 package tests;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static pdp.utils.Logging.configureGlobalLogger;
 
@@ -11,13 +13,20 @@ import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import pdp.model.Game;
+import pdp.model.GameAi;
+import pdp.model.ai.AiMove;
 import pdp.model.ai.AlgorithmType;
 import pdp.model.ai.HeuristicType;
 import pdp.model.ai.Solver;
+import pdp.model.ai.algorithms.AlphaBeta;
+import pdp.model.ai.algorithms.AlphaBetaForkJoin;
+import pdp.model.ai.algorithms.LazySmp;
 import pdp.model.board.Move;
+import pdp.model.board.MoveList;
 import pdp.utils.Position;
 
 public class AlphaBetaTest {
@@ -58,7 +67,9 @@ public class AlphaBetaTest {
         AlgorithmType.ALPHA_BETA,
         AlgorithmType.ALPHA_BETA_PARALLEL,
         AlgorithmType.ALPHA_BETA_ID,
-        AlgorithmType.ALPHA_BETA_ID_PARALLEL);
+        AlgorithmType.ALPHA_BETA_ID_PARALLEL,
+        AlgorithmType.LAZY_SMP,
+        AlgorithmType.ALPHA_BETA_YBWC);
   }
 
   @ParameterizedTest
@@ -115,4 +126,108 @@ public class AlphaBetaTest {
     assertTrue(elapsedTime >= 0 && elapsedTime <= timeLimit + 500);
     assertTrue(remainingTime <= timeLimit);
   }
+
+  @Test
+  public void iterativeDeepeningFindsAlphaBetaScore() {
+    game.playMove(new Move(new Position(4, 1), new Position(4, 3)));
+    game.playMove(new Move(new Position(3, 6), new Position(3, 4)));
+    game.playMove(new Move(new Position(6, 0), new Position(5, 2)));
+
+    // The null windows and the aspiration windows do not change the score of the search
+    Solver reference = new Solver();
+    reference.setHeuristic(HeuristicType.STANDARD);
+    reference.setNullMovePruning(false);
+    reference.setLateMoveReductions(false);
+    float expected = new AlphaBeta(reference).findBestMove(game, 3, false).score();
+
+    solver.setAlgorithm(AlgorithmType.ALPHA_BETA_ID);
+    solver.setNullMovePruning(false);
+    solver.setLateMoveReductions(false);
+    AiMove move = solver.getAlgorithm().findBestMove(game, 3, false);
+    assertEquals(expected, move.score());
+    assertNotNull(move.move());
+  }
+
+  @Test
+  public void selectiveSearchVisitsFewerNodes() {
+    game.playMove(new Move(new Position(4, 1), new Position(4, 3)));
+    game.playMove(new Move(new Position(4, 6), new Position(4, 4)));
+    game.playMove(new Move(new Position(6, 0), new Position(5, 2)));
+    game.playMove(new Move(new Position(1, 7), new Position(2, 5)));
+
+    solver.setNullMovePruning(false);
+    solver.setLateMoveReductions(false);
+    solver.getAlgorithm().findBestMove(game, 4, true);
+    long fullNodes = solver.getAlgorithm().getLastVisitedNodeCount();
+
+    Solver selective = new Solver();
+    selective.setHeuristic(HeuristicType.STANDARD);
+    selective.setNullMovePruning(true);
+    selective.setLateMoveReductions(true);
+    AlphaBeta algorithm = new AlphaBeta(selective);
+    AiMove move = algorithm.findBestMove(game, 4, true);
+    assertNotNull(move.move());
+    assertTrue(algorithm.getLastVisitedNodeCount() < fullNodes);
+  }
+
+  @Test
+  public void lazySmpHelpersFindMate() {
+    game.playMove(new Move(new Position(4, 1), new Position(4, 3)));
+    game.playMove(new Move(new Position(4, 6), new Position(4, 4)));
+    game.playMove(new Move(new Position(3, 0), new Position(7, 4)));
+    game.playMove(new Move(new Position(1, 7), new Position(2, 5)));
+    game.playMove(new Move(new Position(5, 0), new Position(2, 3)));
+    game.playMove(new Move(new Position(6, 7), new Position(5, 5)));
+
+    // Helper threads are used even on a single processor
+    LazySmp algorithm = new LazySmp(solver, 3);
+    assertEquals(3, algorithm.getThreadCount());
+    AiMove move = algorithm.findBestMove(game, 3, true);
+    assertEquals(new Position(7, 4), move.move().getSource());
+    assertEquals(new Position(5, 6), move.move().getDest());
+    assertTrue(algorithm.getLastVisitedNodeCount() > 0);
+    assertEquals(1, new LazySmp(solver, 0).getThreadCount());
+  }
+
+  @Test
+  public void forkJoinFindsAlphaBetaScore() {
+    game.playMove(new Move(new Position(4, 1), new Position(4, 3)));
+    game.playMove(new Move(new Position(3, 6), new Position(3, 4)));
+    game.playMove(new Move(new Position(6, 0), new Position(5, 2)));
+
+    // Splitting the young brothers does not change the score of the search
+    Solver reference = new Solver();
+    reference.setHeuristic(HeuristicType.STANDARD);
+    reference.setNullMovePruning(false);
+    reference.setLateMoveReductions(false);
+    float expected = new AlphaBeta(reference).findBestMove(game, 4, false).score();
+
+    solver.setNullMovePruning(false);
+    AlphaBetaForkJoin algorithm = new AlphaBetaForkJoin(solver);
+    AiMove move = algorithm.findBestMove(game, 4, false);
+    assertEquals(expected, move.score());
+    assertNotNull(move.move());
+    // The pool is kept by the solver between the searches
+    assertEquals(
+        solver.getSearchPool().getForkJoinPool(), solver.getSearchPool().getForkJoinPool());
+  }
+
+  @Test
+  public void gameAiCopyKeepsSearchPly() {
+    GameAi gameAi = GameAi.fromGame(game);
+    MoveList moves = new MoveList();
+    gameAi.getBoard().generateLegalMoves(true, moves);
+    gameAi.playMove(moves.get(0));
+    gameAi.getBoard().generateLegalMoves(false, moves);
+    gameAi.playMove(moves.get(0));
+
+    // A young brother searched on a copy uses the killer moves of its own ply
+    GameAi copy = gameAi.copy();
+    assertEquals(2, copy.getSearchPly());
+    copy.getBoard().generateLegalMoves(true, moves);
+    copy.playMove(moves.get(0));
+    copy.undoMove();
+    assertEquals(2, copy.getSearchPly());
+    assertEquals(gameAi.getBoard().getZobristHash(), copy.getBoard().getZobristHash());
+  }
 }
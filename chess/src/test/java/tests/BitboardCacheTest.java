@@ -0,0 +1,95 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import pdp.model.board.BitboardCache;
+import pdp.model.board.BitboardRepresentation;
+import pdp.model.piece.Color;
+
+public class BitboardCacheTest {
+
+  @BeforeAll
+  public static void setUpLocale() {
+    Locale.setDefault(Locale.ENGLISH);
+  }
+
+  @Test
+  public void testCapacityIsPowerOfTwo() {
+    assertEquals(16_384, new BitboardCache(10_000).getCapacity());
+    assertEquals(1_024, new BitboardCache(1_024).getCapacity());
+    assertEquals(1, new BitboardCache(0).getCapacity());
+  }
+
+  @Test
+  public void testStatusAndAttackBitboards() {
+    BitboardCache cache = new BitboardCache(16);
+    long hash = 0x1234_5678_9ABC_DEF0L;
+
+    assertEquals(BitboardCache.UNKNOWN, cache.getStatus(hash, BitboardCache.CHECK, true));
+    assertEquals(BitboardCache.NO_ATTACK_BITBOARD, cache.getAttackBitboard(hash, true));
+
+    cache.setStatus(hash, BitboardCache.CHECK, true, true);
+    cache.setStatus(hash, BitboardCache.CHECKMATE, false, false);
+    cache.setAttackBitboard(hash, false, 0xFF00L);
+
+    assertEquals(1, cache.getStatus(hash, BitboardCache.CHECK, true));
+    assertEquals(BitboardCache.UNKNOWN, cache.getStatus(hash, BitboardCache.CHECK, false));
+    assertEquals(0, cache.getStatus(hash, BitboardCache.CHECKMATE, false));
+    assertEquals(BitboardCache.UNKNOWN, cache.getStatus(hash, BitboardCache.STALEMATE, false));
+    assertEquals(0xFF00L, cache.getAttackBitboard(hash, false));
+    assertEquals(BitboardCache.NO_ATTACK_BITBOARD, cache.getAttackBitboard(hash, true));
+
+    cache.setStatus(hash, BitboardCache.CHECK, true, false);
+    assertEquals(0, cache.getStatus(hash, BitboardCache.CHECK, true));
+
+    cache.clear();
+    assertEquals(BitboardCache.UNKNOWN, cache.getStatus(hash, BitboardCache.CHECK, true));
+  }
+
+  @Test
+  public void testCollidingHashReplacesEntry() {
+    BitboardCache cache = new BitboardCache(16);
+    long first = 0x10L;
+    long second = 0x7770L;
+
+    cache.setStatus(first, BitboardCache.STALEMATE, true, true);
+    cache.setAttackBitboard(first, true, 0x42L);
+    cache.setStatus(second, BitboardCache.CHECK, false, true);
+
+    assertEquals(BitboardCache.UNKNOWN, cache.getStatus(first, BitboardCache.STALEMATE, true));
+    assertEquals(BitboardCache.NO_ATTACK_BITBOARD, cache.getAttackBitboard(first, true));
+    assertEquals(1, cache.getStatus(second, BitboardCache.CHECK, false));
+  }
+
+  @Test
+  public void testCounters() {
+    BitboardCache cache = new BitboardCache(16);
+    cache.getStatus(0x10L, BitboardCache.CHECK, true);
+    cache.setStatus(0x10L, BitboardCache.CHECK, true, false);
+    cache.getStatus(0x10L, BitboardCache.CHECK, true);
+    cache.setAttackBitboard(0x21L, true, 0x1L);
+    cache.setAttackBitboard(0x7771L, true, 0x2L);
+
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+    assertEquals(1, cache.getEvictions());
+    assertEquals("capacity=16, hits=1, misses=1, evictions=1", cache.toString());
+  }
+
+  @Test
+  public void testBoardCopiesShareCache() {
+    BitboardRepresentation board = new BitboardRepresentation();
+    BitboardCache cache = new BitboardCache(64);
+    board.setCache(cache);
+    BitboardRepresentation copy = (BitboardRepresentation) board.getCopy();
+    assertSame(cache, copy.getCache());
+
+    copy.isCheck(Color.WHITE);
+    board.isCheck(Color.WHITE);
+    assertEquals(1, cache.getHits());
+    assertNotSame(cache, new BitboardRepresentation().getCache());
+  }
+}
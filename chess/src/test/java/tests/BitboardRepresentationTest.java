@@ -12,9 +12,15 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import pdp.model.board.Bitboard;
+import pdp.model.board.BitboardCache;
+import pdp.model.board.BitboardMovesGen;
 import pdp.model.board.BitboardRepresentation;
 import pdp.model.board.BoardRepresentation;
 import pdp.model.board.Move;
+import pdp.model.board.MoveEncoding;
+import pdp.model.board.MoveList;
+import pdp.model.board.ZobristHashing;
+import pdp.model.parsers.FenParser;
 import pdp.model.piece.Color;
 import pdp.model.piece.ColoredPiece;
 import pdp.model.piece.Piece;
@@ -1351,4 +1357,151 @@ public class BitboardRepresentationTest {
     assertTrue(board.pawnsHaveProgressed(true));
     assertTrue(board.pawnsHaveProgressed(false));
   }
+
+  private static String irreversibleState(BitboardRepresentation board) {
+    return board.isWhiteShortCastle()
+        + " "
+        + board.isWhiteLongCastle()
+        + " "
+        + board.isBlackShortCastle()
+        + " "
+        + board.isBlackLongCastle()
+        + " "
+        + board.getEnPassantPos()
+        + " "
+        + board.isLastMoveDoublePush()
+        + " "
+        + board.getNbMovesWithNoCaptureOrPawn();
+  }
+
+  private static void checkMakeUnmake(BitboardRepresentation board, boolean white, int depth) {
+    if (depth == 0) {
+      return;
+    }
+    MoveList moves = new MoveList();
+    board.generateLegalMoves(white, moves);
+    for (int i = 0; i < moves.size(); i++) {
+      int move = moves.get(i);
+      BitboardRepresentation before = (BitboardRepresentation) board.getCopy();
+      long undoInfo = board.makeMove(move);
+      assertEquals(
+          new ZobristHashing().generateSimplifiedHashFromBitboards(board), board.getSimpleHash());
+      board.setPlayer(!white);
+      assertEquals(new ZobristHashing().generateHashFromBitboards(board), board.getZobristHash());
+      assertEquals(occupancy(board, true), board.getWhiteBits());
+      assertEquals(occupancy(board, false), board.getBlackBits());
+      checkMakeUnmake(board, !white, depth - 1);
+      board.setPlayer(white);
+      board.unmakeMove(move, undoInfo);
+
+      assertEquals(before, board);
+      assertEquals(before.getSimpleHash(), board.getSimpleHash());
+      assertEquals(before.getZobristHash(), board.getZobristHash());
+      assertEquals(irreversibleState(before), irreversibleState(board));
+    }
+  }
+
+  private static long occupancy(BitboardRepresentation board, boolean white) {
+    long bits = 0L;
+    for (int i = white ? 0 : 6; i < (white ? 6 : 12); i++) {
+      bits |= board.getBitboard(i);
+    }
+    return bits;
+  }
+
+  @Test
+  public void testAttackMapFollowsBoardUpdates() {
+    BitboardRepresentation board =
+        new BitboardRepresentation(
+            FenParser.loadBoardFromFen(
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"));
+    board.setCache(new BitboardCache(16));
+    MoveList moves = new MoveList();
+    board.generateLegalMoves(true, moves);
+    for (int i = 0; i < moves.size(); i++) {
+      int move = moves.get(i);
+      board.getColorAttackBits(true);
+      board.getColorAttackBits(false);
+      long undoInfo = board.makeMove(move);
+      for (boolean white : new boolean[] {true, false}) {
+        long expected =
+            BitboardMovesGen.getColorAttackBitboard(
+                    white, board, board.getEnPassantPos(), board.isLastMoveDoublePush())
+                .getBits();
+        assertEquals(expected, board.getColorAttackBits(white));
+        assertEquals(expected, board.getColorAttackBitboard(white).getBits());
+      }
+      board.unmakeMove(move, undoInfo);
+    }
+
+    board.movePiece(new Position(4, 4), new Position(3, 2));
+    assertEquals(occupancy(board, true), board.getWhiteBits());
+    assertEquals(occupancy(board, false), board.getBlackBits());
+    assertEquals(
+        BitboardMovesGen.getColorAttackBitboard(
+                true, board, board.getEnPassantPos(), board.isLastMoveDoublePush())
+            .getBits(),
+        board.getColorAttackBits(true));
+  }
+
+  @Test
+  public void testNullMove() {
+    BitboardRepresentation board =
+        new BitboardRepresentation(
+            FenParser.loadBoardFromFen(
+                "rnbqkbnr/ppp1p1pp/8/4Pp2/3p4/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 5"));
+    BitboardRepresentation before = (BitboardRepresentation) board.getCopy();
+
+    long undoInfo = board.makeNullMove();
+    assertNull(board.getEnPassantPos());
+    assertFalse(board.isLastMoveDoublePush());
+    assertEquals(before.getSimpleHash(), board.getSimpleHash());
+    board.setPlayer(false);
+    assertEquals(new ZobristHashing().generateHashFromBitboards(board), board.getZobristHash());
+
+    board.setPlayer(true);
+    board.unmakeNullMove(undoInfo);
+    assertEquals(before, board);
+    assertEquals(before.getZobristHash(), board.getZobristHash());
+    assertEquals(irreversibleState(before), irreversibleState(board));
+  }
+
+  @Test
+  public void testUnmakeMoveRestoresBoard() {
+    String[] fens = {
+      "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+      "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+      "rnbqkbnr/ppp1p1pp/8/4Pp2/3p4/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 5"
+    };
+    for (String fen : fens) {
+      BitboardRepresentation board = new BitboardRepresentation(FenParser.loadBoardFromFen(fen));
+      checkMakeUnmake(board, true, 3);
+    }
+  }
+
+  @Test
+  public void testMakeMoveMatchesMoveObject() {
+    BitboardRepresentation board =
+        new BitboardRepresentation(
+            FenParser.loadBoardFromFen(
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"));
+    MoveList moves = new MoveList();
+    board.generateLegalMoves(true, moves);
+    for (int i = 0; i < moves.size(); i++) {
+      int move = moves.get(i);
+      if (MoveEncoding.isCastle(move)) {
+        continue;
+      }
+      BitboardRepresentation expected = (BitboardRepresentation) board.getCopy();
+      expected.makeMove(MoveEncoding.toMove(move));
+      BitboardRepresentation actual = (BitboardRepresentation) board.getCopy();
+      actual.makeMove(move);
+
+      assertEquals(expected, actual);
+      assertEquals(expected.isWhiteShortCastle(), actual.isWhiteShortCastle());
+      assertEquals(expected.isWhiteLongCastle(), actual.isWhiteLongCastle());
+      assertEquals(
+          expected.getNbMovesWithNoCaptureOrPawn(), actual.getNbMovesWithNoCaptureOrPawn());
+    }
+  }
 }
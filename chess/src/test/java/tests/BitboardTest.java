@@ -7,6 +7,7 @@ import java.util.Locale;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import pdp.model.board.Bitboard;
+import pdp.model.board.BitboardOps;
 
 public class BitboardTest {
 
@@ -390,4 +391,38 @@ public class BitboardTest {
     assertEquals(notInit, bitboard.toString());
     bitboard.setBit(1);
   }
+
+  @Test
+  public void testRawBitOperations() {
+    long bitboard = 0L;
+    bitboard = BitboardOps.setBit(bitboard, 3);
+    bitboard = BitboardOps.setBit(bitboard, 42);
+    assertTrue(BitboardOps.getBit(bitboard, 3));
+    assertTrue(BitboardOps.getBit(bitboard, 42));
+    assertEquals(3, BitboardOps.lsb(bitboard));
+    assertEquals(42, BitboardOps.lsb(BitboardOps.popLsb(bitboard)));
+    bitboard = BitboardOps.toggleBit(bitboard, 3);
+    assertFalse(BitboardOps.getBit(bitboard, 3));
+    bitboard = BitboardOps.clearBit(bitboard, 42);
+    assertEquals(0L, bitboard);
+
+    // Raw shifts must match the Bitboard view
+    Bitboard view = new Bitboard(0x0000001818000000L);
+    assertEquals(view.moveUpLeft().getBits(), BitboardOps.moveUpLeft(view.getBits()));
+    assertEquals(view.moveDownRight().getBits(), BitboardOps.moveDownRight(view.getBits()));
+    assertEquals(List.of(27, 28, 35, 36), view.getSetBits());
+  }
+
+  @Test
+  public void testLeaperAttacks() {
+    // Knight on a1 attacks b3 and c2
+    assertEquals((1L << 17) | (1L << 10), BitboardOps.knightAttacks(0));
+    // Knight on d4 attacks 8 squares
+    assertEquals(8, Long.bitCount(BitboardOps.knightAttacks(27)));
+    // King on h8 attacks g8, g7 and h7
+    assertEquals((1L << 62) | (1L << 54) | (1L << 55), BitboardOps.kingAttacks(63));
+    // White pawn on a2 attacks b3, black pawn on h7 attacks g6
+    assertEquals(1L << 17, BitboardOps.pawnAttacks(true, 8));
+    assertEquals(1L << 46, BitboardOps.pawnAttacks(false, 55));
+  }
 }
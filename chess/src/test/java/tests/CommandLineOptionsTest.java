@@ -4,7 +4,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static pdp.utils.Logging.configureGlobalLogger;
 
@@ -265,7 +267,7 @@ public class CommandLineOptionsTest {
   @Test
   public void testAmbiguous() throws Exception {
     String expectedAmbiguous =
-        "Parsing failed.  Reason: Ambiguous option: '--ai-'  (could be: 'ai-mode', 'ai-mode-w', 'ai-mode-b', 'ai-simulation', 'ai-simulation-w', 'ai-simulation-b', 'ai-depth', 'ai-depth-w', 'ai-depth-b', 'ai-heuristic', 'ai-heuristic-w', 'ai-heuristic-b', 'ai-endgame', 'ai-endgame-w', 'ai-endgame-b', 'ai-time', 'ai-weight-w', 'ai-weight-b')";
+        "Parsing failed.  Reason: Ambiguous option: '--ai-'  (could be: 'ai-mode', 'ai-mode-w', 'ai-mode-b', 'ai-simulation', 'ai-simulation-w', 'ai-simulation-b', 'ai-mcts-threads', 'ai-playout', 'ai-playout-w', 'ai-playout-b', 'ai-cutoff', 'ai-cutoff-w', 'ai-cutoff-b', 'ai-depth', 'ai-depth-w', 'ai-depth-b', 'ai-heuristic', 'ai-heuristic-w', 'ai-heuristic-b', 'ai-endgame', 'ai-endgame-w', 'ai-endgame-b', 'ai-time', 'ai-weight-w', 'ai-weight-b', 'ai-cache-size', 'ai-tt-size', 'ai-eval-cache-size', 'ai-quiescence', 'ai-null-move', 'ai-lmr', 'ai-threads', 'ai-virtual-threads')";
 
     // Test ambiguous option (several options starting the same) (error)
     Runtime mockRuntime = mock(Runtime.class);
@@ -423,6 +425,30 @@ public class CommandLineOptionsTest {
     assertEquals(expectedMap, output);
   }
 
+  @Test
+  public void testPlayoutPolicyForBothPlayers() {
+    Runtime mockRuntime = mock(Runtime.class);
+    Map<OptionType, String> output =
+        CommandLineOptions.parseOptions(
+            new String[] {"-a=A", "--ai-playout=HEURISTIC", "--ai-playout-b=MVV_LVA"}, mockRuntime);
+
+    assertEquals("HEURISTIC", output.get(OptionType.AI_PLAYOUT_W));
+    assertEquals("MVV_LVA", output.get(OptionType.AI_PLAYOUT_B));
+    assertFalse(output.containsKey(OptionType.AI_PLAYOUT));
+  }
+
+  @Test
+  public void testPlayoutCutoffForBothPlayers() {
+    Runtime mockRuntime = mock(Runtime.class);
+    Map<OptionType, String> output =
+        CommandLineOptions.parseOptions(
+            new String[] {"-a=A", "--ai-cutoff=12", "--ai-cutoff-w=4"}, mockRuntime);
+
+    assertEquals("4", output.get(OptionType.AI_CUTOFF_W));
+    assertEquals("12", output.get(OptionType.AI_CUTOFF_B));
+    assertFalse(output.containsKey(OptionType.AI_CUTOFF));
+  }
+
   @Test
   public void testConfigFileWrongExtension() {
     Runtime mockRuntime = mock(Runtime.class);
@@ -614,4 +640,26 @@ public class CommandLineOptionsTest {
 
     verify(mockRuntime).exit(1);
   }
+
+  @Test
+  void testPerftOption() {
+    Runtime mockRuntime = mock(Runtime.class);
+    Map<OptionType, String> activatedOptions =
+        CommandLineOptions.parseOptions(new String[] {"--perft", "3"}, mockRuntime);
+    assertEquals("3", activatedOptions.get(OptionType.PERFT));
+    verify(mockRuntime, never()).exit(anyInt());
+  }
+
+  @Test
+  void testPerftOptionInvalidDepth() {
+    outputStream.reset();
+
+    Runtime mockRuntime = mock(Runtime.class);
+    Map<OptionType, String> activatedOptions =
+        CommandLineOptions.parseOptions(new String[] {"--perft", "zero"}, mockRuntime);
+    assertFalse(activatedOptions.containsKey(OptionType.PERFT));
+    assertTrue(outputStream.toString().contains("option requires a positive depth"));
+
+    verify(mockRuntime).exit(1);
+  }
 }
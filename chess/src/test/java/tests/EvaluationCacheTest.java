@@ -0,0 +1,82 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import pdp.model.Game;
+import pdp.model.ai.EvaluationCache;
+import pdp.model.ai.HeuristicType;
+import pdp.model.ai.Solver;
+
+public class EvaluationCacheTest {
+
+  @BeforeAll
+  public static void setUpLocale() {
+    Locale.setDefault(Locale.ENGLISH);
+  }
+
+  @Test
+  public void testCapacity() {
+    assertEquals(1, new EvaluationCache(1).getCapacity());
+    assertEquals(1024, new EvaluationCache(1000).getCapacity());
+    assertEquals(1024, new EvaluationCache(1024).getCapacity());
+  }
+
+  @Test
+  public void testStoreAndProbe() {
+    EvaluationCache cache = new EvaluationCache(64);
+    long hash = 0x1234_5678_9ABC_DEF0L;
+    assertTrue(Float.isNaN(cache.probe(hash, true)));
+
+    cache.store(hash, true, -12.5f);
+    assertEquals(-12.5f, cache.probe(hash, true));
+    // The score depends on the evaluated player
+    assertTrue(Float.isNaN(cache.probe(hash, false)));
+
+    cache.store(hash, false, 0f);
+    assertEquals(0f, cache.probe(hash, false));
+    assertEquals(2, cache.getHits());
+    assertEquals(2, cache.getMisses());
+    assertEquals(0.5, cache.getHitRate());
+  }
+
+  @Test
+  public void testReplacementAndClear() {
+    EvaluationCache cache = new EvaluationCache(16);
+    cache.store(0x21L, true, 3f);
+    cache.store(0x31L, true, 4f);
+    assertTrue(Float.isNaN(cache.probe(0x21L, true)));
+    assertEquals(4f, cache.probe(0x31L, true));
+
+    cache.clear();
+    assertEquals(0, cache.getHits());
+    assertEquals(0, cache.getMisses());
+    assertEquals(0, cache.getHitRate());
+    assertTrue(Float.isNaN(cache.probe(0x31L, true)));
+  }
+
+  @Test
+  public void testSolverEvaluationUsesCache() {
+    Game game = Game.initialize(false, false, null, null, null, new HashMap<>());
+    Solver solver = new Solver();
+    solver.setEvaluationCacheSize(100);
+    solver.setHeuristic(HeuristicType.MATERIAL);
+    assertEquals(128, solver.getEvaluationCache().getCapacity());
+
+    float first = solver.evaluateBoard(game.getGameState(), true);
+    float second = solver.evaluateBoard(game.getGameState(), true);
+    assertEquals(first, second);
+    assertEquals(1, solver.getEvaluationCache().getHits());
+    assertEquals(1, solver.getEvaluationCache().getMisses());
+
+    solver.setHeuristic(HeuristicType.MOBILITY);
+    assertEquals(0, solver.getEvaluationCache().getHits());
+    solver.evaluateBoard(game.getGameState(), true);
+    assertEquals(1, solver.getEvaluationCache().getMisses());
+
+    assertThrows(IllegalArgumentException.class, () -> solver.setEvaluationCacheSize(0));
+  }
+}
@@ -21,9 +21,13 @@ import pdp.GameInitializer;
 import pdp.controller.GameController;
 import pdp.model.Game;
 import pdp.model.ai.HeuristicType;
+import pdp.model.ai.PlayoutPolicy;
+import pdp.model.ai.Solver;
 import pdp.model.ai.algorithms.AlphaBeta;
+import pdp.model.ai.algorithms.LazySmp;
 import pdp.model.ai.algorithms.Minimax;
 import pdp.model.ai.algorithms.MonteCarloTreeSearch;
+import pdp.model.ai.algorithms.Playout;
 import pdp.model.ai.heuristics.MobilityHeuristic;
 import pdp.model.ai.heuristics.StandardHeuristic;
 import pdp.model.board.Move;
@@ -136,6 +140,16 @@ class GameInitializerTest {
     assertInstanceOf(Minimax.class, controller.getModel().getWhiteSolver().getAlgorithm());
   }
 
+  @Test
+  void testGameInitializationAIModeLazySmp() {
+    options.put(OptionType.AI, "A");
+    options.put(OptionType.AI_MODE, "LAZY_SMP");
+    GameController controller = GameControllerInit.initialize(options);
+    assertNotNull(controller);
+    assertInstanceOf(LazySmp.class, controller.getModel().getWhiteSolver().getAlgorithm());
+    assertInstanceOf(LazySmp.class, controller.getModel().getBlackSolver().getAlgorithm());
+  }
+
   @Test
   void testGameInitializationAIModeIncorrect() {
     options.put(OptionType.AI, "W");
@@ -233,6 +247,208 @@ class GameInitializerTest {
     assertEquals(1000, controller.getModel().getWhiteSolver().getTime());
   }
 
+  @Test
+  void testGameInitializationAICacheSize() {
+    options.put(OptionType.AI, "A");
+    options.put(OptionType.AI_CACHE_SIZE, "1000");
+    GameController controller = GameControllerInit.initialize(options);
+    assertEquals(1024, controller.getModel().getWhiteSolver().getCache().getCapacity());
+    assertEquals(1024, controller.getModel().getBlackSolver().getCache().getCapacity());
+    assertNotSame(
+        controller.getModel().getWhiteSolver().getCache(),
+        controller.getModel().getBlackSolver().getCache());
+  }
+
+  @Test
+  void testGameInitializationAITranspositionTableSize() {
+    options.put(OptionType.AI, "A");
+    options.put(OptionType.AI_TT_SIZE, "4");
+    GameController controller = GameControllerInit.initialize(options);
+    assertEquals(4, controller.getModel().getWhiteSolver().getTranspositionTableSize());
+    assertEquals(
+        1 << 18, controller.getModel().getBlackSolver().getTranspositionTable().getCapacity());
+  }
+
+  @Test
+  void testGameInitializationAITranspositionTableSizeIncorrect() {
+    options.put(OptionType.AI, "W");
+    options.put(OptionType.AI_TT_SIZE, "big");
+    GameController controller = GameControllerInit.initialize(options);
+    assertTrue(
+        outputStream
+            .toString()
+            .contains("Not a positive integer for the transposition table size of AI (in MB)"));
+    assertEquals(16, controller.getModel().getWhiteSolver().getTranspositionTableSize());
+  }
+
+  @Test
+  void testGameInitializationAIQuiescence() {
+    options.put(OptionType.AI, "A");
+    options.put(OptionType.AI_QUIESCENCE, "");
+    GameController controller = GameControllerInit.initialize(options);
+    assertTrue(controller.getModel().getWhiteSolver().isQuiescence());
+    assertTrue(controller.getModel().getBlackSolver().isQuiescence());
+  }
+
+  @Test
+  void testGameInitializationAIQuiescenceBlack() {
+    options.put(OptionType.AI, "A");
+    options.put(OptionType.AI_QUIESCENCE, "B");
+    GameController controller = GameControllerInit.initialize(options);
+    assertFalse(controller.getModel().getWhiteSolver().isQuiescence());
+    assertTrue(controller.getModel().getBlackSolver().isQuiescence());
+  }
+
+  @Test
+  void testGameInitializationAIQuiescenceIncorrect() {
+    options.put(OptionType.AI, "W");
+    options.put(OptionType.AI_QUIESCENCE, "X");
+    GameController controller = GameControllerInit.initialize(options);
+    assertTrue(outputStream.toString().contains("Unknown quiescence option: X"));
+    assertFalse(controller.getModel().getWhiteSolver().isQuiescence());
+  }
+
+  @Test
+  void testGameInitializationAISelectiveSearch() {
+    options.put(OptionType.AI, "A");
+    options.put(OptionType.AI_NULL_MOVE, "");
+    GameController controller = GameControllerInit.initialize(options);
+    assertTrue(controller.getModel().getWhiteSolver().isNullMovePruning());
+    assertTrue(controller.getModel().getBlackSolver().isNullMovePruning());
+    assertFalse(controller.getModel().getWhiteSolver().isLateMoveReductions());
+  }
+
+  @Test
+  void testGameInitializationAILateMoveReductions() {
+    options.put(OptionType.AI, "W");
+    options.put(OptionType.AI_LMR, "");
+    GameController controller = GameControllerInit.initialize(options);
+    assertFalse(controller.getModel().getWhiteSolver().isNullMovePruning());
+    assertTrue(controller.getModel().getWhiteSolver().isLateMoveReductions());
+  }
+
+  @Test
+  void testGameInitializationAIMctsThreads() {
+    options.put(OptionType.AI, "A");
+    options.put(OptionType.AI_MODE, "MCTS");
+    options.put(OptionType.AI_MCTS_THREADS, "4");
+    GameController controller = GameControllerInit.initialize(options);
+    assertEquals(4, controller.getModel().getWhiteSolver().getMonteCarloThreads());
+    assertEquals(4, controller.getModel().getBlackSolver().getMonteCarloThreads());
+  }
+
+  @Test
+  void testGameInitializationAIMctsThreadsIncorrect() {
+    options.put(OptionType.AI, "W");
+    options.put(OptionType.AI_MCTS_THREADS, "-2");
+    GameController controller = GameControllerInit.initialize(options);
+    assertTrue(
+        outputStream
+            .toString()
+            .contains("Not a positive integer for the number of simulation threads of AI"));
+    assertEquals(1, controller.getModel().getWhiteSolver().getMonteCarloThreads());
+  }
+
+  @Test
+  void testGameInitializationAIPlayoutPolicy() {
+    options.put(OptionType.AI, "A");
+    options.put(OptionType.AI_PLAYOUT_W, "HEURISTIC");
+    options.put(OptionType.AI_PLAYOUT_B, "MVV_LVA");
+    GameController controller = GameControllerInit.initialize(options);
+    assertEquals(
+        PlayoutPolicy.HEURISTIC, controller.getModel().getWhiteSolver().getPlayoutPolicy());
+    assertEquals(PlayoutPolicy.MVV_LVA, controller.getModel().getBlackSolver().getPlayoutPolicy());
+  }
+
+  @Test
+  void testGameInitializationAIPlayoutPolicyIncorrect() {
+    options.put(OptionType.AI, "W");
+    options.put(OptionType.AI_PLAYOUT_W, "SMART");
+    GameController controller = GameControllerInit.initialize(options);
+    assertTrue(outputStream.toString().contains("Unknown playout policy: SMART"));
+    assertEquals(PlayoutPolicy.RANDOM, controller.getModel().getWhiteSolver().getPlayoutPolicy());
+  }
+
+  @Test
+  void testGameInitializationAIPlayoutCutoff() {
+    options.put(OptionType.AI, "A");
+    options.put(OptionType.AI_CUTOFF_W, "12");
+    options.put(OptionType.AI_CUTOFF_B, "0");
+    GameController controller = GameControllerInit.initialize(options);
+    assertEquals(12, controller.getModel().getWhiteSolver().getPlayoutCutoff());
+    assertTrue(
+        outputStream.toString().contains("Not a positive integer for the playout cutoff of AI"));
+    assertEquals(
+        Playout.DEFAULT_CUTOFF_PLIES, controller.getModel().getBlackSolver().getPlayoutCutoff());
+  }
+
+  @Test
+  void testGameInitializationAIThreads() {
+    options.put(OptionType.AI, "A");
+    options.put(OptionType.AI_THREADS, "3");
+    GameController controller = GameControllerInit.initialize(options);
+    assertEquals(3, controller.getModel().getWhiteSolver().getSearchPool().getThreadCount());
+    assertEquals(3, controller.getModel().getBlackSolver().getSearchPool().getThreadCount());
+    assertFalse(controller.getModel().getWhiteSolver().getSearchPool().isVirtualThreads());
+  }
+
+  @Test
+  void testGameInitializationAIVirtualThreads() {
+    options.put(OptionType.AI, "W");
+    options.put(OptionType.AI_VIRTUAL_THREADS, "");
+    GameController controller = GameControllerInit.initialize(options);
+    assertTrue(controller.getModel().getWhiteSolver().getSearchPool().isVirtualThreads());
+    assertEquals(
+        Runtime.getRuntime().availableProcessors(),
+        controller.getModel().getWhiteSolver().getSearchPool().getThreadCount());
+  }
+
+  @Test
+  void testGameInitializationAIThreadsIncorrect() {
+    options.put(OptionType.AI, "W");
+    options.put(OptionType.AI_THREADS, "0");
+    GameController controller = GameControllerInit.initialize(options);
+    assertTrue(
+        outputStream
+            .toString()
+            .contains("Not a positive integer for the number of search threads of AI"));
+    assertEquals(
+        Runtime.getRuntime().availableProcessors(),
+        controller.getModel().getWhiteSolver().getSearchPool().getThreadCount());
+  }
+
+  @Test
+  void testGameInitializationAIEvaluationCacheSize() {
+    options.put(OptionType.AI, "A");
+    options.put(OptionType.AI_EVAL_CACHE_SIZE, "3000");
+    GameController controller = GameControllerInit.initialize(options);
+    assertEquals(4096, controller.getModel().getWhiteSolver().getEvaluationCache().getCapacity());
+    assertEquals(4096, controller.getModel().getBlackSolver().getEvaluationCache().getCapacity());
+  }
+
+  @Test
+  void testGameInitializationAIEvaluationCacheSizeIncorrect() {
+    options.put(OptionType.AI, "B");
+    options.put(OptionType.AI_EVAL_CACHE_SIZE, "0");
+    GameController controller = GameControllerInit.initialize(options);
+    assertTrue(
+        outputStream
+            .toString()
+            .contains("Not a positive integer for the evaluation cache size of AI"));
+    assertEquals(
+        Solver.DEFAULT_EVALUATION_CACHE_SIZE,
+        controller.getModel().getBlackSolver().getEvaluationCache().getCapacity());
+  }
+
+  @Test
+  void testGameInitializationAICacheSizeIncorrect() {
+    options.put(OptionType.AI, "W");
+    options.put(OptionType.AI_CACHE_SIZE, "-3");
+    GameController controller = GameControllerInit.initialize(options);
+    assertTrue(outputStream.toString().contains("Not a positive integer for the cache size of AI"));
+    assertEquals(16_384, controller.getModel().getWhiteSolver().getCache().getCapacity());
+  }
+
   @Test
   void testGameInitializationAITimeIncorrect() {
 
@@ -414,7 +414,8 @@ public class HeuristicsTest {
     board.movePiece(initWhiteBishopPos, e4);
     board.movePiece(initBlackBishopPos, e2);
 
-    float expectedScore = 4f * (100f / 96);
+    // Mobility counts every square along the bishop diagonals
+    float expectedScore = 12f * (100f / 96);
     assertEquals(expectedScore, heuristic.evaluate(game.getBoard(), true));
   }
 
@@ -449,8 +450,8 @@ public class HeuristicsTest {
     board.movePiece(initWhiteBishopPos1, e4);
     board.movePiece(initWhiteBishopPos2, e2);
 
-    // Expected score in this position
-    float expectedScore = 18f * (100f / 96);
+    // Expected score in this position, mobility counting every square along the diagonals
+    float expectedScore = 46f * (100f / 96);
     assertEquals(expectedScore, heuristic.evaluate(game.getBoard(), true));
   }
 
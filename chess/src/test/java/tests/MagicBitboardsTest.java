@@ -0,0 +1,266 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import pdp.model.board.Bitboard;
+import pdp.model.board.BitboardMovesGen;
+import pdp.model.board.MagicBitboards;
+import pdp.utils.Position;
+
+public class MagicBitboardsTest {
+
+  private static final long SEED = 42L;
+  private static final int NB_SAMPLES = 200;
+
+  @BeforeAll
+  public static void setUpLocale() {
+    Locale.setDefault(Locale.ENGLISH);
+  }
+
+  private static Bitboard rays(
+      int square,
+      Bitboard unreachable,
+      Bitboard enemies,
+      Function<Bitboard, Bitboard>[] directions) {
+    Bitboard position = new Bitboard();
+    position.setBit(square);
+    Bitboard res = new Bitboard();
+    for (Function<Bitboard, Bitboard> direction : directions) {
+      res =
+          res.or(
+              BitboardMovesGen.getMultipleMovesFromDirection(
+                  position, unreachable, enemies, direction));
+    }
+    res.clearBit(square);
+    return res;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static final Function<Bitboard, Bitboard>[] INLINE =
+      new Function[] {
+        (Function<Bitboard, Bitboard>) Bitboard::moveLeft,
+        (Function<Bitboard, Bitboard>) Bitboard::moveRight,
+        (Function<Bitboard, Bitboard>) Bitboard::moveUp,
+        (Function<Bitboard, Bitboard>) Bitboard::moveDown
+      };
+
+  @SuppressWarnings("unchecked")
+  private static final Function<Bitboard, Bitboard>[] DIAGONAL =
+      new Function[] {
+        (Function<Bitboard, Bitboard>) Bitboard::moveUpLeft,
+        (Function<Bitboard, Bitboard>) Bitboard::moveUpRight,
+        (Function<Bitboard, Bitboard>) Bitboard::moveDownLeft,
+        (Function<Bitboard, Bitboard>) Bitboard::moveDownRight
+      };
+
+  @Test
+  public void testRookAttacksEmptyBoard() {
+    // Rook on a1 sees the whole first rank and a file
+    assertEquals(0x01010101010101FEL, MagicBitboards.rookAttacks(0, 0L));
+    // Rook on d4 (27)
+    assertEquals(14, Long.bitCount(MagicBitboards.rookAttacks(27, 0L)));
+  }
+
+  @Test
+  public void testBishopAttacksEmptyBoard() {
+    // Bishop on a1 sees the long diagonal
+    assertEquals(0x8040201008040200L, MagicBitboards.bishopAttacks(0, 0L));
+    // Bishop on d4 (27)
+    assertEquals(13, Long.bitCount(MagicBitboards.bishopAttacks(27, 0L)));
+  }
+
+  @Test
+  public void testAttacksIncludeFirstBlocker() {
+    // Rook on a1 with a blocker on a3 and c1
+    long occupancy = (1L << 16) | (1L << 2);
+    long expected = (1L << 8) | (1L << 16) | (1L << 1) | (1L << 2);
+    assertEquals(expected, MagicBitboards.rookAttacks(0, occupancy));
+    assertEquals(
+        MagicBitboards.rookAttacks(0, occupancy) | MagicBitboards.bishopAttacks(0, occupancy),
+        MagicBitboards.queenAttacks(0, occupancy));
+  }
+
+  @Test
+  public void testInlineMovesMatchRayWalk() {
+    Random random = new Random(SEED);
+    for (int square = 0; square < 64; square++) {
+      for (int i = 0; i < NB_SAMPLES; i++) {
+        long own = random.nextLong() & random.nextLong() & ~(1L << square);
+        long enemy = random.nextLong() & random.nextLong() & ~own & ~(1L << square);
+        Bitboard unreachable = new Bitboard(own);
+        Bitboard enemies = new Bitboard(enemy);
+        Position position = new Position(square % 8, square / 8);
+        assertEquals(
+            rays(square, unreachable, enemies, INLINE),
+            BitboardMovesGen.getInlineMoves(position, unreachable, enemies));
+      }
+    }
+  }
+
+  @Test
+  public void testDiagonalMovesMatchRayWalk() {
+    Random random = new Random(SEED);
+    for (int square = 0; square < 64; square++) {
+      for (int i = 0; i < NB_SAMPLES; i++) {
+        long own = random.nextLong() & random.nextLong() & ~(1L << square);
+        long enemy = random.nextLong() & random.nextLong() & ~own & ~(1L << square);
+        Bitboard unreachable = new Bitboard(own);
+        Bitboard enemies = new Bitboard(enemy);
+        Position position = new Position(square % 8, square / 8);
+        assertEquals(
+            rays(square, unreachable, enemies, DIAGONAL),
+            BitboardMovesGen.getDiagonalMoves(position, unreachable, enemies));
+      }
+    }
+  }
+
+  @Test
+  public void testQueenMovesMatchInlineAndDiagonal() {
+    Random random = new Random(SEED);
+    for (int square = 0; square < 64; square++) {
+      long own = random.nextLong() & random.nextLong() & ~(1L << square);
+      long enemy = random.nextLong() & random.nextLong() & ~own & ~(1L << square);
+      Bitboard unreachable = new Bitboard(own);
+      Bitboard enemies = new Bitboard(enemy);
+      Position position = new Position(square % 8, square / 8);
+      assertEquals(
+          BitboardMovesGen.getInlineMoves(position, unreachable, enemies)
+              .or(BitboardMovesGen.getDiagonalMoves(position, unreachable, enemies)),
+          BitboardMovesGen.getQueenMoveBitboard(position, unreachable, enemies));
+    }
+  }
+
+  @Test
+  public void testBetweenAndLine() {
+    // a1 and h8: b2..g7 in between, whole long diagonal as line
+    assertEquals(0x0040201008040200L, MagicBitboards.between(0, 63));
+    assertEquals(0x8040201008040201L, MagicBitboards.line(0, 63));
+    // e1 and e8 on the e file
+    assertEquals(0x0010101010101000L, MagicBitboards.between(4, 60));
+    assertEquals(0x1010101010101010L, MagicBitboards.line(60, 4));
+    // Adjacent squares have nothing in between
+    assertEquals(0L, MagicBitboards.between(4, 5));
+    assertEquals(0xFFL, MagicBitboards.line(4, 5));
+    // Not aligned (knight jump)
+    assertEquals(0L, MagicBitboards.between(1, 18));
+    assertEquals(0L, MagicBitboards.line(1, 18));
+  }
+
+  @Test
+  public void testMagicFinderMatchesTables() {
+    // The finder regenerates the constants of MagicBitboards, printed when run by hand
+    Random random = new Random(SEED);
+    for (int square : new int[] {0, 27, 63}) {
+      for (boolean bishop : new boolean[] {false, true}) {
+        long magic = findMagic(square, bishop);
+        long mask = relevantMask(square, bishop);
+        int shift = 64 - Long.bitCount(mask);
+        Map<Integer, Long> seen = new HashMap<>();
+        for (int i = 0; i < NB_SAMPLES; i++) {
+          long occupancy = random.nextLong() & random.nextLong();
+          long expected =
+              bishop
+                  ? MagicBitboards.bishopAttacks(square, occupancy)
+                  : MagicBitboards.rookAttacks(square, occupancy);
+          assertEquals(expected, slowAttacks(square, occupancy, bishop));
+          // Occupancies sharing an index of the magic number share their attacks
+          int index = (int) (((occupancy & mask) * magic) >>> shift);
+          assertEquals(expected, seen.computeIfAbsent(index, k -> expected));
+        }
+      }
+    }
+  }
+
+  /**
+   * Searches a magic number of a square by trying sparse random numbers until the index of every
+   * subset of the relevant occupancy mask has no collision.
+   */
+  private static long findMagic(int square, boolean bishop) {
+    long mask = relevantMask(square, bishop);
+    int size = 1 << Long.bitCount(mask);
+    int shift = 64 - Long.bitCount(mask);
+    long[] occupancies = new long[size];
+    long[] references = new long[size];
+    long subset = 0L;
+    int count = 0;
+    do {
+      occupancies[count] = subset;
+      references[count] = slowAttacks(square, subset, bishop);
+      count++;
+      subset = (subset - mask) & mask;
+    } while (subset != 0);
+
+    Random random = new Random(SEED + square);
+    long[] table = new long[size];
+    int[] epoch = new int[size];
+    int attempt = 0;
+    while (true) {
+      long magic = random.nextLong() & random.nextLong() & random.nextLong();
+      if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) {
+        continue;
+      }
+      attempt++;
+      boolean collision = false;
+      for (int i = 0; i < size && !collision; i++) {
+        int index = (int) ((occupancies[i] * magic) >>> shift);
+        if (epoch[index] < attempt) {
+          epoch[index] = attempt;
+          table[index] = references[i];
+        } else if (table[index] != references[i]) {
+          collision = true;
+        }
+      }
+      if (!collision) {
+        return magic;
+      }
+    }
+  }
+
+  private static int[][] directions(boolean bishop) {
+    return bishop
+        ? new int[][] {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}}
+        : new int[][] {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+  }
+
+  private static long relevantMask(int square, boolean bishop) {
+    long mask = 0L;
+    for (int[] direction : directions(bishop)) {
+      int file = square % 8 + direction[0];
+      int rank = square / 8 + direction[1];
+      while (file + direction[0] >= 0
+          && file + direction[0] < 8
+          && rank + direction[1] >= 0
+          && rank + direction[1] < 8) {
+        mask |= 1L << (file + rank * 8);
+        file += direction[0];
+        rank += direction[1];
+      }
+    }
+    return mask;
+  }
+
+  private static long slowAttacks(int square, long occupancy, boolean bishop) {
+    long attacks = 0L;
+    for (int[] direction : directions(bishop)) {
+      int file = square % 8 + direction[0];
+      int rank = square / 8 + direction[1];
+      while (file >= 0 && file < 8 && rank >= 0 && rank < 8) {
+        long bit = 1L << (file + rank * 8);
+        attacks |= bit;
+        if ((occupancy & bit) != 0) {
+          break;
+        }
+        file += direction[0];
+        rank += direction[1];
+      }
+    }
+    return attacks;
+  }
+}
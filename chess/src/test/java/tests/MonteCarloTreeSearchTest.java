@@ -1,21 +1,45 @@
 package tests;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static pdp.utils.Logging.configureGlobalLogger;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import pdp.model.Game;
+import pdp.model.GameAi;
+import pdp.model.GameState;
 import pdp.model.ai.AlgorithmType;
+import pdp.model.ai.HeuristicType;
+import pdp.model.ai.PlayoutPolicy;
+import pdp.model.ai.SearchProgress;
 import pdp.model.ai.Solver;
+import pdp.model.ai.TimeManager;
+import pdp.model.ai.algorithms.MonteCarloTreeSearch;
+import pdp.model.ai.algorithms.Playout;
+import pdp.model.ai.algorithms.TreeNodeMonteCarlo;
+import pdp.model.ai.heuristics.Heuristic;
+import pdp.model.ai.heuristics.MaterialHeuristic;
+import pdp.model.board.BitboardRepresentation;
 import pdp.model.board.Move;
+import pdp.model.board.MoveEncoding;
+import pdp.model.board.MoveList;
 import pdp.utils.Position;
+import pdp.view.UciView;
 
 public class MonteCarloTreeSearchTest {
   Solver solver;
@@ -72,4 +96,312 @@ public class MonteCarloTreeSearchTest {
 
     assertTrue(game.getGameState().isGameOver());
   }
+
+  @Test
+  public void testParallelMctsScholarsMate() {
+    game.playMove(new Move(new Position(4, 1), new Position(4, 3)));
+    game.playMove(new Move(new Position(4, 6), new Position(4, 4)));
+    game.playMove(new Move(new Position(3, 0), new Position(7, 4)));
+    game.playMove(new Move(new Position(1, 7), new Position(2, 5)));
+    game.playMove(new Move(new Position(5, 0), new Position(2, 3)));
+    game.playMove(new Move(new Position(6, 7), new Position(5, 5)));
+
+    solver.setSearchPool(4, false);
+    solver.setMonteCarloThreads(4);
+    solver.setMonteCarloAlgorithm(400);
+    solver.playAiMove(game);
+
+    assertTrue(game.getGameState().isGameOver());
+  }
+
+  @Test
+  public void testMonteCarloThreadsMustBePositive() {
+    assertEquals(1, solver.getMonteCarloThreads());
+    assertThrows(IllegalArgumentException.class, () -> solver.setMonteCarloThreads(0));
+    assertEquals(MonteCarloTreeSearch.class, solver.getAlgorithm().getClass());
+  }
+
+  @Test
+  public void testPlayoutRestoresBoard() {
+    GameAi gameAi = GameAi.fromGame(game);
+    BitboardRepresentation board = (BitboardRepresentation) gameAi.getBoard();
+    BitboardRepresentation before = (BitboardRepresentation) board.getCopy();
+    long hash = board.getZobristHash();
+    Playout playout = new Playout(solver, Playout.DEFAULT_MAX_PLIES);
+
+    Random random = new Random(42);
+    for (int i = 0; i < 20; i++) {
+      int result = playout.run(gameAi, random);
+      assertTrue(result >= -1 && result <= 1);
+    }
+    assertEquals(before, board);
+    assertEquals(hash, board.getZobristHash());
+    assertEquals(0, gameAi.getSearchPly());
+    assertTrue(gameAi.getGameState().isWhiteTurn());
+  }
+
+  @Test
+  public void testPlayoutOfFinishedGame() {
+    game.playMove(new Move(new Position(4, 1), new Position(4, 3)));
+    game.playMove(new Move(new Position(4, 6), new Position(4, 4)));
+    game.playMove(new Move(new Position(3, 0), new Position(7, 4)));
+    game.playMove(new Move(new Position(1, 7), new Position(2, 5)));
+    game.playMove(new Move(new Position(5, 0), new Position(2, 3)));
+    game.playMove(new Move(new Position(6, 7), new Position(5, 5)));
+    game.playMove(new Move(new Position(7, 4), new Position(5, 6)));
+    assertTrue(game.getGameState().isGameOver());
+
+    Playout playout = new Playout(solver, 1);
+    assertEquals(1, playout.run(GameAi.fromGame(game), new Random(0)));
+    assertThrows(IllegalArgumentException.class, () -> new Playout(solver, 0));
+  }
+
+  @Test
+  public void testMvvLvaWeights() {
+    int quiet = MoveEncoding.encode(12, 28, 5, MoveEncoding.NO_PIECE, MoveEncoding.NO_PIECE, 0);
+    int pawnTakesQueen = MoveEncoding.encode(28, 35, 5, 7, MoveEncoding.NO_PIECE, 0);
+    int queenTakesPawn = MoveEncoding.encode(28, 35, 1, 11, MoveEncoding.NO_PIECE, 0);
+    assertEquals(1, Playout.getWeight(quiet));
+    assertTrue(Playout.getWeight(pawnTakesQueen) > Playout.getWeight(queenTakesPawn));
+    assertTrue(Playout.getWeight(queenTakesPawn) > 1);
+  }
+
+  @Test
+  public void testHeuristicPlayoutsAreCut() {
+    game.playMove(new Move(new Position(4, 1), new Position(4, 3)));
+    game.playMove(new Move(new Position(3, 6), new Position(3, 4)));
+    GameAi gameAi = GameAi.fromGame(game);
+    BitboardRepresentation board = (BitboardRepresentation) gameAi.getBoard();
+    BitboardRepresentation before = (BitboardRepresentation) board.getCopy();
+
+    Playout playout = new Playout(solver, PlayoutPolicy.HEURISTIC);
+    assertEquals(PlayoutPolicy.HEURISTIC, playout.getPolicy());
+    assertEquals(Playout.DEFAULT_CUTOFF_PLIES, playout.getMaxPlies());
+    assertEquals(
+        Playout.DEFAULT_MAX_PLIES, new Playout(solver, PlayoutPolicy.MVV_LVA).getMaxPlies());
+
+    Random random = new Random(7);
+    for (int i = 0; i < 20; i++) {
+      int result = playout.run(gameAi, random);
+      assertTrue(result >= -1 && result <= 1);
+    }
+    assertEquals(before, board);
+    assertEquals(before.getZobristHash(), board.getZobristHash());
+
+    // The cutoff is a setting of the solver
+    solver.setPlayoutCutoff(3);
+    assertEquals(3, new Playout(solver, PlayoutPolicy.HEURISTIC).getMaxPlies());
+    solver.setPlayoutPolicy(PlayoutPolicy.HEURISTIC);
+    assertTrue(solver.toString().contains("playout=HEURISTIC/3"));
+    assertThrows(IllegalArgumentException.class, () -> solver.setPlayoutCutoff(0));
+  }
+
+  @Test
+  public void testExpectedResultFollowsHeuristic() {
+    Heuristic heuristic = new MaterialHeuristic();
+    BitboardRepresentation board = (BitboardRepresentation) game.getBoard().getCopy();
+    assertEquals(0, Playout.getExpectedResult(heuristic, board, true), 1e-9);
+
+    // Without its queen, black is almost lost
+    board.deletePieceAt(3, 7);
+    double expected = Playout.getExpectedResult(heuristic, board, true);
+    assertTrue(expected > 0.9 && expected < 1, "Expected result " + expected);
+    assertEquals(expected, Playout.getExpectedResult(heuristic, board, false), 1e-9);
+  }
+
+  @Test
+  public void testHeuristicPlayoutsScholarsMate() {
+    game.playMove(new Move(new Position(4, 1), new Position(4, 3)));
+    game.playMove(new Move(new Position(4, 6), new Position(4, 4)));
+    game.playMove(new Move(new Position(3, 0), new Position(7, 4)));
+    game.playMove(new Move(new Position(1, 7), new Position(2, 5)));
+    game.playMove(new Move(new Position(5, 0), new Position(2, 3)));
+    game.playMove(new Move(new Position(6, 7), new Position(5, 5)));
+
+    solver.setHeuristic(HeuristicType.STANDARD_LIGHT);
+    solver.setPlayoutPolicy(PlayoutPolicy.HEURISTIC);
+    assertTrue(solver.toString().contains("playout=HEURISTIC"));
+    solver.playAiMove(game);
+
+    assertTrue(game.getGameState().isGameOver());
+    assertThrows(IllegalArgumentException.class, () -> solver.setPlayoutPolicy(null));
+  }
+
+  @Test
+  public void testNodeGameStateBuiltOnDemand() {
+    GameAi gameAi = GameAi.fromGame(game);
+    TreeNodeMonteCarlo root = new TreeNodeMonteCarlo(gameAi.getGameState().getCopy());
+    assertFalse(root.isWhiteMove());
+    assertNull(root.getStartingMove());
+
+    MoveList moves = new MoveList();
+    gameAi.getBoard().generateLegalMoves(true, moves);
+    int move = moves.get(0);
+    TreeNodeMonteCarlo child = new TreeNodeMonteCarlo(root, move, true);
+    assertEquals(MoveEncoding.toMove(move), child.getStartingMove());
+
+    GameState state = child.getGameState(gameAi);
+    assertSame(state, child.getGameState(gameAi));
+    assertFalse(state.isWhiteTurn());
+    gameAi.playMove(move);
+    assertEquals(gameAi.getBoard(), state.getBoard());
+    gameAi.undoMove();
+  }
+
+  @Test
+  public void testTreeReusedAfterMovePair() {
+    MonteCarloTreeSearch mcts = new MonteCarloTreeSearch(solver, 600);
+    assertNull(mcts.getTree());
+    mcts.findBestMove(game, 0, true);
+    TreeNodeMonteCarlo firstRoot = mcts.getTree();
+    assertEquals(600, firstRoot.getNbVisits());
+
+    // Move pair played from the most visited branches
+    TreeNodeMonteCarlo ours = mostVisitedChild(firstRoot);
+    TreeNodeMonteCarlo theirs = mostVisitedChild(ours);
+    int kept = theirs.getNbVisits();
+    assertTrue(kept > 0);
+    game.playMove(ours.getStartingMove());
+    game.playMove(theirs.getStartingMove());
+
+    mcts.findBestMove(game, 0, true);
+    assertSame(theirs, mcts.getTree());
+    assertNull(theirs.getParentNode());
+    assertEquals(kept + 600, theirs.getNbVisits());
+  }
+
+  @Test
+  public void testTreeNotReusedInOtherPosition() {
+    MonteCarloTreeSearch mcts = new MonteCarloTreeSearch(solver, 100);
+    mcts.findBestMove(game, 0, true);
+    TreeNodeMonteCarlo firstRoot = mcts.getTree();
+
+    // Three plies later, the position is out of reach of the previous tree
+    game.playMove(new Move(new Position(4, 1), new Position(4, 3)));
+    game.playMove(new Move(new Position(4, 6), new Position(4, 4)));
+    game.playMove(new Move(new Position(6, 0), new Position(5, 2)));
+
+    mcts.findBestMove(game, 0, false);
+    assertFalse(firstRoot == mcts.getTree());
+    assertEquals(100, mcts.getTree().getNbVisits());
+  }
+
+  @Test
+  public void testTreeBoundedByNodeBudget() {
+    MonteCarloTreeSearch mcts = new MonteCarloTreeSearch(solver, 2000, 200);
+    assertEquals(200, mcts.getMaxNodes());
+    mcts.findBestMove(game, 0, true);
+    // A single expansion may go over the budget
+    assertTrue(mcts.getNodeCount() < 200 + 50, "Tree of " + mcts.getNodeCount() + " nodes");
+
+    // The reused tree is pruned to half of the budget before the search
+    TreeNodeMonteCarlo ours = null;
+    for (TreeNodeMonteCarlo child : mcts.getTree().getChildrenNodes()) {
+      if (!child.getChildrenNodes().isEmpty()
+          && (ours == null || child.getNbVisits() > ours.getNbVisits())) {
+        ours = child;
+      }
+    }
+    TreeNodeMonteCarlo theirs = mostVisitedChild(ours);
+    game.playMove(ours.getStartingMove());
+    game.playMove(theirs.getStartingMove());
+    mcts.findBestMove(game, 0, true);
+    assertSame(theirs, mcts.getTree());
+    assertTrue(mcts.getNodeCount() < 200 + 50, "Tree of " + mcts.getNodeCount() + " nodes");
+    assertThrows(IllegalArgumentException.class, () -> new MonteCarloTreeSearch(solver, 10, 0));
+  }
+
+  @Test
+  public void testTimedSearchIgnoresSimulationLimit() {
+    solver.setTime(1);
+    List<SearchProgress> reports = new CopyOnWriteArrayList<>();
+    solver.setProgressListener(reports::add);
+
+    long start = System.currentTimeMillis();
+    Move move = solver.getBestMove(game);
+    long elapsed = System.currentTimeMillis() - start;
+
+    MonteCarloTreeSearch mcts = (MonteCarloTreeSearch) solver.getAlgorithm();
+    assertTrue(elapsed < 1000 + 500, "Search took " + elapsed + " ms");
+    assertTrue(mcts.getLastVisitedNodeCount() > mcts.getSimulationLimit());
+    assertEquals(move, mcts.getBestChild().getStartingMove());
+
+    // The last report is the result of the search
+    SearchProgress last = reports.get(reports.size() - 1);
+    assertEquals(move, last.bestMove());
+    assertEquals(mcts.getLastVisitedNodeCount(), last.nodes());
+    assertTrue(UciView.infoLine(last).startsWith("info score cp "));
+    assertTrue(UciView.infoLine(last).endsWith(" pv " + move.toUciString()));
+  }
+
+  @Test
+  public void testTimedSearchGoesOnWithFullTree() {
+    solver.setTime(1);
+    solver.getBestMove(game);
+    TimeManager budget = solver.getTimeManager();
+
+    MonteCarloTreeSearch mcts = new MonteCarloTreeSearch(solver, 10, 200);
+    budget.start();
+    mcts.findBestMove(game, 0, true);
+
+    assertTrue(
+        budget.getElapsed() >= budget.getTargetTime(), "Stopped after " + budget.getElapsed());
+    assertTrue(mcts.getNodeCount() < 200 + 50, "Tree of " + mcts.getNodeCount() + " nodes");
+    assertTrue(mcts.getLastVisitedNodeCount() > mcts.getNodeCount());
+  }
+
+  @Test
+  public void testMoveTimeSearchUsesMostOfItsBudget() {
+    solver.setMoveTime(600);
+    long start = System.currentTimeMillis();
+    solver.getBestMove(game);
+    long elapsed = System.currentTimeMillis() - start;
+
+    TimeManager budget = solver.getTimeManager();
+    assertEquals(budget.getHardLimit(), budget.getTargetTime());
+    assertTrue(elapsed >= budget.getHardLimit() * 9 / 10, "Search took " + elapsed + " ms");
+    assertTrue(elapsed < 600 + 300, "Search took " + elapsed + " ms");
+  }
+
+  @Test
+  public void testStoppedSearchKeepsConsistentStatistics() {
+    // The timer stops the search at the same time as the budget
+    solver.setSearchPool(4, false);
+    solver.setMonteCarloThreads(4);
+    solver.setClock(350, 0, 1);
+    solver.getBestMove(game);
+
+    MonteCarloTreeSearch mcts = (MonteCarloTreeSearch) solver.getAlgorithm();
+    TreeNodeMonteCarlo root = mcts.getTree();
+    assertEquals(mcts.getLastVisitedNodeCount(), root.getNbVisits());
+    assertConsistent(root);
+
+    Map<Move, Integer> distribution = mcts.getVisitDistribution();
+    assertEquals(20, distribution.size());
+    int total = 0;
+    for (int visits : distribution.values()) {
+      total += visits;
+    }
+    assertEquals(root.getNbVisits(), total);
+  }
+
+  private static void assertConsistent(TreeNodeMonteCarlo node) {
+    assertEquals(0, node.getVirtualLosses());
+    int visits = 0;
+    for (TreeNodeMonteCarlo child : node.getChildrenNodes()) {
+      visits += child.getNbVisits();
+      assertConsistent(child);
+    }
+    assertTrue(visits <= node.getNbVisits());
+  }
+
+  private static TreeNodeMonteCarlo mostVisitedChild(TreeNodeMonteCarlo node) {
+    TreeNodeMonteCarlo best = null;
+    for (TreeNodeMonteCarlo child : node.getChildrenNodes()) {
+      if (best == null || child.getNbVisits() > best.getNbVisits()) {
+        best = child;
+      }
+    }
+    return best;
+  }
 }
@@ -0,0 +1,156 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import pdp.model.board.BitboardRepresentation;
+import pdp.model.board.CastlingMove;
+import pdp.model.board.EnPassantMove;
+import pdp.model.board.Move;
+import pdp.model.board.MoveEncoding;
+import pdp.model.board.MoveList;
+import pdp.model.board.PromoteMove;
+import pdp.model.parsers.FenParser;
+import pdp.model.piece.Color;
+import pdp.model.piece.ColoredPiece;
+import pdp.model.piece.Piece;
+import pdp.utils.Position;
+
+public class MoveEncodingTest {
+
+  private static final String KIWIPETE =
+      "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+  @BeforeAll
+  public static void setUpLocale() {
+    Locale.setDefault(Locale.ENGLISH);
+  }
+
+  private static BitboardRepresentation fromFen(String fen) {
+    return new BitboardRepresentation(FenParser.loadBoardFromFen(fen));
+  }
+
+  private static Set<String> legalMovesFromLists(BitboardRepresentation board, boolean white) {
+    Set<String> moves = new HashSet<>();
+    List<Move> available = board.getAllAvailableMoves(white);
+    for (Move move : available) {
+      if (!board.isCheckAfterMove(white ? Color.WHITE : Color.BLACK, move)) {
+        moves.add(move.toUciString());
+      }
+    }
+    return moves;
+  }
+
+  private static Set<String> legalMovesFromEncoding(BitboardRepresentation board, boolean white) {
+    MoveList list = new MoveList();
+    board.generateLegalMoves(white, list);
+    Set<String> moves = new HashSet<>();
+    for (int i = 0; i < list.size(); i++) {
+      moves.add(MoveEncoding.toMove(list.get(i)).toUciString());
+    }
+    assertEquals(list.size(), moves.size());
+    return moves;
+  }
+
+  @Test
+  public void testEncodeDecodeFields() {
+    int move = MoveEncoding.encode(12, 28, 5, MoveEncoding.NO_PIECE, MoveEncoding.NO_PIECE, 0);
+    assertEquals(12, MoveEncoding.getFrom(move));
+    assertEquals(28, MoveEncoding.getTo(move));
+    assertEquals(5, MoveEncoding.getPiece(move));
+    assertFalse(MoveEncoding.isCapture(move));
+    assertFalse(MoveEncoding.isPromotion(move));
+
+    int promotion = MoveEncoding.encode(54, 63, 5, 9, 1, 0);
+    assertEquals(9, MoveEncoding.getCaptured(promotion));
+    assertEquals(1, MoveEncoding.getPromotion(promotion));
+    Move decoded = MoveEncoding.toMove(promotion);
+    assertInstanceOf(PromoteMove.class, decoded);
+    assertEquals(Piece.QUEEN, ((PromoteMove) decoded).getPromPiece());
+    assertEquals(new ColoredPiece(Piece.ROOK, Color.BLACK), decoded.getPieceTaken());
+
+    int enPassant =
+        MoveEncoding.encode(36, 45, 5, 11, MoveEncoding.NO_PIECE, MoveEncoding.EN_PASSANT);
+    assertEquals(37, MoveEncoding.getCaptureSquare(enPassant));
+    decoded = MoveEncoding.toMove(enPassant);
+    assertInstanceOf(EnPassantMove.class, decoded);
+    assertEquals(new Position(5, 4), decoded.getTakeDest());
+
+    int castle =
+        MoveEncoding.encode(
+            4, 6, 0, MoveEncoding.NO_PIECE, MoveEncoding.NO_PIECE, MoveEncoding.CASTLE);
+    decoded = MoveEncoding.toMove(castle);
+    assertInstanceOf(CastlingMove.class, decoded);
+    assertTrue(((CastlingMove) decoded).isShortCastle());
+
+    assertNull(MoveEncoding.toMove(MoveEncoding.NONE));
+  }
+
+  @Test
+  public void testFromMoveRoundTrip() {
+    BitboardRepresentation board = fromFen(KIWIPETE);
+    MoveList list = new MoveList();
+    board.generateLegalMoves(true, list);
+    for (int i = 0; i < list.size(); i++) {
+      int move = list.get(i);
+      assertEquals(move, MoveEncoding.fromMove(MoveEncoding.toMove(move), board));
+    }
+  }
+
+  @Test
+  public void testGeneratedMoveCounts() {
+    MoveList list = new MoveList();
+    new BitboardRepresentation().generateLegalMoves(true, list);
+    assertEquals(20, list.size());
+
+    fromFen(KIWIPETE).generateLegalMoves(true, list);
+    assertEquals(48, list.size());
+
+    fromFen("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1").generateLegalMoves(true, list);
+    assertEquals(14, list.size());
+  }
+
+  @Test
+  public void testGeneratedMovesMatchListGeneration() {
+    String[] fens = {
+      "rnbqkbnr/ppp1p1pp/8/4Pp2/3p4/8/PPPP1PPP/RNBQKBNR w - f6 0 5",
+      "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+      "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w - - 0 1",
+      "4k3/8/8/8/8/8/8/4K2R w - - 0 1",
+      "4k3/8/8/1b6/8/3N4/4R3/4K2q w - - 0 1",
+      "4k3/8/8/8/4r3/8/4B3/r3K3 w - - 0 1",
+      "4k3/8/8/8/8/5n2/8/r3K3 w - - 0 1",
+      "8/8/8/8/k2Pp2R/8/8/4K3 b - d3 0 1",
+      "8/8/8/KP1pk2r/8/8/8/8 w - d6 0 1"
+    };
+    for (String fen : fens) {
+      BitboardRepresentation board = fromFen(fen);
+      assertEquals(legalMovesFromLists(board, true), legalMovesFromEncoding(board, true), fen);
+      assertEquals(legalMovesFromLists(board, false), legalMovesFromEncoding(board, false), fen);
+    }
+  }
+
+  @Test
+  public void testPickBestOrdersByScore() {
+    MoveList list = new MoveList();
+    list.add(1);
+    list.add(2);
+    list.add(3);
+    list.setScore(0, 5);
+    list.setScore(1, 10);
+    list.setScore(2, 7);
+    assertEquals(2, list.pickBest(0));
+    assertEquals(3, list.pickBest(1));
+    assertEquals(1, list.pickBest(2));
+
+    list.moveToFront(1);
+    assertEquals(1, list.get(0));
+    assertEquals(2, list.get(1));
+    assertEquals(3, list.get(2));
+  }
+}
@@ -0,0 +1,136 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import pdp.model.ai.Solver;
+import pdp.model.ai.algorithms.AlphaBeta;
+import pdp.model.ai.algorithms.MoveHistory;
+import pdp.model.ai.algorithms.MoveOrdering;
+import pdp.model.board.Move;
+import pdp.model.board.MoveEncoding;
+import pdp.model.board.MoveList;
+import pdp.model.board.PromoteMove;
+import pdp.model.piece.Color;
+import pdp.model.piece.ColoredPiece;
+import pdp.model.piece.Piece;
+import pdp.utils.Position;
+
+public class MoveHistoryTest {
+  private static final int PAWN_CAPTURE =
+      MoveEncoding.encode(12, 19, 5, 10, MoveEncoding.NO_PIECE, 0);
+  private static final int KNIGHT_MOVE =
+      MoveEncoding.encode(1, 18, 4, MoveEncoding.NO_PIECE, MoveEncoding.NO_PIECE, 0);
+  private static final int BISHOP_MOVE =
+      MoveEncoding.encode(2, 11, 2, MoveEncoding.NO_PIECE, MoveEncoding.NO_PIECE, 0);
+  private static final int ROOK_MOVE =
+      MoveEncoding.encode(0, 8, 3, MoveEncoding.NO_PIECE, MoveEncoding.NO_PIECE, 0);
+
+  @BeforeAll
+  public static void setUpLocale() {
+    Locale.setDefault(Locale.ENGLISH);
+  }
+
+  @Test
+  public void testKillerMoves() {
+    MoveHistory history = new MoveHistory();
+    assertEquals(0, history.getKillerRank(3, KNIGHT_MOVE));
+
+    history.addCutoff(3, true, KNIGHT_MOVE, 2);
+    history.addCutoff(3, true, BISHOP_MOVE, 2);
+    assertEquals(2, history.getKillerRank(3, BISHOP_MOVE));
+    assertEquals(1, history.getKillerRank(3, KNIGHT_MOVE));
+    // Killer moves are kept per ply
+    assertEquals(0, history.getKillerRank(4, BISHOP_MOVE));
+
+    // The same cutoff twice does not evict the other killer move
+    history.addCutoff(3, true, BISHOP_MOVE, 2);
+    assertEquals(1, history.getKillerRank(3, KNIGHT_MOVE));
+    history.addCutoff(3, true, ROOK_MOVE, 2);
+    assertEquals(0, history.getKillerRank(3, KNIGHT_MOVE));
+
+    // Plies beyond the table are ignored
+    history.addCutoff(MoveHistory.MAX_PLY, true, ROOK_MOVE, 2);
+    assertEquals(0, history.getKillerRank(MoveHistory.MAX_PLY, ROOK_MOVE));
+  }
+
+  @Test
+  public void testHistoryScores() {
+    MoveHistory history = new MoveHistory();
+    history.addCutoff(2, true, KNIGHT_MOVE, 3);
+    history.addCutoff(5, true, KNIGHT_MOVE, 1);
+    assertEquals(10, history.getHistory(true, KNIGHT_MOVE));
+    assertEquals(0, history.getHistory(false, KNIGHT_MOVE));
+
+    // Reaching the upper bound halves the scores of the player
+    history.addCutoff(2, true, BISHOP_MOVE, 1024);
+    assertEquals(5, history.getHistory(true, KNIGHT_MOVE));
+    assertTrue(history.getHistory(true, BISHOP_MOVE) < MoveHistory.MAX_HISTORY);
+
+    history.clear();
+    assertEquals(0, history.getHistory(true, KNIGHT_MOVE));
+    assertEquals(0, history.getKillerRank(2, BISHOP_MOVE));
+  }
+
+  @Test
+  public void testScoreMovesOrder() {
+    MoveHistory history = new MoveHistory();
+    history.addCutoff(1, true, BISHOP_MOVE, 2);
+    history.addCutoff(7, true, ROOK_MOVE, 4);
+
+    MoveList moves = new MoveList();
+    moves.add(KNIGHT_MOVE);
+    moves.add(ROOK_MOVE);
+    moves.add(BISHOP_MOVE);
+    moves.add(PAWN_CAPTURE);
+    MoveOrdering.scoreMoves(moves, history, true, 1);
+
+    assertEquals(PAWN_CAPTURE, moves.pickBest(0));
+    assertEquals(BISHOP_MOVE, moves.pickBest(1));
+    assertEquals(ROOK_MOVE, moves.pickBest(2));
+    assertEquals(KNIGHT_MOVE, moves.pickBest(3));
+  }
+
+  @Test
+  public void testMoveHistoryPerThread() throws InterruptedException {
+    AlphaBeta algorithm = new AlphaBeta(new Solver());
+    MoveHistory history = algorithm.getMoveHistory();
+    assertSame(history, algorithm.getMoveHistory());
+
+    AtomicReference<MoveHistory> other = new AtomicReference<>();
+    Thread thread = new Thread(() -> other.set(algorithm.getMoveHistory()));
+    thread.start();
+    thread.join();
+    assertNotNull(other.get());
+    assertNotSame(history, other.get());
+  }
+
+  @Test
+  public void testMoveOrderKeepsComparatorOrder() {
+    ColoredPiece whitePawn = new ColoredPiece(Piece.PAWN, Color.WHITE);
+    ColoredPiece whiteQueen = new ColoredPiece(Piece.QUEEN, Color.WHITE);
+    ColoredPiece blackRook = new ColoredPiece(Piece.ROOK, Color.BLACK);
+    Move quiet = new Move(new Position(0, 1), new Position(0, 2), whitePawn, false, null);
+    Move queenTakesRook =
+        new Move(new Position(3, 0), new Position(3, 7), whiteQueen, true, blackRook);
+    Move pawnTakesRook =
+        new Move(new Position(1, 1), new Position(2, 2), whitePawn, true, blackRook);
+    Move promotion =
+        new PromoteMove(
+            new Position(4, 6), new Position(4, 7), Piece.QUEEN, whitePawn, false, null);
+
+    List<Move> moves = new ArrayList<>(List.of(quiet, queenTakesRook, promotion, pawnTakesRook));
+    List<Move> expected = new ArrayList<>(moves);
+    expected.sort(MoveOrdering.moveOrderingComparator);
+    assertSame(moves, MoveOrdering.moveOrder(moves));
+    for (int i = 0; i < expected.size(); i++) {
+      assertSame(expected.get(i), moves.get(i));
+    }
+    assertSame(pawnTakesRook, moves.get(0));
+  }
+}
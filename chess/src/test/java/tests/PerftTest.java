@@ -0,0 +1,66 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import pdp.model.board.BitboardRepresentation;
+import pdp.model.board.Perft;
+import pdp.model.board.Perft.PerftPosition;
+
+public class PerftTest {
+
+  /** Keeps the suite fast: deeper levels are only run by the --perft option. */
+  private static final long MAX_NODES = 500_000L;
+
+  @BeforeAll
+  public static void setUpLocale() {
+    Locale.setDefault(Locale.ENGLISH);
+  }
+
+  @Test
+  public void testStandardPositions() {
+    for (PerftPosition position : Perft.STANDARD_POSITIONS) {
+      BitboardRepresentation board = position.load();
+      for (int depth = 1; depth <= position.nodes().length; depth++) {
+        long expected = position.nodes()[depth - 1];
+        if (expected > MAX_NODES) {
+          break;
+        }
+        assertEquals(
+            expected,
+            Perft.perft(board, board.getPlayer(), depth),
+            position.name() + " at depth " + depth);
+      }
+    }
+  }
+
+  @Test
+  public void testDivideSumsToPerft() {
+    BitboardRepresentation board = Perft.STANDARD_POSITIONS.get(1).load();
+    Map<String, Long> divide = Perft.divide(board, true, 2);
+    assertEquals(48, divide.size());
+    assertEquals(2_039L, divide.values().stream().mapToLong(Long::longValue).sum());
+    assertEquals(Long.valueOf(43L), divide.get("e1g1"));
+  }
+
+  @Test
+  public void testPerftLeavesBoardUnchanged() {
+    BitboardRepresentation board = Perft.STANDARD_POSITIONS.get(3).load();
+    BitboardRepresentation before = (BitboardRepresentation) board.getCopy();
+    Perft.perft(board, true, 3);
+    assertEquals(before, board);
+    assertEquals(before.getZobristHash(), board.getZobristHash());
+  }
+
+  @Test
+  public void testReport() {
+    List<String> lines = Perft.report(new BitboardRepresentation(), true, 1);
+    assertEquals(20 + 4, lines.size());
+    assertTrue(lines.contains("Nodes searched: 20"));
+    assertTrue(lines.get(lines.size() - 1).startsWith("Nodes/second: "));
+  }
+}
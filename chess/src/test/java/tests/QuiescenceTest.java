@@ -0,0 +1,85 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import pdp.model.Game;
+import pdp.model.ai.AlgorithmType;
+import pdp.model.ai.HeuristicType;
+import pdp.model.ai.Solver;
+import pdp.model.ai.heuristics.MaterialHeuristic;
+import pdp.model.ai.heuristics.MobilityHeuristic;
+import pdp.model.ai.heuristics.StandardHeuristic;
+import pdp.model.board.Move;
+import pdp.model.parsers.BoardFileParser;
+import pdp.model.parsers.FileBoard;
+import pdp.utils.Position;
+
+public class QuiescenceTest {
+  Solver solver;
+  Game game;
+
+  @BeforeAll
+  public static void setUpLocale() {
+    Locale.setDefault(Locale.ENGLISH);
+  }
+
+  @BeforeEach
+  void setUp() {
+    BoardFileParser parser = new BoardFileParser();
+    URL filePath = getClass().getClassLoader().getResource("gameBoards/defendedRook");
+    FileBoard board = parser.parseGameFile(filePath.getPath(), Runtime.getRuntime());
+    solver = new Solver();
+    solver.setHeuristic(HeuristicType.MATERIAL);
+    solver.setDepth(1);
+    game = Game.initialize(false, false, null, null, null, board, new HashMap<>());
+  }
+
+  static Stream<AlgorithmType> algorithmProvider() {
+    return Stream.of(
+        AlgorithmType.ALPHA_BETA,
+        AlgorithmType.ALPHA_BETA_PARALLEL,
+        AlgorithmType.ALPHA_BETA_ID,
+        AlgorithmType.ALPHA_BETA_ID_PARALLEL,
+        AlgorithmType.LAZY_SMP,
+        AlgorithmType.ALPHA_BETA_YBWC);
+  }
+
+  @ParameterizedTest
+  @MethodSource("algorithmProvider")
+  public void testHorizonEffectWithoutQuiescence(AlgorithmType algorithm) {
+    solver.setAlgorithm(algorithm);
+
+    // The queen takes the rook defended by the pawn e6, the recapture is not seen
+    Move move = solver.getBestMove(game);
+    assertEquals(new Position(3, 0), move.getSource());
+    assertEquals(new Position(3, 4), move.getDest());
+  }
+
+  @ParameterizedTest
+  @MethodSource("algorithmProvider")
+  public void testQuiescenceSeesRecapture(AlgorithmType algorithm) {
+    solver.setAlgorithm(algorithm);
+    solver.setQuiescence(true);
+
+    // The recapture exd5 is searched: the queen takes the undefended pawn instead
+    Move move = solver.getBestMove(game);
+    assertEquals(new Position(3, 0), move.getSource());
+    assertEquals(new Position(0, 3), move.getDest());
+  }
+
+  @Test
+  public void testPawnValue() {
+    assertEquals(100 / 103f, new MaterialHeuristic().getPawnValue(), 1e-4);
+    assertEquals(0, new MobilityHeuristic().getPawnValue());
+    assertEquals(100 * 100 / 103f, new StandardHeuristic().getPawnValue(), 1e-2);
+  }
+}
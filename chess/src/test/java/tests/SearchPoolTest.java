@@ -0,0 +1,71 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import pdp.model.ai.SearchPool;
+import pdp.model.ai.Solver;
+
+public class SearchPoolTest {
+
+  @BeforeAll
+  public static void setUpLocale() {
+    Locale.setDefault(Locale.ENGLISH);
+  }
+
+  @Test
+  public void testDefaultPool() {
+    SearchPool pool = new SearchPool();
+    assertEquals(Runtime.getRuntime().availableProcessors(), pool.getThreadCount());
+    assertFalse(pool.isVirtualThreads());
+    assertThrows(IllegalArgumentException.class, () -> new SearchPool(0, false));
+  }
+
+  @Test
+  public void testThreadsKeptUntilShutdown() throws Exception {
+    SearchPool pool = new SearchPool(2, false);
+    ExecutorService executor = pool.getExecutor();
+    ForkJoinPool forkJoinPool = pool.getForkJoinPool();
+    assertSame(executor, pool.getExecutor());
+    assertSame(forkJoinPool, pool.getForkJoinPool());
+    assertEquals(2, forkJoinPool.getParallelism());
+    assertEquals(42, executor.submit(() -> 42).get());
+    assertTrue(executor.submit(() -> Thread.currentThread().isDaemon()).get());
+
+    pool.shutdown();
+    assertTrue(executor.isShutdown());
+    assertTrue(forkJoinPool.isShutdown());
+
+    // The next search creates the threads again
+    assertNotSame(executor, pool.getExecutor());
+    assertEquals(7, pool.getExecutor().submit(() -> 7).get());
+    assertEquals(3, pool.getForkJoinPool().invoke(ForkJoinTask.adapt(() -> 3)));
+    pool.shutdown();
+  }
+
+  @Test
+  public void testVirtualThreads() throws Exception {
+    // Falls back on platform threads on runtimes without virtual threads
+    SearchPool pool = new SearchPool(1, true);
+    assertTrue(pool.isVirtualThreads());
+    assertEquals(5, pool.getExecutor().submit(() -> 5).get());
+    pool.shutdown();
+  }
+
+  @Test
+  public void testSolverReplacesPool() {
+    Solver solver = new Solver();
+    SearchPool previous = solver.getSearchPool();
+    ExecutorService executor = previous.getExecutor();
+    solver.setSearchPool(3, false);
+    assertEquals(3, solver.getSearchPool().getThreadCount());
+    assertTrue(executor.isShutdown());
+    assertThrows(IllegalArgumentException.class, () -> solver.setSearchPool(-1, false));
+    assertEquals(3, solver.getSearchPool().getThreadCount());
+  }
+}
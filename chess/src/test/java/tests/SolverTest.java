@@ -11,6 +11,11 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -267,4 +272,53 @@ public class SolverTest {
       assertEquals(heuristic, solver.getCurrentHeuristic());
     }
   }
+
+  @Test
+  public void testCacheStatisticsLoggedAfterAiMove() {
+    Game game = Game.initialize(false, false, null, null, null, new HashMap<>());
+    solver.setDepth(1);
+    List<String> messages = new CopyOnWriteArrayList<>();
+    Handler handler =
+        new Handler() {
+          @Override
+          public void publish(LogRecord logRecord) {
+            messages.add(logRecord.getMessage());
+          }
+
+          @Override
+          public void flush() {}
+
+          @Override
+          public void close() {}
+        };
+    Logger logger = Logger.getLogger(Solver.class.getName());
+    Level level = logger.getLevel();
+    logger.setLevel(Level.FINE);
+    logger.addHandler(handler);
+    try {
+      solver.playAiMove(game);
+    } finally {
+      logger.removeHandler(handler);
+      logger.setLevel(level);
+    }
+    assertTrue(messages.stream().anyMatch(message -> message.contains("Cache: capacity=")));
+    assertTrue(messages.stream().anyMatch(message -> message.contains("Evaluation cache: ")));
+  }
+
+  @Test
+  public void testEachAiMoveStartsNewTranspositionTableSearch() {
+    Game game = Game.initialize(false, false, null, null, null, new HashMap<>());
+    solver.setDepth(1);
+    int age = solver.getTranspositionTable().getAge();
+    solver.playAiMove(game);
+    assertEquals(age + 1, solver.getTranspositionTable().getAge());
+    solver.getBestMove(game);
+    assertEquals(age + 2, solver.getTranspositionTable().getAge());
+  }
+
+  @Test
+  public void testSelectiveSearchDisabledByDefault() {
+    assertFalse(solver.isNullMovePruning());
+    assertFalse(solver.isLateMoveReductions());
+  }
 }
@@ -0,0 +1,135 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import pdp.model.Game;
+import pdp.model.ai.AlgorithmType;
+import pdp.model.ai.Solver;
+import pdp.model.ai.TimeManager;
+import pdp.model.board.Move;
+import pdp.model.board.MoveEncoding;
+
+public class TimeManagerTest {
+  private static final int KNIGHT_MOVE =
+      MoveEncoding.encode(1, 18, 4, MoveEncoding.NO_PIECE, MoveEncoding.NO_PIECE, 0);
+  private static final int BISHOP_MOVE =
+      MoveEncoding.encode(2, 11, 2, MoveEncoding.NO_PIECE, MoveEncoding.NO_PIECE, 0);
+
+  @BeforeAll
+  public static void setUpLocale() {
+    Locale.setDefault(Locale.ENGLISH);
+  }
+
+  @Test
+  public void testClockBudget() {
+    TimeManager manager = TimeManager.forClock(60_050, 0, 0);
+    assertEquals(60_000 / TimeManager.DEFAULT_MOVES_TO_GO, manager.getSoftLimit());
+    assertEquals(4 * manager.getSoftLimit(), manager.getHardLimit());
+    // A search stopped at any moment only spends the share of the move
+    assertEquals(manager.getSoftLimit(), manager.getTargetTime());
+
+    // Most of the increment is spent on the move
+    TimeManager withIncrement = TimeManager.forClock(60_050, 2000, 0);
+    assertEquals(manager.getSoftLimit() + 1500, withIncrement.getSoftLimit());
+
+    // The last move before the time control may use the whole clock, but never more
+    TimeManager lastMove = TimeManager.forClock(5050, 0, 1);
+    assertEquals(5000, lastMove.getSoftLimit());
+    assertEquals(5000, lastMove.getHardLimit());
+
+    // An empty clock still leaves a minimal budget
+    TimeManager empty = TimeManager.forClock(1, 0, 0);
+    assertEquals(TimeManager.MIN_BUDGET, empty.getHardLimit());
+    assertTrue(empty.getSoftLimit() <= empty.getHardLimit());
+  }
+
+  @Test
+  public void testMoveTimeBudget() {
+    TimeManager manager = TimeManager.forMoveTime(2050);
+    assertEquals(2000, manager.getHardLimit());
+    assertEquals(1000, manager.getSoftLimit());
+    assertEquals(2000, manager.getTargetTime());
+    assertThrows(IllegalArgumentException.class, () -> new TimeManager(0, 10));
+    assertThrows(IllegalArgumentException.class, () -> new TimeManager(20, 10));
+  }
+
+  @Test
+  public void testStableBestMoveShortensIteration() {
+    TimeManager manager = new TimeManager(1000, 4000);
+    assertEquals(1000, manager.getIterationLimit());
+
+    manager.iterationCompleted(KNIGHT_MOVE);
+    assertEquals(1000, manager.getIterationLimit());
+
+    // A changed best move gives more time to the next iteration
+    manager.iterationCompleted(BISHOP_MOVE);
+    assertEquals(1500, manager.getIterationLimit());
+
+    for (int i = 0; i < TimeManager.STABLE_ITERATIONS; i++) {
+      manager.iterationCompleted(BISHOP_MOVE);
+    }
+    assertEquals(TimeManager.STABLE_ITERATIONS, manager.getStableIterations());
+    assertEquals(500, manager.getIterationLimit());
+    assertTrue(manager.canStartIteration());
+
+    manager.start();
+    assertEquals(0, manager.getStableIterations());
+    assertEquals(1000, manager.getIterationLimit());
+  }
+
+  @Test
+  public void testTimedSearchStopsWithinBudget() {
+    Game game = Game.initialize(false, false, null, null, null, new HashMap<>());
+    Solver solver = new Solver();
+    solver.setAlgorithm(AlgorithmType.ALPHA_BETA_ID);
+    solver.setDepth(30);
+    solver.setClock(1050, 0, 1);
+
+    long start = System.currentTimeMillis();
+    Move move = solver.getBestMove(game);
+    long elapsed = System.currentTimeMillis() - start;
+
+    assertNotNull(move);
+    assertTrue(game.getBoard().getAllAvailableMoves(true).contains(move));
+    assertNotNull(solver.getTimeManager());
+    assertEquals(1000, solver.getTimeManager().getHardLimit());
+    assertTrue(elapsed < 1000 + 500, "Search took " + elapsed + " ms");
+
+    // The clock is only used by the next search
+    solver.setTime(1);
+    solver.getBestMove(game);
+    assertEquals(
+        TimeManager.forMoveTime(1000).getHardLimit(), solver.getTimeManager().getHardLimit());
+  }
+
+  @Test
+  public void testMoveTimeUsedByNextSearchOnly() {
+    Game game = Game.initialize(false, false, null, null, null, new HashMap<>());
+    Solver solver = new Solver();
+    solver.setAlgorithm(AlgorithmType.ALPHA_BETA_ID);
+    solver.setDepth(30);
+    solver.setMoveTime(300);
+
+    assertNotNull(solver.getBestMove(game));
+    assertEquals(
+        TimeManager.forMoveTime(300).getSoftLimit(), solver.getTimeManager().getSoftLimit());
+    assertEquals(
+        TimeManager.forMoveTime(300).getHardLimit(), solver.getTimeManager().getHardLimit());
+
+    solver.setTime(1);
+    solver.getBestMove(game);
+    assertEquals(
+        TimeManager.forMoveTime(1000).getHardLimit(), solver.getTimeManager().getHardLimit());
+    assertThrows(IllegalArgumentException.class, () -> solver.setMoveTime(0));
+  }
+
+  @Test
+  public void testSetClockRejectsEmptyClock() {
+    Solver solver = new Solver();
+    assertThrows(IllegalArgumentException.class, () -> solver.setClock(0, 0, 0));
+  }
+}
@@ -0,0 +1,118 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import pdp.model.Game;
+import pdp.model.ai.AlgorithmType;
+import pdp.model.ai.HeuristicType;
+import pdp.model.ai.Solver;
+import pdp.model.ai.TranspositionTable;
+import pdp.model.board.BitboardRepresentation;
+import pdp.model.board.Move;
+import pdp.model.board.MoveEncoding;
+import pdp.model.board.MoveList;
+
+public class TranspositionTableTest {
+
+  @BeforeAll
+  public static void setUpLocale() {
+    Locale.setDefault(Locale.ENGLISH);
+  }
+
+  @Test
+  public void testCapacity() {
+    assertEquals(1 << 16, new TranspositionTable(1).getCapacity());
+    assertEquals(1 << 20, new TranspositionTable(16).getCapacity());
+    assertEquals(1 << 20, new TranspositionTable(20).getCapacity());
+  }
+
+  @Test
+  public void testStoreAndProbe() {
+    TranspositionTable table = new TranspositionTable(1);
+    long key = TranspositionTable.key(0x1234_5678_9ABC_DEF0L, true);
+    assertEquals(TranspositionTable.NO_ENTRY, table.probe(key));
+
+    table.store(key, 3, -12.5f, TranspositionTable.LOWER_BOUND, MoveEncoding.NONE);
+    long entry = table.probe(key);
+    assertNotEquals(TranspositionTable.NO_ENTRY, entry);
+    assertEquals(-12.5f, TranspositionTable.getScore(entry));
+    assertEquals(3, TranspositionTable.getDepth(entry));
+    assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.getBound(entry));
+
+    assertEquals(TranspositionTable.NO_ENTRY, table.probe(key ^ 1L << 40));
+    assertNotEquals(key, TranspositionTable.key(0x1234_5678_9ABC_DEF0L, false));
+  }
+
+  @Test
+  public void testCutoffAndBounds() {
+    TranspositionTable table = new TranspositionTable(1);
+    table.store(1L, 4, 10f, TranspositionTable.LOWER_BOUND, MoveEncoding.NONE);
+    long entry = table.probe(1L);
+    assertTrue(TranspositionTable.isCutoff(entry, 4, 0f, 5f));
+    assertFalse(TranspositionTable.isCutoff(entry, 4, 0f, 20f));
+    assertFalse(TranspositionTable.isCutoff(entry, 5, 0f, 5f));
+    assertFalse(TranspositionTable.isCutoff(TranspositionTable.NO_ENTRY, 0, 0f, 5f));
+
+    assertEquals(TranspositionTable.UPPER_BOUND, TranspositionTable.boundOf(-1f, 0f, 5f));
+    assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.boundOf(5f, 0f, 5f));
+    assertEquals(TranspositionTable.EXACT, TranspositionTable.boundOf(2f, 0f, 5f));
+  }
+
+  @Test
+  public void testReplacement() {
+    TranspositionTable table = new TranspositionTable(1);
+    long deep = 5L;
+    long shallow = deep + table.getCapacity();
+    table.store(deep, 6, 1f, TranspositionTable.EXACT, MoveEncoding.NONE);
+    table.store(shallow, 2, 2f, TranspositionTable.EXACT, MoveEncoding.NONE);
+    assertEquals(1f, TranspositionTable.getScore(table.probe(deep)));
+    assertEquals(TranspositionTable.NO_ENTRY, table.probe(shallow));
+
+    table.newSearch();
+    table.store(shallow, 2, 2f, TranspositionTable.EXACT, MoveEncoding.NONE);
+    assertEquals(TranspositionTable.NO_ENTRY, table.probe(deep));
+    assertEquals(2f, TranspositionTable.getScore(table.probe(shallow)));
+
+    table.clear();
+    assertEquals(TranspositionTable.NO_ENTRY, table.probe(shallow));
+  }
+
+  @Test
+  public void testBestMoveOrderedFirst() {
+    BitboardRepresentation board = new BitboardRepresentation();
+    MoveList moves = new MoveList();
+    board.generateLegalMoves(true, moves);
+    int move = moves.get(moves.size() - 1);
+
+    TranspositionTable table = new TranspositionTable(1);
+    table.store(42L, 1, 0f, TranspositionTable.EXACT, move);
+    TranspositionTable.orderBestMoveFirst(table.probe(42L), moves);
+    assertEquals(move, moves.pickBest(0));
+  }
+
+  @Test
+  public void testSearchStoresRootPosition() {
+    Game game = Game.initialize(false, false, null, null, null, new HashMap<>());
+    Solver solver = new Solver();
+    solver.setAlgorithm(AlgorithmType.ALPHA_BETA);
+    solver.setHeuristic(HeuristicType.STANDARD);
+    solver.setDepth(3);
+    Move best = solver.getBestMove(game);
+
+    long entry =
+        solver
+            .getTranspositionTable()
+            .probe(TranspositionTable.key(game.getBoard().getZobristHash(), true));
+    assertEquals(3, TranspositionTable.getDepth(entry));
+    assertEquals(TranspositionTable.EXACT, TranspositionTable.getBound(entry));
+
+    MoveList moves = new MoveList();
+    game.getBoard().generateLegalMoves(true, moves);
+    TranspositionTable.orderBestMoveFirst(entry, moves);
+    assertEquals(best.toUciString(), MoveEncoding.toMove(moves.pickBest(0)).toUciString());
+  }
+}
@@ -547,4 +547,20 @@ public class ZobristHashingTest {
     assertEquals("Only available for bitboards.", exception.getMessage());
     assertEquals("Only available for bitboards.", exception2.getMessage());
   }
+
+  @Test
+  void testIncrementalHashMatchesGeneratedHash() {
+    ZobristHashing zobristHashing = new ZobristHashing();
+    String[] moves = {"e2-e4", "d7-d5", "e4-e5", "f7-f5", "e5-f6", "e8-d7", "g1-f3", "d7-e8"};
+    assertEquals(
+        zobristHashing.generateHashFromBitboards(game.getBoard()),
+        game.getBoard().getZobristHash());
+    for (String move : moves) {
+      game.playMove(Move.fromString(move));
+      assertEquals(
+          zobristHashing.generateHashFromBitboards(game.getBoard()),
+          game.getBoard().getZobristHash(),
+          move);
+    }
+  }
 }
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import pdp.model.board.BoardRepresentation;
 import pdp.model.board.Move;
+import pdp.model.board.MoveList;
 import pdp.model.piece.Color;
 import pdp.model.piece.ColoredPiece;
 import pdp.model.piece.Piece;
@@ -72,6 +73,37 @@ public class DummyBoardRepresentation implements BoardRepresentation {
     return List.of();
   }
 
+  @Override
+  public void generateLegalMoves(boolean isWhite, MoveList moves) {
+    moves.clear();
+  }
+
+  @Override
+  public long makeMove(int move) {
+    return 0L;
+  }
+
+  @Override
+  public void unmakeMove(int move, long undoInfo) {}
+
+  @Override
+  public long makeNullMove() {
+    return 0L;
+  }
+
+  @Override
+  public void unmakeNullMove(long undoInfo) {}
+
+  @Override
+  public long getSimpleHash() {
+    return 0L;
+  }
+
+  @Override
+  public long getZobristHash() {
+    return 0L;
+  }
+
   @Override
   public boolean isAttacked(int x, int y, Color by) {
     return false;